@@ -0,0 +1,79 @@
+package controlCenters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+/**
+ * Measures how long it takes to find the station of a vehicle from its ID.
+ * The scan reproduces what was needed before the VehicleRegistry: walking every station's docks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VehicleLookupBenchmark {
+
+	private static final int NB_STATIONS = 100;
+
+	@Param({"1000", "10000", "100000"})
+	public int fleetSize;
+
+	private List<Station> stations;
+	private VehicleRegistry registry;
+
+	@Setup
+	public void setUp() {
+		ControlCenter center = new ControlCenter();
+		this.registry = center.getRegistry();
+		this.stations = new ArrayList<>();
+		int perStation = this.fleetSize / NB_STATIONS;
+		int id = 0;
+		for (int i = 0; i < NB_STATIONS; i++) {
+			Station station = new VeloStation(i, "bench" + i, perStation);
+			center.addStation(station);
+			for (int j = 0; j < perStation; j++) {
+				station.addVehicle(new ClassicVelo(id++, station));
+			}
+			this.stations.add(station);
+		}
+	}
+
+	@Benchmark
+	public Station scanStations() {
+		int id = ThreadLocalRandom.current().nextInt(this.fleetSize);
+		for (Station station : this.stations) {
+			for (Vehicle vehicle : station.getVehicles()) {
+				if (vehicle.getId() == id) {
+					return station;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Benchmark
+	public Station registryLookup() {
+		return this.registry.getStation(ThreadLocalRandom.current().nextInt(this.fleetSize));
+	}
+}
@@ -0,0 +1,110 @@
+package fleet;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicleDecorators.Painting;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * Compares the memory a fleet takes as vehicle objects docked in stations with the memory it takes
+ * in a {@link FleetStore}, in the heap and off-heap, and how long counting the available vehicles takes each way.
+ * A quarter of the vehicles are electric and half of them carry a decorator, as in the simulation.
+ * Heap usage is read after a full collection, direct memory from the direct buffer pool.
+ *
+ * Run with: java -cp benchClasses:classes fleet.FleetMemoryComparison [nbVehicles]
+ */
+public class FleetMemoryComparison {
+
+	private static final int VEHICLES_PER_STATION = 100;
+
+	public static void main(String[] args) {
+		int nbVehicles = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		System.out.printf("%d vehicles%n", nbVehicles);
+		System.out.printf("%-14s %14s %16s %14s%n", "layout", "heap (B/veh.)", "direct (B/veh.)", "scan (ms)");
+
+		long heap = usedHeap();
+		ArrayList<Station> stations = objects(nbVehicles);
+		long objectHeap = usedHeap() - heap;
+		long start = System.nanoTime();
+		int available = 0;
+		for (Station station : stations) {
+			for (Vehicle vehicle : station.getVehicles()) {
+				if (vehicle.getStateCode() == StateCode.DISPONIBLE) {
+					available++;
+				}
+			}
+		}
+		report("objects", objectHeap, 0, System.nanoTime() - start, available, nbVehicles);
+
+		for (boolean offHeap : new boolean[] {false, true}) {
+			heap = usedHeap();
+			long direct = usedDirect();
+			FleetStore store = columns(nbVehicles, offHeap);
+			long storeHeap = usedHeap() - heap;
+			long storeDirect = usedDirect() - direct;
+			start = System.nanoTime();
+			available = store.count(StateCode.DISPONIBLE);
+			report(offHeap ? "store off-heap" : "store heap", storeHeap, storeDirect, System.nanoTime() - start, available,
+					nbVehicles);
+		}
+		// keeps the vehicle objects alive while the stores are measured
+		Reference.reachabilityFence(stations);
+	}
+
+	private static ArrayList<Station> objects(int nbVehicles) {
+		ArrayList<Station> stations = new ArrayList<>();
+		int id = 0;
+		for (int i = 0; id < nbVehicles; i++) {
+			Station station = new VeloStation(i, "Station-" + i, VEHICLES_PER_STATION);
+			ArrayList<Vehicle> vehicles = new ArrayList<>();
+			for (int j = 0; j < VEHICLES_PER_STATION && id < nbVehicles; j++, id++) {
+				Vehicle vehicle = id % 4 == 0 ? new ElectricVelo(id, station) : new ClassicVelo(id, station);
+				vehicles.add(id % 2 == 0 ? new Basket(vehicle) : id % 3 == 0 ? new Painting(vehicle) : vehicle);
+			}
+			station.addVehicles(vehicles);
+			stations.add(station);
+		}
+		return stations;
+	}
+
+	private static FleetStore columns(int nbVehicles, boolean offHeap) {
+		FleetStore store = new FleetStore(nbVehicles, offHeap);
+		for (int id = 0; id < nbVehicles; id++) {
+			int accessories = (id % 4 == 0 ? FleetStore.ELECTRIC : 0)
+					| (id % 2 == 0 ? FleetStore.BASKET : id % 3 == 0 ? FleetStore.PAINTING : 0);
+			store.add(id, id / VEHICLES_PER_STATION, StateCode.DISPONIBLE, 0, id % 4 == 0 ? 100 : 0, accessories);
+		}
+		return store;
+	}
+
+	private static void report(String layout, long heap, long direct, long nanos, int available, int nbVehicles) {
+		System.out.printf("%-14s %14.1f %16.1f %14.2f   (%d available)%n", layout, (double) heap / nbVehicles,
+				(double) direct / nbVehicles, nanos / 1e6, available);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long usedDirect() {
+		for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			if (pool.getName().equals("direct")) {
+				return pool.getMemoryUsed();
+			}
+		}
+		return 0;
+	}
+}
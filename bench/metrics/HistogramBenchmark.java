@@ -0,0 +1,34 @@
+package metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures recording latencies into one histogram shared by every benchmark thread, as the stations do
+ * with the shared Metrics registry. Run it with several thread counts (-t) to see how recording scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistogramBenchmark {
+
+	private final Histogram histogram = new Histogram();
+
+	@Benchmark
+	public void record() {
+		this.histogram.record(ThreadLocalRandom.current().nextInt(1000, 100_000));
+	}
+}
@@ -0,0 +1,84 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schedulers.ExecutorScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+
+/**
+ * Measures how many records a journal appends per second on one thread, with the group commit running
+ * in the background every JOURNAL_SYNC_INTERVAL milliseconds, as it does on a journaled network.
+ * The journal is written to a temporary file, deleted after each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+	private Path file;
+	private Journal journal;
+	private ExecutorScheduler scheduler;
+	private Station station;
+	private Station otherStation;
+	private Vehicle vehicle;
+
+	@Setup(Level.Trial)
+	public void setUpNetwork() {
+		this.station = new VeloStation(1, "first", 10);
+		this.otherStation = new VeloStation(2, "second", 10);
+		this.vehicle = new Basket(new ElectricVelo(1, null));
+		this.station.addVehicle(this.vehicle);
+		this.scheduler = new ExecutorScheduler(1);
+	}
+
+	@Setup(Level.Iteration)
+	public void openJournal() throws IOException {
+		this.file = Files.createTempFile("journal", ".bench");
+		Files.delete(this.file);
+		this.journal = new Journal(this.file, this.scheduler);
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteJournal() throws IOException {
+		this.journal.close();
+		Files.delete(this.file);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopScheduler() {
+		this.scheduler.shutdown();
+	}
+
+	@Benchmark
+	public void appendVehicleRecord() {
+		this.journal.append(JournalRecord.Type.MOVE, this.vehicle, this.otherStation);
+	}
+
+	@Benchmark
+	public void appendStationRecord() {
+		this.journal.append(this.station);
+	}
+}
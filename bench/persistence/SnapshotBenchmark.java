@@ -0,0 +1,81 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+
+/**
+ * Measures how long writing and restoring a snapshot of the whole network takes,
+ * for a fleet of a given size spread over stations of 100 vehicles.
+ * Restoring builds every station and vehicle again, the way a restart does.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+	private static final int VEHICLES_PER_STATION = 100;
+
+	@Param({"100000", "1000000"})
+	public int nbVehicles;
+
+	private ArrayList<Station> stations;
+	private Path file;
+
+	@Setup
+	public void setUp() throws IOException {
+		this.stations = new ArrayList<>();
+		int id = 0;
+		for (int i = 0; id < this.nbVehicles; i++) {
+			Station station = new VeloStation(i, "Station-" + i, VEHICLES_PER_STATION);
+			ArrayList<Vehicle> vehicles = new ArrayList<>();
+			for (int j = 0; j < VEHICLES_PER_STATION && id < this.nbVehicles; j++, id++) {
+				vehicles.add(id % 4 == 0 ? new Basket(new ElectricVelo(id, null)) : new ClassicVelo(id, null));
+			}
+			station.addVehicles(vehicles);
+			this.stations.add(station);
+		}
+		this.file = Files.createTempFile("network", ".snapshot");
+		NetworkSnapshot.write(this.file, this.stations);
+	}
+
+	@TearDown
+	public void deleteSnapshot() throws IOException {
+		Files.delete(this.file);
+	}
+
+	@Benchmark
+	public long write() throws IOException {
+		return NetworkSnapshot.write(this.file, this.stations);
+	}
+
+	@Benchmark
+	public ArrayList<Station> restore() throws IOException {
+		return NetworkSnapshot.read(this.file);
+	}
+}
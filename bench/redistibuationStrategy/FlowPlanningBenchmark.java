@@ -0,0 +1,64 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+/**
+ * Measures how long the FlowStrategy takes to plan a network-wide rebalancing,
+ * with stations spread over a square and filled at random.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowPlanningBenchmark {
+
+	private static final int CAPACITY = 20;
+
+	@Param({"1000", "5000"})
+	public int nbStations;
+
+	private ArrayList<Station> stations;
+	private FlowStrategy strategy;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		this.strategy = new FlowStrategy();
+		this.stations = new ArrayList<>();
+		int id = 0;
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new VeloStation(i, "bench" + i, CAPACITY);
+			station.setLocation(random.nextDouble() * 10, random.nextDouble() * 10);
+			int nbVehicles = random.nextInt(CAPACITY + 1);
+			for (int j = 0; j < nbVehicles; j++) {
+				station.addVehicle(new ClassicVelo(id++, station));
+			}
+			this.stations.add(station);
+		}
+	}
+
+	@Benchmark
+	public RebalancingPlan plan() {
+		return this.strategy.plan(this.stations);
+	}
+}
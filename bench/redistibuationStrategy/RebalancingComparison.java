@@ -0,0 +1,161 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import schedulers.IdleScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+/**
+ * Replays the same simulated day with each redistribution strategy and reports how many vehicles they moved
+ * and how far. Stations are spread over a 10 km square; trips start more often on the outskirts and end more often
+ * in the centre, so the centre fills up and the outskirts run dry, as on a morning commute.
+ * Strategies are called as the control center calls them: when a rent empties a station or a deposit fills one.
+ * The run fails if a single trigger of the FlowStrategy takes longer than its planning budget of one second.
+ *
+ * Run with: java -cp benchClasses:classes redistibuationStrategy.RebalancingComparison [nbStations] [nbTrips]
+ */
+public class RebalancingComparison {
+
+	private static final int CAPACITY = 20;
+	private static final double SIDE = 10;
+	private static final long SEED = 42;
+	private static final long FLOW_BUDGET_NANOS = 1_000_000_000L;
+
+	/**
+	 * A station that counts the vehicles moved out of it by the strategies and the distance they travel.
+	 */
+	private static class MeteredStation extends VeloStation {
+		private final double[] totals;
+
+		private MeteredStation(int id, int maxCapacite, double[] totals) {
+			super(id, "Station-" + id, maxCapacite);
+			this.totals = totals;
+		}
+
+		@Override
+		public boolean transferVehicleTo(Station target) {
+			boolean moved = super.transferVehicleTo(target);
+			if (moved) {
+				this.totals[0]++;
+				this.totals[1] += this.distanceTo(target);
+			}
+			return moved;
+		}
+
+		@Override
+		public int transferVehiclesTo(Station target, int nbVehicles) {
+			int moved = super.transferVehiclesTo(target, nbVehicles);
+			this.totals[0] += moved;
+			this.totals[1] += moved * this.distanceTo(target);
+			return moved;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int nbStations = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int nbTrips = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+		System.out.printf("%d stations, %d trips%n", nbStations, nbTrips);
+		System.out.printf("%-8s %10s %14s %10s %10s %12s %14s%n", "strategy", "moves", "distance (km)", "triggers", "failures", "time (ms)", "slowest (ms)");
+		for (RedistributionStrategy strategy : new RedistributionStrategy[] {new ClassicStrategy(), new HeapStrategy(), new FlowStrategy()}) {
+			long slowest = replay(strategy, nbStations, nbTrips);
+			if (strategy instanceof FlowStrategy && slowest > FLOW_BUDGET_NANOS) {
+				throw new IllegalStateException(String.format("A FlowStrategy trigger took %d ms on %d stations, over the budget of %d ms",
+						slowest / 1000000, nbStations, FLOW_BUDGET_NANOS / 1000000));
+			}
+		}
+	}
+
+	private static int pick(double[] cumulative, SplittableRandom random) {
+		int i = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+		return Math.min(cumulative.length - 1, i < 0 ? -i - 1 : i);
+	}
+
+	/**
+	 * Replays the day with a strategy and prints its totals.
+	 *
+	 * @return The time taken by the slowest trigger, in nanoseconds.
+	 */
+	private static long replay(RedistributionStrategy strategy, int nbStations, int nbTrips) {
+		SplittableRandom random = new SplittableRandom(SEED);
+		double[] totals = new double[2];
+		ArrayList<Station> stations = new ArrayList<>();
+		double[] origins = new double[nbStations];
+		double[] destinations = new double[nbStations];
+		int id = 0;
+		for (int i = 0; i < nbStations; i++) {
+			Station station = new MeteredStation(i, CAPACITY, totals);
+			station.setScheduler(IdleScheduler.INSTANCE);
+			double x = random.nextDouble() * SIDE;
+			double y = random.nextDouble() * SIDE;
+			station.setLocation(x, y);
+			for (int j = 0; j < CAPACITY / 2; j++) {
+				station.addVehicle(new ClassicVelo(id++, station));
+			}
+			stations.add(station);
+			double fromCentre = Math.hypot(x - SIDE / 2, y - SIDE / 2);
+			origins[i] = (i == 0 ? 0 : origins[i - 1]) + 1 + fromCentre;
+			destinations[i] = (i == 0 ? 0 : destinations[i - 1]) + 1 + (SIDE - fromCentre);
+		}
+		int triggers = 0;
+		int failures = 0;
+		long nanos = 0;
+		long slowest = 0;
+		for (int trip = 0; trip < nbTrips; trip++) {
+			Station origin = stations.get(pick(origins, random));
+			Vehicle vehicle;
+			try {
+				vehicle = origin.rentVehicle();
+			} catch (StationEmptyException | RedistribuationNotCompletedException e) {
+				continue;
+			}
+			vehicle.resetNumberOfRentals();
+			if (origin.isEmpty()) {
+				triggers++;
+				long start = System.nanoTime();
+				try {
+					strategy.redistributeWhenEmpty(origin, stations);
+				} catch (RedistribuationNotCompletedException e) {
+					failures++;
+				}
+				long elapsed = System.nanoTime() - start;
+				nanos += elapsed;
+				slowest = Math.max(slowest, elapsed);
+			}
+			Station destination;
+			while (true) {
+				destination = stations.get(pick(destinations, random));
+				try {
+					destination.deposit(vehicle);
+					break;
+				} catch (StationFullException e) {
+					// the rider goes to another station
+				} catch (StationEmptyException | RedistribuationNotCompletedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+			if (destination.isFull()) {
+				triggers++;
+				long start = System.nanoTime();
+				try {
+					strategy.redistributeWhenFull(destination, stations);
+				} catch (RedistribuationNotCompletedException e) {
+					failures++;
+				}
+				long elapsed = System.nanoTime() - start;
+				nanos += elapsed;
+				slowest = Math.max(slowest, elapsed);
+			}
+		}
+		String name = strategy.getClass().getSimpleName().replace("Strategy", "");
+		System.out.printf("%-8s %10d %14.1f %10d %10d %12d %14d%n", name, (long) totals[0], totals[1], triggers, failures, nanos / 1000000, slowest / 1000000);
+		return slowest;
+	}
+}
@@ -0,0 +1,86 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.RedistribuationNotCompletedException;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+/**
+ * Measures the cost of refilling an emptied station on a large network.
+ * Every station sits exactly at half capacity except two full donors at the end of the list,
+ * so the ClassicStrategy needs several passes over the network to gather enough vehicles.
+ * Each operation empties the next balanced station, redistributes to it, then gives the removed vehicles back to the donors,
+ * so the network is in the same shape before every operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RedistributionBenchmark {
+
+	private static final int CAPACITY = 20;
+	private static final int NB_DONORS = 2;
+
+	@Param({"500", "5000"})
+	public int nbStations;
+
+	@Param({"classic", "heap"})
+	public String strategyName;
+
+	private RedistributionStrategy strategy;
+	private ArrayList<Station> stations;
+	private Station sink;
+	private int nbBalanced;
+	private int next;
+	private int nextDonor;
+
+	@Setup
+	public void setUp() {
+		this.strategy = this.strategyName.equals("heap") ? new HeapStrategy() : new ClassicStrategy();
+		this.stations = new ArrayList<>();
+		this.nbBalanced = this.nbStations - NB_DONORS;
+		int id = 0;
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new VeloStation(i, "bench" + i, CAPACITY);
+			int nbVehicles = i < this.nbBalanced ? CAPACITY / 2 : CAPACITY;
+			for (int j = 0; j < nbVehicles; j++) {
+				station.addVehicle(new ClassicVelo(id++, station));
+			}
+			this.stations.add(station);
+		}
+		this.sink = new VeloStation(-1, "sink", Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public Station refillEmptiedStation() throws RedistribuationNotCompletedException {
+		Station station = this.stations.get(this.next);
+		this.next = (this.next + 1) % this.nbBalanced;
+		while (station.transferVehicleTo(this.sink)) {
+		}
+		this.strategy.redistributeWhenEmpty(station, this.stations);
+		while (!this.sink.isEmpty()) {
+			Station donor = this.stations.get(this.nbBalanced + this.nextDonor);
+			if (!this.sink.transferVehicleTo(donor)) {
+				this.nextDonor = (this.nextDonor + 1) % NB_DONORS;
+			}
+		}
+		return station;
+	}
+}
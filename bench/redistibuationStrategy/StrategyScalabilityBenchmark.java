@@ -0,0 +1,213 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.RedistribuationNotCompletedException;
+import schedulers.IdleScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+/**
+ * Compares how redistribution strategies scale with the size of the network, on the same synthetic scenarios.
+ * A network is built with a controlled imbalance: a fraction of the stations, spread at random over the list
+ * and over a 10 km square, is full and the same fraction is empty; every other station is half full.
+ * Each measurement triggers one redistribution the way the control center does, on the next empty station
+ * (redistributeWhenEmpty) or the next full one (redistributeWhenFull), and the network is put back in its initial
+ * shape before the next measurement.
+ *
+ * Besides the time of each redistribution, the report gives the vehicles moved per redistribution and how many
+ * redistributions ended with an exception (RedistribuationNotCompletedException, or any runtime exception a strategy throws).
+ * The allocation rate comes from the JMH GC profiler:
+ *
+ *   make bench BENCH="StrategyScalabilityBenchmark -prof gc"
+ *
+ * Any strategy can take part: besides the names below, strategyName accepts the fully qualified name of a class
+ * implementing RedistributionStrategy with a no-argument constructor, for instance
+ *
+ *   make bench BENCH="StrategyScalabilityBenchmark -p strategyName=my.package.MyStrategy"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyScalabilityBenchmark {
+
+	private static final int CAPACITY = 20;
+	private static final double SIDE = 10;
+	private static final long SEED = 42;
+
+	@Param({"100", "1000", "10000", "50000"})
+	public int nbStations;
+
+	@Param({"classic", "random", "weighted", "heap", "flow"})
+	public String strategyName;
+
+	@Param({"empty", "full"})
+	public String trigger;
+
+	@Param({"0.01", "0.1"})
+	public double imbalance;
+
+	private RedistributionStrategy strategy;
+	private ArrayList<Station> stations;
+	private int[] initialVehicles;
+	private ArrayList<Station> triggers;
+	private Station reservoir;
+	private int nextTrigger;
+	private final long[] transfers = new long[1];
+
+	/**
+	 * The secondary results, summed over the measurements of an iteration.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Outcome {
+		public long vehiclesMoved;
+		public long failures;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.vehiclesMoved = 0;
+			this.failures = 0;
+		}
+	}
+
+	/**
+	 * A station counting the vehicles the strategy moves out of it, one at a time or in bulk.
+	 */
+	private static class CountingStation extends VeloStation {
+		private final long[] transfers;
+
+		private CountingStation(int id, int maxCapacite, long[] transfers) {
+			super(id, "Station-" + id, maxCapacite);
+			this.transfers = transfers;
+		}
+
+		@Override
+		public boolean transferVehicleTo(Station target) {
+			boolean moved = super.transferVehicleTo(target);
+			if (moved) {
+				this.transfers[0]++;
+			}
+			return moved;
+		}
+
+		@Override
+		public int transferVehiclesTo(Station target, int nbVehicles) {
+			int moved = super.transferVehiclesTo(target, nbVehicles);
+			this.transfers[0] += moved;
+			return moved;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws ReflectiveOperationException {
+		this.strategy = createStrategy(this.strategyName);
+		SplittableRandom random = new SplittableRandom(SEED);
+		int nbUnbalanced = Math.max(1, (int) (this.nbStations * this.imbalance));
+		int[] roles = new int[this.nbStations];
+		for (int i = 0; i < nbUnbalanced; i++) {
+			roles[i] = 1;
+			roles[nbUnbalanced + i] = -1;
+		}
+		for (int i = this.nbStations - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int role = roles[i];
+			roles[i] = roles[j];
+			roles[j] = role;
+		}
+		this.stations = new ArrayList<>();
+		this.triggers = new ArrayList<>();
+		this.initialVehicles = new int[this.nbStations];
+		int id = 0;
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new CountingStation(i, CAPACITY, this.transfers);
+			station.setScheduler(IdleScheduler.INSTANCE);
+			station.setLocation(random.nextDouble() * SIDE, random.nextDouble() * SIDE);
+			this.initialVehicles[i] = roles[i] > 0 ? CAPACITY : roles[i] < 0 ? 0 : CAPACITY / 2;
+			for (int j = 0; j < this.initialVehicles[i]; j++) {
+				station.addVehicle(new ClassicVelo(id++, station));
+			}
+			this.stations.add(station);
+			if (roles[i] == (this.trigger.equals("full") ? 1 : -1)) {
+				this.triggers.add(station);
+			}
+		}
+		this.reservoir = new VeloStation(-1, "reservoir", Integer.MAX_VALUE);
+		this.reservoir.setScheduler(IdleScheduler.INSTANCE);
+	}
+
+	/**
+	 * Creates a strategy from its short name or from the name of its class.
+	 */
+	private static RedistributionStrategy createStrategy(String name) throws ReflectiveOperationException {
+		switch (name) {
+		case "classic":
+			return new ClassicStrategy();
+		case "random":
+			return new RandomStrategy();
+		case "weighted":
+			return new WeightedRandomStrategy(SEED, true);
+		case "heap":
+			return new HeapStrategy();
+		case "flow":
+			return new FlowStrategy();
+		default:
+			return (RedistributionStrategy) Class.forName(name).getDeclaredConstructor().newInstance();
+		}
+	}
+
+	/**
+	 * Puts every station back to its initial number of vehicles, through a reservoir.
+	 */
+	@Setup(Level.Iteration)
+	public void restoreNetwork() {
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = this.stations.get(i);
+			while (station.getNbVehicles() > this.initialVehicles[i] && station.transferVehicleTo(this.reservoir)) {
+			}
+		}
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = this.stations.get(i);
+			while (station.getNbVehicles() < this.initialVehicles[i] && this.reservoir.transferVehicleTo(station)) {
+			}
+		}
+		this.transfers[0] = 0;
+	}
+
+	@Benchmark
+	public Station redistribute(Outcome outcome) {
+		Station station = this.triggers.get(this.nextTrigger);
+		this.nextTrigger = (this.nextTrigger + 1) % this.triggers.size();
+		try {
+			if (this.trigger.equals("full")) {
+				this.strategy.redistributeWhenFull(station, this.stations);
+			} else {
+				this.strategy.redistributeWhenEmpty(station, this.stations);
+			}
+		} catch (RedistribuationNotCompletedException | RuntimeException e) {
+			outcome.failures++;
+		}
+		outcome.vehiclesMoved += this.transfers[0];
+		return station;
+	}
+}
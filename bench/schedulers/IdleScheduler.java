@@ -0,0 +1,38 @@
+package schedulers;
+
+/**
+ * A scheduler that drops every action it is given, for the benchmarks measuring stations and strategies
+ * without the delayed notifications they schedule. The tasks it returns are already cancelled.
+ */
+public final class IdleScheduler implements Scheduler {
+	/**
+     * The shared idle scheduler.
+     */
+	public static final IdleScheduler INSTANCE = new IdleScheduler();
+
+	private static final ScheduledTask DROPPED = new ScheduledTask() {
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return true;
+		}
+	};
+
+	private IdleScheduler() {
+	}
+
+	/**
+     * Drops an action.
+     *
+     * @param action The action, never run.
+     * @param delay  The delay, ignored.
+     * @return A task that is already cancelled.
+     */
+	@Override
+	public ScheduledTask schedule(Runnable action, long delay) {
+		return DROPPED;
+	}
+}
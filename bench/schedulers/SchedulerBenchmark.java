@@ -0,0 +1,123 @@
+package schedulers;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the shared scheduler with a large number of pending tasks, as a network of
+ * many stations each waiting on a delayed notification would produce.
+ * A single java.util.Timer is used as the baseline; the previous design needed one per station.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchedulerBenchmark {
+
+	private static final long FAR_AWAY = TimeUnit.HOURS.toMillis(1);
+
+	@Param({"100000"})
+	public int pendingTasks;
+
+	private ExecutorScheduler scheduler;
+	private Timer timer;
+	private ScheduledTask lastTask;
+	private TimerTask lastTimerTask;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.scheduler = new ExecutorScheduler(1);
+		this.timer = new Timer(true);
+		for (int i = 0; i < this.pendingTasks; i++) {
+			this.scheduler.schedule(() -> {}, FAR_AWAY + i);
+			this.timer.schedule(new TimerTask() {
+				@Override
+				public void run() {}
+			}, FAR_AWAY + i);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.scheduler.shutdown();
+		this.timer.cancel();
+	}
+
+	/**
+	 * Cancels the previous task and schedules a new one, the pattern Station.scheduleTask follows.
+	 */
+	@Benchmark
+	public ScheduledTask rescheduleShared() {
+		if (this.lastTask != null) {
+			this.lastTask.cancel();
+		}
+		this.lastTask = this.scheduler.schedule(() -> {}, FAR_AWAY);
+		return this.lastTask;
+	}
+
+	/**
+	 * Same pattern on a java.util.Timer, where cancelled tasks stay queued until purged.
+	 */
+	@Benchmark
+	public TimerTask rescheduleTimer() {
+		if (this.lastTimerTask != null) {
+			this.lastTimerTask.cancel();
+		}
+		this.lastTimerTask = new TimerTask() {
+			@Override
+			public void run() {}
+		};
+		this.timer.schedule(this.lastTimerTask, FAR_AWAY);
+		return this.lastTimerTask;
+	}
+
+	/**
+	 * Schedules a burst of short tasks on top of the pending ones and waits until they all ran.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10000)
+	public void fireBurstShared() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(10000);
+		for (int i = 0; i < 10000; i++) {
+			this.scheduler.schedule(latch::countDown, i % 5);
+		}
+		latch.await();
+	}
+
+	/**
+	 * Same burst on a java.util.Timer.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10000)
+	public void fireBurstTimer() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(10000);
+		for (int i = 0; i < 10000; i++) {
+			this.timer.schedule(new TimerTask() {
+				@Override
+				public void run() {
+					latch.countDown();
+				}
+			}, i % 5);
+		}
+		latch.await();
+	}
+}
@@ -0,0 +1,92 @@
+package stations;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schedulers.SimulationScheduler;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+
+/**
+ * Measures a charging tick over a network of fully charged stations of 20 electric bikes,
+ * after a given number of stations each had one bike come back with 10 battery points less.
+ * The incremental tick only visits these stations; the full scan visits every station, as a tick without
+ * change tracking would. Each invocation leaves the network fully charged again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChargingBenchmark {
+
+	private static final int VEHICLES_PER_STATION = 20;
+
+	@Param({"10000"})
+	public int nbStations;
+
+	@Param({"10", "100"})
+	public int nbChangedStations;
+
+	private ArrayList<Station> stations;
+	private ChargingScheduler charging;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		this.stations = new ArrayList<>();
+		int id = 0;
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new VeloStation(i, "Station-" + i, VEHICLES_PER_STATION);
+			for (int j = 0; j < VEHICLES_PER_STATION; j++) {
+				station.addVehicle(new ElectricVelo(id++, station));
+			}
+			this.stations.add(station);
+		}
+		this.charging = new ChargingScheduler(new SimulationScheduler(), 1000, 10);
+		this.charging.watchAll(this.stations);
+		this.charging.tick();
+	}
+
+	private void bringBikesBack() {
+		for (int i = 0; i < this.nbChangedStations; i++) {
+			Station station = this.stations.get(this.next);
+			this.next = (this.next + 97) % this.stations.size();
+			Vehicle vehicle = station.getVehicles().get(0);
+			station.removeVehicle(vehicle);
+			vehicle.getElectricVelo().decreaseBatteryLevel(10);
+			station.addVehicle(vehicle);
+		}
+	}
+
+	@Benchmark
+	public int incrementalTick() {
+		this.bringBikesBack();
+		return this.charging.tick();
+	}
+
+	@Benchmark
+	public int fullScan() {
+		this.bringBikesBack();
+		int nbCharging = 0;
+		for (Station station : this.stations) {
+			if (station.chargeElectricVelos(10)) {
+				nbCharging++;
+			}
+		}
+		return nbCharging;
+	}
+}
@@ -0,0 +1,91 @@
+package stations;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import schedulers.IdleScheduler;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+/**
+ * Measures rent and deposit throughput on thread-safe stations as the number of clients grows.
+ * Each operation rents from a random station and deposits into another random one,
+ * so contention is spread over the stations the way it is in the simulation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentStationBenchmark {
+
+	private static final int NB_STATIONS = 10;
+	private static final int CAPACITY = 40;
+
+	private Station[] stations;
+
+	@Setup
+	public void setUp() {
+		this.stations = new Station[NB_STATIONS];
+		int id = 0;
+		for (int i = 0; i < NB_STATIONS; i++) {
+			this.stations[i] = new ConcurrentVeloStation(i, "bench" + i, CAPACITY);
+			this.stations[i].setScheduler(IdleScheduler.INSTANCE);
+			for (int j = 0; j < CAPACITY / 2; j++) {
+				this.stations[i].addVehicle(new ClassicVelo(id++, this.stations[i]));
+			}
+		}
+	}
+
+	private Vehicle rentAndDeposit() throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Vehicle vehicle;
+		try {
+			vehicle = this.stations[random.nextInt(NB_STATIONS)].rentVehicle();
+		} catch (StationEmptyException e) {
+			return null;
+		}
+		vehicle.resetNumberOfRentals();
+		while (true) {
+			try {
+				this.stations[random.nextInt(NB_STATIONS)].deposit(vehicle);
+				return vehicle;
+			} catch (StationFullException e) {
+				// try another station
+			}
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Vehicle oneClient() throws Exception {
+		return this.rentAndDeposit();
+	}
+
+	@Benchmark
+	@Threads(2)
+	public Vehicle twoClients() throws Exception {
+		return this.rentAndDeposit();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Vehicle fourClients() throws Exception {
+		return this.rentAndDeposit();
+	}
+}
@@ -0,0 +1,94 @@
+package stations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import schedulers.IdleScheduler;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * Measures the dock operations of stations up to the size of a hub, on a station one dock short of full.
+ * The first half of the vehicles docked can be rented; the second half, docked on top of them, are broken down,
+ * so every rent takes a vehicle from below the broken ones.
+ * Each benchmark leaves the station with the same vehicles at the same places, up to their order.
+ * The station's delayed notifications go to a scheduler that drops them, so only the station itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DockStorageBenchmark {
+
+	@Param({"16", "256", "1024"})
+	public int capacity;
+
+	private Station station;
+	private Vehicle[] vehicles;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		this.station = new VeloStation(1, "hub", this.capacity);
+		this.station.setScheduler(IdleScheduler.INSTANCE);
+		this.vehicles = new Vehicle[this.capacity - 1];
+		for (int i = 0; i < this.vehicles.length; i++) {
+			this.vehicles[i] = new ClassicVelo(i, this.station);
+			this.station.addVehicle(this.vehicles[i]);
+			if (i >= this.vehicles.length / 2) {
+				this.vehicles[i].setStateCode(StateCode.BROKEN_DOWN);
+			}
+		}
+	}
+
+	/**
+	 * Undocking the vehicle docked the longest ago, at the bottom of the station, and docking it again on top.
+	 */
+	@Benchmark
+	public Vehicle undockOldestAndDockAgain() {
+		Vehicle vehicle = this.vehicles[this.next];
+		this.next = (this.next + 1) % this.vehicles.length;
+		this.station.removeVehicle(vehicle);
+		this.station.addVehicle(vehicle);
+		return vehicle;
+	}
+
+	/**
+	 * A rent below the broken-down vehicles followed by the deposit of the same vehicle on top of them.
+	 */
+	@Benchmark
+	public Vehicle rentAndDeposit() throws RedistribuationNotCompletedException, StationEmptyException, StationFullException {
+		Vehicle vehicle = this.station.rentVehicle();
+		this.station.deposit(vehicle);
+		vehicle.resetNumberOfRentals();
+		return vehicle;
+	}
+
+	/**
+	 * Moving the top vehicle to a neighbouring station and back, as redistributions do.
+	 */
+	@Benchmark
+	public Vehicle stealAndDockAgain() {
+		Vehicle vehicle = this.station.stealVehicle();
+		vehicle.setStateCode(StateCode.BROKEN_DOWN);
+		this.station.addVehicle(vehicle);
+		return vehicle;
+	}
+}
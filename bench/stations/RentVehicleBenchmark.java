@@ -0,0 +1,77 @@
+package stations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.BrokenDown;
+import vehiclesState.Disponible;
+
+/**
+ * Measures the cost of finding a vehicle to rent in a large station where the only
+ * available vehicle sits behind docks full of broken-down vehicles.
+ * The linear scan reproduces the lookup the station used before the available-vehicle index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RentVehicleBenchmark {
+
+	@Param({"20", "200", "2000"})
+	public int docks;
+
+	private Station station;
+
+	@Setup
+	public void setUp() {
+		this.station = new VeloStation(1, "bench", this.docks * 2);
+		this.station.addVehicle(new ClassicVelo(0, this.station));
+		for (int i = 1; i < this.docks; i++) {
+			Vehicle broken = new ClassicVelo(i, this.station);
+			broken.setState(new BrokenDown(broken));
+			this.station.addVehicle(broken);
+		}
+	}
+
+	/**
+	 * The previous lookup: walk every dock and compare states through a freshly allocated state.
+	 */
+	@Benchmark
+	public Vehicle linearScan() {
+		for (Vehicle vehicle : this.station.getVehicles()) {
+			if (vehicle.getState().equals(new Disponible(vehicle))) {
+				return vehicle;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * A full rent followed by a deposit of the same vehicle, going through the available-vehicle index.
+	 */
+	@Benchmark
+	public Vehicle indexedRentAndDeposit() throws RedistribuationNotCompletedException, StationEmptyException, StationFullException {
+		Vehicle vehicle = this.station.rentVehicle();
+		this.station.deposit(vehicle);
+		vehicle.resetNumberOfRentals();
+		return vehicle;
+	}
+}
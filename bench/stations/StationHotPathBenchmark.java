@@ -0,0 +1,131 @@
+package stations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import schedulers.IdleScheduler;
+import vehicleDecorators.Basket;
+import vehicleDecorators.LuggageRack;
+import vehicleDecorators.Painting;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * Measures the station operations every rent and deposit goes through, on a half-full station
+ * of a given capacity whose vehicles are wrapped in a given number of decorators.
+ * Each benchmark leaves the station as it found it, so the measured state does not drift between invocations.
+ * The station's delayed notifications go to a scheduler that drops them, so only the station itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StationHotPathBenchmark {
+
+	@Param({"16", "256", "4096"})
+	public int capacity;
+
+	@Param({"0", "1", "4"})
+	public int decoratorDepth;
+
+	private Station station;
+	private Vehicle middleVehicle;
+	private Vehicle loneVehicle;
+
+	private Vehicle decorate(Vehicle vehicle) {
+		for (int i = 0; i < this.decoratorDepth; i++) {
+			switch (i % 3) {
+			case 0:
+				vehicle = new Basket(vehicle);
+				break;
+			case 1:
+				vehicle = new LuggageRack(vehicle);
+				break;
+			default:
+				vehicle = new Painting(vehicle);
+			}
+		}
+		return vehicle;
+	}
+
+	@Setup
+	public void setUp() {
+		this.station = new VeloStation(1, "bench", this.capacity);
+		this.station.setScheduler(IdleScheduler.INSTANCE);
+		for (int i = 0; i < this.capacity / 2; i++) {
+			Vehicle vehicle = this.decorate(new ClassicVelo(i, this.station));
+			this.station.addVehicle(vehicle);
+			if (i == this.capacity / 4) {
+				this.middleVehicle = vehicle;
+			}
+		}
+		this.loneVehicle = this.decorate(new ClassicVelo(this.capacity, null));
+	}
+
+	/**
+	 * A rent followed by the deposit of the same vehicle, the path of every trip.
+	 */
+	@Benchmark
+	public Vehicle rentAndDeposit() throws RedistribuationNotCompletedException, StationEmptyException, StationFullException {
+		Vehicle vehicle = this.station.rentVehicle();
+		this.station.deposit(vehicle);
+		vehicle.resetNumberOfRentals();
+		return vehicle;
+	}
+
+	/**
+	 * Removing a vehicle docked in the middle of the station and docking it again.
+	 */
+	@Benchmark
+	public Vehicle removeAndAddVehicle() {
+		this.station.removeVehicle(this.middleVehicle);
+		this.station.addVehicle(this.middleVehicle);
+		return this.middleVehicle;
+	}
+
+	/**
+	 * Docking a vehicle and removing it again, the last docked one.
+	 */
+	@Benchmark
+	public Vehicle addAndRemoveVehicle() {
+		this.station.addVehicle(this.loneVehicle);
+		this.station.removeVehicle(this.loneVehicle);
+		return this.loneVehicle;
+	}
+
+	/**
+	 * Finding the vehicle under the decorators, as deposits, repairs and the end of a rental do.
+	 */
+	@Benchmark
+	public Vehicle unwrapDecorators() {
+		return this.middleVehicle.getBaseVehicle();
+	}
+
+	/**
+	 * A rental and a return on a docked vehicle without moving it, including the update of the station's available-vehicle index.
+	 */
+	@Benchmark
+	public StateCode stateTransitions() {
+		this.middleVehicle.changeState(false);
+		this.middleVehicle.changeState(false);
+		this.middleVehicle.resetNumberOfRentals();
+		return this.middleVehicle.getStateCode();
+	}
+}
@@ -0,0 +1,71 @@
+package stations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vehicles.ClassicVelo;
+
+/**
+ * Measures moving a batch of vehicles from a half-full station to another one and back,
+ * one {@link Station#transferVehicleTo(Station)} at a time or with a single {@link Station#transferVehiclesTo(Station, int)}.
+ * Both stations have the given capacity and an occupancy listener, as when a strategy keeps an index of the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferBenchmark {
+
+	@Param({"64", "256"})
+	public int capacity;
+
+	@Param({"30"})
+	public int nbVehicles;
+
+	private Station from;
+	private Station to;
+	private long nbNotifications;
+
+	@Setup
+	public void setUp() {
+		this.from = new VeloStation(1, "from", this.capacity);
+		this.to = new VeloStation(2, "to", this.capacity);
+		for (int i = 0; i < this.capacity / 2; i++) {
+			this.from.addVehicle(new ClassicVelo(i, this.from));
+			this.to.addVehicle(new ClassicVelo(this.capacity + i, this.to));
+		}
+		this.from.addOccupancyListener(station -> this.nbNotifications++);
+		this.to.addOccupancyListener(station -> this.nbNotifications++);
+	}
+
+	@Benchmark
+	public long singleTransfers() {
+		for (int i = 0; i < this.nbVehicles; i++) {
+			this.from.transferVehicleTo(this.to);
+		}
+		for (int i = 0; i < this.nbVehicles; i++) {
+			this.to.transferVehicleTo(this.from);
+		}
+		return this.nbNotifications;
+	}
+
+	@Benchmark
+	public long bulkTransfer() {
+		this.from.transferVehiclesTo(this.to, this.nbVehicles);
+		this.to.transferVehiclesTo(this.from, this.nbVehicles);
+		return this.nbNotifications;
+	}
+}
@@ -0,0 +1,66 @@
+package vehiclesState;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+/**
+ * Runs one million rent/deposit state cycles on a vehicle.
+ * The facade variant goes through State objects and string comparisons, as every transition
+ * and state check did before the StateCode table; the code variant uses the table directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateMachineBenchmark {
+
+	private static final int CYCLES = 1_000_000;
+
+	private Vehicle vehicle;
+
+	@Setup
+	public void setUp() {
+		this.vehicle = new ClassicVelo(1, null);
+	}
+
+	@Benchmark
+	public int facadeCycles() {
+		int brokenDown = 0;
+		for (int i = 0; i < CYCLES; i++) {
+			this.vehicle.getState().action(false);
+			this.vehicle.getState().action(false);
+			if (this.vehicle.getState().toString().equals("BrokenDown")) {
+				brokenDown++;
+			}
+		}
+		return brokenDown;
+	}
+
+	@Benchmark
+	public int stateCodeCycles() {
+		int brokenDown = 0;
+		for (int i = 0; i < CYCLES; i++) {
+			this.vehicle.changeState(false);
+			this.vehicle.changeState(false);
+			if (this.vehicle.getStateCode() == StateCode.BROKEN_DOWN) {
+				brokenDown++;
+			}
+		}
+		return brokenDown;
+	}
+}
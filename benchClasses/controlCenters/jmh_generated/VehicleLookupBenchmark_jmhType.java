@@ -0,0 +1,4 @@
+package controlCenters.jmh_generated;
+public class VehicleLookupBenchmark_jmhType extends VehicleLookupBenchmark_jmhType_B3 {
+}
+
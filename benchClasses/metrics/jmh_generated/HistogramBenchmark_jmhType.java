@@ -0,0 +1,4 @@
+package metrics.jmh_generated;
+public class HistogramBenchmark_jmhType extends HistogramBenchmark_jmhType_B3 {
+}
+
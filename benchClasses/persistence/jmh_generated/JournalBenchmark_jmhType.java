@@ -0,0 +1,4 @@
+package persistence.jmh_generated;
+public class JournalBenchmark_jmhType extends JournalBenchmark_jmhType_B3 {
+}
+
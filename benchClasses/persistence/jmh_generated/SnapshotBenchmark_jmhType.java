@@ -0,0 +1,4 @@
+package persistence.jmh_generated;
+public class SnapshotBenchmark_jmhType extends SnapshotBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package redistibuationStrategy.jmh_generated;
+public class FlowPlanningBenchmark_jmhType extends FlowPlanningBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package redistibuationStrategy.jmh_generated;
+public class RedistributionBenchmark_jmhType extends RedistributionBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package redistibuationStrategy.jmh_generated;
+public class StrategyScalabilityBenchmark_Outcome_jmhType extends StrategyScalabilityBenchmark_Outcome_jmhType_B3 {
+}
+
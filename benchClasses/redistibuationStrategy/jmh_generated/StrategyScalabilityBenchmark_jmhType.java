@@ -0,0 +1,4 @@
+package redistibuationStrategy.jmh_generated;
+public class StrategyScalabilityBenchmark_jmhType extends StrategyScalabilityBenchmark_jmhType_B3 {
+}
+
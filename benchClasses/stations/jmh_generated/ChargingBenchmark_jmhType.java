@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class ChargingBenchmark_jmhType extends ChargingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class ConcurrentStationBenchmark_jmhType extends ConcurrentStationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class DockStorageBenchmark_jmhType extends DockStorageBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class RentVehicleBenchmark_jmhType extends RentVehicleBenchmark_jmhType_B3 {
+}
+
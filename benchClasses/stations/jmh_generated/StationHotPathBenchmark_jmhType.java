@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class StationHotPathBenchmark_jmhType extends StationHotPathBenchmark_jmhType_B3 {
+}
+
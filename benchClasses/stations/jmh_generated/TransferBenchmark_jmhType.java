@@ -0,0 +1,4 @@
+package stations.jmh_generated;
+public class TransferBenchmark_jmhType extends TransferBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package vehiclesState.jmh_generated;
+public class StateMachineBenchmark_jmhType extends StateMachineBenchmark_jmhType_B3 {
+}
+
@@ -23,4 +23,50 @@ public class Constants {
      * This constant is used to define how many stations are managed or monitored by a single control center.
      */
     public static final int NB_OF_STATION_IN_A_CONTROLCENTER = 10; 
-}
\ No newline at end of file
+
+    /**
+     * The number of mechanics of a control center's repair shop.
+     * This constant bounds how many vehicles can be repaired at the same time.
+     */
+    public static final int NB_OF_MECHANICS = 4;
+
+    /**
+     * The number of events the control center's event bus can hold.
+     * Stations wait for room when this many events are still waiting to be handled.
+     */
+    public static final int EVENT_BUS_CAPACITY = 1024;
+
+    /**
+     * The largest number of events the control center handles in one batch.
+     */
+    public static final int EVENT_BATCH_SIZE = 64;
+
+    /**
+     * The number of bytes of a journal file mapped in memory at once.
+     * The journal file grows by this many bytes when the mapped part is full.
+     */
+    public static final int JOURNAL_REGION_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The time in milliseconds between two syncs of a journal to the disk.
+     * At most the records of this interval are lost on a crash.
+     */
+    public static final long JOURNAL_SYNC_INTERVAL = 100;
+    /**
+     * The battery points a station shares between its docked electric bikes on each charging tick.
+     */
+    public static final int STATION_CHARGING_POWER = 20;
+    /**
+     * The most battery points a single electric bike takes on a charging tick.
+     */
+    public static final int ELECTRIC_VELO_CHARGING_RATE = 10;
+    /**
+     * The time in milliseconds between two charging ticks.
+     */
+    public static final long CHARGING_INTERVAL = 60 * 1000;
+    /**
+     * The time in milliseconds over which a rent or a deposit loses most of its weight
+     * in a station's estimate of its rent and deposit rates.
+     */
+    public static final long FLOW_TIME_CONSTANT = 15 * 60 * 1000;
+}
@@ -1,12 +1,21 @@
 package controlCenters;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import constants.Constants;
 import exceptions.RedistribuationNotCompletedException;
 import exceptions.StationEmptyException;
-import persons.Mechanic;
+import metrics.Metrics;
+import metrics.MetricsSnapshot;
+import persistence.Journal;
+import persistence.JournalRecord;
 import persons.Theif;
 import redistibuationStrategy.RedistributionStrategy;
+import schedulers.Scheduler;
+import stations.NetworkOccupancy;
 import stations.Station;
 import stations.VeloStation;
 import vehicles.Vehicle;
@@ -14,12 +23,35 @@ import vehicles.Vehicle;
 /**
  * The ControlCenter class represents the control hub in a bike station management system.
  * It implements the Observer interface and manages redistribution and maintenance operations of vehicles.
+ * The shared control center is reached with {@link #getInstanceControlCenter()}; other control centers can be created
+ * to split the network into independent regions, see {@link ShardedControlCenter}.
  */
 public class ControlCenter implements Observer {
-	private ArrayList<Station> stations;
-	private ArrayList<Vehicle> brokenDownVehicles;
+	private StationList stations;
+	private List<Vehicle> brokenDownVehicles;
 	private static ControlCenter instance;
 	private RedistributionStrategy strategy;
+	private RepairShop repairShop;
+	private volatile EventBus eventBus;
+	private Scheduler scheduler;
+	private volatile Journal journal;
+	private volatile ShardedControlCenter shards;
+	private long predictionHorizon;
+	private final NetworkOccupancy occupancy = new NetworkOccupancy();
+	private final VehicleRegistry registry = new VehicleRegistry();
+	private int occupancyModCount = -1;
+
+	/**
+	 * The list of stations, which tells how many times it has been structurally modified,
+	 * so the occupancy totals are counted again once stations are added, removed or replaced.
+	 */
+	private static class StationList extends ArrayList<Station> {
+		private static final long serialVersionUID = 1L;
+
+		int getModCount() {
+			return this.modCount;
+		}
+	}
 
 	/**
      * Private constructor for ControlCenter.
@@ -28,19 +60,28 @@ public class ControlCenter implements Observer {
      * @param nbOfStationTocreate The number of bike stations to create within the control center.
      */
 	private ControlCenter(int nbOfStationTocreate) {
-    	this.stations = new ArrayList<>();
-    	this.brokenDownVehicles = new ArrayList<>();
+    	this.stations = new StationList();
+    	this.brokenDownVehicles = Collections.synchronizedList(new ArrayList<>());
+    	this.repairShop = new RepairShop(Constants.NB_OF_MECHANICS, Constants.INTERVAL);
         this.setVeloStations(nbOfStationTocreate);
         
     }
 
+	/**
+     * Constructs a control center without any station, for instance to manage one region of the network.
+     * Stations added to it publish their events to it rather than to the shared control center.
+     */
+	public ControlCenter() {
+		this(0);
+	}
+
 	/**
      * Retrieves the singleton instance of the ControlCenter.
      * Creates the instance if it does not already exist.
      * 
      * @return The single instance of the ControlCenter.
      */
-    public static ControlCenter getInstanceControlCenter() {
+    public static synchronized ControlCenter getInstanceControlCenter() {
         if (ControlCenter.instance  == null) {
             ControlCenter.instance = new ControlCenter(Constants.NB_OF_STATION_IN_A_CONTROLCENTER);
         }
@@ -56,27 +97,78 @@ public class ControlCenter implements Observer {
         return this.stations;
     }
 
+    /**
+     * Gets the registry of the vehicles docked at, or rented from, the stations of the control center.
+     *
+     * @return The vehicle registry of the control center.
+     */
+    public VehicleRegistry getRegistry() {
+    	return this.registry;
+    }
+
+    /**
+     * Finds the station where a vehicle is currently docked, using the control center's VehicleRegistry.
+     * 
+     * @param vehicleId The ID of the vehicle to locate.
+     * @return The station of the vehicle, or null if it is not docked or unknown to this control center.
+     */
+    public Station locateVehicle(int vehicleId) {
+    	return this.registry.getStation(vehicleId);
+    }
+
     /**
      * Adds a station to the control center's list of stations.
+     * The vehicles already docked at the station are registered in the control center's registry.
      * 
      * @param station The Station object to be added.
      */
     public void addStation(Station station) {
+    	station.setControlCenter(this);
+    	for (Vehicle vehicle : station.getVehicles()) {
+    		this.registry.register(vehicle);
+    	}
+    	if (this.predictionHorizon > 0) {
+    		station.setPredictionHorizon(this.predictionHorizon);
+    	}
+    	if (this.scheduler != null) {
+    		station.setScheduler(this.scheduler);
+    	}
+    	Journal journal = this.journal;
+    	if (journal != null) {
+    		station.setJournal(journal);
+    		journal.append(station);
+    	}
     	this.stations.add(station);
     }
 
     /**
      * Removes a station from the control center's list of stations.
+     * The vehicles docked at the station are unregistered from the control center's registry,
+     * and the station stops publishing to the control center, appending to its journal and reporting to its occupancy totals.
      * 
      * @param station The Station object to be removed.
      */
     public void removeStation(Station station) {
-    	this.stations.remove(station);
+    	if (this.stations.remove(station) && station.getControlCenter() == this) {
+    		station.setControlCenter(null);
+    		if (this.journal != null && station.getJournal() == this.journal) {
+    			station.setJournal(null);
+    		}
+    		station.removeOccupancyListener(this.occupancy);
+    		for (Vehicle vehicle : station.getVehicles()) {
+    			if (vehicle.getRegistry() == this.registry) {
+    				this.registry.unregister(vehicle);
+    			}
+    		}
+    	}
     }
 
     /**
      * Updates information about a station.
      * Redistributes vehicles based on the station's status (full or not full).
+     * If the control center is a shard of a {@link ShardedControlCenter} with the cross-shard fallback on,
+     * a redistribution its own stations cannot complete is retried with the stations of the other shards.
+     * The duration of the redistribution goes to the metrics, and so does its failure.
      * 
      * @param station The station to update.
      * @param full    A boolean indicating if the station is full.
@@ -84,11 +176,56 @@ public class ControlCenter implements Observer {
      */
     @Override
     public void update(Station station, boolean full) throws RedistribuationNotCompletedException {
+    	Metrics metrics = Metrics.getInstance();
+    	long start = System.nanoTime();
+    	try {
+	    	try {
+		    	this.redistribute(station, full, this.getStations());
+	    	} catch (RedistribuationNotCompletedException e) {
+	    		ShardedControlCenter shards = this.shards;
+	    		if (shards == null || !shards.isCrossShardFallback()) {
+	    			throw e;
+	    		}
+	    		metrics.increment(Metrics.Counter.CROSS_SHARD_REDISTRIBUTIONS);
+	    		this.redistribute(station, full, shards.getStationsOutside(this, station));
+	    	}
+    	} catch (RedistribuationNotCompletedException | RuntimeException e) {
+    		metrics.increment(Metrics.Counter.FAILED_REDISTRIBUTIONS);
+    		throw e;
+    	} finally {
+    		metrics.increment(Metrics.Counter.REDISTRIBUTIONS);
+    		metrics.record(full ? Metrics.Timer.REDISTRIBUTE_WHEN_FULL : Metrics.Timer.REDISTRIBUTE_WHEN_EMPTY, System.nanoTime() - start);
+    	}
+    }
+
+    private void redistribute(Station station, boolean full, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+    	NetworkOccupancy occupancy = stations == this.stations ? this.getOccupancy() : null;
     	if(!full) {
-        this.strategy.redistributeWhenEmpty(station,this.getStations());
+    		this.strategy.redistributeWhenEmpty(station, stations, occupancy);
     	}
     	else {
-    		this.strategy.redistributeWhenFull(station,this.getStations());
+    		this.strategy.redistributeWhenFull(station, stations, occupancy);
+    	}
+    }
+
+    /**
+     * Gets the running totals over the stations of the control center: how many stations have surplus
+     * or insufficient vehicles, are empty or full, and how many docks are free and vehicles available.
+     * The totals follow every vehicle docked or leaving at no cost for the reader.
+     * They are counted again from scratch only when the list of stations was modified since the last call,
+     * which is noticed even if the list returned by {@link #getStations()} is modified directly,
+     * except for a station replaced in place with {@link ArrayList#set(int, Object)}.
+     * 
+     * @return The occupancy totals of the stations.
+     */
+    public NetworkOccupancy getOccupancy() {
+    	synchronized (this.occupancy) {
+    		int modCount = this.stations.getModCount();
+    		if (modCount != this.occupancyModCount) {
+    			this.occupancy.track(this.stations);
+    			this.occupancyModCount = modCount;
+    		}
+    		return this.occupancy;
     	}
     }
 
@@ -108,10 +245,77 @@ public class ControlCenter implements Observer {
     	}
     	else {
     		this.brokenDownVehicles.add(vehicle);
+    		Metrics.getInstance().increment(Metrics.Counter.BREAKDOWNS);
+    		Journal journal = this.journal;
+    		if (journal != null) {
+    			journal.append(JournalRecord.Type.BREAKDOWN, vehicle, null);
+    		}
     	//vehicle.accept(new Mechanic());
     	}
     }
     
+    /**
+     * Handles a batch of events published by the stations.
+     * Events repeated within the batch are handled only once, in the order they first appeared.
+     * 
+     * @param events The events to handle, oldest first.
+     */
+    @Override
+    public void update(List<StationEvent> events) {
+    	Observer.super.update(new ArrayList<>(new LinkedHashSet<>(events)));
+    }
+
+    /**
+     * Receives an event from a station. The event is queued on the event bus if it is running,
+     * otherwise it is handled right away on the calling thread.
+     * 
+     * @param event The event published by the station.
+     * @throws RedistribuationNotCompletedException If the event is handled right away and the redistribution cannot be completed.
+     * @throws StationEmptyException If the event is handled right away and the station is empty when trying to steal a vehicle.
+     */
+    public void publish(StationEvent event) throws RedistribuationNotCompletedException, StationEmptyException {
+    	EventBus bus = this.eventBus;
+    	if (bus == null || !bus.publish(event)) {
+    		event.deliverTo(this);
+    	}
+    }
+
+    /**
+     * Starts handling the station events asynchronously on the event bus' own thread.
+     * Does nothing if the event bus is already running.
+     * 
+     * @return The running event bus.
+     */
+    public synchronized EventBus startEventBus() {
+    	if (this.eventBus == null) {
+    		this.eventBus = new EventBus(this, Constants.EVENT_BUS_CAPACITY, Constants.EVENT_BATCH_SIZE);
+    	}
+    	return this.eventBus;
+    }
+
+    /**
+     * Stops the event bus once the events it holds are handled.
+     * Later events are handled right away on the thread publishing them.
+     * 
+     * @throws InterruptedException If the calling thread is interrupted while the remaining events are handled.
+     */
+    public synchronized void stopEventBus() throws InterruptedException {
+    	EventBus bus = this.eventBus;
+    	this.eventBus = null;
+    	if (bus != null) {
+    		bus.shutdown();
+    	}
+    }
+
+    /**
+     * Gets the running event bus.
+     * 
+     * @return The event bus, or null if the events are handled synchronously.
+     */
+    public EventBus getEventBus() {
+    	return this.eventBus;
+    }
+    
     /**
      * Sets up bike stations within the control center.
      * 
@@ -141,11 +345,160 @@ public class ControlCenter implements Observer {
 		return strategy;
 	}
 	
-	public void  repaireAllVehicles() throws RedistribuationNotCompletedException, StationEmptyException {
-		Mechanic ishak = new Mechanic();
-		for (Vehicle v : this.brokenDownVehicles) {
-			v.accept(ishak);
+	/**
+     * Makes the stations and the repair shop of the control center schedule their delayed actions on a given scheduler,
+     * for instance a {@link schedulers.SimulationScheduler} to run them on a virtual clock.
+     * Stations added afterwards use it as well. The current repair shop is replaced by one with the same number of mechanics.
+     * 
+     * @param scheduler The scheduler to use, or null to let the stations added afterwards keep their own.
+     */
+	public void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+		if (scheduler == null) {
+			return;
+		}
+		for (Station station : this.stations) {
+			station.setScheduler(scheduler);
 		}
+		this.repairShop = new RepairShop(this.repairShop.getNbMechanics(), Constants.INTERVAL, scheduler);
+	}
+
+	/**
+     * Makes the stations of the control center ask for a redistribution as soon as they are predicted
+     * to become empty or full within a horizon, from their recent rent and deposit rates,
+     * instead of waiting until they have been empty or full for a while. Stations added afterwards use it as well.
+     * 
+     * @param predictionHorizon The prediction horizon in milliseconds, 0 to only redistribute empty or full stations.
+     */
+	public void setPredictionHorizon(long predictionHorizon) {
+		this.predictionHorizon = predictionHorizon;
+		for (Station station : this.stations) {
+			station.setPredictionHorizon(predictionHorizon);
+		}
+	}
+
+	/**
+     * Gets the prediction horizon given to the stations of the control center.
+     * 
+     * @return The prediction horizon in milliseconds, 0 if the stations do not predict shortages.
+     */
+	public long getPredictionHorizon() {
+		return this.predictionHorizon;
+	}
+
+	/**
+     * Gets the scheduler given to the stations of the control center.
+     * 
+     * @return The scheduler, or null if the stations keep their own.
+     */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+	/**
+     * Attaches a journal to the network: every station appends its rents, deposits, thefts and transfers to it,
+     * and the control center its breakdowns and repairs. A checkpoint of the network is written first,
+     * so the journal is enough to rebuild the network with a {@link persistence.JournalReplayer}.
+     * 
+     * @param journal The journal, or null to stop journaling.
+     */
+	public void setJournal(Journal journal) {
+		this.journal = journal;
+		for (Station station : this.stations) {
+			station.setJournal(journal);
+		}
+		if (journal != null) {
+			journal.checkpoint(this.stations);
+		}
+	}
+
+	/**
+     * Gets the journal the network's events are appended to.
+     * 
+     * @return The journal, or null if the network is not journaled.
+     */
+	public Journal getJournal() {
+		return this.journal;
+	}
+
+	/**
+     * Makes the control center a shard of a sharded control center, or a standalone control center again.
+     * 
+     * @param shards The sharded control center, or null.
+     */
+	void setShards(ShardedControlCenter shards) {
+		this.shards = shards;
+	}
+
+	/**
+     * Gets the sharded control center the control center is a shard of.
+     * 
+     * @return The sharded control center, or null if the control center stands alone.
+     */
+	public ShardedControlCenter getShards() {
+		return this.shards;
+	}
+
+	/**
+     * Gets the repair shop the broken-down vehicles are sent to.
+     * 
+     * @return The repair shop of the control center.
+     */
+	public RepairShop getRepairShop() {
+		return this.repairShop;
+	}
+
+	/**
+     * Reads the counters and latency histograms of the network: rents, deposits, thefts, breakdowns,
+     * repairs and redistributions, and how long rents, deposits and redistributions take.
+     * 
+     * @return A snapshot of the shared metrics.
+     */
+	public MetricsSnapshot getMetrics() {
+		return Metrics.getInstance().snapshot();
+	}
+
+	/**
+     * Replaces the repair shop, for instance to change the number of mechanics.
+     * 
+     * @param repairShop The new repair shop.
+     */
+	public void setRepairShop(RepairShop repairShop) {
+		this.repairShop = repairShop;
+	}
+
+	/**
+     * Sends every broken-down vehicle reported so far to the repair shop and empties the list.
+     * The mechanics work in parallel and no thread is blocked during the repairs.
+     * 
+     * @return A future completed once all these vehicles have been repaired.
+     */
+	public CompletableFuture<Void> repairAllVehiclesAsync() {
+		List<Vehicle> toRepair;
+		synchronized (this.brokenDownVehicles) {
+			toRepair = new ArrayList<>(this.brokenDownVehicles);
+			this.brokenDownVehicles.clear();
+		}
+		CompletableFuture<?>[] repairs = new CompletableFuture<?>[toRepair.size()];
+		for (int i = 0; i < repairs.length; i++) {
+			repairs[i] = this.repairShop.repair(toRepair.get(i)).thenAccept(vehicle -> {
+				Journal journal = this.journal;
+				if (journal != null) {
+					journal.append(JournalRecord.Type.REPAIR, vehicle, null);
+				}
+			});
+		}
+		return CompletableFuture.allOf(repairs);
+	}
+
+	/**
+     * Repairs every broken-down vehicle reported so far and waits until they are all available again.
+     * 
+     * @throws RedistribuationNotCompletedException Never thrown; kept for compatibility.
+     * @throws StationEmptyException Never thrown; kept for compatibility.
+     */
+	public void  repaireAllVehicles() throws RedistribuationNotCompletedException, StationEmptyException {
+		this.repairAllVehiclesAsync().join();
 	}
 
 }
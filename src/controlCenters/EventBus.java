@@ -0,0 +1,188 @@
+package controlCenters;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The EventBus carries station events to an observer on a thread of its own.
+ * Stations publish into a bounded ring buffer and return right away; the consumer thread takes
+ * every event waiting in the buffer at once and hands them to the observer as a single batch,
+ * so the cost of a redistribution is paid by the consumer instead of the thread renting or depositing.
+ * When the buffer is full, publishers wait for the consumer to catch up.
+ * A publisher that finds the bus running is counted until its event is in the buffer, and the consumer
+ * only stops once no publisher is left and the buffer is empty, so every accepted event is delivered,
+ * even when the bus is shut down at the same time.
+ */
+public class EventBus {
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+	private final Observer observer;
+	private final ArrayBlockingQueue<StationEvent> buffer;
+	private final int maxBatchSize;
+	private final Thread consumer;
+	private volatile boolean running;
+	private final AtomicInteger nbPublishers;
+	private final AtomicLong nbPublished;
+	private final AtomicLong nbDelivered;
+	private final AtomicLong nbBatches;
+
+	/**
+     * Constructs an EventBus and starts its consumer thread.
+     *
+     * @param observer     The observer the events are delivered to.
+     * @param capacity     The number of events the buffer can hold.
+     * @param maxBatchSize The largest number of events delivered in one batch.
+     */
+	public EventBus(Observer observer, int capacity, int maxBatchSize) {
+		this.observer = observer;
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+		this.maxBatchSize = maxBatchSize;
+		this.nbPublished = new AtomicLong();
+		this.nbDelivered = new AtomicLong();
+		this.nbBatches = new AtomicLong();
+		this.nbPublishers = new AtomicInteger();
+		this.running = true;
+		this.consumer = new Thread(this::consume, "event-bus");
+		this.consumer.setDaemon(true);
+		this.consumer.start();
+	}
+
+	/**
+     * Publishes an event. Waits for room in the buffer if it is full.
+     * An event accepted while the bus is being shut down is still delivered before the consumer stops.
+     *
+     * @param event The event to publish.
+     * @return true if the event has been queued, false if the bus is shut down, its consumer has stopped
+     *         or the publisher was interrupted.
+     */
+	public boolean publish(StationEvent event) {
+		this.nbPublishers.incrementAndGet();
+		try {
+			if (!this.running) {
+				return false;
+			}
+			while (!this.buffer.offer(event, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!this.consumer.isAlive()) {
+					return false;
+				}
+			}
+			this.nbPublished.incrementAndGet();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			this.nbPublishers.decrementAndGet();
+		}
+	}
+
+	/**
+     * Takes the events from the buffer in batches and delivers them until the bus is shut down,
+     * then keeps delivering until the publishers that found it running are done and the buffer is empty.
+     */
+	private void consume() {
+		ArrayList<StationEvent> batch = new ArrayList<>(this.maxBatchSize);
+		while (this.running) {
+			try {
+				batch.add(this.buffer.take());
+			} catch (InterruptedException e) {
+				continue;
+			}
+			this.buffer.drainTo(batch, this.maxBatchSize - 1);
+			this.deliver(batch);
+		}
+		while (this.nbPublishers.get() > 0) {
+			if (this.buffer.drainTo(batch, this.maxBatchSize) > 0) {
+				this.deliver(batch);
+			} else {
+				Thread.yield();
+			}
+		}
+		while (this.buffer.drainTo(batch, this.maxBatchSize) > 0) {
+			this.deliver(batch);
+		}
+	}
+
+	private void deliver(ArrayList<StationEvent> batch) {
+		try {
+			this.observer.update(new ArrayList<>(batch));
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+		this.nbBatches.incrementAndGet();
+		this.nbDelivered.addAndGet(batch.size());
+		batch.clear();
+		synchronized (this) {
+			this.notifyAll();
+		}
+	}
+
+	/**
+     * Waits until every event published so far has been delivered.
+     *
+     * @param timeout The longest time to wait, in milliseconds.
+     * @return true if every event has been delivered, false if the time ran out.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+	public synchronized boolean flush(long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (this.nbDelivered.get() < this.nbPublished.get()) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				return false;
+			}
+			this.wait(remaining);
+		}
+		return true;
+	}
+
+	/**
+     * Stops accepting events, delivers the events accepted so far and stops the consumer thread.
+     *
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the consumer.
+     */
+	public void shutdown() throws InterruptedException {
+		this.running = false;
+		this.consumer.interrupt();
+		this.consumer.join();
+	}
+
+	/**
+     * Gets the number of events waiting in the buffer.
+     *
+     * @return The number of pending events.
+     */
+	public int getNbPendingEvents() {
+		return this.buffer.size();
+	}
+
+	/**
+     * Gets the number of events published since the bus was created.
+     *
+     * @return The number of published events.
+     */
+	public long getNbPublished() {
+		return this.nbPublished.get();
+	}
+
+	/**
+     * Gets the number of events delivered to the observer since the bus was created.
+     *
+     * @return The number of delivered events.
+     */
+	public long getNbDelivered() {
+		return this.nbDelivered.get();
+	}
+
+	/**
+     * Gets the number of batches delivered to the observer since the bus was created.
+     *
+     * @return The number of batches.
+     */
+	public long getNbBatches() {
+		return this.nbBatches.get();
+	}
+}
@@ -1,5 +1,7 @@
 package controlCenters;
 
+import java.util.List;
+
 import exceptions.RedistribuationNotCompletedException;
 import exceptions.StationEmptyException;
 import stations.Station;
@@ -31,4 +33,21 @@ public interface Observer {
      * @throws StationEmptyException If the station is empty and a theft action is attempted.
      */
     void update(Vehicle vehicle,boolean toSteal) throws RedistribuationNotCompletedException, StationEmptyException;
+    
+    /**
+     * Updates the observer with a batch of events published by stations.
+     * By default, each event is handed to the matching single-event update in order;
+     * an event that cannot be handled is reported and does not prevent the others from being handled.
+     *
+     * @param events The events to handle, oldest first.
+     */
+    default void update(List<StationEvent> events) {
+    	for (StationEvent event : events) {
+    		try {
+    			event.deliverTo(this);
+    		} catch (RedistribuationNotCompletedException | StationEmptyException e) {
+    			System.out.println("Event " + event + " could not be handled: " + e.getMessage());
+    		}
+    	}
+    }
 }
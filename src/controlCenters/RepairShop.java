@@ -0,0 +1,228 @@
+package controlCenters;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import metrics.Metrics;
+import persons.Mechanic;
+import schedulers.ExecutorScheduler;
+import schedulers.Scheduler;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * The RepairShop repairs broken-down vehicles with a fixed number of mechanics.
+ * Vehicles are queued and each free mechanic takes the next one. A repair does not block any thread:
+ * the mechanic starts it, the end of the repair is scheduled after the repair duration,
+ * and the mechanic then takes the next vehicle of the queue.
+ * Each submitted vehicle gets a CompletableFuture completed when it is available again.
+ */
+public class RepairShop {
+	private final int nbMechanics;
+	private final Scheduler scheduler;
+	private final long repairDuration;
+	private final Mechanic mechanic;
+	private final ArrayDeque<Repair> queue;
+	private int nbBusyMechanics;
+	private final AtomicLong nbSubmitted;
+	private final AtomicLong nbRepaired;
+	private final AtomicLong totalTurnaround;
+	private final long createdAt;
+
+	/**
+     * A vehicle waiting for or undergoing a repair.
+     */
+	private static class Repair {
+		private final Vehicle vehicle;
+		private final CompletableFuture<Vehicle> done;
+		private final long submittedAt;
+
+		private Repair(Vehicle vehicle) {
+			this.vehicle = vehicle;
+			this.done = new CompletableFuture<>();
+			this.submittedAt = System.nanoTime();
+		}
+	}
+
+	/**
+     * Constructs a RepairShop using the shared scheduler.
+     *
+     * @param nbMechanics    The number of vehicles that can be repaired at the same time.
+     * @param repairDuration The duration of a repair, in milliseconds.
+     */
+	public RepairShop(int nbMechanics, long repairDuration) {
+		this(nbMechanics, repairDuration, ExecutorScheduler.getSharedInstance());
+	}
+
+	/**
+     * Constructs a RepairShop.
+     *
+     * @param nbMechanics    The number of vehicles that can be repaired at the same time.
+     * @param repairDuration The duration of a repair, in milliseconds.
+     * @param scheduler      The scheduler used to end the repairs.
+     */
+	public RepairShop(int nbMechanics, long repairDuration, Scheduler scheduler) {
+		if (nbMechanics <= 0) {
+			throw new IllegalArgumentException("A repair shop needs at least one mechanic");
+		}
+		this.nbMechanics = nbMechanics;
+		this.repairDuration = repairDuration;
+		this.scheduler = scheduler;
+		this.mechanic = new Mechanic();
+		this.queue = new ArrayDeque<>();
+		this.nbSubmitted = new AtomicLong();
+		this.nbRepaired = new AtomicLong();
+		this.totalTurnaround = new AtomicLong();
+		this.createdAt = System.nanoTime();
+	}
+
+	/**
+     * Submits a vehicle for repair.
+     * A vehicle that is not broken down when a mechanic gets to it is left as it is.
+     *
+     * @param vehicle The vehicle to repair.
+     * @return A future completed with the vehicle once it has been repaired.
+     */
+	public CompletableFuture<Vehicle> repair(Vehicle vehicle) {
+		Repair repair = new Repair(vehicle);
+		this.nbSubmitted.incrementAndGet();
+		boolean start;
+		synchronized (this) {
+			start = this.nbBusyMechanics < this.nbMechanics;
+			if (start) {
+				this.nbBusyMechanics++;
+			} else {
+				this.queue.addLast(repair);
+			}
+		}
+		if (start) {
+			this.start(repair);
+		}
+		return repair.done;
+	}
+
+	/**
+     * Starts a repair with a mechanic already reserved for it, or skips the vehicle if it does not need one.
+     *
+     * @param repair The repair to start.
+     */
+	private void start(Repair repair) {
+		while (repair != null && repair.vehicle.getStateCode() != StateCode.BROKEN_DOWN) {
+			this.complete(repair, false);
+			repair = this.next();
+		}
+		if (repair == null) {
+			return;
+		}
+		Repair current = repair;
+		this.mechanic.startRepair(current.vehicle);
+		this.scheduler.schedule(() -> this.finish(current), this.repairDuration);
+	}
+
+	/**
+     * Ends a repair and gives the mechanic the next vehicle of the queue.
+     *
+     * @param repair The repair to end.
+     */
+	private void finish(Repair repair) {
+		this.mechanic.finishRepair(repair.vehicle);
+		this.complete(repair, true);
+		this.start(this.next());
+	}
+
+	/**
+     * Hands a vehicle back to whoever submitted it. Only vehicles a mechanic actually repaired
+     * count as repairs and in the turnaround; skipped vehicles are handed back as they are.
+     *
+     * @param repair   The repair to complete.
+     * @param repaired true if a mechanic repaired the vehicle, false if it was skipped.
+     */
+	private void complete(Repair repair, boolean repaired) {
+		if (repaired) {
+			this.nbRepaired.incrementAndGet();
+			Metrics.getInstance().increment(Metrics.Counter.REPAIRS);
+			this.totalTurnaround.addAndGet(System.nanoTime() - repair.submittedAt);
+		}
+		repair.done.complete(repair.vehicle);
+	}
+
+	/**
+     * Takes the next vehicle of the queue for the mechanic that just got free, or frees the mechanic.
+     *
+     * @return The next repair, or null if the queue is empty.
+     */
+	private synchronized Repair next() {
+		Repair repair = this.queue.pollFirst();
+		if (repair == null) {
+			this.nbBusyMechanics--;
+		}
+		return repair;
+	}
+
+	/**
+     * Gets the number of mechanics of the shop.
+     *
+     * @return The number of mechanics.
+     */
+	public int getNbMechanics() {
+		return this.nbMechanics;
+	}
+
+	/**
+     * Gets the number of mechanics currently repairing a vehicle.
+     *
+     * @return The number of busy mechanics.
+     */
+	public synchronized int getNbBusyMechanics() {
+		return this.nbBusyMechanics;
+	}
+
+	/**
+     * Gets the number of vehicles waiting for a mechanic.
+     *
+     * @return The depth of the queue.
+     */
+	public synchronized int getQueueDepth() {
+		return this.queue.size();
+	}
+
+	/**
+     * Gets the number of vehicles submitted since the shop was created.
+     *
+     * @return The number of submitted vehicles.
+     */
+	public long getNbSubmitted() {
+		return this.nbSubmitted.get();
+	}
+
+	/**
+     * Gets the number of vehicles a mechanic repaired since the shop was created.
+     * Vehicles that no longer needed a repair when their turn came are not counted.
+     *
+     * @return The number of repaired vehicles.
+     */
+	public long getNbRepaired() {
+		return this.nbRepaired.get();
+	}
+
+	/**
+     * Gets the number of vehicles repaired per second since the shop was created, as counted by {@link #getNbRepaired()}.
+     *
+     * @return The throughput of the shop.
+     */
+	public double getThroughput() {
+		double seconds = (System.nanoTime() - this.createdAt) / 1e9;
+		return seconds > 0 ? this.nbRepaired.get() / seconds : 0;
+	}
+
+	/**
+     * Gets the average time between the submission of a vehicle and the end of its repair.
+     *
+     * @return The average turnaround, in milliseconds.
+     */
+	public double getAverageTurnaround() {
+		long repaired = this.nbRepaired.get();
+		return repaired == 0 ? 0 : this.totalTurnaround.get() / 1e6 / repaired;
+	}
+}
@@ -0,0 +1,39 @@
+package controlCenters;
+
+import stations.Station;
+
+/**
+ * The ShardRouter interface maps the stations of a network to the shards of a {@link ShardedControlCenter}.
+ * A station must always be mapped to the same shard.
+ */
+public interface ShardRouter {
+
+	/**
+     * Gives the shard a station belongs to.
+     *
+     * @param station  The station.
+     * @param nbShards The number of shards.
+     * @return The index of the shard, between 0 and nbShards - 1.
+     */
+	int shardOf(Station station, int nbShards);
+
+	/**
+     * Gets a router spreading the stations evenly over the shards by their ID.
+     *
+     * @return The router.
+     */
+	static ShardRouter byStationId() {
+		return (station, nbShards) -> Math.floorMod(station.getStationID(), nbShards);
+	}
+
+	/**
+     * Gets a router cutting the map into vertical bands of a given width, one region per band,
+     * so that neighbouring stations share a shard. Bands beyond the last shard wrap around.
+     *
+     * @param bandWidth The width of a band, in the unit of the station coordinates.
+     * @return The router.
+     */
+	static ShardRouter byBand(double bandWidth) {
+		return (station, nbShards) -> Math.floorMod((int) Math.floor(station.getX() / bandWidth), nbShards);
+	}
+}
@@ -0,0 +1,156 @@
+package controlCenters;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import redistibuationStrategy.RedistributionStrategy;
+import stations.Station;
+
+/**
+ * The ShardedControlCenter splits a network into independent regions, each managed by a control center of its own:
+ * a shard owns a partition of the stations, its own redistribution strategy and, once started, its own event bus thread.
+ * A station publishes its events to its shard only, and the strategy of a shard only sees the stations of that shard,
+ * so the redistributions of different regions run in parallel and each one looks at fewer stations.
+ * A {@link ShardRouter} decides which shard a station belongs to.
+ *
+ * With the cross-shard fallback on, a redistribution a shard cannot complete with its own stations is retried
+ * with the stations of the other shards. Transfers lock both stations involved, so a fallback running on one
+ * shard's thread is safe against the other shards. Stations must be added before the event buses are started.
+ */
+public class ShardedControlCenter {
+	private final ControlCenter[] shards;
+	private final ShardRouter router;
+	private volatile boolean crossShardFallback;
+
+	/**
+     * Constructs a sharded control center with empty shards.
+     *
+     * @param nbShards   The number of shards.
+     * @param router     The router mapping stations to shards.
+     * @param strategies Creates the strategy of each shard; called once per shard.
+     */
+	public ShardedControlCenter(int nbShards, ShardRouter router, Supplier<RedistributionStrategy> strategies) {
+		if (nbShards < 1) {
+			throw new IllegalArgumentException("A sharded control center needs at least one shard");
+		}
+		this.shards = new ControlCenter[nbShards];
+		this.router = router;
+		for (int i = 0; i < nbShards; i++) {
+			ControlCenter shard = new ControlCenter();
+			shard.setStrategy(strategies.get());
+			shard.setShards(this);
+			this.shards[i] = shard;
+		}
+	}
+
+	/**
+     * Gets the number of shards.
+     *
+     * @return The number of shards.
+     */
+	public int getNbShards() {
+		return this.shards.length;
+	}
+
+	/**
+     * Gets a shard.
+     *
+     * @param index The index of the shard.
+     * @return The control center of the shard.
+     */
+	public ControlCenter getShard(int index) {
+		return this.shards[index];
+	}
+
+	/**
+     * Gets the shard a station belongs to, according to the router.
+     *
+     * @param station The station.
+     * @return The control center of the shard.
+     */
+	public ControlCenter shardOf(Station station) {
+		return this.shards[this.router.shardOf(station, this.shards.length)];
+	}
+
+	/**
+     * Adds a station to the shard it belongs to.
+     *
+     * @param station The station.
+     * @return The control center of the shard.
+     */
+	public ControlCenter addStation(Station station) {
+		ControlCenter shard = this.shardOf(station);
+		shard.addStation(station);
+		return shard;
+	}
+
+	/**
+     * Gets the stations of every shard.
+     *
+     * @return A new list of the stations, shard after shard.
+     */
+	public ArrayList<Station> getStations() {
+		ArrayList<Station> stations = new ArrayList<>();
+		for (ControlCenter shard : this.shards) {
+			stations.addAll(shard.getStations());
+		}
+		return stations;
+	}
+
+	/**
+     * Gets the stations a shard falls back on for a redistribution it could not complete:
+     * the station to redistribute followed by the stations of the other shards.
+     *
+     * @param shard   The shard.
+     * @param station The station to redistribute.
+     * @return A new list of stations.
+     */
+	ArrayList<Station> getStationsOutside(ControlCenter shard, Station station) {
+		ArrayList<Station> stations = new ArrayList<>();
+		stations.add(station);
+		for (ControlCenter other : this.shards) {
+			if (other != shard) {
+				stations.addAll(other.getStations());
+			}
+		}
+		return stations;
+	}
+
+	/**
+     * Turns the cross-shard fallback on or off.
+     *
+     * @param crossShardFallback true to retry the redistributions a shard cannot complete with the other shards' stations.
+     */
+	public void setCrossShardFallback(boolean crossShardFallback) {
+		this.crossShardFallback = crossShardFallback;
+	}
+
+	/**
+     * Tells whether the cross-shard fallback is on.
+     *
+     * @return true if the redistributions a shard cannot complete are retried with the other shards' stations.
+     */
+	public boolean isCrossShardFallback() {
+		return this.crossShardFallback;
+	}
+
+	/**
+     * Starts the event bus of every shard, so that each shard handles its stations' events on a thread of its own.
+     */
+	public void startEventBuses() {
+		for (ControlCenter shard : this.shards) {
+			shard.startEventBus();
+		}
+	}
+
+	/**
+     * Stops the event bus of every shard once the events it holds are handled.
+     *
+     * @throws InterruptedException If the calling thread is interrupted while the remaining events are handled.
+     */
+	public void stopEventBuses() throws InterruptedException {
+		for (ControlCenter shard : this.shards) {
+			shard.stopEventBus();
+		}
+	}
+}
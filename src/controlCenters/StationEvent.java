@@ -0,0 +1,143 @@
+package controlCenters;
+
+import java.util.Objects;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import stations.Station;
+import vehicles.Vehicle;
+
+/**
+ * An event published by a station for the control center.
+ * Each type corresponds to one of the calls a station used to make on its observer.
+ */
+public class StationEvent {
+
+	/**
+     * The kinds of events a station can publish.
+     */
+	public enum Type {
+		/** The station has been empty for a while and needs vehicles. */
+		BECAME_EMPTY,
+		/** The station has been full for a while and needs to offload vehicles. */
+		BECAME_FULL,
+		/** The last vehicle of the station has been left alone for a while and can be stolen. */
+		LAST_VEHICLE_LEFT,
+		/** A vehicle deposited at the station is broken down and needs a repair. */
+		VEHICLE_BROKE_DOWN,
+		/** The station is predicted to become empty soon and needs vehicles. */
+		PREDICTED_EMPTY,
+		/** The station is predicted to become full soon and needs to offload vehicles. */
+		PREDICTED_FULL
+	}
+
+	private final Type type;
+	private final Station station;
+	private final Vehicle vehicle;
+
+	/**
+     * Constructs an event.
+     *
+     * @param type    The type of the event.
+     * @param station The station publishing the event.
+     * @param vehicle The vehicle concerned by the event, or null if the event only concerns the station.
+     */
+	public StationEvent(Type type, Station station, Vehicle vehicle) {
+		this.type = type;
+		this.station = station;
+		this.vehicle = vehicle;
+	}
+
+	/**
+     * Gets the type of the event.
+     *
+     * @return The type of the event.
+     */
+	public Type getType() {
+		return this.type;
+	}
+
+	/**
+     * Gets the station publishing the event.
+     *
+     * @return The station.
+     */
+	public Station getStation() {
+		return this.station;
+	}
+
+	/**
+     * Gets the vehicle concerned by the event.
+     *
+     * @return The vehicle, or null if the event only concerns the station.
+     */
+	public Vehicle getVehicle() {
+		return this.vehicle;
+	}
+
+	/**
+     * Hands the event to an observer through the matching single-event update.
+     *
+     * @param observer The observer to notify.
+     * @throws RedistribuationNotCompletedException If the redistribution triggered by the event cannot be completed.
+     * @throws StationEmptyException If the station is empty when trying to steal a vehicle.
+     */
+	public void deliverTo(Observer observer) throws RedistribuationNotCompletedException, StationEmptyException {
+		switch (this.type) {
+		case BECAME_EMPTY:
+			observer.update(this.station, false);
+			break;
+		case BECAME_FULL:
+			observer.update(this.station, true);
+			break;
+		case LAST_VEHICLE_LEFT:
+			observer.update(this.vehicle, true);
+			break;
+		case VEHICLE_BROKE_DOWN:
+			observer.update(this.vehicle, false);
+			break;
+		case PREDICTED_EMPTY:
+			observer.update(this.station, false);
+			break;
+		case PREDICTED_FULL:
+			observer.update(this.station, true);
+			break;
+		}
+	}
+
+	/**
+     * Compares this event with another object. Two events are equal when they have the same type
+     * and concern the same station and vehicle.
+     *
+     * @param o The object to compare with this event.
+     * @return true if the specified object is an equal event; false otherwise.
+     */
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof StationEvent)) {
+			return false;
+		}
+		StationEvent other = (StationEvent) o;
+		return this.type == other.type && this.station == other.station && this.vehicle == other.vehicle;
+	}
+
+	/**
+     * Computes a hash code consistent with {@link #equals(Object)}, from the type and the identities of the station and vehicle.
+     *
+     * @return The hash code of this event.
+     */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.type, System.identityHashCode(this.station), System.identityHashCode(this.vehicle));
+	}
+
+	/**
+     * Returns a short description of this event: its type and the name of its station.
+     *
+     * @return A string describing this event.
+     */
+	@Override
+	public String toString() {
+		return this.type + "(" + (this.station == null ? "-" : this.station.getName()) + ")";
+	}
+}
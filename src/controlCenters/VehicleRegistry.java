@@ -0,0 +1,302 @@
+package controlCenters;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import stations.Station;
+import utils.IntIndex;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * The VehicleRegistry keeps track of the vehicles of one control center's network by their ID.
+ * Each control center has its own registry: a vehicle is registered when a station of the control center docks it,
+ * reports every change of station and state while it is registered, and is unregistered when it is stolen or removed.
+ * A rented vehicle stays registered, with no station, until it is docked again.
+ * Finding a vehicle, its current station or its state is a constant-time lookup instead of a scan over all the stations.
+ * IDs are stored as primitive ints in independently locked segments, each indexed by an {@link IntIndex},
+ * so concurrent stations only contend when their vehicles hash to the same segment.
+ * A vehicle and its decorators count as one vehicle; when two distinct vehicles share an ID,
+ * the one registered last is the one tracked.
+ */
+public class VehicleRegistry {
+	private static final int NB_SEGMENTS = 16;
+	private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+	private final Segment[] segments;
+	private final AtomicIntegerArray nbVehiclesByState;
+
+	/**
+     * Constructs an empty registry.
+     */
+	public VehicleRegistry() {
+		this.segments = new Segment[NB_SEGMENTS];
+		for (int i = 0; i < NB_SEGMENTS; i++) {
+			this.segments[i] = new Segment();
+		}
+		this.nbVehiclesByState = new AtomicIntegerArray(StateCode.values().length);
+	}
+
+	private Segment segmentFor(int id) {
+		return this.segments[IntIndex.hash(id) >>> 28 & (NB_SEGMENTS - 1)];
+	}
+
+	/**
+     * Registers a vehicle with its current station and state, replacing any vehicle already registered under the same ID.
+     * The vehicle is first unregistered from the registry of another control center it may still be registered in.
+     *
+     * @param vehicle The vehicle to register.
+     */
+	public void register(Vehicle vehicle) {
+		VehicleRegistry previous = vehicle.getRegistry();
+		if (previous != null && previous != this) {
+			previous.unregister(vehicle);
+		}
+		vehicle.setRegistry(this);
+		Segment segment = this.segmentFor(vehicle.getId());
+		synchronized (segment) {
+			int slot = segment.find(vehicle.getId());
+			if (slot >= 0) {
+				this.nbVehiclesByState.decrementAndGet(segment.states[slot].ordinal());
+				segment.vehicles[slot] = vehicle;
+			} else {
+				slot = segment.insert(vehicle.getId(), vehicle);
+			}
+			segment.stations[slot] = vehicle.getStation();
+			segment.states[slot] = vehicle.getStateCode();
+			this.nbVehiclesByState.incrementAndGet(vehicle.getStateCode().ordinal());
+		}
+	}
+
+	/**
+     * Removes a vehicle from the registry.
+     * Does nothing if the vehicle is not registered, or if another vehicle has been registered under the same ID since.
+     *
+     * @param vehicle The vehicle to unregister.
+     */
+	public void unregister(Vehicle vehicle) {
+		Segment segment = this.segmentFor(vehicle.getId());
+		synchronized (segment) {
+			int slot = segment.find(vehicle.getId());
+			if (slot >= 0 && isSameVehicle(segment.vehicles[slot], vehicle)) {
+				this.nbVehiclesByState.decrementAndGet(segment.states[slot].ordinal());
+				segment.remove(slot);
+			}
+		}
+		if (vehicle.getRegistry() == this) {
+			vehicle.setRegistry(null);
+		}
+	}
+
+	/**
+     * Removes every vehicle from the registry, for instance before the network of its control center is replaced.
+     */
+	public void clear() {
+		for (Segment segment : this.segments) {
+			synchronized (segment) {
+				for (int slot = 0; slot < segment.size; slot++) {
+					Vehicle vehicle = segment.vehicles[slot];
+					this.nbVehiclesByState.decrementAndGet(segment.states[slot].ordinal());
+					if (vehicle.getRegistry() == this) {
+						vehicle.setRegistry(null);
+					}
+				}
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+     * Tells whether two references are the same vehicle, that is the same base vehicle under any decorators.
+     *
+     * @param registered The vehicle held by the registry.
+     * @param vehicle    The vehicle reported.
+     * @return true if both are layers of the same vehicle, otherwise false.
+     */
+	private static boolean isSameVehicle(Vehicle registered, Vehicle vehicle) {
+		return registered.getBaseVehicle() == vehicle.getBaseVehicle();
+	}
+
+	/**
+     * Records that a vehicle has moved to another station, or left its station if it is null.
+     * Does nothing if another vehicle has been registered under the same ID since.
+     *
+     * @param vehicle The vehicle that moved.
+     */
+	public void stationChanged(Vehicle vehicle) {
+		Segment segment = this.segmentFor(vehicle.getId());
+		synchronized (segment) {
+			int slot = segment.find(vehicle.getId());
+			if (slot >= 0 && isSameVehicle(segment.vehicles[slot], vehicle)) {
+				segment.stations[slot] = vehicle.getStation();
+			}
+		}
+	}
+
+	/**
+     * Records that a vehicle has changed state.
+     * Does nothing if another vehicle has been registered under the same ID since.
+     *
+     * @param vehicle The vehicle whose state changed.
+     */
+	public void stateChanged(Vehicle vehicle) {
+		Segment segment = this.segmentFor(vehicle.getId());
+		synchronized (segment) {
+			int slot = segment.find(vehicle.getId());
+			if (slot >= 0 && isSameVehicle(segment.vehicles[slot], vehicle)) {
+				StateCode previous = segment.states[slot];
+				StateCode current = vehicle.getStateCode();
+				segment.states[slot] = current;
+				this.nbVehiclesByState.decrementAndGet(previous.ordinal());
+				this.nbVehiclesByState.incrementAndGet(current.ordinal());
+			}
+		}
+	}
+
+	/**
+     * Gets the vehicle registered under an ID.
+     *
+     * @param id The vehicle ID.
+     * @return The vehicle, or null if no vehicle has this ID.
+     */
+	public Vehicle getVehicle(int id) {
+		Segment segment = this.segmentFor(id);
+		synchronized (segment) {
+			int slot = segment.find(id);
+			return slot >= 0 ? segment.vehicles[slot] : null;
+		}
+	}
+
+	/**
+     * Gets the station where a vehicle is currently docked.
+     *
+     * @param id The vehicle ID.
+     * @return The station of the vehicle, or null if it is not docked or no vehicle has this ID.
+     */
+	public Station getStation(int id) {
+		Segment segment = this.segmentFor(id);
+		synchronized (segment) {
+			int slot = segment.find(id);
+			return slot >= 0 ? segment.stations[slot] : null;
+		}
+	}
+
+	/**
+     * Gets the current state of a vehicle.
+     *
+     * @param id The vehicle ID.
+     * @return The state of the vehicle, or null if no vehicle has this ID.
+     */
+	public StateCode getState(int id) {
+		Segment segment = this.segmentFor(id);
+		synchronized (segment) {
+			int slot = segment.find(id);
+			return slot >= 0 ? segment.states[slot] : null;
+		}
+	}
+
+	/**
+     * Tells whether a vehicle is registered under an ID.
+     *
+     * @param id The vehicle ID.
+     * @return true if a vehicle has this ID, otherwise false.
+     */
+	public boolean contains(int id) {
+		Segment segment = this.segmentFor(id);
+		synchronized (segment) {
+			return segment.find(id) >= 0;
+		}
+	}
+
+	/**
+     * Gets the number of registered vehicles.
+     *
+     * @return The number of vehicles in the registry.
+     */
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			synchronized (segment) {
+				size += segment.size;
+			}
+		}
+		return size;
+	}
+
+	/**
+     * Gets the number of registered vehicles currently in a given state.
+     *
+     * @param state The state to count.
+     * @return The number of vehicles in this state.
+     */
+	public int getNbVehicles(StateCode state) {
+		return this.nbVehiclesByState.get(state.ordinal());
+	}
+
+	/**
+     * One independently locked part of the registry: the ID, the vehicle, its station and its state
+     * in parallel arrays, packed at their start, and an index from IDs to their slot in the arrays.
+     * Removing a vehicle moves the last one to its slot.
+     */
+	private static class Segment {
+		private int[] ids;
+		private Vehicle[] vehicles;
+		private Station[] stations;
+		private StateCode[] states;
+		private int size;
+		private final IntIndex index;
+
+		private Segment() {
+			this.index = new IntIndex(INITIAL_SEGMENT_CAPACITY) {
+				@Override
+				protected int keyOf(int slot) {
+					return Segment.this.ids[slot];
+				}
+			};
+			this.clear();
+		}
+
+		private void clear() {
+			this.ids = new int[INITIAL_SEGMENT_CAPACITY];
+			this.vehicles = new Vehicle[INITIAL_SEGMENT_CAPACITY];
+			this.stations = new Station[INITIAL_SEGMENT_CAPACITY];
+			this.states = new StateCode[INITIAL_SEGMENT_CAPACITY];
+			this.size = 0;
+			this.index.clear(INITIAL_SEGMENT_CAPACITY);
+		}
+
+		private int find(int id) {
+			return this.index.get(id);
+		}
+
+		private int insert(int id, Vehicle vehicle) {
+			if (this.size == this.ids.length) {
+				int capacity = this.size * 2;
+				this.ids = Arrays.copyOf(this.ids, capacity);
+				this.vehicles = Arrays.copyOf(this.vehicles, capacity);
+				this.stations = Arrays.copyOf(this.stations, capacity);
+				this.states = Arrays.copyOf(this.states, capacity);
+			}
+			int slot = this.size++;
+			this.ids[slot] = id;
+			this.vehicles[slot] = vehicle;
+			this.index.add(slot);
+			return slot;
+		}
+
+		private void remove(int slot) {
+			this.index.removeAt(this.index.find(this.ids[slot]));
+			int last = --this.size;
+			if (slot != last) {
+				this.index.setPositionAt(this.index.find(this.ids[last]), slot);
+				this.ids[slot] = this.ids[last];
+				this.vehicles[slot] = this.vehicles[last];
+				this.stations[slot] = this.stations[last];
+				this.states[slot] = this.states[last];
+			}
+			this.vehicles[last] = null;
+			this.stations[last] = null;
+			this.states[last] = null;
+		}
+	}
+}
@@ -0,0 +1,530 @@
+package fleet;
+
+import java.nio.ByteBuffer;
+
+import stations.Station;
+import utils.IntIndex;
+import vehicleDecorators.Basket;
+import vehicleDecorators.LuggageRack;
+import vehicleDecorators.Painting;
+import vehicles.Accessory;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * The FleetStore keeps a fleet as columns of primitives instead of one object graph per vehicle:
+ * one column each for the ID, the station ID, the rental count, the battery level, the state and the accessories.
+ * A vehicle is a row of 15 bytes, plus 8 to 16 bytes in the ID index, where a decorated vehicle object
+ * with its state and its entry in the VehicleRegistry takes several times more, and a scan over one attribute
+ * reads a single contiguous column. The columns live in the Java heap or, for fleets of millions of vehicles,
+ * outside of it where the garbage collector never copies them.
+ *
+ * Rows are read and changed through their index, or through a {@link VehicleView}, a reusable cursor
+ * that stands in for a Vehicle object. A store is not thread-safe.
+ */
+public class FleetStore {
+	/**
+     * The station ID of a vehicle that is not docked.
+     */
+	public static final int NO_STATION = -1;
+
+	/** The accessory bit of a vehicle whose base vehicle is an electric bike. */
+	public static final int ELECTRIC = 1;
+	/** The accessory bit of a vehicle with a basket. */
+	public static final int BASKET = Accessory.BASKET.getBit();
+	/** The accessory bit of a vehicle with a luggage rack. */
+	public static final int LUGGAGE_RACK = Accessory.LUGGAGE_RACK.getBit();
+	/** The accessory bit of a painted vehicle. */
+	public static final int PAINTING = Accessory.PAINTING.getBit();
+
+	private static final StateCode[] STATES = StateCode.values();
+
+	private final boolean offHeap;
+	private ByteBuffer ids;
+	private ByteBuffer stationIds;
+	private ByteBuffer nbOfRentals;
+	private ByteBuffer batteryLevels;
+	private ByteBuffer states;
+	private ByteBuffer accessories;
+	private final IntIndex index;
+	private int capacity;
+	private int size;
+
+	/**
+     * Constructs an empty store.
+     *
+     * @param initialCapacity The number of vehicles the store holds before it grows.
+     * @param offHeap         true to keep the columns outside of the Java heap, false to keep them in byte arrays.
+     */
+	public FleetStore(int initialCapacity, boolean offHeap) {
+		this.offHeap = offHeap;
+		this.index = new IntIndex(initialCapacity) {
+			@Override
+			protected int keyOf(int row) {
+				return FleetStore.this.getId(row);
+			}
+		};
+		this.allocate(Math.max(16, initialCapacity));
+	}
+
+	private void allocate(int newCapacity) {
+		this.ids = this.copy(this.ids, newCapacity * 4);
+		this.stationIds = this.copy(this.stationIds, newCapacity * 4);
+		this.nbOfRentals = this.copy(this.nbOfRentals, newCapacity * 4);
+		this.batteryLevels = this.copy(this.batteryLevels, newCapacity);
+		this.states = this.copy(this.states, newCapacity);
+		this.accessories = this.copy(this.accessories, newCapacity);
+		this.capacity = newCapacity;
+		this.index.clear(newCapacity);
+		for (int row = 0; row < this.size; row++) {
+			this.index.add(row);
+		}
+	}
+
+	private ByteBuffer copy(ByteBuffer column, int nbBytes) {
+		ByteBuffer copy = this.offHeap ? ByteBuffer.allocateDirect(nbBytes) : ByteBuffer.allocate(nbBytes);
+		if (column != null) {
+			column.clear();
+			copy.put(column);
+			copy.clear();
+		}
+		return copy;
+	}
+
+	/**
+     * Adds a vehicle.
+     *
+     * @param id           The ID of the vehicle, which must not be in the store yet.
+     * @param stationId    The ID of the station the vehicle is docked at, or {@link #NO_STATION}.
+     * @param state        The state of the vehicle.
+     * @param nbOfRentals  The rental count of the vehicle.
+     * @param batteryLevel The battery level of the vehicle, 0 if it is not electric.
+     * @param accessories  The accessory bits of the vehicle.
+     * @return The row of the vehicle.
+     * @throws IllegalArgumentException If a vehicle with this ID is already in the store.
+     */
+	public int add(int id, int stationId, StateCode state, int nbOfRentals, int batteryLevel, int accessories) {
+		if (this.indexOf(id) >= 0) {
+			throw new IllegalArgumentException("Vehicle " + id + " is already in the store");
+		}
+		if (this.size == this.capacity) {
+			this.allocate(this.capacity * 2);
+		}
+		int row = this.size++;
+		this.ids.putInt(row * 4, id);
+		this.setStationId(row, stationId);
+		this.setState(row, state);
+		this.setNumberOfRentals(row, nbOfRentals);
+		this.setBatteryLevel(row, batteryLevel);
+		this.accessories.put(row, (byte) accessories);
+		this.index.add(row);
+		return row;
+	}
+
+	/**
+     * Adds a copy of a vehicle object.
+     *
+     * @param vehicle The vehicle, possibly decorated.
+     * @return The row of the vehicle.
+     * @throws IllegalArgumentException If a vehicle with the same ID is already in the store.
+     */
+	public int add(Vehicle vehicle) {
+		Station station = vehicle.getStation();
+		return this.add(vehicle.getId(), station == null ? NO_STATION : station.getStationID(), vehicle.getStateCode(),
+				vehicle.getNumberOfRentals(), batteryOf(vehicle), accessoriesOf(vehicle));
+	}
+
+	/**
+     * Finds the row of a vehicle.
+     *
+     * @param id The ID of the vehicle.
+     * @return The row, or -1 if the vehicle is not in the store.
+     */
+	public int indexOf(int id) {
+		return this.index.get(id);
+	}
+
+	/**
+     * Gets the number of vehicles in the store.
+     *
+     * @return The number of vehicles.
+     */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+     * Tells whether the columns are kept outside of the Java heap.
+     *
+     * @return true if the store is off-heap, otherwise false.
+     */
+	public boolean isOffHeap() {
+		return this.offHeap;
+	}
+
+	/**
+     * Gets the number of bytes allocated for the columns and the ID index.
+     *
+     * @return The footprint of the store, in bytes.
+     */
+	public long getNbBytes() {
+		return 15L * this.capacity + this.index.getNbBytes();
+	}
+
+	/**
+     * Gets the ID of the vehicle of a row.
+     *
+     * @param row The row.
+     * @return The ID.
+     */
+	public int getId(int row) {
+		return this.ids.getInt(row * 4);
+	}
+
+	/**
+     * Gets the ID of the station the vehicle of a row is docked at.
+     *
+     * @param row The row.
+     * @return The station ID, or {@link #NO_STATION}.
+     */
+	public int getStationId(int row) {
+		return this.stationIds.getInt(row * 4);
+	}
+
+	/**
+     * Sets the ID of the station the vehicle of a row is docked at.
+     *
+     * @param row       The row.
+     * @param stationId The station ID, or {@link #NO_STATION}.
+     */
+	public void setStationId(int row, int stationId) {
+		this.stationIds.putInt(row * 4, stationId);
+	}
+
+	/**
+     * Gets the state of the vehicle of a row.
+     *
+     * @param row The row.
+     * @return The state.
+     */
+	public StateCode getState(int row) {
+		return STATES[this.states.get(row)];
+	}
+
+	/**
+     * Sets the state of the vehicle of a row.
+     *
+     * @param row   The row.
+     * @param state The state.
+     */
+	public void setState(int row, StateCode state) {
+		this.states.put(row, (byte) state.ordinal());
+	}
+
+	/**
+     * Gets the rental count of the vehicle of a row.
+     *
+     * @param row The row.
+     * @return The rental count.
+     */
+	public int getNumberOfRentals(int row) {
+		return this.nbOfRentals.getInt(row * 4);
+	}
+
+	/**
+     * Sets the rental count of the vehicle of a row.
+     *
+     * @param row         The row.
+     * @param nbOfRentals The rental count.
+     */
+	public void setNumberOfRentals(int row, int nbOfRentals) {
+		this.nbOfRentals.putInt(row * 4, nbOfRentals);
+	}
+
+	/**
+     * Gets the battery level of the vehicle of a row.
+     *
+     * @param row The row.
+     * @return The battery level, 0 if the vehicle is not electric.
+     */
+	public int getBatteryLevel(int row) {
+		return this.batteryLevels.get(row);
+	}
+
+	/**
+     * Sets the battery level of the vehicle of a row.
+     *
+     * @param row          The row.
+     * @param batteryLevel The battery level, between 0 and 100.
+     */
+	public void setBatteryLevel(int row, int batteryLevel) {
+		this.batteryLevels.put(row, (byte) batteryLevel);
+	}
+
+	/**
+     * Gets the accessory bits of the vehicle of a row.
+     *
+     * @param row The row.
+     * @return The accessory bits.
+     */
+	public int getAccessories(int row) {
+		return this.accessories.get(row);
+	}
+
+	/**
+     * Counts the vehicles in a given state, reading the state column only.
+     *
+     * @param state The state.
+     * @return The number of vehicles in this state.
+     */
+	public int count(StateCode state) {
+		byte code = (byte) state.ordinal();
+		int count = 0;
+		for (int row = 0; row < this.size; row++) {
+			if (this.states.get(row) == code) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+     * Builds the vehicle object of a row, decorated with its accessories.
+     * The vehicle is not docked anywhere, even if the row has a station.
+     *
+     * @param row The row.
+     * @return The new vehicle.
+     */
+	public Vehicle toVehicle(int row) {
+		Vehicle vehicle = create(this.getId(row), this.getAccessories(row), null);
+		vehicle.setStateCode(this.getState(row));
+		vehicle.setNumberOfRentals(this.getNumberOfRentals(row));
+		setBattery(vehicle, this.getBatteryLevel(row));
+		return vehicle;
+	}
+
+	/**
+     * Creates a cursor over the rows of the store, positioned on the first row.
+     *
+     * @return The cursor.
+     */
+	public VehicleView view() {
+		return new VehicleView();
+	}
+
+	/**
+     * A reusable cursor over the rows of a store, standing in for a Vehicle object:
+     * move it to a row, then read or change the vehicle of that row.
+     */
+	public final class VehicleView {
+		private int row;
+
+		private VehicleView() {
+		}
+
+		/**
+	     * Moves the cursor to a row.
+	     *
+	     * @param row The row.
+	     * @return This cursor.
+	     */
+		public VehicleView moveTo(int row) {
+			if (row < 0 || row >= FleetStore.this.size) {
+				throw new IndexOutOfBoundsException(row);
+			}
+			this.row = row;
+			return this;
+		}
+
+		/**
+	     * Moves the cursor to the row of a vehicle.
+	     *
+	     * @param id The ID of the vehicle.
+	     * @return true if the vehicle is in the store, false if it is not and the cursor did not move.
+	     */
+		public boolean moveToVehicle(int id) {
+			int found = FleetStore.this.indexOf(id);
+			if (found < 0) {
+				return false;
+			}
+			this.row = found;
+			return true;
+		}
+
+		/**
+	     * Gets the row the cursor is on.
+	     *
+	     * @return The row.
+	     */
+		public int getRow() {
+			return this.row;
+		}
+
+		/**
+	     * Gets the ID of the vehicle.
+	     *
+	     * @return The ID.
+	     */
+		public int getId() {
+			return FleetStore.this.getId(this.row);
+		}
+
+		/**
+	     * Gets the ID of the station the vehicle is docked at.
+	     *
+	     * @return The station ID, or {@link FleetStore#NO_STATION}.
+	     */
+		public int getStationId() {
+			return FleetStore.this.getStationId(this.row);
+		}
+
+		/**
+	     * Sets the ID of the station the vehicle is docked at.
+	     *
+	     * @param stationId The station ID, or {@link FleetStore#NO_STATION}.
+	     */
+		public void setStationId(int stationId) {
+			FleetStore.this.setStationId(this.row, stationId);
+		}
+
+		/**
+	     * Gets the state of the vehicle.
+	     *
+	     * @return The state.
+	     */
+		public StateCode getStateCode() {
+			return FleetStore.this.getState(this.row);
+		}
+
+		/**
+	     * Sets the state of the vehicle.
+	     *
+	     * @param state The state.
+	     */
+		public void setStateCode(StateCode state) {
+			FleetStore.this.setState(this.row, state);
+		}
+
+		/**
+	     * Checks if the vehicle can be rented.
+	     *
+	     * @return true if the vehicle is in the Disponible state, otherwise false.
+	     */
+		public boolean isDisponible() {
+			return this.getStateCode() == StateCode.DISPONIBLE;
+		}
+
+		/**
+	     * Gets the rental count of the vehicle.
+	     *
+	     * @return The rental count.
+	     */
+		public int getNumberOfRentals() {
+			return FleetStore.this.getNumberOfRentals(this.row);
+		}
+
+		/**
+	     * Increases the rental count of the vehicle by one.
+	     */
+		public void increaseNumberOfRentals() {
+			FleetStore.this.setNumberOfRentals(this.row, this.getNumberOfRentals() + 1);
+		}
+
+		/**
+	     * Gets the battery level of the vehicle.
+	     *
+	     * @return The battery level, 0 if the vehicle is not electric.
+	     */
+		public int getBatteryLevel() {
+			return FleetStore.this.getBatteryLevel(this.row);
+		}
+
+		/**
+	     * Sets the battery level of the vehicle.
+	     *
+	     * @param batteryLevel The battery level, between 0 and 100.
+	     */
+		public void setBatteryLevel(int batteryLevel) {
+			FleetStore.this.setBatteryLevel(this.row, batteryLevel);
+		}
+
+		/**
+	     * Tells whether the base vehicle is an electric bike.
+	     *
+	     * @return true if the vehicle is electric, otherwise false.
+	     */
+		public boolean isElectric() {
+			return (FleetStore.this.getAccessories(this.row) & ELECTRIC) != 0;
+		}
+
+		/**
+	     * Tells whether the vehicle has some accessories.
+	     *
+	     * @param accessory The accessory bits, {@link FleetStore#BASKET} for instance.
+	     * @return true if the vehicle has all of them, otherwise false.
+	     */
+		public boolean hasAccessory(int accessory) {
+			return (FleetStore.this.getAccessories(this.row) & accessory) == accessory;
+		}
+	}
+
+	/**
+     * Gets the accessory bits of a vehicle object: the vehicle's accessories, plus {@link #ELECTRIC}
+     * if the vehicle under its decorators is electric.
+     *
+     * @param vehicle The vehicle, possibly decorated.
+     * @return The accessory bits.
+     */
+	public static int accessoriesOf(Vehicle vehicle) {
+		return vehicle.getElectricVelo() != null ? vehicle.getAccessories() | ELECTRIC : vehicle.getAccessories();
+	}
+
+	/**
+     * Gets the battery level of a vehicle object.
+     *
+     * @param vehicle The vehicle, possibly decorated.
+     * @return The battery level of an electric vehicle, or 0 for any other vehicle.
+     */
+	public static int batteryOf(Vehicle vehicle) {
+		ElectricVelo electricVelo = vehicle.getElectricVelo();
+		return electricVelo != null ? electricVelo.getBatteryLevel() : 0;
+	}
+
+	/**
+     * Sets the battery level of a vehicle object, if it is electric.
+     *
+     * @param vehicle The vehicle, possibly decorated.
+     * @param level   The battery level.
+     */
+	public static void setBattery(Vehicle vehicle, int level) {
+		ElectricVelo electricVelo = vehicle.getElectricVelo();
+		if (electricVelo != null) {
+			electricVelo.setBatteryLevel(level);
+		}
+	}
+
+	/**
+     * Builds a vehicle object from its accessory bits, as a basket around a luggage rack around a painting
+     * around the base vehicle.
+     *
+     * @param id          The ID of the vehicle.
+     * @param accessories The accessory bits.
+     * @param station     The station the vehicle is about to be docked at, registered with the vehicle, or null.
+     * @return The new vehicle, not docked yet.
+     */
+	public static Vehicle create(int id, int accessories, Station station) {
+		Vehicle vehicle = (accessories & ELECTRIC) != 0 ? new ElectricVelo(id, station) : new ClassicVelo(id, station);
+		if ((accessories & PAINTING) != 0) {
+			vehicle = new Painting(vehicle);
+		}
+		if ((accessories & LUGGAGE_RACK) != 0) {
+			vehicle = new LuggageRack(vehicle);
+		}
+		if ((accessories & BASKET) != 0) {
+			vehicle = new Basket(vehicle);
+		}
+		return vehicle;
+	}
+}
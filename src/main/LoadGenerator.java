@@ -0,0 +1,309 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import controlCenters.ControlCenter;
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import metrics.Histogram;
+import redistibuationStrategy.ClassicStrategy;
+import redistibuationStrategy.FlowStrategy;
+import redistibuationStrategy.HeapStrategy;
+import redistibuationStrategy.RandomStrategy;
+import redistibuationStrategy.RedistributionStrategy;
+import redistibuationStrategy.WeightedRandomStrategy;
+import stations.ConcurrentVeloStation;
+import stations.Station;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+/**
+ * Drives rents and deposits on a network of stations from several generator threads, without any interaction,
+ * to measure how much load the stations and the control center sustain.
+ * Rents arrive at every station following a Poisson process; each rented vehicle is deposited at a random station
+ * once its trip is over, or at the next stations if that one is full. Each operation is timed, and the sustained
+ * throughput, the latency percentiles and the number of rejected operations are reported at the end.
+ * The control center manages the generated stations and reacts to them as usual (redistributions, thefts, repairs).
+ *
+ * Run with: java -cp classes main.Main --headless [--stations N] [--fleet N] [--rate R] [--trip-mean MS]
+ * [--trip-distribution exponential|uniform|fixed] [--duration S] [--threads N] [--strategy classic|random|weighted|heap|flow] [--seed N]
+ */
+public class LoadGenerator {
+	private int nbStations = 1000;
+	private int fleetSize = 10000;
+	private double ratePerStation = 0.1;
+	private long meanTripDuration = 2000;
+	private String tripDistribution = "exponential";
+	private long duration = 10;
+	private int nbThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+	private String strategy = "heap";
+	private long seed = 42;
+
+	private ArrayList<Station> stations;
+
+	/**
+     * The results of one generator thread.
+     */
+	private static class Results {
+		private final Histogram rents = new Histogram();
+		private final Histogram deposits = new Histogram();
+		private long rejectedRents;
+		private long rejectedDeposits;
+		private long failedRedistributions;
+
+		private void add(Results other) {
+			this.rents.add(other.rents);
+			this.deposits.add(other.deposits);
+			this.rejectedRents += other.rejectedRents;
+			this.rejectedDeposits += other.rejectedDeposits;
+			this.failedRedistributions += other.failedRedistributions;
+		}
+	}
+
+	/**
+     * A rented vehicle, to be deposited at a given time.
+     */
+	private static class Trip implements Comparable<Trip> {
+		private final long end;
+		private final Vehicle vehicle;
+
+		private Trip(long end, Vehicle vehicle) {
+			this.end = end;
+			this.vehicle = vehicle;
+		}
+
+		@Override
+		public int compareTo(Trip other) {
+			return Long.compare(this.end, other.end);
+		}
+	}
+
+	/**
+     * Builds a load generator from command-line arguments, each option being followed by its value.
+     *
+     * @param args The arguments, starting with the first option.
+     * @return The configured load generator.
+     * @throws IllegalArgumentException If an option is unknown or has no value.
+     */
+	public static LoadGenerator fromArguments(String[] args) {
+		LoadGenerator generator = new LoadGenerator();
+		for (int i = 0; i < args.length; i += 2) {
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("Missing value for " + args[i]);
+			}
+			String value = args[i + 1];
+			switch (args[i]) {
+			case "--stations":
+				generator.nbStations = Integer.parseInt(value);
+				break;
+			case "--fleet":
+				generator.fleetSize = Integer.parseInt(value);
+				break;
+			case "--rate":
+				generator.ratePerStation = Double.parseDouble(value);
+				break;
+			case "--trip-mean":
+				generator.meanTripDuration = Long.parseLong(value);
+				break;
+			case "--trip-distribution":
+				generator.tripDistribution = value;
+				break;
+			case "--duration":
+				generator.duration = Long.parseLong(value);
+				break;
+			case "--threads":
+				generator.nbThreads = Integer.parseInt(value);
+				break;
+			case "--strategy":
+				generator.strategy = value;
+				break;
+			case "--seed":
+				generator.seed = Long.parseLong(value);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		return generator;
+	}
+
+	/**
+     * Creates the network, runs the generator threads for the configured duration and prints the report.
+     *
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the generators.
+     */
+	public void run() throws InterruptedException {
+		this.createNetwork();
+		System.out.printf("%d stations, %d vehicles, %.3f rents/s per station, %s trips of %d ms on average, %d threads, %d s, %s strategy%n",
+				this.nbStations, this.fleetSize, this.ratePerStation, this.tripDistribution, this.meanTripDuration, this.nbThreads, this.duration, this.strategy);
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(this.duration);
+		Results[] results = new Results[this.nbThreads];
+		Thread[] generators = new Thread[this.nbThreads];
+		SplittableRandom seeds = new SplittableRandom(this.seed);
+		for (int i = 0; i < this.nbThreads; i++) {
+			Results threadResults = new Results();
+			SplittableRandom random = seeds.split();
+			results[i] = threadResults;
+			generators[i] = new Thread(() -> this.generate(random, end, threadResults), "load-generator-" + (i + 1));
+			generators[i].start();
+		}
+		Results total = new Results();
+		for (int i = 0; i < this.nbThreads; i++) {
+			generators[i].join();
+			total.add(results[i]);
+		}
+		this.report(total, System.nanoTime() - start);
+	}
+
+	/**
+     * Creates the stations with twice as many docks as they get vehicles on average, and lets the control center manage them.
+     */
+	private void createNetwork() {
+		ControlCenter center = ControlCenter.getInstanceControlCenter();
+		center.setStrategy(this.createStrategy());
+		center.getStations().clear();
+		this.stations = new ArrayList<>();
+		int capacity = Math.max(2, 2 * (int) Math.ceil((double) this.fleetSize / this.nbStations));
+		SplittableRandom random = new SplittableRandom(this.seed);
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new ConcurrentVeloStation(i + 1, "Station-" + (i + 1), capacity);
+			station.setLocation(random.nextDouble() * 10, random.nextDouble() * 10);
+			this.stations.add(station);
+			center.addStation(station);
+		}
+		for (int id = 0; id < this.fleetSize; id++) {
+			Station station = this.stations.get(id % this.nbStations);
+			station.addVehicle(new ClassicVelo(id + 1, station));
+		}
+	}
+
+	private RedistributionStrategy createStrategy() {
+		switch (this.strategy) {
+		case "classic":
+			return new ClassicStrategy();
+		case "random":
+			return new RandomStrategy();
+		case "weighted":
+			return new WeightedRandomStrategy(this.seed, true);
+		case "flow":
+			return new FlowStrategy();
+		case "heap":
+			return new HeapStrategy();
+		default:
+			throw new IllegalArgumentException("Unknown strategy " + this.strategy);
+		}
+	}
+
+	/**
+     * Draws the duration of a trip.
+     *
+     * @param random The random generator of the thread.
+     * @return The duration, in nanoseconds.
+     */
+	private long tripDuration(SplittableRandom random) {
+		double mean = TimeUnit.MILLISECONDS.toNanos(this.meanTripDuration);
+		switch (this.tripDistribution) {
+		case "fixed":
+			return (long) mean;
+		case "uniform":
+			return (long) (random.nextDouble() * 2 * mean);
+		case "exponential":
+			return (long) (-Math.log(1 - random.nextDouble()) * mean);
+		default:
+			throw new IllegalArgumentException("Unknown trip distribution " + this.tripDistribution);
+		}
+	}
+
+	/**
+     * Generates the load of one thread until the end time: rents arrive with exponential inter-arrival times,
+     * so that the threads together produce a Poisson process at the configured rate on every station,
+     * and the trips in progress end in order.
+     *
+     * @param random  The random generator of the thread.
+     * @param end     The time to stop at, from {@link System#nanoTime()}.
+     * @param results The results of the thread.
+     */
+	private void generate(SplittableRandom random, long end, Results results) {
+		double meanInterArrival = 1e9 * this.nbThreads / (this.ratePerStation * this.nbStations);
+		PriorityQueue<Trip> trips = new PriorityQueue<>();
+		long nextRent = System.nanoTime();
+		while (true) {
+			long next = trips.isEmpty() ? nextRent : Math.min(nextRent, trips.peek().end);
+			if (next >= end) {
+				return;
+			}
+			long wait = next - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+				continue;
+			}
+			if (!trips.isEmpty() && trips.peek().end <= nextRent) {
+				this.deposit(trips.poll().vehicle, random, results);
+			} else {
+				Vehicle vehicle = this.rent(random, results);
+				if (vehicle != null) {
+					trips.add(new Trip(System.nanoTime() + this.tripDuration(random), vehicle));
+				}
+				nextRent += (long) (-Math.log(1 - random.nextDouble()) * meanInterArrival);
+			}
+		}
+	}
+
+	private Vehicle rent(SplittableRandom random, Results results) {
+		Station station = this.stations.get(random.nextInt(this.stations.size()));
+		long start = System.nanoTime();
+		try {
+			Vehicle vehicle = station.rentVehicle();
+			results.rents.record(System.nanoTime() - start);
+			return vehicle;
+		} catch (StationEmptyException e) {
+			results.rejectedRents++;
+		} catch (RedistribuationNotCompletedException e) {
+			results.failedRedistributions++;
+		}
+		return null;
+	}
+
+	/**
+     * Deposits a vehicle at a random station, or at the following ones while they are full.
+     * Every full station met counts as a rejected deposit.
+     */
+	private void deposit(Vehicle vehicle, SplittableRandom random, Results results) {
+		int first = random.nextInt(this.stations.size());
+		for (int i = 0; i < this.stations.size(); i++) {
+			Station station = this.stations.get((first + i) % this.stations.size());
+			long start = System.nanoTime();
+			try {
+				station.deposit(vehicle);
+				results.deposits.record(System.nanoTime() - start);
+				return;
+			} catch (StationFullException e) {
+				results.rejectedDeposits++;
+			} catch (RedistribuationNotCompletedException | StationEmptyException e) {
+				results.failedRedistributions++;
+				return;
+			}
+		}
+	}
+
+	private void report(Results total, long elapsed) {
+		double seconds = elapsed / 1e9;
+		long operations = total.rents.getCount() + total.deposits.getCount();
+		System.out.printf("%n%d operations in %.1f s: %.0f operations/s%n", operations, seconds, operations / seconds);
+		System.out.printf("%-10s %10s %12s %12s %12s %10s%n", "operation", "count", "p50 (µs)", "p99 (µs)", "max (µs)", "rejected");
+		this.reportLine("rent", total.rents, total.rejectedRents);
+		this.reportLine("deposit", total.deposits, total.rejectedDeposits);
+		System.out.printf("failed redistributions: %d%n", total.failedRedistributions);
+	}
+
+	private void reportLine(String operation, Histogram histogram, long rejected) {
+		System.out.printf("%-10s %10d %12.1f %12.1f %12.1f %10d%n", operation, histogram.getCount(),
+				histogram.getPercentile(0.5) / 1e3, histogram.getPercentile(0.99) / 1e3, histogram.getMax() / 1e3, rejected);
+	}
+}
@@ -1,7 +1,9 @@
 package main;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import constants.Constants;
 import controlCenters.ControlCenter;
@@ -21,6 +23,7 @@ import vehicles.Vehicle;
  * The main class that runs the bike-sharing system simulation.
  * This class contains simulations for renting, depositing, repairing bikes,
  * and bike theft within the system.
+ * Started with --headless as first argument, it runs the {@link LoadGenerator} instead, with the remaining arguments.
  */
 public class Main {
 	static Scanner scanner = new Scanner(System.in);
@@ -95,7 +98,6 @@ public class Main {
      */
 	public static void displayVlille() throws InterruptedException {
 		for(Station s : myCenter.getStations()) {
-			Collections.shuffle(s.getVehicles());
 			displayStation(s);
 			//Thread.sleep(1000);
 		}
@@ -109,8 +111,10 @@ public class Main {
 	public static void displayStation(Station s) {
 		String vehicles="";
 		int cpt=0;
-        for (Vehicle velo : s.getVehicles()) {
-        	if (velo.getState().toString().equals("Disponible")) {
+		List<Vehicle> docked = new ArrayList<>(s.getVehicles());
+		Collections.shuffle(docked);
+        for (Vehicle velo : docked) {
+        	if (velo.isDisponible()) {
         		vehicles+="🚲 | ";
         	} else {
         		vehicles+="🚳 | ";
@@ -393,7 +397,7 @@ public class Main {
     	Station chu = myCenter.getStations().get(6);
         Vehicle velo = gambeta.accept(madjid);
         chu.deposit(velo);
-        while(velo.getState().toString().equals("Disponible")) {
+        while(velo.isDisponible()) {
         	velo = chu.accept(manil);
         	displayRent(velo, manil, chu);
         	chu.deposit(velo);
@@ -401,10 +405,10 @@ public class Main {
         }
         displayStation(chu);
         System.out.println();
-        System.out.println(velo.decorate()+" is "+velo.getState().toString());
+        System.out.println(velo.decorate()+" is "+velo.getStateCode());
         System.out.println("Reparing in progress ...");
         myCenter.repaireAllVehicles();
-        System.out.println(velo.decorate()+" is "+velo.getState().toString());
+        System.out.println(velo.decorate()+" is "+velo.getStateCode());
         displayStation(chu);
         
     }
@@ -478,6 +482,10 @@ public class Main {
     }
 
 	public static void main(String[] args) throws RedistribuationNotCompletedException, StationEmptyException, StationFullException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--headless")) {
+        	LoadGenerator.fromArguments(Arrays.copyOfRange(args, 1, args.length)).run();
+        	return;
+        }
         displayWelcomePage();
         pressEnterFunction();
         initialiseVlille();
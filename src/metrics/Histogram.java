@@ -0,0 +1,246 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies with a bounded memory footprint, precise to about 3 %, in the manner of HdrHistogram.
+ * Values below 64 have a bucket each; above, every power of two is split into 32 buckets,
+ * so recording is a few bit operations and an atomic increment, without locks or allocation,
+ * and any thread can record at any time. Percentiles are read by walking at most a couple of thousand buckets.
+ *
+ * Like the cells of a LongAdder, the buckets are striped: each thread records into the stripe picked by its ID,
+ * so threads on different cores rarely write to the same cache lines. A stripe is only allocated once a thread uses it,
+ * and the stripes are summed when the histogram is read.
+ */
+public class Histogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR = 2 * SUB_BUCKETS;
+	private static final int NB_BUCKETS = LINEAR + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+	private static final int NB_STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes;
+	private final LongAdder count;
+	private final LongAdder total;
+	private final AtomicLong max;
+
+	/**
+     * Constructs an empty histogram.
+     */
+	public Histogram() {
+		this.stripes = new AtomicReferenceArray<>(NB_STRIPES);
+		this.count = new LongAdder();
+		this.total = new LongAdder();
+		this.max = new AtomicLong();
+	}
+
+	private static int indexOf(long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return LINEAR + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	private static long lowestValueOf(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		int magnitude = (index - LINEAR) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+		long top = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+		return top << (magnitude - SUB_BUCKET_BITS);
+	}
+
+	/**
+     * Gets the stripe of the calling thread, allocating it on first use.
+     *
+     * @return The bucket counts the calling thread records into.
+     */
+	private AtomicLongArray stripe() {
+		long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+		int index = (int) (id >>> 32) & (NB_STRIPES - 1);
+		AtomicLongArray stripe = this.stripes.get(index);
+		if (stripe == null) {
+			this.stripes.compareAndSet(index, null, new AtomicLongArray(NB_BUCKETS));
+			stripe = this.stripes.get(index);
+		}
+		return stripe;
+	}
+
+	/**
+     * Records a value.
+     *
+     * @param value The value, in any unit. Negative values count as 0.
+     */
+	public void record(long value) {
+		value = Math.max(0, value);
+		this.stripe().incrementAndGet(indexOf(value));
+		this.count.increment();
+		this.total.add(value);
+		long previous = this.max.get();
+		while (value > previous && !this.max.compareAndSet(previous, value)) {
+			previous = this.max.get();
+		}
+	}
+
+	/**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+	public void add(Histogram other) {
+		long[] buckets = other.sumBuckets();
+		AtomicLongArray stripe = this.stripe();
+		for (int i = 0; i < NB_BUCKETS; i++) {
+			if (buckets[i] != 0) {
+				stripe.addAndGet(i, buckets[i]);
+			}
+		}
+		this.count.add(other.count.sum());
+		this.total.add(other.total.sum());
+		this.max.accumulateAndGet(other.max.get(), Math::max);
+	}
+
+	/**
+     * Forgets every recorded value. Values recorded concurrently may be partly kept.
+     */
+	public void reset() {
+		for (int s = 0; s < NB_STRIPES; s++) {
+			AtomicLongArray stripe = this.stripes.get(s);
+			if (stripe != null) {
+				for (int i = 0; i < NB_BUCKETS; i++) {
+					stripe.set(i, 0);
+				}
+			}
+		}
+		this.count.reset();
+		this.total.reset();
+		this.max.set(0);
+	}
+
+	/**
+     * Gets the number of recorded values.
+     *
+     * @return The number of values.
+     */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+     * Gets the largest recorded value.
+     *
+     * @return The maximum, or 0 if nothing was recorded.
+     */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+     * Gets the value below which a given fraction of the recorded values fall.
+     *
+     * @param fraction The fraction, between 0 and 1 (0.99 for the 99th percentile).
+     * @return The lowest value of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+	public long getPercentile(double fraction) {
+		return this.snapshot().getPercentile(fraction);
+	}
+
+	/**
+     * Takes a consistent copy of the histogram, to read several statistics from the same values.
+     *
+     * @return The snapshot.
+     */
+	public Snapshot snapshot() {
+		long[] buckets = this.sumBuckets();
+		long n = 0;
+		for (int i = 0; i < NB_BUCKETS; i++) {
+			n += buckets[i];
+		}
+		return new Snapshot(buckets, n, this.total.sum(), this.max.get());
+	}
+
+	/**
+     * Sums the bucket counts of every stripe.
+     *
+     * @return The count of each bucket.
+     */
+	private long[] sumBuckets() {
+		long[] buckets = new long[NB_BUCKETS];
+		for (int s = 0; s < NB_STRIPES; s++) {
+			AtomicLongArray stripe = this.stripes.get(s);
+			if (stripe != null) {
+				for (int i = 0; i < NB_BUCKETS; i++) {
+					buckets[i] += stripe.get(i);
+				}
+			}
+		}
+		return buckets;
+	}
+
+	/**
+     * An immutable copy of a histogram.
+     */
+	public static class Snapshot {
+		private final long[] buckets;
+		private final long count;
+		private final long total;
+		private final long max;
+
+		private Snapshot(long[] buckets, long count, long total, long max) {
+			this.buckets = buckets;
+			this.count = count;
+			this.total = total;
+			this.max = max;
+		}
+
+		/**
+	     * Gets the number of values.
+	     *
+	     * @return The number of values.
+	     */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+	     * Gets the largest value.
+	     *
+	     * @return The maximum, or 0 if there is no value.
+	     */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+	     * Gets the average value.
+	     *
+	     * @return The mean, or 0 if there is no value.
+	     */
+		public double getMean() {
+			return this.count == 0 ? 0 : (double) this.total / this.count;
+		}
+
+		/**
+	     * Gets the value below which a given fraction of the values fall.
+	     *
+	     * @param fraction The fraction, between 0 and 1 (0.99 for the 99th percentile).
+	     * @return The lowest value of the bucket holding the percentile, or 0 if there is no value.
+	     */
+		public long getPercentile(double fraction) {
+			long rank = Math.max(1, (long) Math.ceil(fraction * this.count));
+			long seen = 0;
+			for (int i = 0; i < this.buckets.length; i++) {
+				seen += this.buckets[i];
+				if (seen >= rank) {
+					return Math.min(lowestValueOf(i), this.max);
+				}
+			}
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Metrics registry counts what happens in the network and times the operations on its hot paths.
+ * Counters are LongAdders and latencies go into striped {@link Histogram}s, so threads recording
+ * at the same time do not lock each other out and recording never allocates.
+ * The stations, the control center and the repair shop record into the shared registry;
+ * {@link #snapshot()} reads everything at once.
+ */
+public class Metrics {
+	private static final Metrics instance = new Metrics();
+
+	/**
+     * The events counted by the registry.
+     */
+	public enum Counter {
+		/** A vehicle has been rented. */
+		RENTS,
+		/** A vehicle has been deposited. */
+		DEPOSITS,
+		/** A rent was refused because the station had no available vehicle. */
+		REJECTED_RENTS,
+		/** A deposit was refused because the station was full. */
+		REJECTED_DEPOSITS,
+		/** A vehicle has been stolen. */
+		THEFTS,
+		/** A vehicle has been reported broken down. */
+		BREAKDOWNS,
+		/** A vehicle has been repaired. */
+		REPAIRS,
+		/** A redistribution has been run. */
+		REDISTRIBUTIONS,
+		/** A redistribution ended without bringing the station back to a usable state. */
+		FAILED_REDISTRIBUTIONS,
+		/** A redistribution a shard could not complete on its own has been retried with the stations of the other shards. */
+		CROSS_SHARD_REDISTRIBUTIONS,
+		/** A redistribution has been started because a station was predicted to become empty or full soon. */
+		PREDICTED_SHORTAGES
+	}
+
+	/**
+     * The operations timed by the registry.
+     */
+	public enum Timer {
+		/** {@code Station.rentVehicle}. */
+		RENT,
+		/** {@code Station.deposit}. */
+		DEPOSIT,
+		/** {@code RedistributionStrategy.redistributeWhenEmpty}. */
+		REDISTRIBUTE_WHEN_EMPTY,
+		/** {@code RedistributionStrategy.redistributeWhenFull}. */
+		REDISTRIBUTE_WHEN_FULL
+	}
+
+	private final LongAdder[] counters;
+	private final Histogram[] timers;
+
+	/**
+     * Constructs an empty registry.
+     */
+	public Metrics() {
+		this.counters = new LongAdder[Counter.values().length];
+		for (int i = 0; i < this.counters.length; i++) {
+			this.counters[i] = new LongAdder();
+		}
+		this.timers = new Histogram[Timer.values().length];
+		for (int i = 0; i < this.timers.length; i++) {
+			this.timers[i] = new Histogram();
+		}
+	}
+
+	/**
+     * Retrieves the registry shared by the whole network.
+     *
+     * @return The shared registry.
+     */
+	public static Metrics getInstance() {
+		return Metrics.instance;
+	}
+
+	/**
+     * Counts one occurrence of an event.
+     *
+     * @param counter The event.
+     */
+	public void increment(Counter counter) {
+		this.counters[counter.ordinal()].increment();
+	}
+
+	/**
+     * Records the duration of an operation.
+     *
+     * @param timer    The operation.
+     * @param duration The duration, in nanoseconds.
+     */
+	public void record(Timer timer, long duration) {
+		this.timers[timer.ordinal()].record(duration);
+	}
+
+	/**
+     * Gets the number of occurrences of an event.
+     *
+     * @param counter The event.
+     * @return The number of occurrences since the registry was created or reset.
+     */
+	public long getCount(Counter counter) {
+		return this.counters[counter.ordinal()].sum();
+	}
+
+	/**
+     * Gets the histogram of the durations of an operation.
+     *
+     * @param timer The operation.
+     * @return The histogram, in nanoseconds.
+     */
+	public Histogram getHistogram(Timer timer) {
+		return this.timers[timer.ordinal()];
+	}
+
+	/**
+     * Reads every counter and histogram.
+     *
+     * @return A snapshot of the registry.
+     */
+	public MetricsSnapshot snapshot() {
+		long[] counts = new long[this.counters.length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = this.counters[i].sum();
+		}
+		Histogram.Snapshot[] latencies = new Histogram.Snapshot[this.timers.length];
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = this.timers[i].snapshot();
+		}
+		return new MetricsSnapshot(counts, latencies);
+	}
+
+	/**
+     * Sets every counter and histogram back to zero.
+     */
+	public void reset() {
+		for (LongAdder counter : this.counters) {
+			counter.reset();
+		}
+		for (Histogram timer : this.timers) {
+			timer.reset();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package metrics;
+
+/**
+ * The values of every counter and latency histogram of a {@link Metrics} registry at one point in time.
+ */
+public class MetricsSnapshot {
+	private final long[] counts;
+	private final Histogram.Snapshot[] latencies;
+
+	/**
+     * Constructs a snapshot.
+     *
+     * @param counts    The value of each counter, indexed by the ordinal of {@link Metrics.Counter}.
+     * @param latencies The histogram of each operation, indexed by the ordinal of {@link Metrics.Timer}.
+     */
+	MetricsSnapshot(long[] counts, Histogram.Snapshot[] latencies) {
+		this.counts = counts;
+		this.latencies = latencies;
+	}
+
+	/**
+     * Gets the number of occurrences of an event.
+     *
+     * @param counter The event.
+     * @return The number of occurrences.
+     */
+	public long getCount(Metrics.Counter counter) {
+		return this.counts[counter.ordinal()];
+	}
+
+	/**
+     * Gets the durations of an operation.
+     *
+     * @param timer The operation.
+     * @return The histogram of the durations, in nanoseconds.
+     */
+	public Histogram.Snapshot getLatency(Metrics.Timer timer) {
+		return this.latencies[timer.ordinal()];
+	}
+
+	/**
+     * Formats the snapshot as a small report: one line per counter, then one line per operation
+     * with its count, mean, p50, p99 and maximum in microseconds.
+     *
+     * @return The report.
+     */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		for (Metrics.Counter counter : Metrics.Counter.values()) {
+			report.append(String.format("%-24s %12d%n", counter, this.getCount(counter)));
+		}
+		report.append(String.format("%-24s %12s %10s %10s %10s %10s%n", "operation (µs)", "count", "mean", "p50", "p99", "max"));
+		for (Metrics.Timer timer : Metrics.Timer.values()) {
+			Histogram.Snapshot latency = this.getLatency(timer);
+			report.append(String.format("%-24s %12d %10.1f %10.1f %10.1f %10.1f%n", timer, latency.getCount(), latency.getMean() / 1e3,
+					latency.getPercentile(0.5) / 1e3, latency.getPercentile(0.99) / 1e3, latency.getMax() / 1e3));
+		}
+		return report.toString();
+	}
+}
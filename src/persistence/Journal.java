@@ -0,0 +1,403 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import constants.Constants;
+import fleet.FleetStore;
+import schedulers.ScheduledTask;
+import schedulers.Scheduler;
+import stations.Station;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * The Journal appends a fixed-size binary record for each rent, deposit, theft, breakdown, repair and redistribution move
+ * to a memory-mapped file. Appending takes no lock: a record reserves its place with a single atomic addition,
+ * then is written into the page cache without any system call, so stations appending at the same time,
+ * each under its own lock, do not wait for one another.
+ * The file grows by regions of {@link Constants#JOURNAL_REGION_SIZE} bytes, mapped one after the other;
+ * mapping a new region is the only step of an append taken under a lock.
+ * Records are in the order their places were reserved, so the records of one station, or of one vehicle,
+ * are in the order of the events.
+ * Records reach the disk in groups: {@link #sync()} forces every record appended so far, and a journal given a scheduler
+ * calls it every {@link Constants#JOURNAL_SYNC_INTERVAL} milliseconds, so a crash loses at most the records of the last interval.
+ * The scheduler only times the periodic syncs: the records are forced on a thread of the journal's own,
+ * so a slow disk never holds up the stations and repairs sharing the scheduler.
+ * Records are stamped with the scheduler's clock, the virtual one under a simulation, or the system clock without a scheduler.
+ *
+ * The file starts with a header of {@link JournalRecord#SIZE} bytes, followed by the records. The end of the journal is
+ * the first record whose type is 0, which is what the unwritten part of a region holds, so an existing journal is
+ * reopened where it ended and a record cut short by a crash is ignored, along with the records
+ * appended at the same time after it. {@link JournalReplayer} rebuilds a network from a journal.
+ */
+public class Journal implements Closeable {
+	private static final int MAGIC = 0x564A4E4C;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = JournalRecord.SIZE;
+
+	private final FileChannel channel;
+	private final long regionSize;
+	private final HashMap<Long, Region> unsynced;
+	private final Object syncLock;
+	private volatile Region region;
+	private final AtomicLong end;
+	private final LongAdder nbAppended;
+	private volatile boolean closed;
+	private final Scheduler scheduler;
+	private ScheduledTask syncTask;
+	private final ExecutorService syncExecutor;
+	private final AtomicBoolean syncPending;
+
+	/**
+     * Opens a journal without periodic syncs: records reach the disk when {@link #sync()} or {@link #close()} is called.
+     *
+     * @param file The file of the journal, created if it does not exist.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+	public Journal(Path file) throws IOException {
+		this(file, Constants.JOURNAL_REGION_SIZE, null);
+	}
+
+	/**
+     * Opens a journal synced every {@link Constants#JOURNAL_SYNC_INTERVAL} milliseconds by a scheduler.
+     *
+     * @param file      The file of the journal, created if it does not exist.
+     * @param scheduler The scheduler running the periodic syncs.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+	public Journal(Path file, Scheduler scheduler) throws IOException {
+		this(file, Constants.JOURNAL_REGION_SIZE, scheduler);
+	}
+
+	/**
+     * Opens a journal.
+     *
+     * @param file       The file of the journal, created if it does not exist.
+     * @param regionSize The number of bytes mapped at once, a multiple of {@link JournalRecord#SIZE}.
+     * @param scheduler  The scheduler running the periodic syncs, or null to sync only on demand.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+	public Journal(Path file, int regionSize, Scheduler scheduler) throws IOException {
+		if (regionSize < JournalRecord.SIZE || regionSize % JournalRecord.SIZE != 0) {
+			throw new IllegalArgumentException("The region size must be a multiple of " + JournalRecord.SIZE);
+		}
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.regionSize = regionSize;
+		this.unsynced = new HashMap<>();
+		this.syncLock = new Object();
+		this.end = new AtomicLong();
+		this.nbAppended = new LongAdder();
+		try {
+			this.openAtEnd();
+		} catch (IOException | RuntimeException e) {
+			this.channel.close();
+			throw e;
+		}
+		this.scheduler = scheduler;
+		this.syncPending = new AtomicBoolean();
+		if (scheduler != null) {
+			this.syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "journal-sync");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.syncTask = scheduler.schedule(this::periodicSync, Constants.JOURNAL_SYNC_INTERVAL);
+		} else {
+			this.syncExecutor = null;
+		}
+	}
+
+	/**
+     * Writes the header of a new journal or checks the header of an existing one,
+     * then maps the region holding the end of the journal.
+     */
+	private void openAtEnd() throws IOException {
+		if (this.channel.size() == 0) {
+			MappedByteBuffer header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.regionSize);
+			header.putInt(0, MAGIC);
+			header.putInt(4, VERSION);
+			this.open(new Region(0, header, HEADER_SIZE));
+			return;
+		}
+		long start = 0;
+		MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.regionSize);
+		checkHeader(buffer);
+		int offset = HEADER_SIZE;
+		while (true) {
+			if (offset == this.regionSize) {
+				start += this.regionSize;
+				offset = 0;
+				boolean pastTheEnd = start >= this.channel.size();
+				buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, start, this.regionSize);
+				if (pastTheEnd) {
+					break;
+				}
+			}
+			if (JournalRecord.Type.of(buffer.get(offset)) == null) {
+				break;
+			}
+			offset += JournalRecord.SIZE;
+		}
+		this.open(new Region(start / this.regionSize, buffer, offset));
+	}
+
+	private void open(Region region) {
+		this.region = region;
+		this.unsynced.put(region.index, region);
+		this.end.set(region.index * this.regionSize + region.written.get());
+	}
+
+	private static void checkHeader(MappedByteBuffer header) throws IOException {
+		if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+			throw new IOException("Not a journal, or a journal of another version");
+		}
+	}
+
+	/**
+     * Gets the region holding a position of the file, mapping it if no append has reached it yet.
+     *
+     * @param index The index of the region, its position in the file divided by the region size.
+     * @return The region.
+     * @throws IllegalStateException If the journal has been closed meanwhile.
+     * @throws UncheckedIOException  If the file cannot grow.
+     */
+	private Region regionAt(long index) {
+		Region current = this.region;
+		if (current.index == index) {
+			return current;
+		}
+		synchronized (this.unsynced) {
+			Region region = this.unsynced.get(index);
+			if (region == null) {
+				try {
+					region = new Region(index, this.channel.map(FileChannel.MapMode.READ_WRITE, index * this.regionSize, this.regionSize), 0);
+				} catch (ClosedChannelException e) {
+					throw new IllegalStateException("The journal is closed");
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				this.unsynced.put(index, region);
+			}
+			if (index > this.region.index) {
+				this.region = region;
+			}
+			return region;
+		}
+	}
+
+	/**
+     * Appends a record about a vehicle, described as it is right now.
+     *
+     * @param type    The type of the record.
+     * @param vehicle The vehicle.
+     * @param origin  The station the vehicle left, for a rent, a theft or a move, otherwise null.
+     * @throws IllegalStateException If the journal is closed.
+     * @throws UncheckedIOException  If the file cannot grow.
+     */
+	public void append(JournalRecord.Type type, Vehicle vehicle, Station origin) {
+		Station station = vehicle.getStation();
+		this.append(type, vehicle.getStateCode(), FleetStore.accessoriesOf(vehicle),
+				FleetStore.batteryOf(vehicle), vehicle.getId(), station == null ? JournalRecord.NO_STATION : station.getStationID(),
+				origin == null ? JournalRecord.NO_STATION : origin.getStationID(), vehicle.getNumberOfRentals());
+	}
+
+	/**
+     * Appends a record describing a station.
+     *
+     * @param station The station.
+     * @throws IllegalStateException If the journal is closed.
+     * @throws UncheckedIOException  If the file cannot grow.
+     */
+	public void append(Station station) {
+		this.append(JournalRecord.Type.STATION, null, 0, 0, 0, station.getStationID(), station.getMaxCapacite(), 0);
+	}
+
+	private void append(JournalRecord.Type type, StateCode state, int flags, int batteryLevel, int vehicleId,
+			int stationId, int otherId, int nbOfRentals) {
+		if (this.closed) {
+			throw new IllegalStateException("The journal is closed");
+		}
+		long position = this.end.getAndAdd(JournalRecord.SIZE);
+		Region region = this.regionAt(position / this.regionSize);
+		JournalRecord.write(region.buffer, (int) (position % this.regionSize), type, state, flags, batteryLevel, vehicleId,
+				stationId, otherId, nbOfRentals, this.scheduler != null ? this.scheduler.currentTimeMillis() : System.currentTimeMillis());
+		region.written.addAndGet(JournalRecord.SIZE);
+		this.nbAppended.increment();
+	}
+
+	/**
+     * Writes a checkpoint of a network: a record for each station, then a record for each vehicle docked at it.
+     * Written when a journal is attached to a network, it makes the journal enough to rebuild the network on its own.
+     *
+     * @param stations The stations of the network.
+     */
+	public void checkpoint(Collection<Station> stations) {
+		for (Station station : stations) {
+			this.append(station);
+		}
+		for (Station station : stations) {
+			for (Vehicle vehicle : station.getVehicles()) {
+				this.append(JournalRecord.Type.PLACE, vehicle, null);
+			}
+		}
+	}
+
+	/**
+     * Forces every record appended so far to the disk.
+     * Appends are not held up while the records are written; the records appended meanwhile are forced by the next sync.
+     *
+     * @throws UncheckedIOException If the records cannot be written.
+     */
+	public void sync() {
+		synchronized (this.syncLock) {
+			ArrayList<Region> regions;
+			synchronized (this.unsynced) {
+				regions = new ArrayList<>(this.unsynced.values());
+			}
+			for (Region region : regions) {
+				// a full region receives no more records once forced, a region still filling up is forced again next time
+				boolean full = region.written.get() == this.regionSize;
+				region.buffer.force();
+				if (full) {
+					synchronized (this.unsynced) {
+						this.unsynced.remove(region.index);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+     * Hands a sync over to the journal's sync thread, unless the previous one is still running, and schedules the next one.
+     */
+	private synchronized void periodicSync() {
+		if (this.closed) {
+			return;
+		}
+		if (this.syncPending.compareAndSet(false, true)) {
+			this.syncExecutor.execute(() -> {
+				try {
+					this.sync();
+				} catch (UncheckedIOException e) {
+					e.printStackTrace();
+				} finally {
+					this.syncPending.set(false);
+				}
+			});
+		}
+		this.syncTask = this.scheduler.schedule(this::periodicSync, Constants.JOURNAL_SYNC_INTERVAL);
+	}
+
+	/**
+     * Gets the number of records appended since the journal was opened.
+     *
+     * @return The number of records.
+     */
+	public long getNbAppended() {
+		return this.nbAppended.sum();
+	}
+
+	/**
+     * Gets the number of bytes of the file holding the header and the records, including the records being appended.
+     *
+     * @return The size of the journal, in bytes.
+     */
+	public long getSize() {
+		return this.end.get();
+	}
+
+	/**
+     * Stops the periodic syncs, forces the records to the disk and closes the file.
+     * A sync already running on the journal's sync thread is waited for.
+     * A record appended by another thread while the journal is closed may be left out.
+     * Appending to a closed journal throws an IllegalStateException.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			if (this.syncTask != null) {
+				this.syncTask.cancel();
+			}
+			if (this.syncExecutor != null) {
+				this.syncExecutor.shutdown();
+			}
+		}
+		this.sync();
+		this.channel.close();
+	}
+
+	/**
+     * A mapped region of the file, with the number of its bytes written so far, header included.
+     * The region is full once every record reserved in it has been written.
+     */
+	private static class Region {
+		private final long index;
+		private final MappedByteBuffer buffer;
+		private final AtomicInteger written;
+
+		private Region(long index, MappedByteBuffer buffer, int written) {
+			this.index = index;
+			this.buffer = buffer;
+			this.written = new AtomicInteger(written);
+		}
+	}
+
+	/**
+     * Reads the records of a journal, oldest first.
+     *
+     * @param file     The file of the journal.
+     * @param consumer The action run on each record.
+     * @return The number of records read.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+	public static long read(Path file, Consumer<JournalRecord> consumer) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long nbRecords = 0;
+			long start = 0;
+			int offset = HEADER_SIZE;
+			long chunkSize = Math.min(size, (Integer.MAX_VALUE / JournalRecord.SIZE) * (long) JournalRecord.SIZE);
+			MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, 0, chunkSize);
+			checkHeader(chunk);
+			while (start + offset + JournalRecord.SIZE <= size) {
+				if (offset == chunkSize) {
+					start += chunkSize;
+					offset = 0;
+					chunkSize = Math.min(size - start, chunkSize);
+					chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, chunkSize);
+				}
+				JournalRecord record = JournalRecord.read(chunk, offset);
+				if (record == null) {
+					break;
+				}
+				consumer.accept(record);
+				nbRecords++;
+				offset += JournalRecord.SIZE;
+			}
+			return nbRecords;
+		}
+	}
+}
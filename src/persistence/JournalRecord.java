@@ -0,0 +1,235 @@
+package persistence;
+
+import java.nio.ByteBuffer;
+
+import fleet.FleetStore;
+import vehiclesState.StateCode;
+
+/**
+ * A record read back from a {@link Journal}.
+ * Every record describes a vehicle as it is right after the event: the station it is docked at,
+ * its state, its rental count and its battery level, so applying the records in order is enough to rebuild the network,
+ * whatever state the network was in before.
+ *
+ * On disk a record takes {@link #SIZE} bytes:
+ * type (1), state (1), vehicle make-up (1), battery level (1), vehicle ID (4), station ID (4),
+ * origin station ID or station capacity (4), rental count (4), unused (4), time in milliseconds (8).
+ */
+public class JournalRecord {
+	/**
+     * The number of bytes taken by a record.
+     */
+	public static final int SIZE = 32;
+
+	/**
+     * The ID written for a vehicle that is not docked at any station.
+     */
+	public static final int NO_STATION = -1;
+
+	/**
+     * What a record is about.
+     */
+	public enum Type {
+		/** A station of the network, with its capacity. */
+		STATION,
+		/** A vehicle docked at a station when the journal was attached to the network. */
+		PLACE,
+		/** A vehicle rented from its origin station. */
+		RENT,
+		/** A vehicle deposited at a station. */
+		DEPOSIT,
+		/** A vehicle stolen from its origin station. */
+		STEAL,
+		/** A vehicle reported broken down to the control center. */
+		BREAKDOWN,
+		/** A vehicle back from the repair shop. */
+		REPAIR,
+		/** A vehicle moved from its origin station to another station by a redistribution. */
+		MOVE;
+
+		private static final Type[] VALUES = values();
+
+		/**
+	     * Gets the code written on disk for the type. 0 marks the end of the journal.
+	     *
+	     * @return The code.
+	     */
+		byte code() {
+			return (byte) (this.ordinal() + 1);
+		}
+
+		/**
+	     * Gets the type written with a given code.
+	     *
+	     * @param code The code.
+	     * @return The type, or null if the code is 0 or unknown.
+	     */
+		static Type of(byte code) {
+			return code > 0 && code <= VALUES.length ? VALUES[code - 1] : null;
+		}
+	}
+
+	private static final StateCode[] STATES = StateCode.values();
+
+	private final Type type;
+	private final StateCode state;
+	private final int flags;
+	private final int batteryLevel;
+	private final int vehicleId;
+	private final int stationId;
+	private final int otherId;
+	private final int nbOfRentals;
+	private final long time;
+
+	private JournalRecord(Type type, StateCode state, int flags, int batteryLevel, int vehicleId, int stationId, int otherId,
+			int nbOfRentals, long time) {
+		this.type = type;
+		this.state = state;
+		this.flags = flags;
+		this.batteryLevel = batteryLevel;
+		this.vehicleId = vehicleId;
+		this.stationId = stationId;
+		this.otherId = otherId;
+		this.nbOfRentals = nbOfRentals;
+		this.time = time;
+	}
+
+	/**
+     * Writes a record at a given position of a buffer. The type is written last,
+     * so a record cut short by a crash reads as the end of the journal.
+     */
+	static void write(ByteBuffer buffer, int position, Type type, StateCode state, int flags, int batteryLevel, int vehicleId,
+			int stationId, int otherId, int nbOfRentals, long time) {
+		buffer.put(position + 1, state == null ? -1 : (byte) state.ordinal());
+		buffer.put(position + 2, (byte) flags);
+		buffer.put(position + 3, (byte) batteryLevel);
+		buffer.putInt(position + 4, vehicleId);
+		buffer.putInt(position + 8, stationId);
+		buffer.putInt(position + 12, otherId);
+		buffer.putInt(position + 16, nbOfRentals);
+		buffer.putLong(position + 24, time);
+		buffer.put(position, type.code());
+	}
+
+	/**
+     * Reads the record at a given position of a buffer.
+     *
+     * @return The record, or null if there is no record there.
+     */
+	static JournalRecord read(ByteBuffer buffer, int position) {
+		Type type = Type.of(buffer.get(position));
+		if (type == null) {
+			return null;
+		}
+		byte state = buffer.get(position + 1);
+		return new JournalRecord(type, state >= 0 && state < STATES.length ? STATES[state] : null, buffer.get(position + 2),
+				buffer.get(position + 3), buffer.getInt(position + 4), buffer.getInt(position + 8), buffer.getInt(position + 12),
+				buffer.getInt(position + 16), buffer.getLong(position + 24));
+	}
+
+	/**
+     * Gets the type of the record.
+     *
+     * @return The type.
+     */
+	public Type getType() {
+		return this.type;
+	}
+
+	/**
+     * Gets the state of the vehicle after the event.
+     *
+     * @return The state, or null for a station record.
+     */
+	public StateCode getState() {
+		return this.state;
+	}
+
+	/**
+     * Gets the bits describing the make-up of the vehicle.
+     *
+     * @return The bits.
+     */
+	int getFlags() {
+		return this.flags;
+	}
+
+	/**
+     * Tells whether the vehicle is electric.
+     *
+     * @return true if the vehicle under the decorators is an electric bike, otherwise false.
+     */
+	public boolean isElectric() {
+		return (this.flags & FleetStore.ELECTRIC) != 0;
+	}
+
+	/**
+     * Gets the battery level of the vehicle after the event.
+     *
+     * @return The battery level, or 0 if the vehicle is not electric.
+     */
+	public int getBatteryLevel() {
+		return this.batteryLevel;
+	}
+
+	/**
+     * Gets the ID of the vehicle.
+     *
+     * @return The ID, or 0 for a station record.
+     */
+	public int getVehicleId() {
+		return this.vehicleId;
+	}
+
+	/**
+     * Gets the ID of the station the vehicle is docked at after the event, or of the station described by a station record.
+     *
+     * @return The ID, or {@link #NO_STATION}.
+     */
+	public int getStationId() {
+		return this.stationId;
+	}
+
+	/**
+     * Gets the ID of the station the vehicle left, for a rent, a theft or a move.
+     *
+     * @return The ID, or {@link #NO_STATION}.
+     */
+	public int getOriginStationId() {
+		return this.type == Type.STATION ? NO_STATION : this.otherId;
+	}
+
+	/**
+     * Gets the capacity of the station described by a station record.
+     *
+     * @return The capacity, or 0 for any other record.
+     */
+	public int getCapacity() {
+		return this.type == Type.STATION ? this.otherId : 0;
+	}
+
+	/**
+     * Gets the rental count of the vehicle after the event.
+     *
+     * @return The rental count.
+     */
+	public int getNbOfRentals() {
+		return this.nbOfRentals;
+	}
+
+	/**
+     * Gets the time the record was written at, on the clock of the journal's scheduler.
+     * Under a {@link schedulers.SimulationScheduler} this is the simulated time; a journal without a scheduler
+     * uses the system clock.
+     *
+     * @return The time, in milliseconds.
+     */
+	public long getTime() {
+		return this.time;
+	}
+
+	@Override
+	public String toString() {
+		return this.type + " vehicle " + this.vehicleId + " station " + this.stationId + " from " + this.otherId;
+	}
+}
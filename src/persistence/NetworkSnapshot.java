@@ -0,0 +1,203 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import controlCenters.ControlCenter;
+import fleet.FleetStore;
+import stations.ConcurrentVeloStation;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * The NetworkSnapshot writes the stations of a network and the vehicles docked at them to a compact binary file,
+ * and restores them. Both directions go through a single buffer of {@link #BUFFER_SIZE} bytes in one sequential pass over the file,
+ * and a restored station receives all its vehicles at once, so restoring takes time linear in the size of the fleet.
+ *
+ * The file holds a header (magic number, version, number of stations), then for each station its ID, capacity, kind,
+ * location, name and number of vehicles, followed by {@link #VEHICLE_SIZE} bytes for each vehicle:
+ * ID, rental count, make-up (electric or not, decorators), state and battery level.
+ * Vehicles that are not docked are not part of a snapshot; a {@link Journal} started with the snapshot keeps track of them.
+ * A ConcurrentVeloStation is read under its lock; other stations should not change while a snapshot is written.
+ */
+public final class NetworkSnapshot {
+	/**
+     * The number of bytes of the buffer used to write and read a snapshot.
+     */
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	/**
+     * The number of bytes taken by a vehicle.
+     */
+	public static final int VEHICLE_SIZE = 12;
+
+	private static final int MAGIC = 0x56534E50;
+	private static final int VERSION = 1;
+	private static final byte VELO_STATION = 0;
+	private static final byte CONCURRENT_VELO_STATION = 1;
+	private static final StateCode[] STATES = StateCode.values();
+
+	private NetworkSnapshot() {
+	}
+
+	/**
+     * Writes a snapshot of the network of a control center.
+     *
+     * @param file   The file to write, replaced if it exists.
+     * @param center The control center.
+     * @return The number of bytes written.
+     * @throws IOException If the file cannot be written.
+     */
+	public static long write(Path file, ControlCenter center) throws IOException {
+		return write(file, center.getStations());
+	}
+
+	/**
+     * Writes a snapshot of stations and of the vehicles docked at them.
+     *
+     * @param file     The file to write, replaced if it exists.
+     * @param stations The stations.
+     * @return The number of bytes written.
+     * @throws IOException If the file cannot be written.
+     */
+	public static long write(Path file, Collection<Station> stations) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(stations.size());
+			for (Station station : stations) {
+				byte[] name = station.getName().getBytes(StandardCharsets.UTF_8);
+				List<Vehicle> vehicles = station.getVehicles();
+				ensureRoom(channel, buffer, 33 + name.length);
+				buffer.putInt(station.getStationID()).putInt(station.getMaxCapacite())
+						.put(station instanceof ConcurrentVeloStation ? CONCURRENT_VELO_STATION : VELO_STATION)
+						.putDouble(station.getX()).putDouble(station.getY()).putInt(name.length).put(name).putInt(vehicles.size());
+				for (Vehicle vehicle : vehicles) {
+					ensureRoom(channel, buffer, VEHICLE_SIZE);
+					buffer.putInt(vehicle.getId()).putInt(vehicle.getNumberOfRentals()).put((byte) FleetStore.accessoriesOf(vehicle))
+							.put((byte) vehicle.getStateCode().ordinal()).put((byte) FleetStore.batteryOf(vehicle)).put((byte) 0);
+				}
+			}
+			drain(channel, buffer);
+			return channel.size();
+		}
+	}
+
+	private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+		if (buffer.remaining() < size) {
+			drain(channel, buffer);
+		}
+		if (buffer.remaining() < size) {
+			throw new IOException("A station name is too long for a snapshot");
+		}
+	}
+
+	private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+     * Reads the stations of a snapshot, with their vehicles docked.
+     * The stations are not given to any control center and use the shared scheduler.
+     *
+     * @param file The file of the snapshot.
+     * @return The stations, in the order they were written.
+     * @throws IOException If the file cannot be read or is not a snapshot.
+     */
+	public static ArrayList<Station> read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			buffer.flip();
+			fill(channel, buffer, 12);
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Not a snapshot, or a snapshot of another version");
+			}
+			int nbStations = buffer.getInt();
+			ArrayList<Station> stations = new ArrayList<>(nbStations);
+			for (int i = 0; i < nbStations; i++) {
+				fill(channel, buffer, 29);
+				int id = buffer.getInt();
+				int capacity = buffer.getInt();
+				byte kind = buffer.get();
+				double x = buffer.getDouble();
+				double y = buffer.getDouble();
+				int nameLength = buffer.getInt();
+				fill(channel, buffer, nameLength + 4);
+				byte[] name = new byte[nameLength];
+				buffer.get(name);
+				int nbVehicles = buffer.getInt();
+				Station station = kind == CONCURRENT_VELO_STATION ? new ConcurrentVeloStation(id, new String(name, StandardCharsets.UTF_8), capacity)
+						: new VeloStation(id, new String(name, StandardCharsets.UTF_8), capacity);
+				station.setLocation(x, y);
+				ArrayList<Vehicle> vehicles = new ArrayList<>(nbVehicles);
+				for (int j = 0; j < nbVehicles; j++) {
+					fill(channel, buffer, VEHICLE_SIZE);
+					int vehicleId = buffer.getInt();
+					int nbOfRentals = buffer.getInt();
+					Vehicle vehicle = FleetStore.create(vehicleId, buffer.get(), station);
+					vehicle.setNumberOfRentals(nbOfRentals);
+					vehicle.setStateCode(STATES[buffer.get()]);
+					FleetStore.setBattery(vehicle, buffer.get());
+					buffer.get();
+					vehicles.add(vehicle);
+				}
+				station.addVehicles(vehicles);
+				stations.add(station);
+			}
+			return stations;
+		}
+	}
+
+	private static void fill(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+		if (buffer.remaining() >= size) {
+			return;
+		}
+		if (size > buffer.capacity()) {
+			throw new IOException("A station name is too long for a snapshot");
+		}
+		buffer.compact();
+		while (buffer.position() < size) {
+			if (channel.read(buffer) < 0) {
+				throw new IOException("The snapshot is truncated");
+			}
+		}
+		buffer.flip();
+	}
+
+	/**
+     * Replaces the network of a control center with the stations of a snapshot.
+     * The previous stations are removed from the control center, so they no longer publish to it or append to its journal.
+     * The stations get the control center's scheduler and journal, if it has any.
+     *
+     * @param file   The file of the snapshot.
+     * @param center The control center.
+     * @return The number of vehicles restored.
+     * @throws IOException If the file cannot be read or is not a snapshot.
+     */
+	public static long restore(Path file, ControlCenter center) throws IOException {
+		ArrayList<Station> stations = read(file);
+		for (Station previous : new ArrayList<>(center.getStations())) {
+			center.removeStation(previous);
+		}
+		center.getRegistry().clear();
+		long nbVehicles = 0;
+		for (Station station : stations) {
+			center.addStation(station);
+			nbVehicles += station.getNbVehicles();
+		}
+		return nbVehicles;
+	}
+}
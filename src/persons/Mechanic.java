@@ -1,7 +1,6 @@
 package persons;
 
 import constants.Constants;
-import vehicleDecorators.Decorator;
 import vehicles.ElectricVelo;
 import vehicles.Vehicle;
 
@@ -19,41 +18,44 @@ public class Mechanic extends AbstractPerson {
 	
 	/**
      * Performs maintenance on a vehicle, which may include recharging an electric vehicle's battery
-     * and resetting the number of rentals.
+     * and resetting the number of rentals. The calling thread is blocked for the duration of the repair.
      *
      * @param v The vehicle to be maintained.
      */
 	public void visit(Vehicle v) {
-		Vehicle actualVehicle = getElectricVeloIfDecorated(v);
-		v.getState().action(false);
+		this.startRepair(v);
 	    try {
 			Thread.sleep(Constants.INTERVAL);
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
-	    if (actualVehicle instanceof ElectricVelo) {
-	    	((ElectricVelo) actualVehicle).rechargeBatteryLevel();
-	    	v.resetNumberOfRentals();
-		}
-	    else {
-	    	v.resetNumberOfRentals();
-	    }
-		v.getState().action(false);
+	    this.finishRepair(v);
 	}
-	
+
 	/**
-     * Recursively gets the underlying non-decorated vehicle if the provided vehicle is decorated.
+     * Starts the maintenance of a vehicle, moving it to its next state.
      *
-     * @param vehicle The decorated or non-decorated vehicle.
-     * @return The underlying non-decorated vehicle.
+     * @param v The vehicle to be maintained.
      */
-    private Vehicle getElectricVeloIfDecorated(Vehicle vehicle) {
-        while (vehicle instanceof Decorator) {
-            vehicle = ((Decorator) vehicle).getDecoratedVehicle();
-        }
-        return vehicle;
-    }
+	public void startRepair(Vehicle v) {
+		v.changeState(false);
+	}
 
+	/**
+     * Finishes the maintenance of a vehicle: recharges an electric vehicle's battery,
+     * resets the number of rentals and moves the vehicle to its next state.
+     *
+     * @param v The vehicle being maintained.
+     */
+	public void finishRepair(Vehicle v) {
+		ElectricVelo electricVelo = v.getElectricVelo();
+	    if (electricVelo != null) {
+	    	electricVelo.rechargeBatteryLevel();
+		}
+	    v.resetNumberOfRentals();
+		v.changeState(false);
+	}
+	
     /**
      * Checks if an object is equal to this instance of `Mechanic`.
      *
@@ -2,13 +2,15 @@ package redistibuationStrategy;
 
 import java.util.ArrayList;
 import exceptions.RedistribuationNotCompletedException;
+import stations.NetworkOccupancy;
 import stations.Station;
-import vehicles.Vehicle;
 
 /**
  * A classic redistribution strategy that moves vehicles between stations in a systematic way.
  * This strategy redistributes vehicles from stations with surplus vehicles to those with insufficient vehicles,
  * aiming to balance the vehicle distribution across all stations.
+ * The stations take turns in list order, one vehicle each per turn; the share of each station is worked out first
+ * and then moved in a single transfer per station.
  */
 public class ClassicStrategy implements RedistributionStrategy {
 	
@@ -22,21 +24,35 @@ public class ClassicStrategy implements RedistributionStrategy {
      */
 	@Override
     public void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
-		int cpt = 0;
-		while (emptyStation.hasInsufficiencyVehicles() && cpt<stations.size()) {
-			cpt = 0;
+		this.redistributeWhenEmpty(emptyStation, stations, null);
+	}
+
+	/**
+     * Redistributes vehicles to an empty station, stopping as soon as the occupancy totals tell
+     * that no station has surplus vehicles left, without looking at the stations again.
+     *
+     * @param emptyStation The station that is currently empty and needs vehicles.
+     * @param stations     A list of all stations, used for determining where to source vehicles from.
+     * @param occupancy    The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+	@Override
+    public void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
+		int nbMoved = 1;
+		while (emptyStation.hasInsufficiencyVehicles() && nbMoved > 0 && (occupancy == null || occupancy.getNbSurplusStations() > 0)) {
+			ArrayList<Station> donors = new ArrayList<>();
+			ArrayList<Integer> surpluses = new ArrayList<>();
 	        for (Station station : stations) {
 	        	if (!station.equals(emptyStation) && station.hasSurplusVehicles()) {
-	        		Vehicle vehicle = station.getVehicles().get(0);
-		            station.removeVehicle(vehicle);
-		            emptyStation.addVehicle(vehicle);
-		            if (emptyStation.isSufficientlyFilled()) {
-		            	break;
-		            }
-	        	} else {
-	        		cpt++;
+	        		donors.add(station);
+	        		surpluses.add(station.getNbVehicles() - station.getMaxCapacite() / 2);
 	        	}
 	        }
+	        int[] shares = shareInTurns(surpluses, emptyStation.getMaxCapacite() / 2 - emptyStation.getNbVehicles());
+	        nbMoved = 0;
+	        for (int i = 0; i < shares.length; i++) {
+	        	nbMoved += donors.get(i).transferVehiclesTo(emptyStation, shares[i]);
+	        }
 		}
 		if (emptyStation.isEmpty()) {
 			throw (new RedistribuationNotCompletedException("Station has not been completed enough!"));
@@ -53,20 +69,34 @@ public class ClassicStrategy implements RedistributionStrategy {
      */
     @Override
 	public void redistributeWhenFull(Station fullStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
-		int cpt = 0;
-	    while (fullStation.hasSurplusVehicles() && cpt<stations.size()) {
-	    	cpt = 0;
+		this.redistributeWhenFull(fullStation, stations, null);
+	}
+
+	/**
+     * Redistributes vehicles from a full station, stopping as soon as the occupancy totals tell
+     * that no station has insufficient vehicles left, without looking at the stations again.
+     *
+     * @param fullStation The station that is currently full and needs to offload vehicles.
+     * @param stations    A list of all stations, used for determining where to move the excess vehicles to.
+     * @param occupancy   The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+    @Override
+	public void redistributeWhenFull(Station fullStation, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
+		int nbMoved = 1;
+	    while (fullStation.hasSurplusVehicles() && nbMoved > 0 && (occupancy == null || occupancy.getNbDeficitStations() > 0)) {
+	    	ArrayList<Station> receivers = new ArrayList<>();
+	    	ArrayList<Integer> deficits = new ArrayList<>();
 	        for (Station station : stations) {
 	            if (!station.equals(fullStation) && station.hasInsufficiencyVehicles()) {
-	                Vehicle vehicle = fullStation.getVehicles().get(0);
-	                fullStation.removeVehicle(vehicle);
-	                station.addVehicle(vehicle);
-	                if (!fullStation.hasSurplusVehicles()) {
-	                    break;
-	                }
-	            } else {
-	        		cpt++;
-	        	}
+	            	receivers.add(station);
+	            	deficits.add(station.getMaxCapacite() / 2 - station.getNbVehicles());
+	            }
+	        }
+	        int[] shares = shareInTurns(deficits, fullStation.getNbVehicles() - fullStation.getMaxCapacite() / 2);
+	        nbMoved = 0;
+	        for (int i = 0; i < shares.length; i++) {
+	        	nbMoved += fullStation.transferVehiclesTo(receivers.get(i), shares[i]);
 	        }
 	    }
 	    if (fullStation.isFull()) {
@@ -74,6 +104,30 @@ public class ClassicStrategy implements RedistributionStrategy {
 		}	
 	}
 
+    /**
+     * Shares a number of vehicles between stations taking turns in order, one vehicle each per turn,
+     * each station taking no more than its limit.
+     *
+     * @param limits      The most vehicles each station can take or give.
+     * @param nbVehicles  The number of vehicles to share.
+     * @return The number of vehicles of each station.
+     */
+    private static int[] shareInTurns(ArrayList<Integer> limits, int nbVehicles) {
+    	int[] shares = new int[limits.size()];
+    	boolean shared = true;
+    	while (nbVehicles > 0 && shared) {
+    		shared = false;
+    		for (int i = 0; i < shares.length && nbVehicles > 0; i++) {
+    			if (shares[i] < limits.get(i)) {
+    				shares[i]++;
+    				nbVehicles--;
+    				shared = true;
+    			}
+    		}
+    	}
+    	return shares;
+    }
+
     /**
      * Compares this ClassicStrategy with another object for equality.
      *
@@ -0,0 +1,482 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import exceptions.RedistribuationNotCompletedException;
+import stations.Station;
+
+/**
+ * A redistribution strategy that rebalances the whole network at once instead of only the station that triggered it.
+ * Stations that are more than a tolerance away from half their capacity take part: those above supply their surplus
+ * and those below demand their deficit, so small day-to-day imbalances do not cause moves. The plan is a min-cost flow from the former to the latter where moving a vehicle costs the distance it travels.
+ * To keep planning fast on thousands of stations, each station is only connected to its nearest counterparts.
+ * The station that triggered the redistribution is connected to every counterpart and served first,
+ * and the plan is then executed as a batch of transfers. If the tolerance left the station without enough counterparts,
+ * it is completed from the nearest stations on the other side of half full, which is optimal for a single station.
+ * The same rebalancing can also be run on its own, periodically, with {@link #rebalance(ArrayList)}.
+ *
+ * Planning takes time, so the network is not planned again on every trigger: as long as the number of vehicles
+ * that arrived at or left the stations since the last plan stays below a fraction of the network's docks,
+ * that plan's rebalancing stands and the triggering station is only served from its nearest stations.
+ * The nearest stations of each triggering station are kept until a station is added, removed or moved.
+ */
+public class FlowStrategy implements RedistributionStrategy {
+	private static final int DEFAULT_NB_NEIGHBOURS = 8;
+	private static final double DEFAULT_TOLERANCE = 0.25;
+	private static final double DEFAULT_REPLAN_THRESHOLD = 0.01;
+	private static final int NB_NEAREST_KEPT = 64;
+	private static final int COST_RESOLUTION = 1000;
+
+	private final int nbNeighbours;
+	private final double tolerance;
+	private final double replanThreshold;
+
+	private Station[] indexed = new Station[0];
+	private double[] xs = new double[0];
+	private double[] ys = new double[0];
+	private long nbDocks;
+	private int[] occupancyAtPlan;
+	private final IdentityHashMap<Station, Station[]> nearestStations = new IdentityHashMap<>();
+
+	/**
+     * Constructs a FlowStrategy connecting each station to its 8 nearest counterparts,
+     * leaving alone the stations within a quarter of their capacity from half full
+     * and planning again once vehicles have arrived or left on 1% of the network's docks.
+     */
+	public FlowStrategy() {
+		this(DEFAULT_NB_NEIGHBOURS, DEFAULT_TOLERANCE);
+	}
+
+	/**
+     * Constructs a FlowStrategy with a given number of neighbours and tolerance.
+     * More neighbours give plans closer to the optimum, at the cost of a longer planning.
+     *
+     * @param nbNeighbours The number of nearest stations with the opposite need each station is connected to.
+     * @param tolerance    The fraction of its capacity a station may be away from half full without being rebalanced.
+     */
+	public FlowStrategy(int nbNeighbours, double tolerance) {
+		this(nbNeighbours, tolerance, DEFAULT_REPLAN_THRESHOLD);
+	}
+
+	/**
+     * Constructs a FlowStrategy with a given number of neighbours, tolerance and replanning threshold.
+     *
+     * @param nbNeighbours    The number of nearest stations with the opposite need each station is connected to.
+     * @param tolerance       The fraction of its capacity a station may be away from half full without being rebalanced.
+     * @param replanThreshold The fraction of the network's docks on which vehicles must have arrived or left
+     *                        since the last plan before a trigger plans the network again; 0 plans on every trigger.
+     */
+	public FlowStrategy(int nbNeighbours, double tolerance, double replanThreshold) {
+		this.nbNeighbours = nbNeighbours;
+		this.tolerance = tolerance;
+		this.replanThreshold = replanThreshold;
+	}
+
+	/**
+     * Rebalances the network, serving the empty station first, if it has changed enough since the last plan,
+     * then completes the empty station from its nearest stations.
+     *
+     * @param emptyStation The station that is currently empty and needs vehicles.
+     * @param stations     A list of all stations.
+     * @throws RedistribuationNotCompletedException If the station is still empty afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.follow(stations);
+		boolean planned = this.needsPlan();
+		if (planned) {
+			this.execute(this.plan(stations, emptyStation));
+		}
+		for (Station donor : this.byDistance(emptyStation, stations)) {
+			if (emptyStation.getNbVehicles() >= target(emptyStation)) {
+				break;
+			}
+			int nbVehicles = Math.min(target(emptyStation) - emptyStation.getNbVehicles(), donor.getNbVehicles() - target(donor));
+			if (nbVehicles > 0) {
+				donor.transferVehiclesTo(emptyStation, nbVehicles);
+			}
+		}
+		if (planned) {
+			this.recordOccupancy();
+		}
+		if (emptyStation.isEmpty()) {
+			throw (new RedistribuationNotCompletedException("Station has not been completed enough!"));
+		}
+	}
+
+	/**
+     * Rebalances the network, offloading the full station first, if it has changed enough since the last plan,
+     * then offloads the full station to its nearest stations.
+     *
+     * @param fullStation The station that is currently full and needs to offload vehicles.
+     * @param stations    A list of all stations.
+     * @throws RedistribuationNotCompletedException If the station is still full afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenFull(Station fullStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.follow(stations);
+		boolean planned = this.needsPlan();
+		if (planned) {
+			this.execute(this.plan(stations, fullStation));
+		}
+		for (Station receiver : this.byDistance(fullStation, stations)) {
+			if (fullStation.getNbVehicles() <= target(fullStation)) {
+				break;
+			}
+			int nbVehicles = Math.min(fullStation.getNbVehicles() - target(fullStation), target(receiver) - receiver.getNbVehicles());
+			if (nbVehicles > 0) {
+				fullStation.transferVehiclesTo(receiver, nbVehicles);
+			}
+		}
+		if (planned) {
+			this.recordOccupancy();
+		}
+		if (fullStation.isFull()) {
+			throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+		}
+	}
+
+	/**
+     * Plans a network-wide rebalancing and executes it.
+     * A batch stops early if its origin runs out of vehicles or its destination fills up in the meantime.
+     *
+     * @param stations A list of all stations.
+     * @return The plan that was executed.
+     */
+	public synchronized RebalancingPlan rebalance(ArrayList<Station> stations) {
+		this.follow(stations);
+		RebalancingPlan plan = this.execute(this.plan(stations));
+		this.recordOccupancy();
+		return plan;
+	}
+
+	/**
+     * Checks that the stations are the ones seen last, at the same places.
+     * If a station has been added, removed, replaced or moved, forgets the nearest stations kept so far
+     * and the occupancy of the last plan, so the next trigger plans the network again.
+     *
+     * @param stations A list of all stations.
+     */
+	private void follow(ArrayList<Station> stations) {
+		boolean same = stations.size() == this.indexed.length;
+		for (int i = 0; same && i < this.indexed.length; i++) {
+			Station station = stations.get(i);
+			same = station == this.indexed[i] && station.getX() == this.xs[i] && station.getY() == this.ys[i];
+		}
+		if (same) {
+			return;
+		}
+		this.indexed = stations.toArray(new Station[0]);
+		this.xs = new double[this.indexed.length];
+		this.ys = new double[this.indexed.length];
+		this.nbDocks = 0;
+		for (int i = 0; i < this.indexed.length; i++) {
+			this.xs[i] = this.indexed[i].getX();
+			this.ys[i] = this.indexed[i].getY();
+			this.nbDocks += this.indexed[i].getMaxCapacite();
+		}
+		this.occupancyAtPlan = null;
+		this.nearestStations.clear();
+	}
+
+	/**
+     * Tells whether the network must be planned again: there was no plan on these stations yet,
+     * or the vehicles that arrived at or left the stations since then exceed the replanning threshold.
+     *
+     * @return true if the network must be planned again, otherwise false.
+     */
+	private boolean needsPlan() {
+		if (this.occupancyAtPlan == null) {
+			return true;
+		}
+		long limit = (long) (this.nbDocks * this.replanThreshold);
+		long drift = 0;
+		for (int i = 0; i < this.indexed.length; i++) {
+			drift += Math.abs(this.indexed[i].getNbVehicles() - this.occupancyAtPlan[i]);
+			if (drift > limit) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+     * Records the occupancy of the stations once a plan has been executed.
+     */
+	private void recordOccupancy() {
+		int[] occupancy = new int[this.indexed.length];
+		for (int i = 0; i < occupancy.length; i++) {
+			occupancy[i] = this.indexed[i].getNbVehicles();
+		}
+		this.occupancyAtPlan = occupancy;
+	}
+
+	/**
+     * Moves the vehicles of a plan, each batch in a single transfer.
+     *
+     * @param plan The plan to execute.
+     * @return The executed plan.
+     */
+	private RebalancingPlan execute(RebalancingPlan plan) {
+		for (RebalancingPlan.Move move : plan.getMoves()) {
+			move.getFrom().transferVehiclesTo(move.getTo(), move.getNbVehicles());
+		}
+		return plan;
+	}
+
+	/**
+     * Computes a network-wide rebalancing plan without moving any vehicle.
+     *
+     * @param stations A list of all stations.
+     * @return The plan moving as many vehicles as possible from surplus to deficit stations at minimum distance.
+     */
+	public RebalancingPlan plan(ArrayList<Station> stations) {
+		return this.plan(stations, null);
+	}
+
+	/**
+     * Computes a network-wide rebalancing plan that serves one station before all the others.
+     * Every unit of flow through another station's source or sink edge costs a penalty larger than any path (see {@link #costUnit}),
+     * so the min-cost flow first routes as much as it can through the priority station, then minimizes distance.
+     *
+     * @param stations A list of all stations.
+     * @param priority The station to serve first, or null.
+     * @return The plan.
+     */
+	private RebalancingPlan plan(ArrayList<Station> stations, Station priority) {
+		ArrayList<Station> donors = new ArrayList<>();
+		ArrayList<Station> receivers = new ArrayList<>();
+		for (Station station : stations) {
+			int gap = station.getNbVehicles() - target(station);
+			int slack = station == priority ? 0 : (int) (station.getMaxCapacite() * this.tolerance);
+			if (gap > slack) {
+				donors.add(station);
+			} else if (-gap > slack) {
+				receivers.add(station);
+			}
+		}
+		RebalancingPlan plan = new RebalancingPlan();
+		if (donors.isEmpty() || receivers.isEmpty()) {
+			return plan;
+		}
+		int nbDonors = donors.size();
+		int source = nbDonors + receivers.size();
+		int sink = source + 1;
+		int k = Math.min(this.nbNeighbours, Math.max(nbDonors, receivers.size()));
+		MinCostFlow flow = new MinCostFlow(sink + 1, source + 2 * k * source);
+		double unit = costUnit(donors, receivers);
+		long penalty = priority == null ? 0 : (COST_RESOLUTION + 1L) * (sink + 1);
+		for (int d = 0; d < nbDonors; d++) {
+			Station donor = donors.get(d);
+			flow.addEdge(source, d, donor.getNbVehicles() - target(donor), donor == priority || priority == null ? 0 : penalty);
+		}
+		for (int r = 0; r < receivers.size(); r++) {
+			Station receiver = receivers.get(r);
+			flow.addEdge(nbDonors + r, sink, target(receiver) - receiver.getNbVehicles(), receiver == priority || priority == null ? 0 : penalty);
+		}
+		HashMap<Long, int[]> links = new HashMap<>();
+		for (int d = 0; d < nbDonors; d++) {
+			int[] neighbours = donors.get(d) == priority ? all(receivers.size()) : nearest(donors.get(d), receivers, k);
+			for (int r : neighbours) {
+				links.putIfAbsent((long) d * receivers.size() + r, new int[] {d, r});
+			}
+		}
+		for (int r = 0; r < receivers.size(); r++) {
+			int[] neighbours = receivers.get(r) == priority ? all(nbDonors) : nearest(receivers.get(r), donors, k);
+			for (int d : neighbours) {
+				links.putIfAbsent((long) d * receivers.size() + r, new int[] {d, r});
+			}
+		}
+		ArrayList<int[]> arcs = new ArrayList<>(links.values());
+		int[] edges = new int[arcs.size()];
+		for (int i = 0; i < edges.length; i++) {
+			Station donor = donors.get(arcs.get(i)[0]);
+			Station receiver = receivers.get(arcs.get(i)[1]);
+			long cost = Math.round(donor.distanceTo(receiver) / unit);
+			edges[i] = flow.addEdge(arcs.get(i)[0], nbDonors + arcs.get(i)[1], Integer.MAX_VALUE, cost);
+		}
+		flow.run(source, sink);
+		for (int i = 0; i < edges.length; i++) {
+			int moved = flow.getFlow(edges[i]);
+			if (moved > 0) {
+				plan.addMove(donors.get(arcs.get(i)[0]), receivers.get(arcs.get(i)[1]), moved);
+			}
+		}
+		return plan;
+	}
+
+	/**
+     * Computes the distance represented by one unit of cost: the diagonal of the area covering the stations
+     * is split into a fixed number of units. The coarse costs lose no meaningful precision, give many paths
+     * the same cost so they are saturated together, and bound the penalty used to serve the priority station,
+     * which must exceed the cost of any path crossing each station at most once.
+     *
+     * @param donors    The stations with a surplus.
+     * @param receivers The stations with a deficit.
+     * @return The distance of one unit of cost.
+     */
+	private static double costUnit(ArrayList<Station> donors, ArrayList<Station> receivers) {
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (ArrayList<Station> group : Arrays.asList(donors, receivers)) {
+			for (Station station : group) {
+				minX = Math.min(minX, station.getX());
+				minY = Math.min(minY, station.getY());
+				maxX = Math.max(maxX, station.getX());
+				maxY = Math.max(maxY, station.getY());
+			}
+		}
+		double diagonal = Math.hypot(maxX - minX, maxY - minY);
+		return diagonal > 0 ? diagonal / COST_RESOLUTION : 1;
+	}
+
+	private static int[] all(int n) {
+		int[] indexes = new int[n];
+		for (int i = 0; i < n; i++) {
+			indexes[i] = i;
+		}
+		return indexes;
+	}
+
+	/**
+     * Gets the number of vehicles a station holds when it is balanced: half its capacity, as used by
+     * {@link Station#hasSurplusVehicles()} and {@link Station#hasInsufficiencyVehicles()}.
+     *
+     * @param station The station.
+     * @return The balanced number of vehicles of the station.
+     */
+	private static int target(Station station) {
+		return station.getMaxCapacite() / 2;
+	}
+
+	/**
+     * Finds the k candidates nearest to a station.
+     *
+     * @param station    The station.
+     * @param candidates The stations to choose from.
+     * @param k          The number of stations to keep.
+     * @return The indexes of the nearest candidates.
+     */
+	private static int[] nearest(Station station, ArrayList<Station> candidates, int k) {
+		int n = Math.min(k, candidates.size());
+		int[] best = new int[n];
+		double[] bestDistance = new double[n];
+		int size = 0;
+		for (int i = 0; i < candidates.size(); i++) {
+			double distance = station.distanceTo(candidates.get(i));
+			if (size < n) {
+				size++;
+			} else if (distance >= bestDistance[n - 1]) {
+				continue;
+			}
+			int pos = size - 1;
+			while (pos > 0 && bestDistance[pos - 1] > distance) {
+				best[pos] = best[pos - 1];
+				bestDistance[pos] = bestDistance[pos - 1];
+				pos--;
+			}
+			best[pos] = i;
+			bestDistance[pos] = distance;
+		}
+		return Arrays.copyOf(best, size);
+	}
+
+	/**
+     * Lists the other stations by their distance to a station: first its nearest stations, kept from one trigger to the next,
+     * then, only if the caller goes past them, all the others sorted by distance.
+     *
+     * @param station  The station.
+     * @param stations A list of all stations.
+     * @return The other stations, nearest first.
+     */
+	private Iterable<Station> byDistance(Station station, ArrayList<Station> stations) {
+		if (!station.hasInsufficiencyVehicles() && !station.hasSurplusVehicles()) {
+			return new ArrayList<>();
+		}
+		Station[] nearest = this.nearestStations.get(station);
+		if (nearest == null) {
+			int[] indexes = nearest(station, stations, NB_NEAREST_KEPT + 1);
+			ArrayList<Station> kept = new ArrayList<>(indexes.length);
+			for (int i : indexes) {
+				if (stations.get(i) != station) {
+					kept.add(stations.get(i));
+				}
+			}
+			nearest = kept.toArray(new Station[0]);
+			this.nearestStations.put(station, nearest);
+		}
+		Station[] first = nearest;
+		return () -> new Iterator<Station>() {
+			private int next;
+			private Iterator<Station> rest;
+
+			@Override
+			public boolean hasNext() {
+				if (this.next < first.length) {
+					return true;
+				}
+				if (this.rest == null) {
+					this.rest = sortByDistance(station, stations, first).iterator();
+				}
+				return this.rest.hasNext();
+			}
+
+			@Override
+			public Station next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return this.next < first.length ? first[this.next++] : this.rest.next();
+			}
+		};
+	}
+
+	/**
+     * Sorts the stations that are neither a station nor among its nearest stations by their distance to it.
+     *
+     * @param station  The station.
+     * @param stations A list of all stations.
+     * @param nearest  The nearest stations, already listed.
+     * @return The remaining stations, nearest first.
+     */
+	private static ArrayList<Station> sortByDistance(Station station, ArrayList<Station> stations, Station[] nearest) {
+		IdentityHashMap<Station, Boolean> listed = new IdentityHashMap<>();
+		listed.put(station, Boolean.TRUE);
+		for (Station other : nearest) {
+			listed.put(other, Boolean.TRUE);
+		}
+		ArrayList<Station> others = new ArrayList<>();
+		for (Station other : stations) {
+			if (!listed.containsKey(other)) {
+				others.add(other);
+			}
+		}
+		others.sort((a, b) -> Double.compare(station.distanceTo(a), station.distanceTo(b)));
+		return others;
+	}
+
+	/**
+     * Compares this FlowStrategy with another object for equality.
+     *
+     * @param o The object to compare with this FlowStrategy.
+     * @return true if the specified object is also a FlowStrategy; false otherwise.
+     */
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof FlowStrategy;
+	}
+
+	/**
+     * Returns a hash code consistent with equals: every FlowStrategy has the same one.
+     *
+     * @return The hash code of the FlowStrategy class.
+     */
+	@Override
+	public int hashCode() {
+		return FlowStrategy.class.hashCode();
+	}
+}
@@ -0,0 +1,126 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+
+import exceptions.RedistribuationNotCompletedException;
+import stations.Station;
+
+/**
+ * A redistribution strategy that always moves vehicles between the most unbalanced stations.
+ * Stations holding more vehicles than half their capacity are kept in a donor heap, ordered by their surplus,
+ * and stations holding fewer are kept in a receiver heap, ordered by their deficit.
+ * The heaps are maintained incrementally (see {@link IndexedStrategy}): only the stations that changed since
+ * the last redistribution are repositioned, so a redistribution costs O(moves × log stations)
+ * instead of a scan of every station for each vehicle moved.
+ */
+public class HeapStrategy extends IndexedStrategy {
+	private StationHeap donors;
+	private StationHeap receivers;
+
+	/**
+     * Constructs a HeapStrategy. The stations are indexed at the first redistribution.
+     */
+	public HeapStrategy() {
+		this.clearIndex(0);
+	}
+
+	/**
+     * Redistributes vehicles to an empty station.
+     * Vehicles are taken one at a time from the station with the largest surplus until the empty station is sufficiently filled
+     * or no station has a surplus left.
+     *
+     * @param emptyStation The station that is currently empty and needs vehicles.
+     * @param stations     A list of all stations, used for determining where to source vehicles from.
+     * @throws RedistribuationNotCompletedException If the station is still empty afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.refresh(stations);
+		while (emptyStation.hasInsufficiencyVehicles() && !this.donors.isEmpty()) {
+			Station donor = this.stations[this.donors.peek()];
+			if (donor == emptyStation || !donor.transferVehicleTo(emptyStation)) {
+				this.donors.remove(this.donors.peek());
+				this.occupancyChanged(donor);
+				continue;
+			}
+			this.reposition(donor);
+			this.reposition(emptyStation);
+		}
+		if (emptyStation.isEmpty()) {
+			throw (new RedistribuationNotCompletedException("Station has not been completed enough!"));
+		}
+	}
+
+	/**
+     * Redistributes vehicles from a full station.
+     * Vehicles are given one at a time to the station with the largest deficit until the full station no longer has a surplus
+     * or no station has a deficit left.
+     *
+     * @param fullStation The station that is currently full and needs to offload vehicles.
+     * @param stations    A list of all stations, used for determining where to move the excess vehicles to.
+     * @throws RedistribuationNotCompletedException If the station is still full afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenFull(Station fullStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.refresh(stations);
+		while (fullStation.hasSurplusVehicles() && !this.receivers.isEmpty()) {
+			Station receiver = this.stations[this.receivers.peek()];
+			if (receiver == fullStation || !fullStation.transferVehicleTo(receiver)) {
+				this.receivers.remove(this.receivers.peek());
+				this.occupancyChanged(receiver);
+				continue;
+			}
+			this.reposition(receiver);
+			this.reposition(fullStation);
+		}
+		if (fullStation.isFull()) {
+			throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+		}
+	}
+
+	/**
+     * Replaces the heaps with empty ones.
+     *
+     * @param nbStations The number of stations the heaps can hold.
+     */
+	@Override
+	protected void clearIndex(int nbStations) {
+		this.donors = new StationHeap(nbStations);
+		this.receivers = new StationHeap(nbStations);
+	}
+
+	/**
+     * Moves a station to its place in the heaps according to its current number of vehicles.
+     *
+     * @param index   The position of the station.
+     * @param station The station to reposition.
+     */
+	@Override
+	protected void update(int index, Station station) {
+		int target = station.getMaxCapacite() / 2;
+		int nbVehicles = station.getNbVehicles();
+		this.donors.update(index, nbVehicles - target);
+		this.receivers.update(index, target - nbVehicles);
+	}
+
+	/**
+     * Compares this HeapStrategy with another object for equality.
+     *
+     * @param o The object to compare with this HeapStrategy.
+     * @return true if the specified object is also a HeapStrategy; false otherwise.
+     */
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof HeapStrategy;
+	}
+
+	/**
+     * Returns a hash code consistent with equals: every HeapStrategy has the same one.
+     *
+     * @return The hash code of the HeapStrategy class.
+     */
+	@Override
+	public int hashCode() {
+		return HeapStrategy.class.hashCode();
+	}
+}
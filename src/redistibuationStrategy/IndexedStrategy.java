@@ -0,0 +1,136 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import stations.OccupancyListener;
+import stations.Station;
+
+/**
+ * A redistribution strategy that keeps its own index of the stations, such as the heaps of {@link HeapStrategy}
+ * or the weight trees of {@link WeightedRandomStrategy}, and maintains it incrementally.
+ * Each station gets a position when the stations are indexed, and the index is told about a station through that position.
+ * Stations report every occupancy change, and only the stations that changed since the last redistribution are updated.
+ * The stations are indexed on first use, and again whenever a station has been added, removed or replaced.
+ */
+public abstract class IndexedStrategy implements RedistributionStrategy, OccupancyListener {
+	private IdentityHashMap<Station, Integer> indexes;
+	private final Set<Station> changedStations;
+
+	/**
+     * The indexed stations, by position.
+     */
+	protected Station[] stations;
+
+	/**
+     * Constructs a strategy. The stations are indexed at the first redistribution.
+     */
+	protected IndexedStrategy() {
+		this.changedStations = ConcurrentHashMap.newKeySet();
+		this.stations = new Station[0];
+		this.indexes = new IdentityHashMap<>();
+	}
+
+	/**
+     * Records that a station's occupancy changed, so it is updated in the index at the next redistribution.
+     *
+     * @param station The station whose occupancy changed.
+     */
+	@Override
+	public void occupancyChanged(Station station) {
+		this.changedStations.add(station);
+	}
+
+	/**
+     * Indexes the given stations if they are not the ones already indexed, in the same order,
+     * otherwise updates the stations whose occupancy changed since the last redistribution.
+     * The stations are compared one by one, so a station replaced in the same list is seen too.
+     *
+     * @param stations The stations given to the redistribution.
+     */
+	protected void refresh(ArrayList<Station> stations) {
+		if (!this.isIndexed(stations)) {
+			this.index(stations);
+			return;
+		}
+		Iterator<Station> changed = this.changedStations.iterator();
+		while (changed.hasNext()) {
+			Station station = changed.next();
+			changed.remove();
+			this.reposition(station);
+		}
+	}
+
+	/**
+     * Tells whether the given stations are the indexed ones, in the same order.
+     *
+     * @param stations The stations given to the redistribution.
+     * @return true if every station is at its indexed position, otherwise false.
+     */
+	private boolean isIndexed(ArrayList<Station> stations) {
+		if (stations.size() != this.stations.length) {
+			return false;
+		}
+		for (int i = 0; i < this.stations.length; i++) {
+			if (stations.get(i) != this.stations[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+     * Builds the index from scratch and starts listening to the given stations.
+     *
+     * @param stations The stations to index.
+     */
+	private void index(ArrayList<Station> stations) {
+		for (Station station : this.stations) {
+			station.removeOccupancyListener(this);
+		}
+		this.stations = stations.toArray(new Station[0]);
+		this.indexes = new IdentityHashMap<>();
+		this.clearIndex(this.stations.length);
+		for (int i = 0; i < this.stations.length; i++) {
+			Station station = this.stations[i];
+			if (this.indexes.putIfAbsent(station, i) == null) {
+				station.addOccupancyListener(this);
+			}
+		}
+		this.changedStations.clear();
+		for (Station station : this.indexes.keySet()) {
+			this.reposition(station);
+		}
+	}
+
+	/**
+     * Updates a station in the index according to its current number of vehicles.
+     * Does nothing if the station is not indexed.
+     *
+     * @param station The station to update.
+     */
+	protected void reposition(Station station) {
+		Integer index = this.indexes.get(station);
+		if (index != null) {
+			this.update(index, station);
+		}
+	}
+
+	/**
+     * Replaces the index with an empty one.
+     *
+     * @param nbStations The number of positions of the new index.
+     */
+	protected abstract void clearIndex(int nbStations);
+
+	/**
+     * Updates the index at a station's position according to its current number of vehicles.
+     *
+     * @param index   The position of the station.
+     * @param station The station.
+     */
+	protected abstract void update(int index, Station station);
+}
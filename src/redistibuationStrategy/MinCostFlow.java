@@ -0,0 +1,280 @@
+package redistibuationStrategy;
+
+import java.util.Arrays;
+
+/**
+ * A min-cost flow solver using the primal-dual method.
+ * Each phase finds shortest distances with Dijkstra's algorithm on reduced costs (Johnson potentials),
+ * then saturates every shortest path at once with a blocking flow on the edges of zero reduced cost,
+ * so the number of Dijkstra runs is the number of distinct path costs rather than the number of paths.
+ * Costs must be non-negative.
+ * The graph is stored as flat arrays: edge i and its residual edge i ^ 1 are always added together.
+ */
+class MinCostFlow {
+	private static final long INFINITE = Long.MAX_VALUE / 4;
+
+	private final int nbNodes;
+	private final int[] firstEdge;
+	private int[] nextEdge;
+	private int[] target;
+	private int[] capacity;
+	private long[] cost;
+	private int nbEdges;
+	private long totalCost;
+
+	/**
+     * Constructs an empty graph.
+     *
+     * @param nbNodes       The number of nodes.
+     * @param expectedEdges The expected number of edges, used to size the arrays.
+     */
+	MinCostFlow(int nbNodes, int expectedEdges) {
+		this.nbNodes = nbNodes;
+		this.firstEdge = new int[nbNodes];
+		Arrays.fill(this.firstEdge, -1);
+		int size = Math.max(2, expectedEdges * 2);
+		this.nextEdge = new int[size];
+		this.target = new int[size];
+		this.capacity = new int[size];
+		this.cost = new long[size];
+	}
+
+	/**
+     * Adds an edge and its residual edge.
+     *
+     * @param from     The node the edge leaves.
+     * @param to       The node the edge enters.
+     * @param capacity The capacity of the edge.
+     * @param cost     The non-negative cost of one unit of flow on the edge.
+     * @return The index of the edge, to read its flow with {@link #getFlow(int)}.
+     */
+	int addEdge(int from, int to, int capacity, long cost) {
+		if (this.nbEdges + 2 > this.target.length) {
+			int size = this.target.length * 2;
+			this.nextEdge = Arrays.copyOf(this.nextEdge, size);
+			this.target = Arrays.copyOf(this.target, size);
+			this.capacity = Arrays.copyOf(this.capacity, size);
+			this.cost = Arrays.copyOf(this.cost, size);
+		}
+		int edge = this.nbEdges;
+		this.link(from, to, capacity, cost);
+		this.link(to, from, 0, -cost);
+		return edge;
+	}
+
+	private void link(int from, int to, int capacity, long cost) {
+		int edge = this.nbEdges++;
+		this.target[edge] = to;
+		this.capacity[edge] = capacity;
+		this.cost[edge] = cost;
+		this.nextEdge[edge] = this.firstEdge[from];
+		this.firstEdge[from] = edge;
+	}
+
+	/**
+     * Gets the flow sent through an edge by {@link #run(int, int)}.
+     *
+     * @param edge The index returned by {@link #addEdge(int, int, int, long)}.
+     * @return The flow on the edge.
+     */
+	int getFlow(int edge) {
+		return this.capacity[edge ^ 1];
+	}
+
+	/**
+     * Gets the cost of the flow sent by {@link #run(int, int)}.
+     *
+     * @return The total cost of the flow.
+     */
+	long getTotalCost() {
+		return this.totalCost;
+	}
+
+	/**
+     * Sends as much flow as possible from the source to the sink, at minimum cost.
+     *
+     * @param source The source node.
+     * @param sink   The sink node.
+     * @return The amount of flow sent.
+     */
+	long run(int source, int sink) {
+		long[] potential = new long[this.nbNodes];
+		long[] distance = new long[this.nbNodes];
+		int[] level = new int[this.nbNodes];
+		int[] currentEdge = new int[this.nbNodes];
+		int[] queue = new int[this.nbNodes];
+		NodeQueue heap = new NodeQueue(this.nbNodes);
+		long flow = 0;
+		while (this.shortestDistances(source, sink, potential, distance, heap)) {
+			long reached = distance[sink];
+			for (int node = 0; node < this.nbNodes; node++) {
+				potential[node] += Math.min(distance[node], reached);
+			}
+			while (this.levelAdmissibleGraph(source, sink, potential, level, queue)) {
+				System.arraycopy(this.firstEdge, 0, currentEdge, 0, this.nbNodes);
+				int pushed;
+				while ((pushed = this.augment(source, sink, Integer.MAX_VALUE, potential, level, currentEdge)) > 0) {
+					flow += pushed;
+				}
+			}
+		}
+		return flow;
+	}
+
+	/**
+     * Computes the reduced-cost distances from the source with Dijkstra's algorithm, stopping once the sink is reached.
+     * Nodes farther than the sink keep a distance at least as large as the sink's.
+     *
+     * @return true if the sink can be reached, otherwise false.
+     */
+	private boolean shortestDistances(int source, int sink, long[] potential, long[] distance, NodeQueue heap) {
+		Arrays.fill(distance, INFINITE);
+		distance[source] = 0;
+		heap.clear();
+		heap.push(source, 0);
+		while (!heap.isEmpty()) {
+			long d = heap.peekDistance();
+			int node = heap.pop();
+			if (d > distance[node]) {
+				continue;
+			}
+			if (node == sink) {
+				return true;
+			}
+			for (int edge = this.firstEdge[node]; edge >= 0; edge = this.nextEdge[edge]) {
+				if (this.capacity[edge] == 0) {
+					continue;
+				}
+				int next = this.target[edge];
+				long candidate = d + this.cost[edge] + potential[node] - potential[next];
+				if (candidate < distance[next]) {
+					distance[next] = candidate;
+					heap.push(next, candidate);
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isAdmissible(int edge, int from, long[] potential) {
+		return this.capacity[edge] > 0 && this.cost[edge] + potential[from] - potential[this.target[edge]] == 0;
+	}
+
+	/**
+     * Computes breadth-first levels from the source over the residual edges of zero reduced cost.
+     *
+     * @return true if the sink has a level, otherwise false.
+     */
+	private boolean levelAdmissibleGraph(int source, int sink, long[] potential, int[] level, int[] queue) {
+		Arrays.fill(level, -1);
+		level[source] = 0;
+		queue[0] = source;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int node = queue[head++];
+			for (int edge = this.firstEdge[node]; edge >= 0; edge = this.nextEdge[edge]) {
+				int next = this.target[edge];
+				if (level[next] < 0 && this.isAdmissible(edge, node, potential)) {
+					level[next] = level[node] + 1;
+					queue[tail++] = next;
+				}
+			}
+		}
+		return level[sink] >= 0;
+	}
+
+	/**
+     * Pushes flow along one path of the level graph, skipping edges that are known to lead nowhere.
+     *
+     * @return The flow pushed, or 0 if the sink cannot be reached from this node anymore.
+     */
+	private int augment(int node, int sink, int limit, long[] potential, int[] level, int[] currentEdge) {
+		if (node == sink) {
+			return limit;
+		}
+		for (; currentEdge[node] >= 0; currentEdge[node] = this.nextEdge[currentEdge[node]]) {
+			int edge = currentEdge[node];
+			int next = this.target[edge];
+			if (level[next] == level[node] + 1 && this.isAdmissible(edge, node, potential)) {
+				int pushed = this.augment(next, sink, Math.min(limit, this.capacity[edge]), potential, level, currentEdge);
+				if (pushed > 0) {
+					this.capacity[edge] -= pushed;
+					this.capacity[edge ^ 1] += pushed;
+					this.totalCost += pushed * this.cost[edge];
+					return pushed;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+     * A binary min-heap of (node, distance) pairs used by Dijkstra's algorithm.
+     * Nodes may be pushed several times; outdated entries are skipped by the caller.
+     */
+	private static class NodeQueue {
+		private int[] nodes;
+		private long[] distances;
+		private int size;
+
+		private NodeQueue(int capacity) {
+			this.nodes = new int[Math.max(1, capacity)];
+			this.distances = new long[Math.max(1, capacity)];
+		}
+
+		private boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		private void clear() {
+			this.size = 0;
+		}
+
+		private long peekDistance() {
+			return this.distances[0];
+		}
+
+		private void push(int node, long distance) {
+			if (this.size == this.nodes.length) {
+				this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+				this.distances = Arrays.copyOf(this.distances, this.size * 2);
+			}
+			int pos = this.size++;
+			while (pos > 0) {
+				int parent = (pos - 1) >>> 1;
+				if (this.distances[parent] <= distance) {
+					break;
+				}
+				this.nodes[pos] = this.nodes[parent];
+				this.distances[pos] = this.distances[parent];
+				pos = parent;
+			}
+			this.nodes[pos] = node;
+			this.distances[pos] = distance;
+		}
+
+		private int pop() {
+			int top = this.nodes[0];
+			int node = this.nodes[--this.size];
+			long distance = this.distances[this.size];
+			int pos = 0;
+			int half = this.size >>> 1;
+			while (pos < half) {
+				int child = 2 * pos + 1;
+				if (child + 1 < this.size && this.distances[child + 1] < this.distances[child]) {
+					child++;
+				}
+				if (this.distances[child] >= distance) {
+					break;
+				}
+				this.nodes[pos] = this.nodes[child];
+				this.distances[pos] = this.distances[child];
+				pos = child;
+			}
+			this.nodes[pos] = node;
+			this.distances[pos] = distance;
+			return top;
+		}
+	}
+}
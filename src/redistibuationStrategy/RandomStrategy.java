@@ -3,8 +3,8 @@ package redistibuationStrategy;
 import java.util.ArrayList;
 import java.util.Random;
 import exceptions.RedistribuationNotCompletedException;
+import stations.NetworkOccupancy;
 import stations.Station;
-import vehicles.Vehicle;
 
 /**
  * A redistribution strategy that randomly redistributes vehicles between stations.
@@ -24,20 +24,39 @@ public class RandomStrategy implements RedistributionStrategy {
      */
     @Override
     public void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+    	this.redistributeWhenEmpty(emptyStation, stations, null);
+    }
+
+    /**
+     * Redistributes vehicles when a station is empty, reading from the occupancy totals whether a station
+     * still has surplus vehicles rather than looking at every station before each random pick.
+     *
+     * @param emptyStation The station that is currently empty and needs vehicles.
+     * @param stations     A list of all stations, used for determining where to source vehicles from.
+     * @param occupancy    The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+    @Override
+    public void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
     	boolean getIn = true;
         while (!emptyStation.isSufficientlyFilled() && getIn) {
         	getIn = false;
-        	for(Station s : stations) {
-        		if (s.hasSurplusVehicles()) {
-        			getIn = true;
-        			break;
-        		}
+        	if (occupancy != null) {
+        		getIn = occupancy.getNbSurplusStations() > 0;
+        	} else {
+	        	for(Station s : stations) {
+	        		if (s.hasSurplusVehicles()) {
+	        			getIn = true;
+	        			break;
+	        		}
+	        	}
+        	}
+        	if (!getIn) {
+        		break;
         	}
             Station randomStation = stations.get(random.nextInt(stations.size()));
             if (!randomStation.equals(emptyStation) && randomStation.hasSurplusVehicles()) {
-                Vehicle vehicle = randomStation.getVehicles().get(0);
-                randomStation.removeVehicle(vehicle);
-                emptyStation.addVehicle(vehicle);
+                randomStation.transferVehicleTo(emptyStation);
             }
         }
         if(emptyStation.isEmpty()) {
@@ -55,6 +74,26 @@ public class RandomStrategy implements RedistributionStrategy {
      */
 	@Override
 	public void redistributeWhenFull(Station fullStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.redistributeWhenFull(fullStation, stations, null);
+	}
+
+	/**
+     * Redistributes vehicles when a station is full, giving up right away when the occupancy totals tell
+     * that no station has insufficient vehicles.
+     *
+     * @param fullStation The station that is currently full and needs to offload vehicles.
+     * @param stations    A list of all stations, used for determining where to move the excess vehicles to.
+     * @param occupancy   The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+	@Override
+	public void redistributeWhenFull(Station fullStation, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
+		if (occupancy != null && occupancy.getNbDeficitStations() == 0) {
+			if (fullStation.isFull()) {
+				throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+			}
+			return;
+		}
 		Random random = new Random();
 	    while (fullStation.hasSurplusVehicles()) {
 	        ArrayList<Integer> eligibleStationsIndices = new ArrayList<>();
@@ -64,14 +103,20 @@ public class RandomStrategy implements RedistributionStrategy {
 	                eligibleStationsIndices.add(i);
 	            }
 	        }
-	        if (eligibleStationsIndices.isEmpty() && fullStation.isFull()) {
-	        	throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+	        boolean moved = false;
+	        while (!moved && !eligibleStationsIndices.isEmpty()) {
+	        	int pick = random.nextInt(eligibleStationsIndices.size());
+	        	moved = fullStation.transferVehicleTo(stations.get(eligibleStationsIndices.get(pick)));
+	        	if (!moved) {
+	        		eligibleStationsIndices.remove(pick);
+	        	}
+	        }
+	        if (!moved) {
+	        	if (fullStation.isFull()) {
+	        		throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+	        	}
+	        	return;
 	        }
-	        int selectedIndex = eligibleStationsIndices.get(random.nextInt(eligibleStationsIndices.size()));
-	        Station selectedStation = stations.get(selectedIndex);
-	        Vehicle vehicle = fullStation.getVehicles().get(0);
-	        selectedStation.addVehicle(vehicle);
-	        fullStation.removeVehicle(vehicle);
 	    }
 	}
 	
@@ -0,0 +1,106 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import stations.Station;
+
+/**
+ * A RebalancingPlan lists the batches of vehicles to move between stations to rebalance the network,
+ * with the number of vehicles moved and the distance they travel in total.
+ */
+public class RebalancingPlan {
+	private final List<Move> moves;
+	private int nbVehicles;
+	private double totalDistance;
+
+	/**
+     * Constructs an empty plan.
+     */
+	public RebalancingPlan() {
+		this.moves = new ArrayList<>();
+	}
+
+	/**
+     * Adds a batch of vehicles to move to the plan.
+     *
+     * @param from       The station the vehicles leave.
+     * @param to         The station the vehicles go to.
+     * @param nbVehicles The number of vehicles to move.
+     */
+	public void addMove(Station from, Station to, int nbVehicles) {
+		this.moves.add(new Move(from, to, nbVehicles));
+		this.nbVehicles += nbVehicles;
+		this.totalDistance += nbVehicles * from.distanceTo(to);
+	}
+
+	/**
+     * Gets the batches of the plan.
+     *
+     * @return An unmodifiable list of the moves of the plan.
+     */
+	public List<Move> getMoves() {
+		return Collections.unmodifiableList(this.moves);
+	}
+
+	/**
+     * Gets the number of vehicles moved by the plan.
+     *
+     * @return The total number of vehicles moved.
+     */
+	public int getNbVehicles() {
+		return this.nbVehicles;
+	}
+
+	/**
+     * Gets the distance travelled by all the vehicles moved by the plan.
+     *
+     * @return The total distance of the plan.
+     */
+	public double getTotalDistance() {
+		return this.totalDistance;
+	}
+
+	/**
+     * A batch of vehicles moved from one station to another.
+     */
+	public static class Move {
+		private final Station from;
+		private final Station to;
+		private final int nbVehicles;
+
+		private Move(Station from, Station to, int nbVehicles) {
+			this.from = from;
+			this.to = to;
+			this.nbVehicles = nbVehicles;
+		}
+
+		/**
+	     * Gets the station the vehicles leave.
+	     *
+	     * @return The origin station.
+	     */
+		public Station getFrom() {
+			return this.from;
+		}
+
+		/**
+	     * Gets the station the vehicles go to.
+	     *
+	     * @return The destination station.
+	     */
+		public Station getTo() {
+			return this.to;
+		}
+
+		/**
+	     * Gets the number of vehicles moved.
+	     *
+	     * @return The number of vehicles of the batch.
+	     */
+		public int getNbVehicles() {
+			return this.nbVehicles;
+		}
+	}
+}
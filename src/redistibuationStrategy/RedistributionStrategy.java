@@ -2,6 +2,7 @@ package redistibuationStrategy;
 
 import java.util.ArrayList;
 import exceptions.RedistribuationNotCompletedException;
+import stations.NetworkOccupancy;
 import stations.Station;
 
 /**
@@ -30,6 +31,34 @@ public interface RedistributionStrategy {
      * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
      */
     void redistributeWhenFull(Station station, ArrayList<Station> stations) throws RedistribuationNotCompletedException;
+
+    /**
+     * Redistributes vehicles to an empty station, knowing the occupancy totals of the stations.
+     * A strategy can use them to give up right away when no station has surplus vehicles;
+     * by default the totals are ignored.
+     *
+     * @param station The station that is currently empty and needs vehicles.
+     * @param stations A list of all stations, potentially used for determining where to source vehicles from.
+     * @param occupancy The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+    default void redistributeWhenEmpty(Station station, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
+    	this.redistributeWhenEmpty(station, stations);
+    }
+
+    /**
+     * Redistributes vehicles from a full station, knowing the occupancy totals of the stations.
+     * A strategy can use them to give up right away when no station has insufficient vehicles;
+     * by default the totals are ignored.
+     *
+     * @param station The station that is currently full and needs to offload vehicles.
+     * @param stations A list of all stations, potentially used for determining where to move the excess vehicles to.
+     * @param occupancy The occupancy totals of these stations, or null if they are not known.
+     * @throws RedistribuationNotCompletedException If the redistribution process cannot be completed successfully.
+     */
+    default void redistributeWhenFull(Station station, ArrayList<Station> stations, NetworkOccupancy occupancy) throws RedistribuationNotCompletedException {
+    	this.redistributeWhenFull(station, stations);
+    }
     
     /**
      * Overrides the equals method to compare redistribution strategy objects.
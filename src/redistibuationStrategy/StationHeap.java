@@ -0,0 +1,135 @@
+package redistibuationStrategy;
+
+import java.util.Arrays;
+
+/**
+ * An indexed binary max-heap of station indexes, ordered by an integer key.
+ * Each station index is in the heap at most once and its position is tracked,
+ * so its key can be changed or the station removed in O(log n).
+ * Only stations with a positive key are kept; equal keys are ordered by station index.
+ */
+class StationHeap {
+	private final int[] heap;
+	private final int[] positions;
+	private final int[] keys;
+	private int size;
+
+	/**
+     * Constructs an empty heap for station indexes from 0 to nbStations - 1.
+     *
+     * @param nbStations The number of indexed stations.
+     */
+	StationHeap(int nbStations) {
+		this.heap = new int[nbStations];
+		this.positions = new int[nbStations];
+		this.keys = new int[nbStations];
+		Arrays.fill(this.positions, -1);
+	}
+
+	/**
+     * Tells whether the heap holds no station.
+     *
+     * @return true if the heap is empty, otherwise false.
+     */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+     * Gets the index of the station with the largest key, without removing it.
+     *
+     * @return The index of the top station.
+     */
+	int peek() {
+		return this.heap[0];
+	}
+
+	/**
+     * Sets the key of a station, adding it to the heap if the key is positive and removing it otherwise.
+     *
+     * @param station The station index.
+     * @param key     The new key of the station.
+     */
+	void update(int station, int key) {
+		if (key <= 0) {
+			this.remove(station);
+			return;
+		}
+		int pos = this.positions[station];
+		if (pos < 0) {
+			pos = this.size++;
+			this.heap[pos] = station;
+			this.positions[station] = pos;
+			this.keys[station] = key;
+			this.siftUp(pos);
+			return;
+		}
+		int previous = this.keys[station];
+		this.keys[station] = key;
+		if (key > previous) {
+			this.siftUp(pos);
+		} else if (key < previous) {
+			this.siftDown(pos);
+		}
+	}
+
+	/**
+     * Removes a station from the heap, if it is in it.
+     *
+     * @param station The station index.
+     */
+	void remove(int station) {
+		int pos = this.positions[station];
+		if (pos < 0) {
+			return;
+		}
+		this.positions[station] = -1;
+		int last = this.heap[--this.size];
+		if (pos == this.size) {
+			return;
+		}
+		this.heap[pos] = last;
+		this.positions[last] = pos;
+		this.siftDown(pos);
+		this.siftUp(this.positions[last]);
+	}
+
+	private boolean above(int a, int b) {
+		return this.keys[a] > this.keys[b] || (this.keys[a] == this.keys[b] && a < b);
+	}
+
+	private void siftUp(int pos) {
+		int station = this.heap[pos];
+		while (pos > 0) {
+			int parent = (pos - 1) >>> 1;
+			if (!this.above(station, this.heap[parent])) {
+				break;
+			}
+			this.move(this.heap[parent], pos);
+			pos = parent;
+		}
+		this.move(station, pos);
+	}
+
+	private void siftDown(int pos) {
+		int station = this.heap[pos];
+		int half = this.size >>> 1;
+		while (pos < half) {
+			int child = 2 * pos + 1;
+			if (child + 1 < this.size && this.above(this.heap[child + 1], this.heap[child])) {
+				child++;
+			}
+			if (!this.above(this.heap[child], station)) {
+				break;
+			}
+			this.move(this.heap[child], pos);
+			pos = child;
+		}
+		this.move(station, pos);
+	}
+
+	private void move(int station, int pos) {
+		this.heap[pos] = station;
+		this.positions[station] = pos;
+	}
+}
@@ -0,0 +1,81 @@
+package redistibuationStrategy;
+
+/**
+ * A Fenwick tree of non-negative integer weights, one per station index,
+ * to draw a station with a probability proportional to its weight.
+ * Changing a weight and drawing a station both take O(log n), and stations with a weight of zero are never drawn.
+ */
+class WeightTree {
+	private final long[] tree;
+	private final int[] weights;
+	private final int highestPowerOfTwo;
+	private long total;
+
+	/**
+     * Constructs a tree for station indexes from 0 to nbStations - 1, all with a weight of zero.
+     *
+     * @param nbStations The number of indexed stations.
+     */
+	WeightTree(int nbStations) {
+		this.tree = new long[nbStations + 1];
+		this.weights = new int[nbStations];
+		this.highestPowerOfTwo = nbStations == 0 ? 0 : Integer.highestOneBit(nbStations);
+	}
+
+	/**
+     * Gets the weight of a station.
+     *
+     * @param station The station index.
+     * @return The weight of the station.
+     */
+	int get(int station) {
+		return this.weights[station];
+	}
+
+	/**
+     * Sets the weight of a station. A negative weight counts as zero.
+     *
+     * @param station The station index.
+     * @param weight  The new weight of the station.
+     */
+	void set(int station, int weight) {
+		weight = Math.max(0, weight);
+		long delta = weight - this.weights[station];
+		if (delta == 0) {
+			return;
+		}
+		this.weights[station] = weight;
+		this.total += delta;
+		for (int i = station + 1; i < this.tree.length; i += i & -i) {
+			this.tree[i] += delta;
+		}
+	}
+
+	/**
+     * Gets the sum of the weights of every station.
+     *
+     * @return The total weight.
+     */
+	long total() {
+		return this.total;
+	}
+
+	/**
+     * Finds the station where a point falls when the weights are laid end to end, in the order of the station indexes.
+     * Drawing the point uniformly below the total weight draws a station with a probability proportional to its weight.
+     *
+     * @param point A point between 0 included and the total weight excluded.
+     * @return The index of the station whose weight covers the point.
+     */
+	int find(long point) {
+		int pos = 0;
+		for (int step = this.highestPowerOfTwo; step > 0; step >>= 1) {
+			int next = pos + step;
+			if (next < this.tree.length && this.tree[next] <= point) {
+				pos = next;
+				point -= this.tree[next];
+			}
+		}
+		return pos;
+	}
+}
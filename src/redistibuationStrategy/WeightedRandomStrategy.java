@@ -0,0 +1,154 @@
+package redistibuationStrategy;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import exceptions.RedistribuationNotCompletedException;
+import stations.Station;
+
+/**
+ * A redistribution strategy that moves vehicles between randomly drawn stations, like {@link RandomStrategy},
+ * but draws each station directly among the stations able to give or take a vehicle instead of retrying
+ * until a random station happens to be one of them.
+ * Stations holding more vehicles than half their capacity are donors and stations holding fewer are receivers.
+ * Each is drawn either with the same probability as the others or, if the strategy is weighted, with a probability
+ * proportional to its surplus or its deficit, from a {@link WeightTree} in O(log stations).
+ * As in {@link HeapStrategy}, the trees are maintained incrementally from the stations' occupancy changes,
+ * see {@link IndexedStrategy}.
+ * The draws come from a {@link SplittableRandom}, so a strategy built with a seed makes the same moves on the same network.
+ */
+public class WeightedRandomStrategy extends IndexedStrategy {
+	private final SplittableRandom random;
+	private final boolean weighted;
+	private WeightTree donors;
+	private WeightTree receivers;
+
+	/**
+     * Constructs a weighted strategy with a random seed.
+     */
+	public WeightedRandomStrategy() {
+		this(new SplittableRandom().nextLong(), true);
+	}
+
+	/**
+     * Constructs a strategy.
+     *
+     * @param seed     The seed of the random draws.
+     * @param weighted true to draw stations in proportion to their surplus or deficit, false to draw them uniformly.
+     */
+	public WeightedRandomStrategy(long seed, boolean weighted) {
+		this.random = new SplittableRandom(seed);
+		this.weighted = weighted;
+		this.clearIndex(0);
+	}
+
+	/**
+     * Redistributes vehicles to an empty station.
+     * Vehicles are taken one at a time from a randomly drawn donor until the empty station is sufficiently filled
+     * or no station has a surplus left.
+     *
+     * @param emptyStation The station that is currently empty and needs vehicles.
+     * @param stations     A list of all stations, used for determining where to source vehicles from.
+     * @throws RedistribuationNotCompletedException If the station is still empty afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenEmpty(Station emptyStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.refresh(stations);
+		while (emptyStation.hasInsufficiencyVehicles() && this.donors.total() > 0) {
+			int index = this.donors.find(this.random.nextLong(this.donors.total()));
+			Station donor = this.stations[index];
+			if (donor == emptyStation || !donor.transferVehicleTo(emptyStation)) {
+				this.donors.set(index, 0);
+				this.occupancyChanged(donor);
+				continue;
+			}
+			this.reposition(donor);
+			this.reposition(emptyStation);
+		}
+		if (emptyStation.isEmpty()) {
+			throw (new RedistribuationNotCompletedException("Station has not been completed enough!"));
+		}
+	}
+
+	/**
+     * Redistributes vehicles from a full station.
+     * Vehicles are given one at a time to a randomly drawn receiver until the full station no longer has a surplus
+     * or no station has a deficit left.
+     *
+     * @param fullStation The station that is currently full and needs to offload vehicles.
+     * @param stations    A list of all stations, used for determining where to move the excess vehicles to.
+     * @throws RedistribuationNotCompletedException If the station is still full afterwards.
+     */
+	@Override
+	public synchronized void redistributeWhenFull(Station fullStation, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+		this.refresh(stations);
+		while (fullStation.hasSurplusVehicles() && this.receivers.total() > 0) {
+			int index = this.receivers.find(this.random.nextLong(this.receivers.total()));
+			Station receiver = this.stations[index];
+			if (receiver == fullStation || !fullStation.transferVehicleTo(receiver)) {
+				this.receivers.set(index, 0);
+				this.occupancyChanged(receiver);
+				continue;
+			}
+			this.reposition(receiver);
+			this.reposition(fullStation);
+		}
+		if (fullStation.isFull()) {
+			throw (new RedistribuationNotCompletedException("Station has not been emptied correctly !"));
+		}
+	}
+
+	/**
+     * Replaces the trees with empty ones.
+     *
+     * @param nbStations The number of stations the trees can hold.
+     */
+	@Override
+	protected void clearIndex(int nbStations) {
+		this.donors = new WeightTree(nbStations);
+		this.receivers = new WeightTree(nbStations);
+	}
+
+	/**
+     * Sets the weights of a station according to its current number of vehicles.
+     *
+     * @param index   The position of the station.
+     * @param station The station to update.
+     */
+	@Override
+	protected void update(int index, Station station) {
+		int surplus = station.getNbVehicles() - station.getMaxCapacite() / 2;
+		this.donors.set(index, this.weighted ? surplus : Integer.signum(surplus));
+		this.receivers.set(index, this.weighted ? -surplus : -Integer.signum(surplus));
+	}
+
+	/**
+     * Tells whether stations are drawn in proportion to their surplus or deficit.
+     *
+     * @return true if the strategy is weighted, false if stations are drawn uniformly.
+     */
+	public boolean isWeighted() {
+		return this.weighted;
+	}
+
+	/**
+     * Compares this WeightedRandomStrategy with another object for equality.
+     *
+     * @param o The object to compare with this WeightedRandomStrategy.
+     * @return true if the specified object is also a WeightedRandomStrategy; false otherwise.
+     */
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof WeightedRandomStrategy;
+	}
+
+	/**
+     * Returns a hash code consistent with equals: every WeightedRandomStrategy has the same one.
+     *
+     * @return The hash code of the WeightedRandomStrategy class.
+     */
+	@Override
+	public int hashCode() {
+		return WeightedRandomStrategy.class.hashCode();
+	}
+}
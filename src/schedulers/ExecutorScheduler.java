@@ -0,0 +1,99 @@
+package schedulers;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Scheduler backed by a small pool of daemon threads.
+ * The number of threads is fixed when the scheduler is created and does not depend on
+ * the number of stations or pending tasks. Cancelled tasks are removed from the queue right away.
+ */
+public class ExecutorScheduler implements Scheduler {
+	private static ExecutorScheduler sharedInstance;
+	private final ScheduledThreadPoolExecutor executor;
+
+	/**
+     * Constructs a new ExecutorScheduler with the given number of threads.
+     *
+     * @param nbThreads The number of threads running the scheduled actions.
+     */
+	public ExecutorScheduler(int nbThreads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ScheduledThreadPoolExecutor(nbThreads, runnable -> {
+			Thread thread = new Thread(runnable, "scheduler-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+     * Retrieves the scheduler shared by all stations.
+     * Creates it with a single thread if it does not already exist.
+     *
+     * @return The shared ExecutorScheduler.
+     */
+	public static synchronized ExecutorScheduler getSharedInstance() {
+		if (ExecutorScheduler.sharedInstance == null) {
+			ExecutorScheduler.sharedInstance = new ExecutorScheduler(1);
+		}
+		return ExecutorScheduler.sharedInstance;
+	}
+
+	/**
+     * Schedules an action to be run once after the given delay.
+     * Exceptions escaping the action are printed instead of being silently kept in the future.
+     *
+     * @param action The action to run.
+     * @param delay  The delay in milliseconds before the action runs.
+     * @return A handle that can be used to cancel the action.
+     */
+	@Override
+	public ScheduledTask schedule(Runnable action, long delay) {
+		ScheduledFuture<?> future = this.executor.schedule(() -> {
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+		return new ScheduledTask() {
+			@Override
+			public void cancel() {
+				future.cancel(false);
+			}
+
+			@Override
+			public boolean isCancelled() {
+				return future.isCancelled();
+			}
+		};
+	}
+
+	/**
+     * Gets the number of actions waiting to be run.
+     *
+     * @return The number of pending actions.
+     */
+	public int getNbPendingTasks() {
+		return this.executor.getQueue().size();
+	}
+
+	/**
+     * Gets the number of threads used by this scheduler.
+     *
+     * @return The number of threads.
+     */
+	public int getNbThreads() {
+		return this.executor.getCorePoolSize();
+	}
+
+	/**
+     * Stops the scheduler. Pending actions are dropped.
+     */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+}
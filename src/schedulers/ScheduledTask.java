@@ -0,0 +1,21 @@
+package schedulers;
+
+/**
+ * A handle on a delayed action registered with a {@link Scheduler}.
+ * It allows the owner of the action to cancel it before it runs.
+ */
+public interface ScheduledTask {
+
+	/**
+     * Cancels the task. If the task has not run yet, it will never run.
+     * Cancelling a task that already ran or was already cancelled has no effect.
+     */
+	void cancel();
+
+	/**
+     * Checks if the task has been cancelled.
+     *
+     * @return true if the task has been cancelled, otherwise false.
+     */
+	boolean isCancelled();
+}
@@ -0,0 +1,27 @@
+package schedulers;
+
+/**
+ * The Scheduler interface defines a service able to run actions after a delay.
+ * Stations use it for their delayed redistribution and theft notifications, so that
+ * a whole network can share a single scheduling service instead of one timer per station.
+ */
+public interface Scheduler {
+
+	/**
+     * Schedules an action to be run once after the given delay.
+     *
+     * @param action The action to run.
+     * @param delay  The delay in milliseconds before the action runs.
+     * @return A handle that can be used to cancel the action.
+     */
+	ScheduledTask schedule(Runnable action, long delay);
+
+	/**
+     * Gets the time on the clock the delays are counted on.
+     *
+     * @return The current time in milliseconds, the wall-clock time unless the scheduler has a clock of its own.
+     */
+	default long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,176 @@
+package schedulers;
+
+import java.util.PriorityQueue;
+
+/**
+ * A Scheduler driven by a virtual clock instead of the wall clock, for discrete-event simulation.
+ * Scheduled actions wait in a priority queue ordered by the virtual time they are due at;
+ * running the simulation repeatedly takes the earliest action, moves the clock to its time and runs it.
+ * No time is actually waited, so hours of simulated activity take as long as their actions need to run.
+ * Actions due at the same time run in the order they were scheduled, which makes a run deterministic.
+ * The simulation is meant to be driven by a single thread: actions run on the thread calling
+ * {@link #step()}, {@link #runUntil(long)} or {@link #run()}.
+ */
+public class SimulationScheduler implements Scheduler {
+	private final PriorityQueue<Event> events;
+	private long time;
+	private long nbScheduled;
+	private long nbExecuted;
+	private int nbPending;
+
+	/**
+     * A scheduled action, due at a virtual time.
+     */
+	private class Event implements ScheduledTask, Comparable<Event> {
+		private final Runnable action;
+		private final long dueTime;
+		private final long sequence;
+		private boolean cancelled;
+		private boolean done;
+
+		private Event(Runnable action, long dueTime, long sequence) {
+			this.action = action;
+			this.dueTime = dueTime;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void cancel() {
+			if (!this.cancelled && !this.done) {
+				this.cancelled = true;
+				SimulationScheduler.this.nbPending--;
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			int byTime = Long.compare(this.dueTime, other.dueTime);
+			return byTime != 0 ? byTime : Long.compare(this.sequence, other.sequence);
+		}
+	}
+
+	/**
+     * Constructs a SimulationScheduler whose clock starts at 0.
+     */
+	public SimulationScheduler() {
+		this.events = new PriorityQueue<>();
+	}
+
+	/**
+     * Schedules an action to be run once the virtual clock has advanced by the given delay.
+     * Cancelled actions stay in the queue and are skipped when their time comes.
+     *
+     * @param action The action to run.
+     * @param delay  The delay in virtual milliseconds before the action runs. A negative delay counts as 0.
+     * @return A handle that can be used to cancel the action.
+     */
+	@Override
+	public ScheduledTask schedule(Runnable action, long delay) {
+		Event event = new Event(action, this.time + Math.max(0, delay), this.nbScheduled++);
+		this.events.add(event);
+		this.nbPending++;
+		return event;
+	}
+
+	/**
+     * Runs the earliest pending action, moving the clock to its time.
+     * Exceptions escaping the action are printed so they do not stop the simulation.
+     *
+     * @return true if an action has been run, false if no action is pending.
+     */
+	public boolean step() {
+		Event event = this.nextEvent();
+		if (event == null) {
+			return false;
+		}
+		this.events.poll();
+		this.nbPending--;
+		event.done = true;
+		this.time = event.dueTime;
+		this.nbExecuted++;
+		try {
+			event.action.run();
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+		return true;
+	}
+
+	/**
+     * Runs every action due up to a virtual time, including the actions they schedule in the meantime,
+     * then moves the clock to that time.
+     *
+     * @param endTime The virtual time to stop at, in milliseconds.
+     */
+	public void runUntil(long endTime) {
+		Event event;
+		while ((event = this.nextEvent()) != null && event.dueTime <= endTime) {
+			this.step();
+		}
+		this.time = Math.max(this.time, endTime);
+	}
+
+	/**
+     * Runs actions until none is pending.
+     * An action that always schedules another one keeps the simulation running forever: use {@link #runUntil(long)} instead.
+     */
+	public void run() {
+		while (this.step()) {
+		}
+	}
+
+	/**
+     * Drops the cancelled actions at the head of the queue.
+     *
+     * @return The earliest action that is not cancelled, or null if there is none.
+     */
+	private Event nextEvent() {
+		Event event;
+		while ((event = this.events.peek()) != null && event.cancelled) {
+			this.events.poll();
+		}
+		return event;
+	}
+
+	/**
+     * Gets the current virtual time.
+     *
+     * @return The time elapsed since the start of the simulation, in virtual milliseconds.
+     */
+	public long getTime() {
+		return this.time;
+	}
+
+	/**
+     * Gets the current virtual time, the clock the delays are counted on.
+     *
+     * @return The time elapsed since the start of the simulation, in virtual milliseconds.
+     */
+	@Override
+	public long currentTimeMillis() {
+		return this.time;
+	}
+
+	/**
+     * Gets the number of actions waiting to be run, not counting cancelled ones.
+     *
+     * @return The number of pending actions.
+     */
+	public int getNbPendingTasks() {
+		return this.nbPending;
+	}
+
+	/**
+     * Gets the number of actions run since the start of the simulation.
+     *
+     * @return The number of executed actions.
+     */
+	public long getNbExecutedTasks() {
+		return this.nbExecuted;
+	}
+}
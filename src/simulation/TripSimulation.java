@@ -0,0 +1,268 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import controlCenters.ControlCenter;
+import controlCenters.RepairShop;
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import redistibuationStrategy.HeapStrategy;
+import redistibuationStrategy.RedistributionStrategy;
+import schedulers.Scheduler;
+import schedulers.SimulationScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+/**
+ * Simulates a day of trips on a network of stations run by the control center, on a virtual clock.
+ * Every delayed action of the network (redistributions, thefts, repairs, trips) is scheduled on a
+ * {@link SimulationScheduler}, so a full day runs in the time its actions take to compute,
+ * and two simulations with the same seed give the same results.
+ * Trips start at random times over the day from a random station and end at another random station
+ * after a ride of 5 to 45 minutes; when the destination is full, the rider goes on to the next station.
+ * Broken-down vehicles are sent to the repair shop every hour.
+ * While the simulation runs, the control center only manages the simulated stations; its stations,
+ * strategy, scheduler and repair shop are given back afterwards.
+ */
+public class TripSimulation {
+	/** The duration of a simulated day, in milliseconds. */
+	public static final long DAY = 24L * 60 * 60 * 1000;
+	private static final long MINUTE = 60 * 1000;
+	private static final long HOUR = 60 * MINUTE;
+	private static final double SIDE = 10;
+	private static final int FIRST_VEHICLE_ID = 1_000_000;
+
+	private final int nbStations;
+	private final int nbTrips;
+	private final long seed;
+	private RedistributionStrategy strategy;
+	private long notificationDelay;
+
+	private SimulationScheduler scheduler;
+	private SplittableRandom random;
+	private ArrayList<Station> stations;
+	private ArrayList<Vehicle> fleet;
+	private int nbCompletedTrips;
+	private int nbFailedRents;
+	private int nbRerouted;
+	private int nbStolen;
+	private long nbEvents;
+
+	/**
+     * Constructs a simulation using a HeapStrategy to redistribute the vehicles.
+     *
+     * @param nbStations The number of stations of the network.
+     * @param nbTrips    The number of trips attempted over the day.
+     * @param seed       The seed of the random choices.
+     */
+	public TripSimulation(int nbStations, int nbTrips, long seed) {
+		this.nbStations = nbStations;
+		this.nbTrips = nbTrips;
+		this.seed = seed;
+		this.strategy = new HeapStrategy();
+		this.notificationDelay = 15 * MINUTE;
+	}
+
+	/**
+     * Sets the strategy the control center uses during the simulation.
+     *
+     * @param strategy The redistribution strategy.
+     */
+	public void setStrategy(RedistributionStrategy strategy) {
+		this.strategy = strategy;
+	}
+
+	/**
+     * Sets how long a station stays empty, full or with a single vehicle before the control center reacts.
+     * It is 15 minutes by default.
+     *
+     * @param notificationDelay The notification delay of the stations, in milliseconds.
+     */
+	public void setNotificationDelay(long notificationDelay) {
+		this.notificationDelay = notificationDelay;
+	}
+
+	/**
+     * Runs the simulated day, then lets the trips still under way end.
+     */
+	public void run() {
+		ControlCenter center = ControlCenter.getInstanceControlCenter();
+		ArrayList<Station> previousStations = new ArrayList<>(center.getStations());
+		RedistributionStrategy previousStrategy = center.getStrategy();
+		RepairShop previousRepairShop = center.getRepairShop();
+		Scheduler previousScheduler = center.getScheduler();
+		this.scheduler = new SimulationScheduler();
+		this.random = new SplittableRandom(this.seed);
+		try {
+			center.getStations().clear();
+			center.setScheduler(this.scheduler);
+			center.setStrategy(this.strategy);
+			this.createNetwork(center);
+			for (int i = 0; i < this.nbTrips; i++) {
+				this.scheduler.schedule(this::startTrip, this.random.nextLong(DAY));
+			}
+			this.scheduleRepairs(center, HOUR);
+			this.scheduler.run();
+			this.nbEvents = this.scheduler.getNbExecutedTasks();
+			for (Vehicle vehicle : this.fleet) {
+				if (vehicle.getStateCode() == StateCode.STOLEN) {
+					this.nbStolen++;
+				}
+			}
+		} finally {
+			center.getStations().clear();
+			center.setScheduler(previousScheduler);
+			center.getStations().addAll(previousStations);
+			center.setStrategy(previousStrategy);
+			center.setRepairShop(previousRepairShop);
+		}
+	}
+
+	/**
+     * Creates the stations, spread over a 10 km square with 10 to 19 docks each, half of them filled.
+     * One vehicle out of five is electric.
+     *
+     * @param center The control center managing the stations.
+     */
+	private void createNetwork(ControlCenter center) {
+		this.stations = new ArrayList<>();
+		this.fleet = new ArrayList<>();
+		int vehicleId = FIRST_VEHICLE_ID;
+		for (int i = 0; i < this.nbStations; i++) {
+			Station station = new VeloStation(i + 1, "Station-" + (i + 1), 10 + this.random.nextInt(10));
+			station.setLocation(this.random.nextDouble() * SIDE, this.random.nextDouble() * SIDE);
+			station.setNotificationDelay(this.notificationDelay);
+			for (int j = 0; j < station.getMaxCapacite() / 2; j++) {
+				Vehicle vehicle = this.random.nextInt(5) == 0 ? new ElectricVelo(vehicleId++, station) : new ClassicVelo(vehicleId++, station);
+				station.addVehicle(vehicle);
+				this.fleet.add(vehicle);
+			}
+			center.addStation(station);
+			this.stations.add(station);
+		}
+	}
+
+	/**
+     * Sends the broken-down vehicles to the repair shop periodically until the end of the day.
+     *
+     * @param center The control center.
+     * @param period The time between two visits of the repair shop.
+     */
+	private void scheduleRepairs(ControlCenter center, long period) {
+		this.scheduler.schedule(() -> {
+			center.repairAllVehiclesAsync();
+			if (this.scheduler.getTime() + period < DAY) {
+				this.scheduleRepairs(center, period);
+			}
+		}, period);
+	}
+
+	/**
+     * Rents a vehicle from a random station and schedules the end of the trip.
+     */
+	private void startTrip() {
+		Station origin = this.stations.get(this.random.nextInt(this.stations.size()));
+		long ride = 5 * MINUTE + this.random.nextLong(40 * MINUTE);
+		Vehicle vehicle;
+		try {
+			vehicle = origin.rentVehicle();
+		} catch (StationEmptyException | RedistribuationNotCompletedException e) {
+			this.nbFailedRents++;
+			return;
+		}
+		this.scheduler.schedule(() -> this.endTrip(vehicle), ride);
+	}
+
+	/**
+     * Deposits a vehicle at a random station, or at the next station with a free dock.
+     *
+     * @param vehicle The vehicle of the trip.
+     */
+	private void endTrip(Vehicle vehicle) {
+		int destination = this.random.nextInt(this.stations.size());
+		for (int tries = 0; tries < this.stations.size(); tries++) {
+			Station station = this.stations.get((destination + tries) % this.stations.size());
+			try {
+				station.deposit(vehicle);
+				this.nbCompletedTrips++;
+				return;
+			} catch (StationFullException e) {
+				this.nbRerouted++;
+			} catch (RedistribuationNotCompletedException | StationEmptyException e) {
+				this.nbCompletedTrips++;
+				return;
+			}
+		}
+	}
+
+	/**
+     * Gets the number of trips that ended with the vehicle docked at a station.
+     *
+     * @return The number of completed trips.
+     */
+	public int getNbCompletedTrips() {
+		return this.nbCompletedTrips;
+	}
+
+	/**
+     * Gets the number of trips that could not start because the station had no available vehicle.
+     *
+     * @return The number of failed rents.
+     */
+	public int getNbFailedRents() {
+		return this.nbFailedRents;
+	}
+
+	/**
+     * Gets the number of times a rider found the destination full and went on to the next station.
+     *
+     * @return The number of reroutes.
+     */
+	public int getNbRerouted() {
+		return this.nbRerouted;
+	}
+
+	/**
+     * Gets the number of vehicles of the fleet stolen during the simulation.
+     *
+     * @return The number of stolen vehicles.
+     */
+	public int getNbStolen() {
+		return this.nbStolen;
+	}
+
+	/**
+     * Gets the number of scheduled actions run during the simulation.
+     *
+     * @return The number of simulated events.
+     */
+	public long getNbEvents() {
+		return this.nbEvents;
+	}
+
+	/**
+     * Gets the number of vehicles of the simulated fleet.
+     *
+     * @return The size of the fleet.
+     */
+	public int getFleetSize() {
+		return this.fleet == null ? 0 : this.fleet.size();
+	}
+
+	/**
+     * Summarizes the results of the simulation.
+     *
+     * @return A one-line summary.
+     */
+	@Override
+	public String toString() {
+		return String.format("%d stations, %d vehicles, %d trips: %d completed, %d failed rents, %d reroutes, %d stolen, %d events",
+				this.nbStations, this.getFleetSize(), this.nbTrips, this.nbCompletedTrips, this.nbFailedRents, this.nbRerouted, this.nbStolen, this.nbEvents);
+	}
+}
@@ -0,0 +1,159 @@
+package stations;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import constants.Constants;
+import schedulers.ScheduledTask;
+import schedulers.Scheduler;
+
+/**
+ * The ChargingScheduler charges the electric bikes docked at a set of stations, one tick at a time.
+ * On each tick, every station shares its power budget between its available electric bikes,
+ * the next one to be rented first (see {@link Station#chargeElectricVelos(int)}).
+ *
+ * A tick only visits the stations that may have a bike to charge: the stations still charging after the last tick,
+ * and the stations whose vehicles changed since, which the scheduler learns about as an {@link OccupancyListener}.
+ * A network of thousands of stations where few bikes move between two ticks is thus charged in a few station visits.
+ * Ticks run on a {@link Scheduler}, so a simulation can charge on its virtual clock.
+ */
+public class ChargingScheduler implements OccupancyListener {
+	private final Scheduler scheduler;
+	private final long interval;
+	private final int maxRate;
+	private final Set<Station> changed;
+	private final LinkedHashSet<Station> charging;
+	private ScheduledTask task;
+	private long nbStationVisits;
+
+	/**
+     * Constructs a charging scheduler ticking every {@link Constants#CHARGING_INTERVAL} milliseconds
+     * and charging a bike by at most {@link Constants#ELECTRIC_VELO_CHARGING_RATE} points per tick.
+     *
+     * @param scheduler The scheduler the ticks run on.
+     */
+	public ChargingScheduler(Scheduler scheduler) {
+		this(scheduler, Constants.CHARGING_INTERVAL, Constants.ELECTRIC_VELO_CHARGING_RATE);
+	}
+
+	/**
+     * Constructs a charging scheduler.
+     *
+     * @param scheduler The scheduler the ticks run on.
+     * @param interval  The time in milliseconds between two ticks.
+     * @param maxRate   The most battery points a single bike takes in one tick.
+     */
+	public ChargingScheduler(Scheduler scheduler, long interval, int maxRate) {
+		this.scheduler = scheduler;
+		this.interval = interval;
+		this.maxRate = maxRate;
+		this.changed = ConcurrentHashMap.newKeySet();
+		this.charging = new LinkedHashSet<>();
+	}
+
+	/**
+     * Starts charging the bikes of a station.
+     *
+     * @param station The station.
+     */
+	public void watch(Station station) {
+		station.addOccupancyListener(this);
+		this.changed.add(station);
+	}
+
+	/**
+     * Starts charging the bikes of several stations.
+     *
+     * @param stations The stations.
+     */
+	public void watchAll(Collection<? extends Station> stations) {
+		for (Station station : stations) {
+			this.watch(station);
+		}
+	}
+
+	/**
+     * Stops charging the bikes of a station.
+     *
+     * @param station The station.
+     */
+	public synchronized void unwatch(Station station) {
+		station.removeOccupancyListener(this);
+		this.changed.remove(station);
+		this.charging.remove(station);
+	}
+
+	/**
+     * Called by a watched station when a vehicle is docked or leaves: the station is visited on the next tick.
+     *
+     * @param station The station.
+     */
+	@Override
+	public void occupancyChanged(Station station) {
+		this.changed.add(station);
+	}
+
+	/**
+     * Runs one charging tick over the stations that may have a bike to charge.
+     *
+     * @return The number of stations visited.
+     */
+	public synchronized int tick() {
+		for (Iterator<Station> it = this.changed.iterator(); it.hasNext();) {
+			this.charging.add(it.next());
+			it.remove();
+		}
+		int nbVisited = this.charging.size();
+		this.charging.removeIf(station -> !station.chargeElectricVelos(this.maxRate));
+		this.nbStationVisits += nbVisited;
+		return nbVisited;
+	}
+
+	/**
+     * Starts ticking every interval. Does nothing if the scheduler is already started.
+     */
+	public synchronized void start() {
+		if (this.task == null) {
+			this.task = this.scheduler.schedule(this::periodicTick, this.interval);
+		}
+	}
+
+	/**
+     * Stops ticking.
+     */
+	public synchronized void stop() {
+		if (this.task != null) {
+			this.task.cancel();
+			this.task = null;
+		}
+	}
+
+	private synchronized void periodicTick() {
+		if (this.task == null) {
+			return;
+		}
+		this.tick();
+		this.task = this.scheduler.schedule(this::periodicTick, this.interval);
+	}
+
+	/**
+     * Gets the number of stations still charging after the last tick.
+     *
+     * @return The number of stations.
+     */
+	public synchronized int getNbChargingStations() {
+		return this.charging.size();
+	}
+
+	/**
+     * Gets the number of station visits of all the ticks so far.
+     *
+     * @return The number of visits.
+     */
+	public synchronized long getNbStationVisits() {
+		return this.nbStationVisits;
+	}
+}
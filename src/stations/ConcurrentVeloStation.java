@@ -0,0 +1,76 @@
+package stations;
+
+import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+import vehicles.Vehicle;
+
+/**
+ * A VeloStation that can be used by many threads at once.
+ * Every rent, deposit, theft, addition, removal and transfer runs under the station's own lock,
+ * so the capacity and the vehicle count stay consistent under contention while operations on
+ * different stations proceed in parallel. Transfers lock both stations in a fixed order.
+ * Observers are notified after the lock is released.
+ */
+public class ConcurrentVeloStation extends VeloStation {
+	private final ReentrantLock stationLock;
+
+	/**
+     * Constructs a new ConcurrentVeloStation with the specified ID, name, and maximum capacity.
+     *
+     * @param id The unique identifier of the station.
+     * @param name The name of the station.
+     * @param maxCapacite The maximum capacity of bikes (velos) that the station can accommodate.
+     */
+	public ConcurrentVeloStation(int id, String name, int maxCapacite) {
+		super(id, name, maxCapacite);
+		this.stationLock = new ReentrantLock();
+	}
+
+	/**
+     * Acquires the station's lock.
+     */
+	@Override
+	protected void lock() {
+		this.stationLock.lock();
+	}
+
+	/**
+     * Releases the station's lock.
+     */
+	@Override
+	protected void unlock() {
+		this.stationLock.unlock();
+	}
+
+	/**
+     * Gets a copy of the list of vehicles docked at the station, taken under the station's lock.
+     * Changes made to the returned list do not affect the station.
+     *
+     * @return A snapshot of the vehicles at the station.
+     */
+	@Override
+	public ArrayList<Vehicle> getVehicles() {
+		this.lock();
+		try {
+			return new ArrayList<Vehicle>(this.vehicles);
+		} finally {
+			this.unlock();
+		}
+	}
+
+	/**
+     * Gets the number of vehicles docked at the station that can currently be rented.
+     *
+     * @return The number of available vehicles at the station.
+     */
+	@Override
+	public int getNbAvailableVehicles() {
+		this.lock();
+		try {
+			return super.getNbAvailableVehicles();
+		} finally {
+			this.unlock();
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package stations;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import utils.IntIndex;
+import vehicles.Vehicle;
+
+/**
+ * The vehicles docked at a station, the most recently docked first, in an array used as a deque
+ * together with an index from vehicle IDs to array slots.
+ * Docking a vehicle at the head, undocking the head vehicle and undocking any given vehicle all take O(1)
+ * amortized time, whatever the number of docks: a vehicle undocked from the middle leaves an empty slot behind,
+ * and the vehicles are packed again once the empty slots outnumber them.
+ * The index is an {@link IntIndex} from vehicle IDs to slots whose entries are compared by identity,
+ * so vehicles sharing an ID can be docked together.
+ *
+ * The list itself is read-only for other classes; the station changes it while holding its lock.
+ */
+class DockList extends AbstractList<Vehicle> {
+	private static final int MIN_CAPACITY = 8;
+
+	private Vehicle[] slots;
+	private int head;
+	private int end;
+	private int size;
+	private final IntIndex index;
+
+	/**
+     * Constructs an empty list.
+     */
+	DockList() {
+		this.index = new IntIndex(MIN_CAPACITY) {
+			@Override
+			protected int keyOf(int slot) {
+				return DockList.this.slots[slot].getId();
+			}
+		};
+		this.repack(MIN_CAPACITY);
+	}
+
+	/**
+     * Gets the vehicle at the head of the list.
+     *
+     * @return The most recently docked vehicle, or null if the list is empty.
+     */
+	Vehicle first() {
+		return this.size == 0 ? null : this.slots[this.head];
+	}
+
+	/**
+     * Docks a vehicle at the head of the list.
+     *
+     * @param vehicle The vehicle.
+     */
+	void dockFirst(Vehicle vehicle) {
+		if (this.head == 0) {
+			this.repack(Math.max(MIN_CAPACITY, 2 * this.size + 2));
+		}
+		this.slots[--this.head] = vehicle;
+		this.size++;
+		this.modCount++;
+		this.index.add(this.head);
+	}
+
+	/**
+     * Undocks the vehicle at the head of the list.
+     *
+     * @return The vehicle, or null if the list is empty.
+     */
+	Vehicle undockFirst() {
+		if (this.size == 0) {
+			return null;
+		}
+		Vehicle vehicle = this.slots[this.head];
+		this.removeEntry(this.find(vehicle, true));
+		return vehicle;
+	}
+
+	/**
+     * Undocks this exact vehicle instance.
+     *
+     * @param vehicle The vehicle.
+     * @return true if the vehicle was in the list, otherwise false.
+     */
+	boolean undock(Vehicle vehicle) {
+		int entry = this.find(vehicle, true);
+		if (entry < 0) {
+			return false;
+		}
+		this.removeEntry(entry);
+		return true;
+	}
+
+	/**
+     * Tells whether this exact vehicle instance is in the list.
+     *
+     * @param vehicle The vehicle.
+     * @return true if the vehicle is in the list, otherwise false.
+     */
+	boolean isDocked(Vehicle vehicle) {
+		return this.find(vehicle, true) >= 0;
+	}
+
+	/**
+     * Finds the docked vehicle standing for a given one: the vehicle itself if it is docked,
+     * otherwise a docked vehicle equal to it, that is with the same ID.
+     *
+     * @param vehicle The vehicle.
+     * @return The docked vehicle, or null if no docked vehicle is equal to it.
+     */
+	Vehicle find(Vehicle vehicle) {
+		int entry = this.find(vehicle, true);
+		if (entry < 0) {
+			entry = this.find(vehicle, false);
+		}
+		return entry < 0 ? null : this.slots[this.index.positionAt(entry)];
+	}
+
+	/**
+     * Finds the entry of the index pointing to a vehicle.
+     *
+     * @param vehicle    The vehicle.
+     * @param sameVehicle true to match this exact instance, false to match any vehicle with the same ID.
+     * @return The position of the entry in the index, or -1 if there is none.
+     */
+	private int find(Vehicle vehicle, boolean sameVehicle) {
+		int id = vehicle.getId();
+		int entry = this.index.find(id);
+		if (sameVehicle) {
+			while (entry >= 0 && this.slots[this.index.positionAt(entry)] != vehicle) {
+				entry = this.index.findNext(id, entry);
+			}
+		}
+		return entry;
+	}
+
+	/**
+     * Removes a vehicle given its entry in the index.
+     *
+     * @param entry The position of the vehicle's entry in the index.
+     */
+	private void removeEntry(int entry) {
+		int slot = this.index.positionAt(entry);
+		this.index.removeAt(entry);
+		this.slots[slot] = null;
+		this.size--;
+		this.modCount++;
+		while (this.head < this.end && this.slots[this.head] == null) {
+			this.head++;
+		}
+		while (this.end > this.head && this.slots[this.end - 1] == null) {
+			this.end--;
+		}
+		if (this.end - this.head - this.size > this.size + MIN_CAPACITY) {
+			this.repack(Math.max(MIN_CAPACITY, 2 * this.size + 2));
+		}
+	}
+
+	/**
+     * Moves the vehicles, in order and without empty slots, to the end of a new array and rebuilds the index.
+     *
+     * @param capacity The length of the new array, larger than the number of vehicles.
+     */
+	private void repack(int capacity) {
+		Vehicle[] slots = new Vehicle[capacity];
+		int slot = capacity - this.size;
+		for (int i = this.head; i < this.end; i++) {
+			if (this.slots[i] != null) {
+				slots[slot++] = this.slots[i];
+			}
+		}
+		this.slots = slots;
+		this.head = capacity - this.size;
+		this.end = capacity;
+		this.index.clear(capacity);
+		for (int i = this.head; i < this.end; i++) {
+			this.index.add(i);
+		}
+	}
+
+	/**
+     * Gets the vehicle at a given position, 0 being the head of the list.
+     * The first and the last vehicles take O(1) time. Any other position takes O(1) time too,
+     * unless vehicles were undocked from the middle of the list since it was last packed:
+     * the vehicles before it are then counted one by one, in O(number of docks) time,
+     * so go through the list with its iterator rather than by position.
+     *
+     * @param index The position of the vehicle.
+     * @return The vehicle.
+     */
+	@Override
+	public Vehicle get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+		}
+		if (this.end - this.head == this.size || index == 0) {
+			return this.slots[this.head + index];
+		}
+		if (index == this.size - 1) {
+			return this.slots[this.end - 1];
+		}
+		for (int i = this.head;; i++) {
+			if (this.slots[i] != null && index-- == 0) {
+				return this.slots[i];
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+     * Tells whether a vehicle equal to the given one, that is with the same ID, is in the list, in O(1) time.
+     *
+     * @param o The object to look for.
+     * @return true if an equal vehicle is in the list, otherwise false.
+     */
+	@Override
+	public boolean contains(Object o) {
+		return o instanceof Vehicle && this.find((Vehicle) o) != null;
+	}
+
+	@Override
+	public Iterator<Vehicle> iterator() {
+		return new Iterator<Vehicle>() {
+			private final int expectedModCount = DockList.this.modCount;
+			private int next = DockList.this.head;
+
+			@Override
+			public boolean hasNext() {
+				return this.next < DockList.this.end;
+			}
+
+			@Override
+			public Vehicle next() {
+				if (DockList.this.modCount != this.expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (this.next >= DockList.this.end) {
+					throw new NoSuchElementException();
+				}
+				Vehicle vehicle = DockList.this.slots[this.next++];
+				while (this.next < DockList.this.end && DockList.this.slots[this.next] == null) {
+					this.next++;
+				}
+				return vehicle;
+			}
+		};
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] vehicles = new Object[this.size];
+		int i = 0;
+		for (Vehicle vehicle : this) {
+			vehicles[i++] = vehicle;
+		}
+		return vehicles;
+	}
+}
@@ -0,0 +1,182 @@
+package stations;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The NetworkOccupancy keeps running totals over a set of stations: how many have surplus or insufficient vehicles,
+ * how many are empty or full, and how many docks are free and vehicles docked or available overall.
+ * It is an {@link OccupancyListener} of the stations it tracks, and each change of a station only applies the
+ * difference with what the station held before, so reading a total costs the same whatever the number of stations.
+ * A redistribution strategy can thus learn in constant time that no station can give or take a vehicle.
+ *
+ * A station changing while {@link #track(Collection)} runs may be counted with its previous occupancy until it changes again.
+ */
+public class NetworkOccupancy implements OccupancyListener {
+	private static final int SURPLUS = 1;
+	private static final int DEFICIT = 2;
+	private static final int EMPTY = 4;
+	private static final int FULL = 8;
+
+	/**
+	 * What the totals currently count for a station. Only updated while the station is locked.
+	 */
+	private static final class Tally {
+		int nbVehicles;
+		int nbAvailable;
+		int freeDocks;
+		int flags;
+	}
+
+	private volatile IdentityHashMap<Station, Tally> tallies = new IdentityHashMap<>();
+	private final AtomicInteger nbSurplusStations = new AtomicInteger();
+	private final AtomicInteger nbDeficitStations = new AtomicInteger();
+	private final AtomicInteger nbEmptyStations = new AtomicInteger();
+	private final AtomicInteger nbFullStations = new AtomicInteger();
+	private final AtomicLong nbFreeDocks = new AtomicLong();
+	private final AtomicLong nbVehicles = new AtomicLong();
+	private final AtomicLong nbAvailableVehicles = new AtomicLong();
+
+	/**
+     * Starts tracking a new set of stations, in place of the stations tracked so far.
+     * The totals are counted again from scratch, in a time linear in the number of stations.
+     *
+     * @param stations The stations to track.
+     */
+	public synchronized void track(Collection<? extends Station> stations) {
+		for (Station station : this.tallies.keySet()) {
+			station.removeOccupancyListener(this);
+		}
+		this.tallies = new IdentityHashMap<>();
+		this.nbSurplusStations.set(0);
+		this.nbDeficitStations.set(0);
+		this.nbEmptyStations.set(0);
+		this.nbFullStations.set(0);
+		this.nbFreeDocks.set(0);
+		this.nbVehicles.set(0);
+		this.nbAvailableVehicles.set(0);
+		IdentityHashMap<Station, Tally> tallies = new IdentityHashMap<>();
+		for (Station station : stations) {
+			tallies.put(station, new Tally());
+		}
+		this.tallies = tallies;
+		for (Station station : tallies.keySet()) {
+			station.addOccupancyListener(this);
+			this.occupancyChanged(station);
+		}
+	}
+
+	/**
+     * Called by a tracked station when its occupancy changed: the totals are updated by the difference.
+     *
+     * @param station The station.
+     */
+	@Override
+	public void occupancyChanged(Station station) {
+		Tally tally = this.tallies.get(station);
+		if (tally == null) {
+			return;
+		}
+		int nbVehicles = station.getNbVehicles();
+		int nbAvailable = station.getNbAvailableVehicles();
+		int freeDocks = station.getMaxCapacite() - nbVehicles;
+		int flags = (station.hasSurplusVehicles() ? SURPLUS : 0) | (station.hasInsufficiencyVehicles() ? DEFICIT : 0)
+				| (station.isEmpty() ? EMPTY : 0) | (station.isFull() ? FULL : 0);
+		this.nbVehicles.addAndGet(nbVehicles - tally.nbVehicles);
+		this.nbAvailableVehicles.addAndGet(nbAvailable - tally.nbAvailable);
+		this.nbFreeDocks.addAndGet(freeDocks - tally.freeDocks);
+		int changedFlags = flags ^ tally.flags;
+		if (changedFlags != 0) {
+			update(this.nbSurplusStations, SURPLUS, flags, changedFlags);
+			update(this.nbDeficitStations, DEFICIT, flags, changedFlags);
+			update(this.nbEmptyStations, EMPTY, flags, changedFlags);
+			update(this.nbFullStations, FULL, flags, changedFlags);
+		}
+		tally.nbVehicles = nbVehicles;
+		tally.nbAvailable = nbAvailable;
+		tally.freeDocks = freeDocks;
+		tally.flags = flags;
+	}
+
+	private static void update(AtomicInteger counter, int flag, int flags, int changedFlags) {
+		if ((changedFlags & flag) != 0) {
+			counter.addAndGet((flags & flag) != 0 ? 1 : -1);
+		}
+	}
+
+	/**
+     * Gets the number of stations tracked.
+     *
+     * @return The number of stations.
+     */
+	public int getNbStations() {
+		return this.tallies.size();
+	}
+
+	/**
+     * Gets the number of tracked stations more than half full, which can give vehicles away.
+     *
+     * @return The number of stations.
+     * @see Station#hasSurplusVehicles()
+     */
+	public int getNbSurplusStations() {
+		return this.nbSurplusStations.get();
+	}
+
+	/**
+     * Gets the number of tracked stations less than half full, which can take vehicles in.
+     *
+     * @return The number of stations.
+     * @see Station#hasInsufficiencyVehicles()
+     */
+	public int getNbDeficitStations() {
+		return this.nbDeficitStations.get();
+	}
+
+	/**
+     * Gets the number of tracked stations without any vehicle docked.
+     *
+     * @return The number of stations.
+     */
+	public int getNbEmptyStations() {
+		return this.nbEmptyStations.get();
+	}
+
+	/**
+     * Gets the number of tracked stations without any free dock.
+     *
+     * @return The number of stations.
+     */
+	public int getNbFullStations() {
+		return this.nbFullStations.get();
+	}
+
+	/**
+     * Gets the number of free docks over all the tracked stations.
+     *
+     * @return The number of docks.
+     */
+	public long getNbFreeDocks() {
+		return this.nbFreeDocks.get();
+	}
+
+	/**
+     * Gets the number of vehicles docked over all the tracked stations, available or not.
+     *
+     * @return The number of vehicles.
+     */
+	public long getNbVehicles() {
+		return this.nbVehicles.get();
+	}
+
+	/**
+     * Gets the number of vehicles that can be rented over all the tracked stations.
+     *
+     * @return The number of vehicles.
+     */
+	public long getNbAvailableVehicles() {
+		return this.nbAvailableVehicles.get();
+	}
+}
@@ -0,0 +1,17 @@
+package stations;
+
+/**
+ * The OccupancyListener interface is implemented by objects that keep track of how many vehicles stations hold.
+ * Listeners are called by the station, while it still holds its lock, each time a vehicle is docked or leaves
+ * and each time a docked vehicle becomes available or unavailable,
+ * so they must return quickly and must not call back into stations.
+ */
+public interface OccupancyListener {
+
+	/**
+     * Called after the number of vehicles docked at a station, or the number of them available, has changed.
+     *
+     * @param station The station whose occupancy changed.
+     */
+	void occupancyChanged(Station station);
+}
@@ -0,0 +1,44 @@
+package stations;
+
+/**
+ * The RateEstimator keeps an exponentially weighted estimate of how often an event happens.
+ * Each event adds to the estimate and the estimate decays exponentially with time, so recent events weigh more
+ * than old ones and a burst fades out after a few time constants. Recording an event and reading the rate
+ * are both a handful of arithmetic operations, whatever the number of events recorded so far.
+ * An estimator is not thread-safe; a station only uses its estimators while it is locked.
+ */
+public class RateEstimator {
+	private final double timeConstant;
+	private double rate;
+	private long lastTime;
+
+	/**
+     * Constructs an estimator with a rate of zero.
+     *
+     * @param timeConstant The time in milliseconds over which the weight of an event drops to 1/e.
+     */
+	public RateEstimator(long timeConstant) {
+		this.timeConstant = timeConstant;
+	}
+
+	/**
+     * Records an event.
+     *
+     * @param time The time of the event, in milliseconds.
+     */
+	public void record(long time) {
+		this.rate = this.getRate(time) + 1 / this.timeConstant;
+		this.lastTime = Math.max(this.lastTime, time);
+	}
+
+	/**
+     * Gets the estimated rate at a given time.
+     *
+     * @param time The time, in milliseconds.
+     * @return The rate, in events per millisecond.
+     */
+	public double getRate(long time) {
+		long elapsed = time - this.lastTime;
+		return elapsed <= 0 ? this.rate : this.rate * Math.exp(-elapsed / this.timeConstant);
+	}
+}
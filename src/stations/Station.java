@@ -1,18 +1,26 @@
 package stations;
 
 import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import constants.Constants;
 import controlCenters.ControlCenter;
+import controlCenters.StationEvent;
+import controlCenters.VehicleRegistry;
 import exceptions.RedistribuationNotCompletedException;
 import exceptions.StationEmptyException;
 import exceptions.StationFullException;
+import metrics.Metrics;
+import persistence.Journal;
+import persistence.JournalRecord;
 import persons.AbstractPerson;
-import vehicleDecorators.Decorator;
+import schedulers.ExecutorScheduler;
+import schedulers.ScheduledTask;
+import schedulers.Scheduler;
 import vehicles.ElectricVelo;
 import vehicles.Vehicle;
-import vehiclesState.Disponible;
+import vehiclesState.StateCode;
 
 /**
  * The `Station` class represents a location in the transportation system
@@ -22,13 +30,25 @@ import vehiclesState.Disponible;
 public abstract class Station {
     protected String name;
     protected int stationID;
-    protected int nbVehicles;
+    protected volatile int nbVehicles;
     protected int maxCapacite;
-    protected ArrayList<Vehicle> vehicles;
-    protected Timer timer;
-	protected TimerTask task;
-    protected boolean timeToRedistibuate;
-	protected boolean timeToSteal;
+    protected double x;
+    protected double y;
+    protected DockList vehicles;
+    protected DockList availableVehicles;
+    protected Scheduler scheduler;
+	protected ScheduledTask task;
+    protected volatile boolean timeToRedistibuate;
+	protected volatile boolean timeToSteal;
+	private volatile OccupancyListener[] occupancyListeners;
+	private volatile long notificationDelay;
+	private volatile int chargingPower;
+	private final RateEstimator rentRate;
+	private final RateEstimator depositRate;
+	private volatile long predictionHorizon;
+	private volatile boolean shortagePredicted;
+	private volatile Journal journal;
+	private volatile ControlCenter controlCenter;
 	
 	/**
      * Constructs a new `Station` with the specified ID, name, and maximum capacity.
@@ -41,11 +61,17 @@ public abstract class Station {
     	this.name=name;
     	this.stationID=id;
     	this.maxCapacite=maxCapacite;
-    	this.vehicles = new ArrayList<Vehicle>();
-    	this.timer = new Timer();
+    	this.vehicles = new DockList();
+    	this.availableVehicles = new DockList();
+    	this.scheduler = ExecutorScheduler.getSharedInstance();
     	this.timeToRedistibuate=false;
     	this.timeToSteal=false;
     	this.nbVehicles=0;
+    	this.occupancyListeners = new OccupancyListener[0];
+    	this.notificationDelay = Constants.INTERVAL * 2;
+    	this.chargingPower = Constants.STATION_CHARGING_POWER;
+    	this.rentRate = new RateEstimator(Constants.FLOW_TIME_CONSTANT);
+    	this.depositRate = new RateEstimator(Constants.FLOW_TIME_CONSTANT);
 	}
 
     /**
@@ -83,6 +109,47 @@ public abstract class Station {
     public int getMaxCapacite() {
         return this.maxCapacite;
     }
+
+    /**
+     * Gets the X coordinate of the station, in the same unit as {@link #distanceTo(Station)}.
+     *
+     * @return The X coordinate of the station.
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * Gets the Y coordinate of the station, in the same unit as {@link #distanceTo(Station)}.
+     *
+     * @return The Y coordinate of the station.
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * Places the station. Stations are at the origin until they are placed.
+     *
+     * @param x The X coordinate of the station.
+     * @param y The Y coordinate of the station.
+     */
+    public void setLocation(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Computes the straight-line distance between this station and another one.
+     *
+     * @param other The other station.
+     * @return The distance between the two stations.
+     */
+    public double distanceTo(Station other) {
+        double dx = this.x - other.x;
+        double dy = this.y - other.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
     
     /**
 	 * Sets the flag indicating whether it's time to redistribute vehicles.
@@ -103,41 +170,543 @@ public abstract class Station {
 	}
 
 	/**
-	 * Gets the list of vehicles currently available at the station.
+	 * Gets the scheduler used for the station's delayed notifications.
+	 *
+	 * @return The scheduler of the station.
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+	/**
+	 * Sets the scheduler used for the station's delayed notifications.
+	 * By default every station uses the shared {@link ExecutorScheduler}.
+	 *
+	 * @param scheduler The scheduler to use.
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Gets how long the station waits in a situation (empty, full, one vehicle left) before notifying the control center.
+	 *
+	 * @return The notification delay, in milliseconds.
+	 */
+	public long getNotificationDelay() {
+		return this.notificationDelay;
+	}
+
+	/**
+	 * Sets how long the station waits in a situation (empty, full, one vehicle left) before notifying the control center.
+	 * It is twice {@link Constants#INTERVAL} by default; a simulation on a virtual clock can use a realistic delay instead.
+	 *
+	 * @param notificationDelay The notification delay, in milliseconds.
+	 */
+	public void setNotificationDelay(long notificationDelay) {
+		this.notificationDelay = notificationDelay;
+	}
+
+	/**
+	 * Gets how far ahead the station looks for a shortage before asking for a redistribution.
+	 *
+	 * @return The prediction horizon in milliseconds, 0 if the station does not predict shortages.
+	 */
+	public long getPredictionHorizon() {
+		return this.predictionHorizon;
+	}
+
+	/**
+	 * Sets how far ahead the station looks for a shortage. After each rent and deposit, a station predicted
+	 * to become empty or full within the horizon publishes an event to its control center, which redistributes
+	 * its vehicles before riders find it empty or full. The station publishes again only once the prediction
+	 * has gone back beyond the horizon.
+	 *
+	 * @param predictionHorizon The prediction horizon in milliseconds, 0 to stop predicting shortages.
+	 */
+	public void setPredictionHorizon(long predictionHorizon) {
+		this.predictionHorizon = predictionHorizon;
+	}
+
+	/**
+	 * Gets the estimated number of rents per millisecond at the station, an exponentially weighted average
+	 * over about {@link Constants#FLOW_TIME_CONSTANT} milliseconds, on the clock of the station's scheduler.
+	 *
+	 * @return The rent rate, in vehicles per millisecond.
+	 */
+	public double getRentRate() {
+		long now = this.scheduler.currentTimeMillis();
+		this.lock();
+		try {
+			return this.rentRate.getRate(now);
+		} finally {
+			this.unlock();
+		}
+	}
+
+	/**
+	 * Gets the estimated number of deposits per millisecond at the station, an exponentially weighted average
+	 * over about {@link Constants#FLOW_TIME_CONSTANT} milliseconds, on the clock of the station's scheduler.
+	 *
+	 * @return The deposit rate, in vehicles per millisecond.
+	 */
+	public double getDepositRate() {
+		long now = this.scheduler.currentTimeMillis();
+		this.lock();
+		try {
+			return this.depositRate.getRate(now);
+		} finally {
+			this.unlock();
+		}
+	}
+
+	/**
+	 * Predicts how long the station takes to become empty at the current rent and deposit rates.
+	 *
+	 * @return The time in milliseconds, or Long.MAX_VALUE if more vehicles are deposited than rented.
+	 */
+	public long predictTimeToEmpty() {
+		double outflow = this.getRentRate() - this.getDepositRate();
+		return outflow > 0 ? (long) (this.getNbVehicles() / outflow) : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Predicts how long the station takes to become full at the current rent and deposit rates.
+	 *
+	 * @return The time in milliseconds, or Long.MAX_VALUE if more vehicles are rented than deposited.
+	 */
+	public long predictTimeToFull() {
+		double inflow = this.getDepositRate() - this.getRentRate();
+		return inflow > 0 ? (long) ((this.getMaxCapacite() - this.getNbVehicles()) / inflow) : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Publishes a predicted shortage to the control center if the station is predicted to become empty or full
+	 * within its horizon. A station already empty or full is left to the usual notifications.
+	 */
+	private void publishPredictedShortage() {
+		long horizon = this.predictionHorizon;
+		if (horizon <= 0 || this.isEmpty() || this.isFull()) {
+			return;
+		}
+		boolean toEmpty = this.predictTimeToEmpty() <= horizon;
+		if (!toEmpty && this.predictTimeToFull() > horizon) {
+			this.shortagePredicted = false;
+			return;
+		}
+		if (this.shortagePredicted) {
+			return;
+		}
+		this.shortagePredicted = true;
+		Metrics.getInstance().increment(Metrics.Counter.PREDICTED_SHORTAGES);
+		try {
+			this.getControlCenter().publish(new StationEvent(toEmpty ? StationEvent.Type.PREDICTED_EMPTY : StationEvent.Type.PREDICTED_FULL, this, null));
+		} catch (RedistribuationNotCompletedException | StationEmptyException e) {
+			// the control center counts the failure, and the station still notifies it if it does become empty or full
+		}
+	}
+
+	/**
+	 * Gets the power budget the station shares between its docked electric bikes on each charging tick.
+	 *
+	 * @return The power budget, in battery points per tick.
+	 */
+	public int getChargingPower() {
+		return this.chargingPower;
+	}
+
+	/**
+	 * Sets the power budget the station shares between its docked electric bikes on each charging tick.
+	 * It is {@link Constants#STATION_CHARGING_POWER} by default; 0 turns charging off at the station.
+	 *
+	 * @param chargingPower The power budget, in battery points per tick.
+	 */
+	public void setChargingPower(int chargingPower) {
+		this.chargingPower = chargingPower;
+	}
+
+	/**
+	 * Charges the available electric bikes docked at the station for one tick, sharing the station's power budget
+	 * between them. The bikes are served in the order they are rented in, the next one to be rented first,
+	 * and each one takes at most a given number of battery points.
+	 * The station is locked while charging, so no bike is rented halfway through.
+	 *
+	 * @param maxRate The most battery points a single bike takes in one tick.
+	 * @return true if an available electric bike is still not fully charged, otherwise false.
+	 */
+	public boolean chargeElectricVelos(int maxRate) {
+		this.lock();
+		try {
+			int budget = this.chargingPower;
+			boolean charging = false;
+			for (Vehicle vehicle : this.availableVehicles) {
+				ElectricVelo electricVelo = vehicle.getElectricVelo();
+				if (electricVelo == null || electricVelo.getBatteryLevel() >= 100) {
+					continue;
+				}
+				if (budget == 0) {
+					return true;
+				}
+				int charge = Math.min(Math.min(100 - electricVelo.getBatteryLevel(), maxRate), budget);
+				electricVelo.setBatteryLevel(electricVelo.getBatteryLevel() + charge);
+				budget -= charge;
+				charging |= electricVelo.getBatteryLevel() < 100;
+			}
+			return charging;
+		} finally {
+			this.unlock();
+		}
+	}
+
+	/**
+	 * Gets the control center the station publishes its events to.
 	 *
-	 * @return An ArrayList of Vehicle objects at the station.
+	 * @return The control center the station has been added to, or the shared control center if it has not been added to any.
 	 */
-    public ArrayList<Vehicle> getVehicles() {
+	public ControlCenter getControlCenter() {
+		ControlCenter center = this.controlCenter;
+		return center != null ? center : ControlCenter.getInstanceControlCenter();
+	}
+
+	/**
+	 * Sets the control center the station publishes its events to. Called by the control center the station is added to.
+	 *
+	 * @param controlCenter The control center, or null to publish to the shared control center.
+	 */
+	public void setControlCenter(ControlCenter controlCenter) {
+		this.controlCenter = controlCenter;
+	}
+
+	/**
+	 * Gets the journal the rents, deposits, thefts and transfers of the station are appended to.
+	 *
+	 * @return The journal, or null if the station is not journaled.
+	 */
+	public Journal getJournal() {
+		return this.journal;
+	}
+
+	/**
+	 * Sets the journal the rents, deposits, thefts and transfers of the station are appended to.
+	 * The records are appended while the station is locked, so they are in the order the operations took effect.
+	 *
+	 * @param journal The journal, or null to stop journaling the station.
+	 */
+	public void setJournal(Journal journal) {
+		this.journal = journal;
+	}
+
+	private void journal(JournalRecord.Type type, Vehicle vehicle, Station origin) {
+		Journal journal = this.journal;
+		if (journal != null) {
+			journal.append(type, vehicle, origin);
+		}
+	}
+
+	/**
+	 * Registers a listener to be told each time a vehicle is docked at or leaves the station,
+	 * or a docked vehicle becomes available or unavailable.
+	 *
+	 * @param listener The listener to register.
+	 */
+	public synchronized void addOccupancyListener(OccupancyListener listener) {
+		OccupancyListener[] listeners = Arrays.copyOf(this.occupancyListeners, this.occupancyListeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.occupancyListeners = listeners;
+	}
+
+	/**
+	 * Unregisters a listener previously registered with {@link #addOccupancyListener(OccupancyListener)}.
+	 *
+	 * @param listener The listener to unregister.
+	 */
+	public synchronized void removeOccupancyListener(OccupancyListener listener) {
+		OccupancyListener[] listeners = this.occupancyListeners;
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				OccupancyListener[] remaining = new OccupancyListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, remaining, 0, i);
+				System.arraycopy(listeners, i + 1, remaining, i, listeners.length - i - 1);
+				this.occupancyListeners = remaining;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Tells the occupancy listeners that the number of docked vehicles has changed.
+	 */
+	private void fireOccupancyChanged() {
+		for (OccupancyListener listener : this.occupancyListeners) {
+			listener.occupancyChanged(this);
+		}
+	}
+
+	/**
+	 * Gets the list of vehicles currently docked at the station, the most recently docked first.
+	 * The list is a read-only view of the docks: vehicles are docked and undocked through the station.
+	 * Go through it with its iterator: once vehicles have been undocked from the middle of the station,
+	 * getting a vehicle by position other than the first or the last takes time proportional to the capacity.
+	 *
+	 * @return The vehicles at the station.
+	 */
+    public List<Vehicle> getVehicles() {
         return this.vehicles;
     }
     
+    /**
+     * Acquires the station's lock before its docks are read or changed.
+     * Stations are used from a single thread by default, so this does nothing;
+     * thread-safe stations override it together with {@link #unlock()}.
+     */
+    protected void lock() {
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lock()}.
+     */
+    protected void unlock() {
+    }
+
     /**
      * Adds a vehicle to the station.
      *
      * @param v The vehicle to be added to the station.
      */
     public void addVehicle(Vehicle v) {
-    	this.vehicles.add(0, v);
-    	this.nbVehicles++;
-    	v.updateStation(this);
+    	this.lock();
+    	try {
+	    	this.vehicles.dockFirst(v);
+	    	this.nbVehicles++;
+	    	v.updateStation(this);
+	    	this.register(v);
+	    	if (v.isDisponible()) {
+	    		this.availableVehicles.dockFirst(v);
+	    	}
+	    	this.fireOccupancyChanged();
+    	} finally {
+    		this.unlock();
+    	}
     }
     
     /**
-     * Removes a vehicle from the station.
+     * Docks several vehicles at once, as if they were added one by one from the last to the first,
+     * so {@link #getVehicles()} then starts with them in the same order.
+     * The station is locked once and its listeners are told once, which makes restoring a large station linear.
+     *
+     * @param newVehicles The vehicles to dock, in the order getVehicles should list them.
+     */
+    public void addVehicles(List<Vehicle> newVehicles) {
+    	this.lock();
+    	try {
+    		this.nbVehicles += newVehicles.size();
+    		for (int i = newVehicles.size() - 1; i >= 0; i--) {
+    			Vehicle v = newVehicles.get(i);
+    			this.vehicles.dockFirst(v);
+    			if (v.getStation() != this) {
+    				v.updateStation(this);
+    			}
+    			this.register(v);
+    			if (v.isDisponible()) {
+    				this.availableVehicles.dockFirst(v);
+    			}
+    		}
+    		this.fireOccupancyChanged();
+    	} finally {
+    		this.unlock();
+    	}
+    }
+
+    /**
+     * Registers a docked vehicle in the registry of the station's control center.
+     * Vehicles docked at a station that has not been added to any control center are not registered;
+     * they are once the station is added to one.
+     *
+     * @param vehicle The docked vehicle.
+     */
+    private void register(Vehicle vehicle) {
+    	ControlCenter center = this.controlCenter;
+    	if (center != null) {
+    		center.getRegistry().register(vehicle);
+    	}
+    }
+
+    /**
+     * Removes a vehicle from the station: this exact vehicle if it is docked, otherwise a docked vehicle with the same ID.
+     * The vehicle is also unregistered from the registry it is registered in.
+     * Does nothing if no such vehicle is docked.
      *
      * @param vehicle The vehicle to be removed from the station.
      */
     public void removeVehicle(Vehicle vehicle) {
-    	int idx=0;
-    	for (Vehicle v : this.getVehicles()) {
-    		if(v.equals(vehicle)) {
-    			break;
+    	this.lock();
+    	try {
+    		Vehicle docked = this.vehicles.find(vehicle);
+    		if (docked != null) {
+	    		this.availableVehicles.undock(docked);
+	    		this.detachVehicle(docked);
+	    		VehicleRegistry registry = docked.getRegistry();
+	    		if (registry != null) {
+	    			registry.unregister(docked);
+	    		}
     		}
-    		idx=idx+1;
+    	} finally {
+    		this.unlock();
     	}
-    	this.vehicles.remove(idx);
+    }
+
+    /**
+     * Moves the vehicle at the head of this station to another station in a single step.
+     * Both stations are locked, always in the same order, so concurrent transfers cannot deadlock
+     * and no client can rent or deposit in between the removal and the addition.
+     *
+     * @param target The station receiving the vehicle.
+     * @return true if a vehicle was moved, false if this station is empty or the target is full.
+     */
+    public boolean transferVehicleTo(Station target) {
+    	if (target == this) {
+    		return false;
+    	}
+    	Station first = this.locksBefore(target) ? this : target;
+    	Station second = first == this ? target : this;
+    	first.lock();
+    	second.lock();
+    	try {
+    		if (this.vehicles.isEmpty() || target.isFull()) {
+    			return false;
+    		}
+    		Vehicle vehicle = this.vehicles.first();
+    		this.removeVehicle(vehicle);
+    		target.addVehicle(vehicle);
+    		this.journal(JournalRecord.Type.MOVE, vehicle, this);
+    		return true;
+    	} finally {
+    		second.unlock();
+    		first.unlock();
+    	}
+    }
+
+    /**
+     * Moves several vehicles from the head of this station to another station in a single step,
+     * as if {@link #transferVehicleTo(Station)} were called that many times in a row.
+     * Both stations are locked once, the free docks of the target are checked once, the vehicles are moved
+     * in a time linear in their number plus the size of the stations, and the listeners of each station are told once.
+     *
+     * @param target     The station receiving the vehicles.
+     * @param nbVehicles The number of vehicles to move.
+     * @return The number of vehicles moved, fewer than asked if this station runs out of vehicles or the target of docks.
+     */
+    public int transferVehiclesTo(Station target, int nbVehicles) {
+    	if (target == this || nbVehicles <= 0) {
+    		return 0;
+    	}
+    	Station first = this.locksBefore(target) ? this : target;
+    	Station second = first == this ? target : this;
+    	first.lock();
+    	second.lock();
+    	try {
+    		int nbMoved = Math.min(nbVehicles, Math.min(this.nbVehicles, target.getMaxCapacite() - target.getNbVehicles()));
+    		if (nbMoved <= 0) {
+    			return 0;
+    		}
+    		ArrayList<Vehicle> moved = new ArrayList<>(nbMoved);
+    		for (int i = 0; i < nbMoved; i++) {
+    			Vehicle vehicle = this.vehicles.undockFirst();
+    			this.availableVehicles.undock(vehicle);
+    			moved.add(vehicle);
+    		}
+    		this.nbVehicles -= nbMoved;
+    		this.fireOccupancyChanged();
+    		Collections.reverse(moved);
+    		target.addVehicles(moved);
+    		for (int i = moved.size() - 1; i >= 0; i--) {
+    			this.journal(JournalRecord.Type.MOVE, moved.get(i), this);
+    		}
+    		return nbMoved;
+    	} finally {
+    		second.unlock();
+    		first.unlock();
+    	}
+    }
+
+    /**
+     * Tells whether this station's lock must be taken before another station's lock.
+     * Stations are ordered by ID, then by identity for distinct stations sharing an ID.
+     *
+     * @param other The other station.
+     * @return true if this station is locked first, otherwise false.
+     */
+    private boolean locksBefore(Station other) {
+    	if (this.stationID != other.stationID) {
+    		return this.stationID < other.stationID;
+    	}
+    	return System.identityHashCode(this) <= System.identityHashCode(other);
+    }
+
+    /**
+     * Gets the vehicle at the head of the station, if any.
+     *
+     * @return The first docked vehicle, or null if the station is empty.
+     */
+    private Vehicle firstVehicle() {
+    	this.lock();
+    	try {
+    		return this.vehicles.first();
+    	} finally {
+    		this.unlock();
+    	}
+    }
+
+    /**
+     * Removes a vehicle from the docks without touching the available-vehicle index.
+     * Used when the caller has already taken the vehicle out of the index.
+     *
+     * @param vehicle The vehicle to be removed from the station.
+     */
+    private void detachVehicle(Vehicle vehicle) {
+    	Vehicle docked = this.vehicles.find(vehicle);
+    	if (docked == null) {
+    		return;
+    	}
+    	this.vehicles.undock(docked);
     	this.nbVehicles--;
     	vehicle.updateStation(null);
+    	this.fireOccupancyChanged();
+    }
+
+    /**
+     * Gets the number of vehicles docked at the station that can currently be rented.
+     *
+     * @return The number of available vehicles at the station.
+     */
+    public int getNbAvailableVehicles() {
+    	return this.availableVehicles.size();
+    }
+
+    /**
+     * Called by a docked vehicle whenever its state changes, so the available-vehicle index
+     * stays in sync with the vehicles that can actually be rented.
+     * The listeners are told if the number of available vehicles changed.
+     *
+     * @param vehicle The vehicle whose state has changed.
+     */
+    public void vehicleStateChanged(Vehicle vehicle) {
+    	this.lock();
+    	try {
+    		int nbAvailable = this.availableVehicles.size();
+	    	if (vehicle.isDisponible()) {
+	    		if (!this.availableVehicles.isDocked(vehicle) && this.vehicles.contains(vehicle)) {
+	    			this.availableVehicles.dockFirst(vehicle);
+	    		}
+	    	} else {
+	    		this.availableVehicles.undock(vehicle);
+	    	}
+	    	if (this.availableVehicles.size() != nbAvailable) {
+	    		this.fireOccupancyChanged();
+	    	}
+    	} finally {
+    		this.unlock();
+    	}
     }
 
     /**
@@ -146,7 +715,7 @@ public abstract class Station {
      * @return true if the station is empty, otherwise false.
      */
     public boolean isEmpty() {
-    	return this.vehicles.size()==0;
+    	return this.nbVehicles==0;
     }
     
     /**
@@ -155,7 +724,7 @@ public abstract class Station {
      * @return true if the station is full, otherwise false.
      */
     public boolean isFull() {
-        return this.vehicles.size()==this.maxCapacite;
+        return this.nbVehicles==this.maxCapacite;
     }
     
     /**
@@ -164,7 +733,7 @@ public abstract class Station {
      * @return true if there is only one vehicle left, otherwise false.
      */
     public boolean onlyOneLeft() {
-    	return this.vehicles.size()==1;
+    	return this.nbVehicles==1;
     }
     
     /**
@@ -197,42 +766,29 @@ public abstract class Station {
     }
 
     /**
-     * Finds an available vehicle to rent and throws an exception if none is available.
+     * Takes the most recently docked available vehicle out of the available-vehicle index
+     * and throws an exception if none is available.
      *
      * @return The available vehicle to rent.
      * @throws StationEmptyException if all vehicles are not available for rent.
      */
     private Vehicle findAvailableVehicle() throws StationEmptyException {
-        for (Vehicle vehicle : this.vehicles) {
-            if (vehicle.getState().equals(new Disponible(vehicle))) {
-                return vehicle;
-            }
+        Vehicle vehicle = this.availableVehicles.undockFirst();
+        if (vehicle == null) {
+            throw new StationEmptyException("All vehicles are not disponible! You can't rent a vehicle.");
         }
-        throw new StationEmptyException("All vehicles are not disponible! You can't rent a vehicle.");
+        return vehicle;
     }
 
     /**
-     * Handles the process of renting a vehicle, including reducing battery level and removing it from the station.
+     * Handles the process of renting a vehicle, removing it from the station and marking it as rented.
+     * The vehicle is detached before its state changes so the transition does not go back through the index.
      *
      * @param vehicle The vehicle to be rented.
      */
     private void handleVehicleRent(Vehicle vehicle) {
-        vehicle.getState().action(false);
-        this.removeVehicle(vehicle);
-        scheduleTasksAfterRent();
-    }
-
-    /**
-     * Retrieves the base vehicle if the provided vehicle is decorated.
-     *
-     * @param vehicle The vehicle to check for decoration.
-     * @return The base vehicle without any decoration.
-     */
-    private Vehicle getElectricVeloIfDecorated(Vehicle vehicle) {
-        while (vehicle instanceof Decorator) {
-            vehicle = ((Decorator) vehicle).getDecoratedVehicle();
-        }
-        return vehicle;
+        this.detachVehicle(vehicle);
+        vehicle.changeState(false);
     }
 
     /**
@@ -252,9 +808,13 @@ public abstract class Station {
             });
         } else if (this.onlyOneLeft()) {
             scheduleTask(() -> {
+                Vehicle lastVehicle = s.firstVehicle();
+                if (lastVehicle == null) {
+                    return;
+                }
                 s.timeToSteal = true;
                 try {
-					s.notifyObserver(true, s.getVehicles().get(0));
+					s.notifyObserver(true, lastVehicle);
 				} catch (RedistribuationNotCompletedException | StationEmptyException e) {
 					e.printStackTrace();
 				}
@@ -317,7 +877,7 @@ public abstract class Station {
     /**
      * Cancels the existing scheduled task if it exists.
      */
-    private void cancelExistingTask() {
+    private synchronized void cancelExistingTask() {
         if (task != null) {
             task.cancel();
             task = null;
@@ -329,17 +889,11 @@ public abstract class Station {
      *
      * @param taskAction The action to be performed by the task.
      */
-    private void scheduleTask(Runnable taskAction) {
+    private synchronized void scheduleTask(Runnable taskAction) {
         if (task != null) {
             task.cancel();
         }
-        task = new TimerTask() {
-            @Override
-            public void run() {
-                taskAction.run();
-            }
-        };
-        timer.schedule(task, Constants.INTERVAL*2);
+        task = scheduler.schedule(taskAction, this.notificationDelay);
     }
     
     /**
@@ -350,21 +904,49 @@ public abstract class Station {
      * @throws StationEmptyException               if the station is empty and no vehicle is available for rent.
      */
     public Vehicle rentVehicle() throws RedistribuationNotCompletedException, StationEmptyException {
-        checkIfStationIsEmpty();
-        Vehicle vehicle = findAvailableVehicle();
-        handleVehicleRent(vehicle);
+        long start = System.nanoTime();
+        Vehicle vehicle;
+        this.lock();
+        try {
+            checkIfStationIsEmpty();
+            vehicle = findAvailableVehicle();
+            handleVehicleRent(vehicle);
+            this.rentRate.record(this.scheduler.currentTimeMillis());
+            this.journal(JournalRecord.Type.RENT, vehicle, this);
+        } catch (StationEmptyException e) {
+            Metrics.getInstance().increment(Metrics.Counter.REJECTED_RENTS);
+            throw e;
+        } finally {
+            this.unlock();
+        }
+        scheduleTasksAfterRent();
+        publishPredictedShortage();
+        Metrics metrics = Metrics.getInstance();
+        metrics.increment(Metrics.Counter.RENTS);
+        metrics.record(Metrics.Timer.RENT, System.nanoTime() - start);
         return vehicle;
     }
 
     /**
      * Steals a vehicle from the station.
      *
-     * @return The stolen vehicle.
+     * @return The stolen vehicle, or null if the station is empty.
      */
     public Vehicle stealVehicle() {
-    	Vehicle vehicle = this.vehicles.get(0);
-        this.removeVehicle(vehicle);
-        vehicle.getState().action(true);
+    	Vehicle vehicle;
+    	this.lock();
+    	try {
+    		vehicle = this.vehicles.first();
+    		if (vehicle == null) {
+    			return null;
+    		}
+	        this.removeVehicle(vehicle);
+	        vehicle.changeState(true);
+	        this.journal(JournalRecord.Type.STEAL, vehicle, this);
+    	} finally {
+    		this.unlock();
+    	}
+        Metrics.getInstance().increment(Metrics.Counter.THEFTS);
         scheduleRedistributionIfEmpty();
         return vehicle;
     }
@@ -378,22 +960,36 @@ public abstract class Station {
      * @throws StationEmptyException              if the station is empty and cannot accept a deposit.
      */
     public void deposit(Vehicle vehicle) throws RedistribuationNotCompletedException, StationFullException, StationEmptyException {
-    	if (this.isFull()) {
-            throw new StationFullException("Station is already full! You can't deposit your vehicle.");
-        }
-    	 Vehicle actualVehicle = getElectricVeloIfDecorated(vehicle);
-
-         if (actualVehicle instanceof ElectricVelo) {
-             ((ElectricVelo) actualVehicle).decreaseBatteryLevel(20);
-         }
-    	vehicle.increaseNumberOfRentals();
-        vehicle.getState().action(false);
-        this.addVehicle(vehicle);
+    	long start = System.nanoTime();
+    	this.lock();
+    	try {
+	    	if (this.isFull()) {
+	    		Metrics.getInstance().increment(Metrics.Counter.REJECTED_DEPOSITS);
+	            throw new StationFullException("Station is already full! You can't deposit your vehicle.");
+	        }
+	    	ElectricVelo electricVelo = vehicle.getElectricVelo();
+	        if (electricVelo != null) {
+	            electricVelo.decreaseBatteryLevel(20);
+	        }
+	    	vehicle.increaseNumberOfRentals();
+	        vehicle.changeState(false);
+	        this.addVehicle(vehicle);
+	        this.depositRate.record(this.scheduler.currentTimeMillis());
+	        this.journal(JournalRecord.Type.DEPOSIT, vehicle, null);
+    	} finally {
+    		this.unlock();
+    	}
         scheduleTasksBasedOnStationState(vehicle);
+        publishPredictedShortage();
+        Metrics metrics = Metrics.getInstance();
+        metrics.increment(Metrics.Counter.DEPOSITS);
+        metrics.record(Metrics.Timer.DEPOSIT, System.nanoTime() - start);
     }
     
     /**
      * Notifies an observer about station state changes.
+     * The changes are published as events to the station's control center, which handles them right away
+     * or, if its event bus is running, on the event bus' thread.
      *
      * @param rented  true if a vehicle was rented, false otherwise.
      * @param vehicle The vehicle involved in the state change (null if not applicable).
@@ -401,13 +997,14 @@ public abstract class Station {
      * @throws StationEmptyException               if the station is empty and no vehicle is available for rent.
      */
     public void notifyObserver(boolean rented, Vehicle vehicle) throws RedistribuationNotCompletedException, StationEmptyException {
+    	ControlCenter center = this.getControlCenter();
     	if(rented) {
     		if(this.isTimeToRedistibuate()) {
-    			ControlCenter.getInstanceControlCenter().update(this,false);
+    			center.publish(new StationEvent(StationEvent.Type.BECAME_EMPTY, this, null));
     			this.timeToRedistibuate=false;
     		}
     		if(this.isTimeToSteal()) {
-    			ControlCenter.getInstanceControlCenter().update(vehicle,true);
+    			center.publish(new StationEvent(StationEvent.Type.LAST_VEHICLE_LEFT, this, vehicle));
     			this.timeToSteal=false;
     		}
     		
@@ -415,7 +1012,7 @@ public abstract class Station {
     	else {
     		if(this.isTimeToRedistibuate()) {
     			try {
-    			ControlCenter.getInstanceControlCenter().update(this,true);
+    			center.publish(new StationEvent(StationEvent.Type.BECAME_FULL, this, null));
     			this.timeToRedistibuate=false;
     			}
     			catch (RedistribuationNotCompletedException e) {
@@ -423,11 +1020,11 @@ public abstract class Station {
     			}
     		}
     		if(this.isTimeToSteal()) {
-    			ControlCenter.getInstanceControlCenter().update(vehicle,true);
+    			center.publish(new StationEvent(StationEvent.Type.LAST_VEHICLE_LEFT, this, vehicle));
     			this.timeToSteal=false;
     		}
-    		if(vehicle.getState().toString().equals("BrokenDown")) {
-    			ControlCenter.getInstanceControlCenter().update(vehicle,false);
+    		if(vehicle.getStateCode() == StateCode.BROKEN_DOWN) {
+    			center.publish(new StationEvent(StationEvent.Type.VEHICLE_BROKE_DOWN, this, vehicle));
     		}
     	}
     } 
@@ -453,8 +1050,7 @@ public abstract class Station {
      * @return true if the station has surplus vehicles, otherwise false.
      */
     public boolean hasSurplusVehicles () {
-    	int nbOfVehicles = this.getNbVehicles();
-        return (int)(this.getMaxCapacite() * 0.5) < nbOfVehicles;
+        return this.getMaxCapacite() / 2 < this.getNbVehicles();
     }
 
     /**
@@ -463,8 +1059,7 @@ public abstract class Station {
      * @return true if the station has insufficient vehicles, otherwise false.
      */
     public boolean hasInsufficiencyVehicles () {
-        int nbOfVehicles = this.getNbVehicles();
-        return (int)(this.getMaxCapacite() * 0.5) > nbOfVehicles;
+        return this.getMaxCapacite() / 2 > this.getNbVehicles();
     }
     
     /**
@@ -473,7 +1068,7 @@ public abstract class Station {
      * @return true if the station is sufficiently filled, otherwise false.
      */
     public boolean isSufficientlyFilled() {
-    	return (this.getNbVehicles()>=(int)(this.getMaxCapacite() * 0.5));
+    	return this.getNbVehicles() >= this.getMaxCapacite() / 2;
     }
     
     /**
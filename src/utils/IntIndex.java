@@ -0,0 +1,188 @@
+package utils;
+
+/**
+ * An index from int keys to positions in some other storage, such as the slots of an array or the rows of a table.
+ * It is a linear-probing hash table that stores only the positions: the key of a position is read back through
+ * {@link #keyOf(int)}, so the index costs 4 bytes per slot and the keys are kept once, by the storage.
+ * The table always has at least twice as many slots as positions, which keeps the probes short.
+ * Removing an entry shifts back the entries that probed past it, so the table never fills up with deleted entries.
+ *
+ * Several positions may have the same key; {@link #find(int)} and {@link #findNext(int, int)} go through them.
+ * An index is not thread-safe.
+ */
+public abstract class IntIndex {
+	private static final int MIN_SLOTS = 8;
+
+	private int[] table;
+	private int size;
+
+	/**
+     * Constructs an empty index.
+     *
+     * @param expectedSize The number of positions the index holds before it grows.
+     */
+	protected IntIndex(int expectedSize) {
+		this.clear(expectedSize);
+	}
+
+	/**
+     * Spreads the bits of a key so that consecutive keys do not cluster in a table.
+     *
+     * @param key The key.
+     * @return The mixed hash of the key.
+     */
+	public static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+     * Gets the key of a position held by the index.
+     *
+     * @param position The position.
+     * @return The key of the position.
+     */
+	protected abstract int keyOf(int position);
+
+	/**
+     * Removes every position from the index.
+     *
+     * @param expectedSize The number of positions the index holds before it grows.
+     */
+	public void clear(int expectedSize) {
+		this.table = new int[Math.max(MIN_SLOTS, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1)];
+		this.size = 0;
+	}
+
+	/**
+     * Finds the first entry whose position has a given key.
+     *
+     * @param key The key.
+     * @return The entry, or -1 if no position has this key.
+     */
+	public int find(int key) {
+		return this.scan(key, hash(key) & (this.table.length - 1));
+	}
+
+	/**
+     * Finds the next entry whose position has a given key.
+     *
+     * @param key   The key.
+     * @param entry An entry returned for this key by {@link #find(int)} or by this method.
+     * @return The next entry, or -1 if no other position has this key.
+     */
+	public int findNext(int key, int entry) {
+		return this.scan(key, (entry + 1) & (this.table.length - 1));
+	}
+
+	private int scan(int key, int entry) {
+		int mask = this.table.length - 1;
+		for (; this.table[entry] != 0; entry = (entry + 1) & mask) {
+			if (this.keyOf(this.table[entry] - 1) == key) {
+				return entry;
+			}
+		}
+		return -1;
+	}
+
+	/**
+     * Gets the first position with a given key.
+     *
+     * @param key The key.
+     * @return The position, or -1 if no position has this key.
+     */
+	public int get(int key) {
+		int entry = this.find(key);
+		return entry < 0 ? -1 : this.table[entry] - 1;
+	}
+
+	/**
+     * Gets the position of an entry.
+     *
+     * @param entry The entry.
+     * @return The position.
+     */
+	public int positionAt(int entry) {
+		return this.table[entry] - 1;
+	}
+
+	/**
+     * Moves the position of an entry, for instance when the storage moves a key to another slot.
+     * The key of the new position must be the key of the entry.
+     *
+     * @param entry    The entry.
+     * @param position The new position.
+     */
+	public void setPositionAt(int entry, int position) {
+		this.table[entry] = position + 1;
+	}
+
+	/**
+     * Adds a position, under the key returned for it by {@link #keyOf(int)}.
+     *
+     * @param position The position, 0 or more.
+     */
+	public void add(int position) {
+		if ((this.size + 1) * 2 > this.table.length) {
+			this.grow();
+		}
+		this.insert(position);
+		this.size++;
+	}
+
+	private void insert(int position) {
+		int mask = this.table.length - 1;
+		int entry = hash(this.keyOf(position)) & mask;
+		while (this.table[entry] != 0) {
+			entry = (entry + 1) & mask;
+		}
+		this.table[entry] = position + 1;
+	}
+
+	private void grow() {
+		int[] old = this.table;
+		this.table = new int[old.length * 2];
+		for (int slot : old) {
+			if (slot != 0) {
+				this.insert(slot - 1);
+			}
+		}
+	}
+
+	/**
+     * Removes an entry, then shifts back the entries that probed past it so every remaining position can still be found.
+     *
+     * @param entry The entry.
+     */
+	public void removeAt(int entry) {
+		int mask = this.table.length - 1;
+		this.table[entry] = 0;
+		for (int next = (entry + 1) & mask; this.table[next] != 0; next = (next + 1) & mask) {
+			int home = hash(this.keyOf(this.table[next] - 1)) & mask;
+			if (((next - home) & mask) >= ((next - entry) & mask)) {
+				this.table[entry] = this.table[next];
+				this.table[next] = 0;
+				entry = next;
+			}
+		}
+		this.size--;
+	}
+
+	/**
+     * Gets the number of positions in the index.
+     *
+     * @return The number of positions.
+     */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+     * Gets the number of bytes allocated for the table.
+     *
+     * @return The footprint of the index, in bytes.
+     */
+	public long getNbBytes() {
+		return 4L * this.table.length;
+	}
+}
@@ -1,11 +1,12 @@
 package vehicleDecorators;
 
+import vehicles.Accessory;
 import vehicles.Vehicle;
 
 /**
  * A decorator class that adds a basket feature to a vehicle.
  * This class extends the Decorator class and is used to enhance a vehicle object 
- * by adding a basket description to it.
+ * by adding the basket accessory to it.
  */
 public class Basket extends Decorator {
 	
@@ -16,17 +17,6 @@ public class Basket extends Decorator {
      * @param vehicle The vehicle to which the basket feature will be added.
      */
     public Basket(Vehicle vehicle) {
-        super(vehicle);
-    }
-
-    /**
-     * Decorates the vehicle with a basket.
-     * This method extends the decoration of the vehicle by appending ", with a basket" to its description.
-     * 
-     * @return A string representation of the vehicle decorated with a basket.
-     */
-    @Override
-    public String decorate() {
-        return decoratedVehicle.decorate() + ", with a basket";
+        super(vehicle, Accessory.BASKET);
     }
 }
@@ -1,10 +1,12 @@
 package vehicleDecorators;
 
+import vehicles.Accessory;
 import vehicles.Vehicle;
 
 /**
  * Abstract decorator class that extends Vehicle and serves as the base for all decorators in the vehicle decoration system.
  * This class is a part of the Decorator pattern and is used to add additional responsibilities or features to Vehicle objects dynamically.
+ * The accessory of a decorator is recorded in the bitmask of the base vehicle, whose state the decorator shares.
  */
 public abstract class Decorator extends Vehicle {
     protected Vehicle decoratedVehicle;
@@ -14,9 +16,10 @@ public abstract class Decorator extends Vehicle {
      * This constructor initializes the decorator with the vehicle that is to be decorated.
      *
      * @param vehicle The vehicle object that will be enhanced or decorated by this decorator.
+     * @param accessory The accessory the decorator adds to the vehicle.
      */
-    public Decorator(Vehicle vehicle) {
-        super(vehicle.getId(), vehicle.getStation());
+    public Decorator(Vehicle vehicle, Accessory accessory) {
+        super(vehicle, accessory);
         this.decoratedVehicle = vehicle;
     }
     
@@ -31,12 +34,14 @@ public abstract class Decorator extends Vehicle {
     }
 
     /**
-     * An abstract method that subclasses must implement to add decoration to the vehicle.
-     * This method should modify or enhance the vehicle's description or functionality.
+     * Describes the base vehicle, without its accessories.
      *
-     * @return A string representing the decorated state of the vehicle.
+     * @return A string representing the base vehicle.
      */
-    public abstract String decorate();
+    @Override
+    public String describe() {
+        return this.base.describe();
+    }
 }
 
 
@@ -1,11 +1,12 @@
 package vehicleDecorators;
 
+import vehicles.Accessory;
 import vehicles.Vehicle;
 
 /**
  * A decorator class that adds a luggage rack feature to a vehicle.
  * This class extends the Decorator class and is used to enhance a vehicle object 
- * by adding a luggage rack description to it.
+ * by adding the luggage rack accessory to it.
  */
 public class LuggageRack extends Decorator {
 	
@@ -16,17 +17,6 @@ public class LuggageRack extends Decorator {
      * @param vehicle The vehicle to which the luggage rack feature will be added.
      */
     public LuggageRack(Vehicle vehicle) {
-        super(vehicle);
-    }
-
-    /**
-     * Decorates the vehicle with a luggage rack.
-     * This method extends the decoration of the vehicle by appending ", with a luggage rack" to its description.
-     * 
-     * @return A string representation of the vehicle decorated with a luggage rack.
-     */
-    @Override
-    public String decorate() {
-        return decoratedVehicle.decorate() + ", with a luggage rack";
+        super(vehicle, Accessory.LUGGAGE_RACK);
     }
 }
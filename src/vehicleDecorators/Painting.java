@@ -1,11 +1,12 @@
 package vehicleDecorators;
 
+import vehicles.Accessory;
 import vehicles.Vehicle;
 
 /**
  * A decorator class that adds a painting feature to a vehicle.
  * This class extends the Decorator class and is used to enhance a vehicle object 
- * by adding a painting description to it.
+ * by adding the painting accessory to it.
  */
 public class Painting extends Decorator {
 	    
@@ -16,17 +17,6 @@ public class Painting extends Decorator {
      * @param vehicle The vehicle to which the painting feature will be added.
      */
 	public Painting(Vehicle vehicle) {
-		super(vehicle);
-	}
-
-	/**
-     * Decorates the vehicle with painting.
-     * This method extends the decoration of the vehicle by appending ", painted" to its description.
-     * 
-     * @return A string representation of the vehicle decorated with painting.
-     */
-	@Override
-	public String decorate() {
-		return decoratedVehicle.decorate() + ", painted";
+		super(vehicle, Accessory.PAINTING);
 	}
 }
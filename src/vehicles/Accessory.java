@@ -0,0 +1,59 @@
+package vehicles;
+
+/**
+ * The Accessory enumeration holds the accessories a vehicle can carry.
+ * A vehicle keeps its accessories as a bitmask of their bits, so checking for one is a single test,
+ * and describes them in the order of this enumeration.
+ */
+public enum Accessory {
+	PAINTING(1 << 3, ", painted"),
+	LUGGAGE_RACK(1 << 2, ", with a luggage rack"),
+	BASKET(1 << 1, ", with a basket");
+
+	private static final Accessory[] VALUES = values();
+
+	private final int bit;
+	private final String description;
+
+	private Accessory(int bit, String description) {
+		this.bit = bit;
+		this.description = description;
+	}
+
+	/**
+     * Gets the bit of the accessory in a vehicle's bitmask.
+     *
+     * @return The bit.
+     */
+	public int getBit() {
+		return this.bit;
+	}
+
+	/**
+     * Gets the text appended to a vehicle's description for the accessory.
+     *
+     * @return The description.
+     */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+     * Describes the accessories of a bitmask, in the order of the enumeration.
+     *
+     * @param accessories The bitmask.
+     * @return The descriptions of the accessories one after the other, empty if there is none.
+     */
+	public static String describe(int accessories) {
+		if (accessories == 0) {
+			return "";
+		}
+		StringBuilder description = new StringBuilder();
+		for (Accessory accessory : VALUES) {
+			if ((accessories & accessory.bit) != 0) {
+				description.append(accessory.description);
+			}
+		}
+		return description.toString();
+	}
+}
@@ -25,7 +25,7 @@ public class ClassicVelo extends Velo {
      * @return A string representation of the classic bike.
      */
 	@Override
-	public String decorate() {
+	public String describe() {
 		return "A classic bike n°: "+this.getId();
 	}
 }
@@ -31,12 +31,12 @@ public class ElectricVelo extends Velo {
 	    }
 
 	    /**
-	     * Decreases the battery level of the electric bike by a specified amount.
+	     * Decreases the battery level of the electric bike by a specified amount, down to 0.
 	     *
 	     * @param amount The amount to decrease the battery level.
 	     */
 	    public void decreaseBatteryLevel(int amount) {
-	    	this.setBatteryLevel(this.batteryLevel-amount);
+	    	this.setBatteryLevel(Math.max(0, this.batteryLevel-amount));
 	    }
 	    
 	    /**
@@ -49,12 +49,11 @@ public class ElectricVelo extends Velo {
 	    }
 	    
 	    /**
-	     * Sets the battery level of the electric bike.
-	     * This method is private as it is used internally for managing the battery level.
+	     * Sets the battery level of the electric bike, for instance when its state is restored.
 	     *
 	     * @param level The new battery level.
 	     */
-	    private void setBatteryLevel(int level) {
+	    public void setBatteryLevel(int level) {
 	    	this.batteryLevel=level;
 	    }
 	    
@@ -63,7 +62,8 @@ public class ElectricVelo extends Velo {
 	     *
 	     * @return A string representation of the electric bike.
 	     */
-	    public String decorate() {
+	    @Override
+	    public String describe() {
 			return "An electric bike n°: "+this.getId()+" with "+this.getBatteryLevel()+"% battery level";
 		}
 }
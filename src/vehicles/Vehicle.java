@@ -1,23 +1,31 @@
 package vehicles;
 
+import controlCenters.VehicleRegistry;
 import exceptions.RedistribuationNotCompletedException;
 import exceptions.StationEmptyException;
 import persons.AbstractPerson;
 import persons.Mechanic;
 import stations.Station;
-import vehiclesState.Disponible;
 import vehiclesState.State;
+import vehiclesState.StateCode;
 
 /**
  * Abstract base class representing a vehicle in the transportation system.
  * This class provides common fields and methods for different types of vehicles,
- * including ID, station location, rental count, and current state.
+ * including ID, station location, rental count, current state and accessories.
+ *
+ * A decorated vehicle shares the base vehicle it wraps: the station, rental count, state and accessories
+ * are always read and written on the base vehicle, so every layer sees the same values,
+ * and the base vehicle is one reference away whatever the number of decorators.
  */
 public abstract class Vehicle {
     protected int id;
     protected Station station;
     protected int nbOfRental;
-    protected State state;
+    protected StateCode stateCode;
+    protected int accessories;
+    protected final Vehicle base;
+    protected VehicleRegistry registry;
     
     /**
      * Constructs a Vehicle with a given ID and station.
@@ -27,10 +35,24 @@ public abstract class Vehicle {
      * @param station The station where the vehicle is initially located.
      */
     public Vehicle(int id, Station station) {
+        this.base = this;
         this.id = id;
         this.station = station;
         this.nbOfRental = 0;
-        this.state = new Disponible(this);
+        this.stateCode = StateCode.DISPONIBLE;
+    }
+
+    /**
+     * Constructs a vehicle wrapping another one and adding an accessory to it.
+     * The new vehicle shares the state of the base vehicle, including the registry it is registered in.
+     *
+     * @param vehicle The vehicle to wrap.
+     * @param accessory The accessory added to the base vehicle.
+     */
+    protected Vehicle(Vehicle vehicle, Accessory accessory) {
+        this.base = vehicle.base;
+        this.id = this.base.id;
+        this.base.accessories |= accessory.getBit();
     }
 
     /**
@@ -48,16 +70,65 @@ public abstract class Vehicle {
      * @param state The new state to be set for the vehicle.
      */
     public void setState(State state) {
-    	this.state=state;
+    	this.setStateCode(state.getCode());
     }
     
     /**
      * Gets the current state of the vehicle.
+     * A new State object is built from the state code on each call; hot paths should use
+     * {@link #getStateCode()} or {@link #isDisponible()} instead.
      *
      * @return The current State of the vehicle.
      */
     public State getState() {
-    	return this.state;
+    	return this.stateCode.toState(this);
+    }
+
+    /**
+     * Gets the code of the current state of the vehicle.
+     *
+     * @return The current StateCode of the vehicle.
+     */
+    public StateCode getStateCode() {
+    	return this.base.stateCode;
+    }
+
+    /**
+     * Sets the code of the current state of the vehicle.
+     * The station the vehicle is docked at and the registry it is registered in, if any, are told about the change.
+     *
+     * @param stateCode The new state code of the vehicle.
+     */
+    public void setStateCode(StateCode stateCode) {
+    	Vehicle base = this.base;
+    	if (base.stateCode == stateCode) {
+    		return;
+    	}
+    	base.stateCode=stateCode;
+    	if (base.station != null) {
+    		base.station.vehicleStateChanged(this);
+    	}
+    	if (base.registry != null) {
+    		base.registry.stateChanged(this);
+    	}
+    }
+
+    /**
+     * Moves the vehicle to its next state, following the StateCode transition table.
+     *
+     * @param toSteal true if the action is a theft, otherwise false.
+     */
+    public void changeState(boolean toSteal) {
+    	this.setStateCode(this.base.stateCode.next(this, toSteal));
+    }
+
+    /**
+     * Checks if the vehicle can be rented.
+     *
+     * @return true if the vehicle is in the Disponible state, otherwise false.
+     */
+    public boolean isDisponible() {
+    	return this.base.stateCode == StateCode.DISPONIBLE;
     }
 
     /**
@@ -66,16 +137,38 @@ public abstract class Vehicle {
      * @return The current Station of the vehicle.
      */
     public Station getStation() {
-        return this.station;
+        return this.base.station;
     }
     
     /**
-     * Updates the station location of the vehicle.
+     * Updates the station location of the vehicle and reports it to the registry the vehicle is registered in, if any.
      *
      * @param station The new Station where the vehicle will be located.
      */
     public void updateStation(Station station) {
-    	this.station=station;
+    	Vehicle base = this.base;
+    	base.station=station;
+    	if (base.registry != null) {
+    		base.registry.stationChanged(this);
+    	}
+    }
+
+    /**
+     * Gets the registry the vehicle is registered in.
+     *
+     * @return The registry of the control center whose station docked the vehicle last, or null if it is not registered.
+     */
+    public VehicleRegistry getRegistry() {
+    	return this.base.registry;
+    }
+
+    /**
+     * Sets the registry the vehicle is registered in. Called by the registry itself.
+     *
+     * @param registry The registry, or null once the vehicle has been unregistered.
+     */
+    public void setRegistry(VehicleRegistry registry) {
+    	this.base.registry = registry;
     }
     
     /**
@@ -84,23 +177,69 @@ public abstract class Vehicle {
      * @return The number of rentals of the vehicle.
      */
     public int getNumberOfRentals() {
-        return this.nbOfRental;
+        return this.base.nbOfRental;
     }
 
     /**
      * Increases the rental count of the vehicle by one.
      */
     public void increaseNumberOfRentals() {
-    	this.nbOfRental++;
+    	this.base.nbOfRental++;
     }
 
     /**
      * Resets the rental count of the vehicle to zero.
      */
     public void resetNumberOfRentals() {
-        this.nbOfRental = 0;
+        this.base.nbOfRental = 0;
+    }
+
+    /**
+     * Sets the rental count of the vehicle, for instance when its state is restored.
+     *
+     * @param nbOfRental The number of rentals of the vehicle.
+     */
+    public void setNumberOfRentals(int nbOfRental) {
+        this.base.nbOfRental = nbOfRental;
     }
     
+    /**
+     * Gets the vehicle under the decorators.
+     *
+     * @return The base vehicle, this vehicle itself if it is not decorated.
+     */
+    public Vehicle getBaseVehicle() {
+        return this.base;
+    }
+
+    /**
+     * Gets the electric bike under the decorators, without walking through them.
+     *
+     * @return The base vehicle if it is an electric bike, otherwise null.
+     */
+    public ElectricVelo getElectricVelo() {
+        return this.base instanceof ElectricVelo ? (ElectricVelo) this.base : null;
+    }
+
+    /**
+     * Gets the accessories of the vehicle.
+     *
+     * @return The bitmask of the accessory bits, 0 if the vehicle has none.
+     */
+    public int getAccessories() {
+        return this.base.accessories;
+    }
+
+    /**
+     * Checks if the vehicle carries an accessory.
+     *
+     * @param accessory The accessory.
+     * @return true if the vehicle carries it, otherwise false.
+     */
+    public boolean hasAccessory(Accessory accessory) {
+        return (this.base.accessories & accessory.getBit()) != 0;
+    }
+
     /**
      * Accepts a visit from an AbstractPerson, allowing for interaction.
      * The behavior of this method varies depending on the type of person (e.g., Mechanic).
@@ -114,7 +253,7 @@ public abstract class Vehicle {
     		p.visit(this);
     	}
     	else {
-    		p.visit(this.station);
+    		p.visit(this.base.station);
     	}
 	}
     
@@ -132,12 +271,32 @@ public abstract class Vehicle {
     		return false;
     	}
 	}
+
+    /**
+     * Returns a hash code consistent with equals, based on the vehicle ID.
+     *
+     * @return The hash code of the vehicle.
+     */
+    @Override
+    public int hashCode() {
+    	return Integer.hashCode(this.id);
+    }
     
     /**
-     * Provides a string representation of the vehicle's current state.
-     * This abstract method must be implemented by subclasses to decorate the vehicle.
+     * Provides a string representation of the vehicle's current state:
+     * the description of the base vehicle followed by its accessories, in the order of {@link Accessory}.
      *
      * @return A string representing the decorated state of the vehicle.
      */
-    public abstract String decorate(); 
+    public String decorate() {
+        return this.base.describe() + Accessory.describe(this.base.accessories);
+    }
+
+    /**
+     * Describes the vehicle without its accessories.
+     * A decorated vehicle describes its base vehicle.
+     *
+     * @return A string representing the vehicle.
+     */
+    public abstract String describe();
 }
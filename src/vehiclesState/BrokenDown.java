@@ -5,7 +5,7 @@ import vehicles.Vehicle;
 /**
  * Represents the 'BrokenDown' state of a vehicle in the transportation system.
  * In this state, the vehicle is non-operational due to malfunction or damage.
- * This class extends the State class and provides specific behavior for the broken down state of a vehicle.
+ * An action that is not a theft moves the vehicle to 'CurrentlyBeingRepaired', a theft moves it to 'Stolen'.
  */
 public class BrokenDown extends State{
 
@@ -19,20 +19,13 @@ public class BrokenDown extends State{
     }
 
 	/**
-     * Performs an action based on the broken-down state of the vehicle.
-     * If 'toSteal' is false, the vehicle transitions to the 'CurrentlyBeingRepaired' state.
-     * If 'toSteal' is true, the vehicle transitions to the 'Stolen' state.
+     * Gets the code of this state.
      *
-     * @param toSteal A boolean parameter that determines the next state of the vehicle.
+     * @return StateCode.BROKEN_DOWN.
      */
 	@Override
-	public void action(Boolean toSteal) {
-		if(!toSteal) {
-				this.vehicle.setState(new CurrentlyBeingRepaired(this.vehicle));
-		}
-		else {
-			this.vehicle.setState(new Stolen(this.vehicle));
-		}
+	public StateCode getCode() {
+		return StateCode.BROKEN_DOWN;
 	}
 
 	/**
@@ -4,8 +4,8 @@ import vehicles.Vehicle;
 
 /**
  * Represents the 'CurrentlyBeingRepaired' state of a vehicle in the transportation system.
- * In this state, the vehicle is undergoing repairs. This class extends the State class
- * and provides specific behavior for vehicles that are currently being repaired.
+ * In this state, the vehicle is undergoing repairs. An action that is not a theft moves the vehicle
+ * to 'Disponible' (Available) once the repairs are completed; a theft leaves the state unchanged.
  */
 public class CurrentlyBeingRepaired extends State {
 	
@@ -19,19 +19,13 @@ public class CurrentlyBeingRepaired extends State {
     }
 
     /**
-     * Performs an action based on the CurrentlyBeingRepaired state of the vehicle.
-     * If 'toSteal' is false, the vehicle transitions to the 'Disponible' (Available) state,
-     * indicating that the repairs are completed and the vehicle is ready for use.
-     * If 'toSteal' is true, no action is performed and the state remains unchanged.
-     * (This behavior may be modified in future to handle different scenarios).
+     * Gets the code of this state.
      *
-     * @param toSteal A boolean parameter that determines the next state of the vehicle.
+     * @return StateCode.CURRENTLY_BEING_REPAIRED.
      */
 	@Override
-	public void action(Boolean toSteal) {
-		if(!toSteal) {
-				this.vehicle.setState(new Disponible(this.vehicle));
-		}
+	public StateCode getCode() {
+		return StateCode.CURRENTLY_BEING_REPAIRED;
 	}
 
 	/**
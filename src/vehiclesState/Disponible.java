@@ -4,8 +4,8 @@ import vehicles.Vehicle;
 
 /**
  * Represents the 'Disponible' (Available) state of a vehicle in the transportation system.
- * In this state, the vehicle is available for rent. This class extends the State class
- * and provides specific behavior for vehicles that are currently available for use.
+ * In this state, the vehicle is available for rent. An action that is not a theft moves the vehicle
+ * to 'Rented', a theft moves it to 'Stolen'.
  */
 public class Disponible extends State {
 
@@ -19,22 +19,13 @@ public class Disponible extends State {
     }
 	
 	/**
-     * Performs an action based on the Disponible (Available) state of the vehicle.
-     * If 'toSteal' is false, the vehicle transitions to the 'Rented' state,
-     * indicating that the vehicle has been rented out.
-     * If 'toSteal' is true, the vehicle transitions to the 'Stolen' state.
+     * Gets the code of this state.
      *
-     * @param toSteal A boolean parameter that determines the next state of the vehicle.
+     * @return StateCode.DISPONIBLE.
      */
 	@Override
-	public void action(Boolean toSteal) {
-		if(!toSteal) {
-			this.vehicle.setState(new Rented(this.vehicle));
-		}
-		else {
-			this.vehicle.setState(new Stolen(this.vehicle));
-		}
-		
+	public StateCode getCode() {
+		return StateCode.DISPONIBLE;
 	}
 
 	/**
@@ -1,14 +1,12 @@
 package vehiclesState;
 
-import constants.Constants;
-import vehicleDecorators.Decorator;
-import vehicles.ElectricVelo;
 import vehicles.Vehicle;
 
 /**
  * Represents the 'Rented' state of a vehicle in the transportation system.
- * This state indicates that the vehicle is currently rented out. The class extends the State class
- * and provides behavior specific to vehicles in a rented state.
+ * This state indicates that the vehicle is currently rented out. An action that is not a theft
+ * moves the vehicle to 'BrokenDown' if it needs an intervention (low battery or maximum number
+ * of rentals reached), otherwise back to 'Disponible' (Available).
  */
 public class Rented extends State {
 
@@ -22,42 +20,14 @@ public class Rented extends State {
     }
 
     /**
-     * Performs an action based on the Rented state of the vehicle.
-     * If 'toSteal' is false and the maximum number of rentals before intervention is reached,
-     * the vehicle transitions to the 'BrokenDown' state.
-     * Otherwise, it transitions back to the 'Disponible' (Available) state.
+     * Gets the code of this state.
      *
-     * @param toSteal A boolean parameter that determines the next state of the vehicle.
-     *                If true, the method may incorporate logic to handle a stolen state.
+     * @return StateCode.RENTED.
      */
 	@Override
-	public void action(Boolean toSteal) {
-        Vehicle actualVehicle = getElectricVeloIfDecorated(this.vehicle);
-        if(!toSteal) {
-            if ((actualVehicle instanceof ElectricVelo) && ((ElectricVelo) actualVehicle).getBatteryLevel()==20) {
-                this.vehicle.setState(new BrokenDown(this.vehicle));
-            }
-            else if (this.vehicle.getNumberOfRentals()==Constants.MAX_NB_OF_RENTALS_BEFORE_INTERVANTION) {
-                this.vehicle.setState(new BrokenDown(this.vehicle));
-            } else {
-                this.vehicle.setState(new Disponible(this.vehicle));
-            }
-        }
-    }
-	
-
-	/**
-	 * Recursively retrieves the innermost undecorated Vehicle instance, if the vehicle is decorated.
-	 *
-	 * @param vehicle The decorated or undecorated Vehicle instance.
-	 * @return The innermost undecorated Vehicle instance, if the vehicle is decorated; otherwise, returns the same vehicle.
-	 */
-	private Vehicle getElectricVeloIfDecorated(Vehicle vehicle) {
-        while (vehicle instanceof Decorator) {
-            vehicle = ((Decorator) vehicle).getDecoratedVehicle();
-        }
-        return vehicle;
-    }
+	public StateCode getCode() {
+		return StateCode.RENTED;
+	}
 	
 	/**
      * Provides a string representation of the Rented state.
@@ -68,4 +38,4 @@ public class Rented extends State {
     public String toString() {
 		return "Rented";
     }
-}
\ No newline at end of file
+}
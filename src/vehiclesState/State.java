@@ -5,6 +5,7 @@ import vehicles.Vehicle;
 /**
  * Abstract base class representing the state of a Vehicle in the transportation system.
  * This class is part of the State design pattern, which allows an object to alter its behavior when its internal state changes.
+ * Vehicles only store a {@link StateCode}; State objects are a facade built on demand over those codes.
  */
 public abstract class State {
 
@@ -20,13 +21,22 @@ public abstract class State {
         this.vehicle = vehicle;
     }
 
+    /**
+     * Gets the code of this state, which is what vehicles actually store.
+     *
+     * @return The StateCode matching this state.
+     */
+    public abstract StateCode getCode();
+
     /**
      * Defines an action that the vehicle performs depending on its current state.
-     * This is an abstract method that must be implemented by concrete state subclasses.
+     * The next state is looked up in the StateCode transition table.
      *
      * @param toSteal A boolean parameter that may influence the state's action.
      */
-    public abstract void action(Boolean toSteal);
+    public void action(Boolean toSteal) {
+    	this.vehicle.setStateCode(this.getCode().next(this.vehicle, toSteal));
+    }
     
     /**
      * Provides a string representation of the state.
@@ -48,11 +58,21 @@ public abstract class State {
     public boolean equals(Object o) {
     	if (o instanceof State) {
     		State other = (State) o;
-    		return this.toString().equals(other.toString());
+    		return this.getCode() == other.getCode();
     	} else {
     		return false;
     	}
     }
+
+    /**
+     * Returns a hash code consistent with equals, based on the state code.
+     *
+     * @return The hash code of the state.
+     */
+    @Override
+    public int hashCode() {
+    	return this.getCode().hashCode();
+    }
 }
 
 
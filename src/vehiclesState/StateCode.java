@@ -0,0 +1,104 @@
+package vehiclesState;
+
+import constants.Constants;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+
+/**
+ * The StateCode enumeration holds the states a vehicle can be in, as shared constants.
+ * A vehicle only keeps a reference to one of these constants, so checking or changing its state
+ * never allocates. The transitions are held in a table indexed by the current state and by
+ * whether the action is a theft; only the end of a rental depends on the vehicle itself.
+ */
+public enum StateCode {
+	DISPONIBLE("Disponible"),
+	RENTED("Rented"),
+	BROKEN_DOWN("BrokenDown"),
+	CURRENTLY_BEING_REPAIRED("CurrentlyBeingRepaired"),
+	STOLEN("Stolen");
+
+	/**
+	 * Next state for each state, first when the action is not a theft, then when it is.
+	 * The RENTED entry for a non-theft action is resolved by {@link #endOfRental(Vehicle)}.
+	 */
+	private static final StateCode[][] TRANSITIONS = {
+		{RENTED, STOLEN},
+		{null, RENTED},
+		{CURRENTLY_BEING_REPAIRED, STOLEN},
+		{DISPONIBLE, CURRENTLY_BEING_REPAIRED},
+		{STOLEN, STOLEN}
+	};
+
+	private final String label;
+
+	/**
+     * Constructs a StateCode with the name used to display it.
+     *
+     * @param label The display name of the state.
+     */
+	StateCode(String label) {
+		this.label = label;
+	}
+
+	/**
+     * Gives the state a vehicle in this state moves to after an action.
+     *
+     * @param vehicle The vehicle performing the action.
+     * @param toSteal true if the action is a theft, otherwise false.
+     * @return The next state of the vehicle.
+     */
+	public StateCode next(Vehicle vehicle, boolean toSteal) {
+		StateCode next = TRANSITIONS[this.ordinal()][toSteal ? 1 : 0];
+		return next != null ? next : endOfRental(vehicle);
+	}
+
+	/**
+     * Gives the state of a vehicle coming back from a rental.
+     * The vehicle breaks down when its battery is low or when it reached the maximum number of rentals.
+     *
+     * @param vehicle The vehicle coming back from a rental.
+     * @return BROKEN_DOWN if the vehicle needs an intervention, otherwise DISPONIBLE.
+     */
+	private static StateCode endOfRental(Vehicle vehicle) {
+		ElectricVelo electricVelo = vehicle.getElectricVelo();
+		if (electricVelo != null && electricVelo.getBatteryLevel()<=20) {
+			return BROKEN_DOWN;
+		}
+		if (vehicle.getNumberOfRentals()==Constants.MAX_NB_OF_RENTALS_BEFORE_INTERVANTION) {
+			return BROKEN_DOWN;
+		}
+		return DISPONIBLE;
+	}
+
+	/**
+     * Creates the State object matching this code for a vehicle.
+     * State objects are kept as a facade over the codes for existing callers.
+     *
+     * @param vehicle The vehicle the state belongs to.
+     * @return A new State object for this code.
+     */
+	public State toState(Vehicle vehicle) {
+		switch (this) {
+			case DISPONIBLE:
+				return new Disponible(vehicle);
+			case RENTED:
+				return new Rented(vehicle);
+			case BROKEN_DOWN:
+				return new BrokenDown(vehicle);
+			case CURRENTLY_BEING_REPAIRED:
+				return new CurrentlyBeingRepaired(vehicle);
+			default:
+				return new Stolen(vehicle);
+		}
+	}
+
+	/**
+     * Provides the display name of the state, the same as the matching State object.
+     *
+     * @return The display name of the state.
+     */
+	@Override
+	public String toString() {
+		return this.label;
+	}
+}
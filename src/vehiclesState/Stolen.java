@@ -4,8 +4,7 @@ import vehicles.Vehicle;
 
 /**
  * Represents the 'Stolen' state of a vehicle in the transportation system.
- * This state indicates that the vehicle has been stolen. The class extends the State class
- * and provides behavior specific to vehicles in a stolen state.
+ * This state indicates that the vehicle has been stolen. No action changes it.
  */
 public class Stolen extends State {
 	
@@ -19,14 +18,14 @@ public class Stolen extends State {
     }
 
     /**
-     * Performs an action based on the Stolen state of the vehicle.
-     * Currently, this method does not perform any action, but it can be extended
-     * to implement behavior specific to when a vehicle is stolen.
+     * Gets the code of this state.
      *
-     * @param toSteal A boolean parameter, currently not used but can be utilized for future extensions.
+     * @return StateCode.STOLEN.
      */
 	@Override
-	public void action(Boolean toSteal) {}
+	public StateCode getCode() {
+		return StateCode.STOLEN;
+	}
 
 	/**
      * Provides a string representation of the Stolen state.
@@ -37,4 +36,4 @@ public class Stolen extends State {
     public String toString() {
 		return "Stolen";
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package controlCenters;
 
+import java.util.Arrays;
+
 import exceptions.RedistribuationNotCompletedException;
 import exceptions.StationEmptyException;
 import redistibuationStrategy.ClassicStrategy;
@@ -74,6 +76,28 @@ public class ControlCenterTest {
     	assertEquals(1,st.cptCalledWhenFull);
     }
 
+    @Test
+    public void testOccupancyFollowsTheStationList() {
+    	ControlCenter center = new ControlCenter();
+    	Station first = new VeloStation(1611, "Station-1611", 4);
+    	first.addVehicle(new ClassicVelo(9611, first));
+    	center.addStation(first);
+    	assertEquals(1, center.getOccupancy().getNbDeficitStations());
+    	assertEquals(3, center.getOccupancy().getNbFreeDocks());
+
+    	Station second = new VeloStation(1612, "Station-1612", 2);
+    	second.addVehicle(new ClassicVelo(9612, second));
+    	second.addVehicle(new ClassicVelo(9613, second));
+    	center.getStations().add(second);
+    	assertEquals(1, center.getOccupancy().getNbSurplusStations());
+    	assertEquals(1, center.getOccupancy().getNbFullStations());
+
+    	center.getStations().clear();
+    	first.addVehicle(new ClassicVelo(9614, first));
+    	assertEquals(0, center.getOccupancy().getNbStations());
+    	assertEquals(0, center.getOccupancy().getNbVehicles());
+    }
+
     @Test
     public void testUpdateVehicle() throws RedistribuationNotCompletedException, StationEmptyException {
     	this.vehicle.setState(new BrokenDown(this.vehicle));
@@ -83,6 +107,34 @@ public class ControlCenterTest {
     	assertEquals("Disponible", this.vehicle.getState().toString());
     }
 
+    @Test
+    public void testRepeatedEventsOfABatchAreHandledOnce() {
+    	MockStrategy st = new MockStrategy();
+    	this.controlCenter.setStrategy(st);
+    	StationEvent empty = new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, null);
+    	this.controlCenter.update(Arrays.asList(empty, empty, new StationEvent(StationEvent.Type.BECAME_FULL, this.station, null), empty));
+    	assertEquals(1, st.cptCalledWhenEmpty);
+    	assertEquals(1, st.cptCalledWhenFull);
+    }
+
+    @Test
+    public void testEventBusHandlesEventsOnItsOwnThread() throws InterruptedException, RedistribuationNotCompletedException, StationEmptyException {
+    	MockStrategy st = new MockStrategy();
+    	this.controlCenter.setStrategy(st);
+    	EventBus bus = this.controlCenter.startEventBus();
+    	try {
+    		assertSame(bus, this.controlCenter.getEventBus());
+    		this.controlCenter.publish(new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, null));
+    		assertTrue(bus.flush(5000));
+    		assertEquals(1, st.cptCalledWhenEmpty);
+    	} finally {
+    		this.controlCenter.stopEventBus();
+    	}
+    	assertNull(this.controlCenter.getEventBus());
+    	this.controlCenter.publish(new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, null));
+    	assertEquals(2, st.cptCalledWhenEmpty);
+    }
+
     @Test
     public void testSetVeloStations() {
     	// initialement on a 20 station + 5, on auras 25 en tout 
@@ -0,0 +1,177 @@
+package controlCenters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.RedistribuationNotCompletedException;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+public class EventBusTest {
+
+	private RecordingObserver observer;
+	private EventBus bus;
+	private Station station;
+	private Vehicle vehicle;
+
+	/**
+	 * An observer recording the calls and batches it receives. It can be held until the test releases it.
+	 */
+	private static class RecordingObserver implements Observer {
+		private final List<String> calls = new ArrayList<>();
+		private final List<Integer> batchSizes = new ArrayList<>();
+		private final CountDownLatch started = new CountDownLatch(1);
+		private CountDownLatch release = new CountDownLatch(0);
+
+		@Override
+		public void update(List<StationEvent> events) {
+			this.started.countDown();
+			try {
+				this.release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized (this) {
+				this.batchSizes.add(events.size());
+			}
+			Observer.super.update(events);
+		}
+
+		@Override
+		public synchronized void update(Station station, boolean full) throws RedistribuationNotCompletedException {
+			this.calls.add(full ? "full" : "empty");
+			if (full) {
+				throw new RedistribuationNotCompletedException("failed");
+			}
+		}
+
+		@Override
+		public synchronized void update(Vehicle vehicle, boolean toSteal) {
+			this.calls.add(toSteal ? "steal" : "repair");
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.observer = new RecordingObserver();
+		this.bus = new EventBus(this.observer, 16, 8);
+		this.station = new VeloStation(1, "Bus", 10);
+		this.vehicle = new ClassicVelo(1, this.station);
+	}
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		this.observer.release.countDown();
+		this.bus.shutdown();
+	}
+
+	private StationEvent event(StationEvent.Type type) {
+		return new StationEvent(type, this.station, this.vehicle);
+	}
+
+	@Test
+	public void testEventsAreDeliveredToTheMatchingUpdate() throws InterruptedException {
+		this.bus.publish(this.event(StationEvent.Type.BECAME_EMPTY));
+		this.bus.publish(this.event(StationEvent.Type.BECAME_FULL));
+		this.bus.publish(this.event(StationEvent.Type.LAST_VEHICLE_LEFT));
+		this.bus.publish(this.event(StationEvent.Type.VEHICLE_BROKE_DOWN));
+		assertTrue(this.bus.flush(5000));
+		assertEquals(Arrays.asList("empty", "full", "steal", "repair"), this.observer.calls);
+		assertEquals(4, this.bus.getNbDelivered());
+	}
+
+	@Test
+	public void testPublishDoesNotWaitForTheObserver() throws InterruptedException {
+		this.observer.release = new CountDownLatch(1);
+		this.bus.publish(this.event(StationEvent.Type.BECAME_EMPTY));
+		assertTrue(this.observer.started.await(5, TimeUnit.SECONDS));
+		long start = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			assertTrue(this.bus.publish(this.event(StationEvent.Type.VEHICLE_BROKE_DOWN)));
+		}
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(5, this.bus.getNbPendingEvents());
+		assertEquals(0, this.bus.getNbDelivered());
+		this.observer.release.countDown();
+		assertTrue(this.bus.flush(5000));
+		assertEquals(6, this.bus.getNbDelivered());
+	}
+
+	@Test
+	public void testEventsWaitingTogetherAreDeliveredInBatches() throws InterruptedException {
+		this.observer.release = new CountDownLatch(1);
+		this.bus.publish(this.event(StationEvent.Type.BECAME_EMPTY));
+		assertTrue(this.observer.started.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 10; i++) {
+			this.bus.publish(this.event(StationEvent.Type.VEHICLE_BROKE_DOWN));
+		}
+		this.observer.release.countDown();
+		assertTrue(this.bus.flush(5000));
+		assertEquals(Arrays.asList(1, 8, 2), this.observer.batchSizes);
+		assertEquals(3, this.bus.getNbBatches());
+	}
+
+	@Test
+	public void testShutdownDeliversPendingEventsAndRefusesNewOnes() throws InterruptedException {
+		this.observer.release = new CountDownLatch(1);
+		this.bus.publish(this.event(StationEvent.Type.BECAME_EMPTY));
+		assertTrue(this.observer.started.await(5, TimeUnit.SECONDS));
+		this.bus.publish(this.event(StationEvent.Type.LAST_VEHICLE_LEFT));
+		this.observer.release.countDown();
+		this.bus.shutdown();
+		assertEquals(Arrays.asList("empty", "steal"), this.observer.calls);
+		assertFalse(this.bus.publish(this.event(StationEvent.Type.BECAME_EMPTY)));
+	}
+
+	@Test
+	public void testEveryEventAcceptedDuringShutdownIsDelivered() throws InterruptedException {
+		this.observer.release = new CountDownLatch(1);
+		this.bus.publish(this.event(StationEvent.Type.VEHICLE_BROKE_DOWN));
+		assertTrue(this.observer.started.await(5, TimeUnit.SECONDS));
+		AtomicLong nbAccepted = new AtomicLong(1);
+		CountDownLatch ready = new CountDownLatch(4);
+		Thread[] publishers = new Thread[4];
+		for (int i = 0; i < publishers.length; i++) {
+			publishers[i] = new Thread(() -> {
+				ready.countDown();
+				while (this.bus.publish(this.event(StationEvent.Type.VEHICLE_BROKE_DOWN))) {
+					nbAccepted.incrementAndGet();
+				}
+			});
+			publishers[i].start();
+		}
+		assertTrue(ready.await(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		this.observer.release.countDown();
+		this.bus.shutdown();
+		for (Thread publisher : publishers) {
+			publisher.join(5000);
+			assertFalse(publisher.isAlive());
+		}
+		assertEquals(nbAccepted.get(), this.bus.getNbPublished());
+		assertEquals(nbAccepted.get(), this.bus.getNbDelivered());
+		assertEquals(nbAccepted.get(), this.observer.calls.size());
+		assertEquals(0, this.bus.getNbPendingEvents());
+	}
+
+	@Test
+	public void testEventsAreEqualWhenTheyConcernTheSameStationAndVehicle() {
+		StationEvent empty = this.event(StationEvent.Type.BECAME_EMPTY);
+		assertEquals(empty, new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, this.vehicle));
+		assertEquals(empty.hashCode(), new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, this.vehicle).hashCode());
+		assertNotEquals(empty, new StationEvent(StationEvent.Type.BECAME_EMPTY, this.station, null));
+		assertNotEquals(empty, this.event(StationEvent.Type.BECAME_FULL));
+	}
+}
@@ -0,0 +1,166 @@
+package controlCenters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import schedulers.ExecutorScheduler;
+import schedulers.ScheduledTask;
+import schedulers.Scheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.BrokenDown;
+import vehiclesState.StateCode;
+
+public class RepairShopTest {
+
+	private ManualScheduler scheduler;
+	private RepairShop shop;
+	private Station station;
+
+	/**
+	 * A scheduler that keeps its tasks until the test runs them, so the repairs end when the test decides.
+	 */
+	private static class ManualScheduler implements Scheduler {
+		private final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public ScheduledTask schedule(Runnable action, long delay) {
+			this.tasks.add(action);
+			return new ScheduledTask() {
+				@Override
+				public void cancel() {
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return false;
+				}
+			};
+		}
+
+		private void runPending() {
+			List<Runnable> pending = new ArrayList<>(this.tasks);
+			this.tasks.clear();
+			pending.forEach(Runnable::run);
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.scheduler = new ManualScheduler();
+		this.shop = new RepairShop(2, 1000, this.scheduler);
+		this.station = new VeloStation(1, "Garage", 10);
+	}
+
+	private Vehicle createBrokenVehicle(int id) {
+		Vehicle vehicle = new ClassicVelo(id, this.station);
+		vehicle.setState(new BrokenDown(vehicle));
+		return vehicle;
+	}
+
+	@Test
+	public void testRepairEndsWhenTheScheduledTaskRuns() {
+		Vehicle vehicle = this.createBrokenVehicle(1);
+		CompletableFuture<Vehicle> done = this.shop.repair(vehicle);
+		assertFalse(done.isDone());
+		assertEquals(StateCode.CURRENTLY_BEING_REPAIRED, vehicle.getStateCode());
+		assertEquals(1, this.shop.getNbBusyMechanics());
+		this.scheduler.runPending();
+		assertTrue(done.isDone());
+		assertSame(vehicle, done.join());
+		assertEquals(StateCode.DISPONIBLE, vehicle.getStateCode());
+		assertEquals(0, this.shop.getNbBusyMechanics());
+	}
+
+	@Test
+	public void testVehiclesWaitForAFreeMechanic() {
+		List<CompletableFuture<Vehicle>> repairs = new ArrayList<>();
+		for (int id = 1; id <= 5; id++) {
+			repairs.add(this.shop.repair(this.createBrokenVehicle(id)));
+		}
+		assertEquals(2, this.shop.getNbBusyMechanics());
+		assertEquals(3, this.shop.getQueueDepth());
+		this.scheduler.runPending();
+		assertEquals(2, this.repairs(repairs));
+		assertEquals(1, this.shop.getQueueDepth());
+		this.scheduler.runPending();
+		assertEquals(4, this.repairs(repairs));
+		assertEquals(0, this.shop.getQueueDepth());
+		assertEquals(1, this.shop.getNbBusyMechanics());
+		this.scheduler.runPending();
+		assertEquals(5, this.repairs(repairs));
+		assertEquals(0, this.shop.getNbBusyMechanics());
+		assertEquals(5, this.shop.getNbSubmitted());
+		assertEquals(5, this.shop.getNbRepaired());
+	}
+
+	private int repairs(List<CompletableFuture<Vehicle>> repairs) {
+		int done = 0;
+		for (CompletableFuture<Vehicle> repair : repairs) {
+			if (repair.isDone()) {
+				done++;
+			}
+		}
+		return done;
+	}
+
+	@Test
+	public void testVehicleThatIsNotBrokenDownIsLeftAsItIs() {
+		Vehicle vehicle = new ClassicVelo(1, this.station);
+		CompletableFuture<Vehicle> done = this.shop.repair(vehicle);
+		assertTrue(done.isDone());
+		assertEquals(StateCode.DISPONIBLE, vehicle.getStateCode());
+		assertEquals(0, this.shop.getNbBusyMechanics());
+		assertEquals(1, this.shop.getNbSubmitted());
+		assertEquals(0, this.shop.getNbRepaired());
+	}
+
+	@Test
+	public void testVehicleRepairedWhileQueuedIsNotCounted() {
+		for (int id = 1; id <= 2; id++) {
+			this.shop.repair(this.createBrokenVehicle(id));
+		}
+		Vehicle vehicle = this.createBrokenVehicle(3);
+		CompletableFuture<Vehicle> done = this.shop.repair(vehicle);
+		vehicle.setStateCode(StateCode.DISPONIBLE);
+		this.scheduler.runPending();
+		assertTrue(done.isDone());
+		assertEquals(2, this.shop.getNbRepaired());
+		assertEquals(0, this.shop.getNbBusyMechanics());
+	}
+
+	@Test
+	public void testShopNeedsAMechanic() {
+		assertThrows(IllegalArgumentException.class, () -> new RepairShop(0, 1000, this.scheduler));
+	}
+
+	@Test
+	public void testMechanicsRepairInParallel() throws Exception {
+		ExecutorScheduler executor = new ExecutorScheduler(1);
+		try {
+			RepairShop parallelShop = new RepairShop(4, 100, executor);
+			List<CompletableFuture<?>> repairs = new ArrayList<>();
+			long start = System.nanoTime();
+			for (int id = 1; id <= 8; id++) {
+				repairs.add(parallelShop.repair(this.createBrokenVehicle(id)));
+			}
+			CompletableFuture.allOf(repairs.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertTrue(elapsed >= 200, "two rounds of repairs take at least two durations");
+			assertTrue(elapsed < 800, "eight vehicles with four mechanics should not be repaired one by one");
+			assertEquals(8, parallelShop.getNbRepaired());
+			assertTrue(parallelShop.getAverageTurnaround() >= 100);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package controlCenters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.RedistribuationNotCompletedException;
+import metrics.Metrics;
+import redistibuationStrategy.ClassicStrategy;
+import redistribuationStrategy.MockStrategy;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+public class ShardedControlCenterTest {
+
+	private ShardedControlCenter shards;
+
+	@BeforeEach
+	public void setUp() {
+		// stations below 1310 belong to the first region, the others to the second one
+		this.shards = new ShardedControlCenter(2, (station, nbShards) -> station.getStationID() < 1310 ? 0 : 1, ClassicStrategy::new);
+	}
+
+	private Station station(int id, int nbVehicles) {
+		Station station = new VeloStation(id, "Station-" + id, 4);
+		for (int i = 0; i < nbVehicles; i++) {
+			station.addVehicle(new ClassicVelo(9300 + id % 100 * 10 + i, station));
+		}
+		this.shards.addStation(station);
+		return station;
+	}
+
+	@Test
+	public void testStationsAreAddedToTheirShard() {
+		Station first = this.station(1301, 0);
+		Station second = this.station(1311, 0);
+
+		assertSame(this.shards.getShard(0), first.getControlCenter());
+		assertSame(this.shards.getShard(1), second.getControlCenter());
+		assertTrue(this.shards.getShard(0).getStations().contains(first));
+		assertFalse(this.shards.getShard(0).getStations().contains(second));
+		assertEquals(2, this.shards.getStations().size());
+		assertNotSame(this.shards.getShard(0).getStrategy(), this.shards.getShard(1).getStrategy());
+		assertSame(this.shards, this.shards.getShard(1).getShards());
+
+		this.shards.getShard(1).removeStation(second);
+		assertSame(ControlCenter.getInstanceControlCenter(), second.getControlCenter());
+	}
+
+	@Test
+	public void testRouterByStationIdSpreadsStations() {
+		ShardRouter router = ShardRouter.byStationId();
+		assertEquals(1, router.shardOf(new VeloStation(1321, "a", 1), 4));
+		assertEquals(3, router.shardOf(new VeloStation(-1, "b", 1), 4));
+	}
+
+	@Test
+	public void testRedistributionStaysInItsShard() throws RedistribuationNotCompletedException {
+		Station empty = this.station(1301, 0);
+		Station sameRegion = this.station(1302, 4);
+		Station otherRegion = this.station(1311, 4);
+
+		this.shards.getShard(0).update(empty, false);
+
+		assertEquals(2, empty.getNbVehicles());
+		assertEquals(2, sameRegion.getNbVehicles());
+		assertEquals(4, otherRegion.getNbVehicles());
+	}
+
+	@Test
+	public void testFallbackUsesTheOtherShards() throws RedistribuationNotCompletedException {
+		Station empty = this.station(1303, 0);
+		Station otherRegion = this.station(1312, 4);
+
+		assertThrows(RedistribuationNotCompletedException.class, () -> this.shards.getShard(0).update(empty, false));
+		assertEquals(0, empty.getNbVehicles());
+
+		this.shards.setCrossShardFallback(true);
+		long before = Metrics.getInstance().getCount(Metrics.Counter.CROSS_SHARD_REDISTRIBUTIONS);
+		this.shards.getShard(0).update(empty, false);
+
+		assertEquals(2, empty.getNbVehicles());
+		assertEquals(2, otherRegion.getNbVehicles());
+		assertEquals(1, Metrics.getInstance().getCount(Metrics.Counter.CROSS_SHARD_REDISTRIBUTIONS) - before);
+	}
+
+	@Test
+	public void testEachShardHandlesItsEventsOnItsOwnBus() throws Exception {
+		MockStrategy firstStrategy = new MockStrategy();
+		MockStrategy secondStrategy = new MockStrategy();
+		this.shards.getShard(0).setStrategy(firstStrategy);
+		this.shards.getShard(1).setStrategy(secondStrategy);
+		Station first = this.station(1304, 0);
+		Station second = this.station(1314, 0);
+
+		this.shards.startEventBuses();
+		try {
+			assertNotSame(this.shards.getShard(0).getEventBus(), this.shards.getShard(1).getEventBus());
+			first.getControlCenter().publish(new StationEvent(StationEvent.Type.BECAME_EMPTY, first, null));
+			second.getControlCenter().publish(new StationEvent(StationEvent.Type.BECAME_FULL, second, null));
+			assertTrue(this.shards.getShard(0).getEventBus().flush(5000));
+			assertTrue(this.shards.getShard(1).getEventBus().flush(5000));
+		} finally {
+			this.shards.stopEventBuses();
+		}
+		assertEquals(1, firstStrategy.cptCalledWhenEmpty);
+		assertEquals(0, firstStrategy.cptCalledWhenFull);
+		assertEquals(1, secondStrategy.cptCalledWhenFull);
+		assertEquals(0, secondStrategy.cptCalledWhenEmpty);
+	}
+}
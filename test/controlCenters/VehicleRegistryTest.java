@@ -0,0 +1,160 @@
+package controlCenters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class VehicleRegistryTest {
+
+	private VehicleRegistry registry;
+	private Station station;
+
+	@BeforeEach
+	public void setUp() {
+		this.registry = new VehicleRegistry();
+		this.station = new VeloStation(48, "Registry", 5);
+	}
+
+	@Test
+	public void testRegisteredVehicleCanBeFoundById() {
+		Vehicle vehicle = new ClassicVelo(48213, this.station);
+		this.registry.register(vehicle);
+		assertSame(vehicle, this.registry.getVehicle(48213));
+		assertSame(this.station, this.registry.getStation(48213));
+		assertEquals(StateCode.DISPONIBLE, this.registry.getState(48213));
+		assertTrue(this.registry.contains(48213));
+	}
+
+	@Test
+	public void testUnknownIdIsNotFound() {
+		assertNull(this.registry.getVehicle(7));
+		assertNull(this.registry.getStation(7));
+		assertNull(this.registry.getState(7));
+		assertFalse(this.registry.contains(7));
+	}
+
+	@Test
+	public void testRegistryGrowsAndKeepsEveryVehicle() {
+		for (int id = -500; id < 5000; id++) {
+			this.registry.register(new ClassicVelo(id, this.station));
+		}
+		assertEquals(5500, this.registry.size());
+		assertEquals(5500, this.registry.getNbVehicles(StateCode.DISPONIBLE));
+		for (int id = -500; id < 5000; id++) {
+			assertEquals(id, this.registry.getVehicle(id).getId());
+		}
+	}
+
+	@Test
+	public void testDecoratedVehicleIsTheSameVehicle() {
+		Vehicle vehicle = new ClassicVelo(12, this.station);
+		this.registry.register(vehicle);
+		Vehicle decorated = new Basket(vehicle);
+		this.registry.register(decorated);
+		assertEquals(1, this.registry.size());
+		assertSame(decorated, this.registry.getVehicle(12));
+		vehicle.updateStation(null);
+		assertNull(this.registry.getStation(12));
+	}
+
+	@Test
+	public void testOtherVehicleSharingAnIdIsIgnored() {
+		Vehicle vehicle = new ClassicVelo(13, this.station);
+		this.registry.register(vehicle);
+		Vehicle other = new ClassicVelo(13, null);
+		this.registry.stationChanged(other);
+		this.registry.unregister(other);
+		assertSame(vehicle, this.registry.getVehicle(13));
+		assertSame(this.station, this.registry.getStation(13));
+	}
+
+	@Test
+	public void testUnregisteredVehiclesAreForgotten() {
+		for (int id = 0; id < 1000; id++) {
+			this.registry.register(new ClassicVelo(id, this.station));
+		}
+		for (int id = 0; id < 1000; id += 2) {
+			Vehicle vehicle = this.registry.getVehicle(id);
+			this.registry.unregister(vehicle);
+			assertNull(vehicle.getRegistry());
+		}
+		assertEquals(500, this.registry.size());
+		assertEquals(500, this.registry.getNbVehicles(StateCode.DISPONIBLE));
+		for (int id = 0; id < 1000; id++) {
+			assertEquals(id % 2 == 1, this.registry.contains(id));
+		}
+	}
+
+	@Test
+	public void testStateCountsFollowTransitions() {
+		Vehicle vehicle = new ClassicVelo(3, this.station);
+		this.registry.register(vehicle);
+		vehicle.changeState(false);
+		this.registry.stateChanged(vehicle);
+		assertEquals(0, this.registry.getNbVehicles(StateCode.DISPONIBLE));
+		assertEquals(1, this.registry.getNbVehicles(StateCode.RENTED));
+		assertEquals(StateCode.RENTED, this.registry.getState(3));
+	}
+
+	@Test
+	public void testControlCenterRegistryFollowsRentAndDeposit() throws RedistribuationNotCompletedException, StationEmptyException, Exception {
+		ControlCenter center = new ControlCenter();
+		VehicleRegistry registry = center.getRegistry();
+		Station other = new VeloStation(49, "Other", 5);
+		Vehicle vehicle = new ClassicVelo(48213, this.station);
+		this.station.addVehicle(vehicle);
+		center.addStation(this.station);
+		center.addStation(other);
+		this.station.addVehicle(new ClassicVelo(48214, this.station));
+		this.station.addVehicle(new ClassicVelo(48215, this.station));
+		assertSame(this.station, center.locateVehicle(48213));
+		this.station.rentVehicle();
+		assertNull(registry.getStation(48215));
+		assertEquals(StateCode.RENTED, registry.getState(48215));
+		other.addVehicle(registry.getVehicle(48215));
+		assertSame(other, registry.getStation(48215));
+		this.station.stealVehicle();
+		assertFalse(registry.contains(48214));
+		center.removeStation(this.station);
+		assertFalse(registry.contains(48213));
+		assertEquals(1, registry.size());
+	}
+
+	@Test
+	public void testControlCentersReusingIdsDoNotSeeEachOther() {
+		ControlCenter first = new ControlCenter();
+		ControlCenter second = new ControlCenter();
+		Station other = new VeloStation(49, "Other", 5);
+		first.addStation(this.station);
+		second.addStation(other);
+		Vehicle mine = new ClassicVelo(7, null);
+		Vehicle theirs = new ClassicVelo(7, null);
+		this.station.addVehicle(mine);
+		other.addVehicle(theirs);
+		assertSame(this.station, first.locateVehicle(7));
+		assertSame(other, second.locateVehicle(7));
+		assertSame(mine, first.getRegistry().getVehicle(7));
+		assertSame(theirs, second.getRegistry().getVehicle(7));
+
+		this.station.transferVehicleTo(other);
+		assertNull(first.locateVehicle(7));
+		assertSame(other, second.locateVehicle(7));
+	}
+
+	@Test
+	public void testStandaloneStationsRegisterNothing() {
+		Vehicle vehicle = new ClassicVelo(8, null);
+		this.station.addVehicle(vehicle);
+		assertNull(vehicle.getRegistry());
+	}
+}
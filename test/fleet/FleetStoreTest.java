@@ -0,0 +1,135 @@
+package fleet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicleDecorators.LuggageRack;
+import vehicleDecorators.Painting;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class FleetStoreTest {
+
+	@Test
+	public void testRowsKeepTheirColumns() {
+		for (boolean offHeap : new boolean[] {false, true}) {
+			FleetStore store = new FleetStore(4, offHeap);
+			int row = store.add(42, 7, StateCode.RENTED, 12, 80, FleetStore.ELECTRIC | FleetStore.BASKET);
+
+			assertEquals(offHeap, store.isOffHeap());
+			assertEquals(1, store.size());
+			assertEquals(42, store.getId(row));
+			assertEquals(7, store.getStationId(row));
+			assertEquals(StateCode.RENTED, store.getState(row));
+			assertEquals(12, store.getNumberOfRentals(row));
+			assertEquals(80, store.getBatteryLevel(row));
+			assertEquals(FleetStore.ELECTRIC | FleetStore.BASKET, store.getAccessories(row));
+		}
+	}
+
+	@Test
+	public void testStoreGrowsAndFindsEveryVehicle() {
+		FleetStore store = new FleetStore(1, true);
+		for (int id = 0; id < 10000; id++) {
+			store.add(id * 31, id % 100, StateCode.DISPONIBLE, id, 0, 0);
+		}
+
+		assertEquals(10000, store.size());
+		for (int id = 0; id < 10000; id++) {
+			int row = store.indexOf(id * 31);
+			assertEquals(id, row);
+			assertEquals(id % 100, store.getStationId(row));
+			assertEquals(id, store.getNumberOfRentals(row));
+		}
+		assertEquals(-1, store.indexOf(1));
+		assertTrue(store.getNbBytes() < 40L * 10000 * 2);
+	}
+
+	@Test
+	public void testDuplicateVehicleIsRejected() {
+		FleetStore store = new FleetStore(16, false);
+		store.add(1, FleetStore.NO_STATION, StateCode.DISPONIBLE, 0, 0, 0);
+
+		assertThrows(IllegalArgumentException.class, () -> store.add(1, 2, StateCode.RENTED, 0, 0, 0));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	public void testViewReadsAndChangesItsRow() {
+		FleetStore store = new FleetStore(16, false);
+		store.add(1, 3, StateCode.DISPONIBLE, 0, 0, FleetStore.PAINTING);
+		store.add(2, 3, StateCode.DISPONIBLE, 5, 40, FleetStore.ELECTRIC);
+		FleetStore.VehicleView view = store.view();
+
+		assertTrue(view.moveToVehicle(2));
+		assertEquals(1, view.getRow());
+		assertTrue(view.isElectric());
+		assertTrue(view.isDisponible());
+		view.setStateCode(StateCode.RENTED);
+		view.setStationId(FleetStore.NO_STATION);
+		view.increaseNumberOfRentals();
+		view.setBatteryLevel(35);
+
+		assertEquals(StateCode.RENTED, store.getState(1));
+		assertEquals(FleetStore.NO_STATION, store.getStationId(1));
+		assertEquals(6, store.getNumberOfRentals(1));
+		assertEquals(35, store.getBatteryLevel(1));
+		assertFalse(view.moveToVehicle(3));
+		assertEquals(1, view.getRow());
+
+		view.moveTo(0);
+		assertEquals(1, view.getId());
+		assertFalse(view.isElectric());
+		assertTrue(view.hasAccessory(FleetStore.PAINTING));
+		assertFalse(view.hasAccessory(FleetStore.PAINTING | FleetStore.BASKET));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(2));
+	}
+
+	@Test
+	public void testCountReadsTheStateColumn() {
+		FleetStore store = new FleetStore(16, true);
+		for (int id = 0; id < 100; id++) {
+			store.add(id, 0, id % 4 == 0 ? StateCode.BROKEN_DOWN : StateCode.DISPONIBLE, 0, 0, 0);
+		}
+
+		assertEquals(25, store.count(StateCode.BROKEN_DOWN));
+		assertEquals(75, store.count(StateCode.DISPONIBLE));
+		assertEquals(0, store.count(StateCode.STOLEN));
+	}
+
+	@Test
+	public void testVehicleObjectsRoundTrip() {
+		Station station = new VeloStation(1201, "Station-1201", 10);
+		ElectricVelo electric = new ElectricVelo(9201, station);
+		electric.setBatteryLevel(55);
+		Vehicle decorated = new Basket(new LuggageRack(electric));
+		decorated.setNumberOfRentals(3);
+		station.addVehicle(decorated);
+		Vehicle classic = new Painting(new ClassicVelo(9202, null));
+		classic.setStateCode(StateCode.RENTED);
+
+		FleetStore store = new FleetStore(16, false);
+		int first = store.add(decorated);
+		int second = store.add(classic);
+
+		assertEquals(1201, store.getStationId(first));
+		assertEquals(FleetStore.ELECTRIC | FleetStore.BASKET | FleetStore.LUGGAGE_RACK, store.getAccessories(first));
+		assertEquals(55, store.getBatteryLevel(first));
+		assertEquals(FleetStore.NO_STATION, store.getStationId(second));
+		assertEquals(FleetStore.PAINTING, store.getAccessories(second));
+
+		Vehicle copy = store.toVehicle(first);
+		assertEquals(decorated.decorate(), copy.decorate());
+		assertEquals(3, copy.getNumberOfRentals());
+		assertEquals(55, FleetStore.batteryOf(copy));
+		assertEquals(StateCode.DISPONIBLE, copy.getStateCode());
+		assertNull(copy.getStation());
+		assertEquals(StateCode.RENTED, store.toVehicle(second).getStateCode());
+	}
+}
@@ -0,0 +1,88 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void testSmallValuesAreExact() {
+		Histogram histogram = new Histogram();
+		for (int i = 1; i <= 50; i++) {
+			histogram.record(i);
+		}
+		assertEquals(50, histogram.getCount());
+		assertEquals(25, histogram.getPercentile(0.5));
+		assertEquals(50, histogram.getPercentile(1));
+		assertEquals(50, histogram.getMax());
+	}
+
+	@Test
+	public void testLargeValuesAreWithinThreePercent() {
+		Histogram histogram = new Histogram();
+		for (long value = 1000; value <= 1_000_000; value += 1000) {
+			histogram.record(value);
+		}
+		long p50 = histogram.getPercentile(0.5);
+		long p99 = histogram.getPercentile(0.99);
+		assertEquals(500_000, p50, 500_000 * 0.03);
+		assertEquals(990_000, p99, 990_000 * 0.03);
+		assertTrue(p50 <= 500_000 && p99 <= 990_000);
+	}
+
+	@Test
+	public void testMergedHistogramsCountEveryValue() {
+		Histogram first = new Histogram();
+		Histogram second = new Histogram();
+		first.record(10);
+		second.record(Long.MAX_VALUE);
+		second.record(-5);
+		first.add(second);
+		assertEquals(3, first.getCount());
+		assertEquals(Long.MAX_VALUE, first.getMax());
+		assertEquals(0, first.getPercentile(0.1));
+	}
+
+	@Test
+	public void testEmptyHistogram() {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(0.99));
+		assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void testConcurrentRecordsAreAllCounted() throws InterruptedException {
+		Histogram histogram = new Histogram();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 1; i <= 10_000; i++) {
+					histogram.record(i);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(40_000, snapshot.getCount());
+		assertEquals(10_000, snapshot.getMax());
+		assertEquals(5000.5, snapshot.getMean(), 1e-9);
+	}
+
+	@Test
+	public void testReset() {
+		Histogram histogram = new Histogram();
+		histogram.record(1000);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.snapshot().getMean());
+	}
+}
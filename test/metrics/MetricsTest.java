@@ -0,0 +1,113 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import controlCenters.ControlCenter;
+import exceptions.RedistribuationNotCompletedException;
+import exceptions.StationEmptyException;
+import redistibuationStrategy.RedistributionStrategy;
+import schedulers.SimulationScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+public class MetricsTest {
+
+	private Station station;
+	private RedistributionStrategy previousStrategy;
+
+	@BeforeEach
+	public void setUp() {
+		this.station = new VeloStation(1, "metrics", 2);
+		// a scheduler that is never run, so the station's delayed notifications do not fire
+		this.station.setScheduler(new SimulationScheduler());
+		this.previousStrategy = ControlCenter.getInstanceControlCenter().getStrategy();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		ControlCenter.getInstanceControlCenter().setStrategy(this.previousStrategy);
+	}
+
+	@Test
+	public void testCountersAndTimers() {
+		Metrics metrics = new Metrics();
+		metrics.increment(Metrics.Counter.THEFTS);
+		metrics.increment(Metrics.Counter.THEFTS);
+		metrics.record(Metrics.Timer.RENT, 1500);
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(2, snapshot.getCount(Metrics.Counter.THEFTS));
+		assertEquals(0, snapshot.getCount(Metrics.Counter.RENTS));
+		assertEquals(1, snapshot.getLatency(Metrics.Timer.RENT).getCount());
+		assertEquals(1500, snapshot.getLatency(Metrics.Timer.RENT).getMax());
+		assertEquals(0, snapshot.getLatency(Metrics.Timer.DEPOSIT).getCount());
+	}
+
+	@Test
+	public void testReset() {
+		Metrics metrics = new Metrics();
+		metrics.increment(Metrics.Counter.REPAIRS);
+		metrics.record(Metrics.Timer.DEPOSIT, 10);
+		metrics.reset();
+		assertEquals(0, metrics.getCount(Metrics.Counter.REPAIRS));
+		assertEquals(0, metrics.getHistogram(Metrics.Timer.DEPOSIT).getCount());
+	}
+
+	@Test
+	public void testSnapshotIsNotUpdatedAfterwards() {
+		Metrics metrics = new Metrics();
+		MetricsSnapshot snapshot = metrics.snapshot();
+		metrics.increment(Metrics.Counter.RENTS);
+		assertEquals(0, snapshot.getCount(Metrics.Counter.RENTS));
+		assertTrue(snapshot.toString().contains("RENTS"));
+	}
+
+	// the registry of the network is shared by every test class, so these tests compare before and after
+
+	@Test
+	public void testStationRecordsRentsAndDeposits() throws Exception {
+		MetricsSnapshot before = ControlCenter.getInstanceControlCenter().getMetrics();
+		this.station.addVehicle(new ClassicVelo(1, this.station));
+		Vehicle vehicle = this.station.rentVehicle();
+		assertThrows(StationEmptyException.class, () -> this.station.rentVehicle());
+		this.station.deposit(vehicle);
+		MetricsSnapshot after = ControlCenter.getInstanceControlCenter().getMetrics();
+		assertEquals(1, after.getCount(Metrics.Counter.RENTS) - before.getCount(Metrics.Counter.RENTS));
+		assertEquals(1, after.getCount(Metrics.Counter.REJECTED_RENTS) - before.getCount(Metrics.Counter.REJECTED_RENTS));
+		assertEquals(1, after.getCount(Metrics.Counter.DEPOSITS) - before.getCount(Metrics.Counter.DEPOSITS));
+		assertEquals(1, after.getLatency(Metrics.Timer.RENT).getCount() - before.getLatency(Metrics.Timer.RENT).getCount());
+		assertEquals(1, after.getLatency(Metrics.Timer.DEPOSIT).getCount() - before.getLatency(Metrics.Timer.DEPOSIT).getCount());
+	}
+
+	@Test
+	public void testControlCenterRecordsFailedRedistributions() {
+		ControlCenter center = ControlCenter.getInstanceControlCenter();
+		center.setStrategy(new RedistributionStrategy() {
+			@Override
+			public void redistributeWhenEmpty(Station station, ArrayList<Station> stations) throws RedistribuationNotCompletedException {
+				throw new RedistribuationNotCompletedException("no vehicle to bring");
+			}
+
+			@Override
+			public void redistributeWhenFull(Station station, ArrayList<Station> stations) {
+			}
+		});
+		MetricsSnapshot before = center.getMetrics();
+		assertThrows(RedistribuationNotCompletedException.class, () -> center.update(this.station, false));
+		assertDoesNotThrow(() -> center.update(this.station, true));
+		MetricsSnapshot after = center.getMetrics();
+		assertEquals(2, after.getCount(Metrics.Counter.REDISTRIBUTIONS) - before.getCount(Metrics.Counter.REDISTRIBUTIONS));
+		assertEquals(1, after.getCount(Metrics.Counter.FAILED_REDISTRIBUTIONS) - before.getCount(Metrics.Counter.FAILED_REDISTRIBUTIONS));
+		assertEquals(1, after.getLatency(Metrics.Timer.REDISTRIBUTE_WHEN_EMPTY).getCount()
+				- before.getLatency(Metrics.Timer.REDISTRIBUTE_WHEN_EMPTY).getCount());
+		assertEquals(1, after.getLatency(Metrics.Timer.REDISTRIBUTE_WHEN_FULL).getCount()
+				- before.getLatency(Metrics.Timer.REDISTRIBUTE_WHEN_FULL).getCount());
+	}
+}
@@ -0,0 +1,148 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import controlCenters.ControlCenter;
+import controlCenters.RepairShop;
+import schedulers.SimulationScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicleDecorators.LuggageRack;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class JournalReplayerTest {
+
+	// far above the IDs of the stations the shared control center creates
+	private static final int FIRST_ID = 1001;
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private Station first;
+	private Station second;
+	private ControlCenter center;
+	private RepairShop previousRepairShop;
+
+	@BeforeEach
+	public void setUp() {
+		this.file = this.directory.resolve("events.journal");
+		this.first = new VeloStation(FIRST_ID, "first", 4);
+		this.second = new VeloStation(FIRST_ID + 1, "second", 6);
+		this.first.setScheduler(new SimulationScheduler());
+		this.second.setScheduler(new SimulationScheduler());
+		this.center = ControlCenter.getInstanceControlCenter();
+		this.previousRepairShop = this.center.getRepairShop();
+		this.center.setRepairShop(new RepairShop(1, 1, new SimulationScheduler()));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// the control center is shared by every test class: take back the replayed stations and broken-down vehicles
+		this.center.getStations().removeIf(station -> station.getStationID() >= FIRST_ID);
+		this.center.repairAllVehiclesAsync();
+		this.center.setRepairShop(this.previousRepairShop);
+	}
+
+	private Station replayedStation(int id) {
+		for (Station station : this.center.getStations()) {
+			if (station.getStationID() == id) {
+				return station;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testReplayRebuildsTheNetwork() throws Exception {
+		this.first.addVehicle(new ClassicVelo(9001, this.first));
+		this.first.addVehicle(new Basket(new LuggageRack(new ElectricVelo(9002, this.first))));
+		this.second.addVehicle(new ClassicVelo(9003, this.second));
+		try (Journal journal = new Journal(this.file)) {
+			journal.checkpoint(Arrays.asList(this.first, this.second));
+			this.first.setJournal(journal);
+			this.second.setJournal(journal);
+			Vehicle rented = this.first.rentVehicle();
+			this.second.deposit(rented);
+			this.second.stealVehicle();
+			this.first.rentVehicle();
+		}
+
+		JournalReplayer replayer = new JournalReplayer(this.center);
+		assertEquals(9, replayer.replay(this.file));
+		assertEquals(3, replayer.getNbVehicles());
+
+		Station first = this.replayedStation(FIRST_ID);
+		Station second = this.replayedStation(FIRST_ID + 1);
+		assertEquals(4, first.getMaxCapacite());
+		assertEquals(6, second.getMaxCapacite());
+		assertEquals(0, first.getNbVehicles());
+		assertEquals(1, second.getNbVehicles());
+
+		Vehicle docked = replayer.getVehicle(9003);
+		assertSame(second, docked.getStation());
+		assertEquals(StateCode.DISPONIBLE, docked.getStateCode());
+		Vehicle stolen = replayer.getVehicle(9002);
+		assertEquals(StateCode.STOLEN, stolen.getStateCode());
+		assertNull(stolen.getStation());
+		assertEquals(1, stolen.getNumberOfRentals());
+		assertEquals("An electric bike n°: 9002 with 80% battery level, with a luggage rack, with a basket", stolen.decorate());
+		Vehicle rented = replayer.getVehicle(9001);
+		assertEquals(StateCode.RENTED, rented.getStateCode());
+		assertNull(rented.getStation());
+	}
+
+	@Test
+	public void testReplayOverTheSameNetworkOnlyUpdatesIt() throws Exception {
+		Vehicle vehicle = new ClassicVelo(9011, this.first);
+		this.first.addVehicle(vehicle);
+		this.center.addStation(this.first);
+		this.center.addStation(this.second);
+		try (Journal journal = new Journal(this.file)) {
+			this.center.setJournal(journal);
+			this.first.transferVehicleTo(this.second);
+		} finally {
+			this.center.setJournal(null);
+		}
+		// puts the vehicle back where the checkpoint found it, as if the move had been lost
+		this.second.transferVehicleTo(this.first);
+
+		JournalReplayer replayer = new JournalReplayer(this.center);
+		replayer.replay(this.file);
+		assertSame(vehicle, replayer.getVehicle(9011));
+		assertSame(this.second, vehicle.getStation());
+		assertEquals(0, this.first.getNbVehicles());
+		assertEquals(1, this.second.getNbAvailableVehicles());
+	}
+
+	@Test
+	public void testBrokenDownVehiclesAreReportedAgain() throws Exception {
+		Vehicle vehicle = new ClassicVelo(9021, this.first);
+		this.first.addVehicle(vehicle);
+		try (Journal journal = new Journal(this.file)) {
+			journal.checkpoint(Arrays.asList(this.first));
+			vehicle.setStateCode(StateCode.BROKEN_DOWN);
+			journal.append(JournalRecord.Type.BREAKDOWN, vehicle, null);
+		}
+
+		JournalReplayer replayer = new JournalReplayer(this.center);
+		replayer.replay(this.file);
+		Vehicle replayed = replayer.getVehicle(9021);
+		assertEquals(StateCode.BROKEN_DOWN, replayed.getStateCode());
+		assertEquals(0, this.replayedStation(FIRST_ID).getNbAvailableVehicles());
+		assertFalse(this.center.repairAllVehiclesAsync().isDone());
+		assertEquals(StateCode.CURRENTLY_BEING_REPAIRED, replayed.getStateCode());
+	}
+}
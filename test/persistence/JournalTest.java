@@ -0,0 +1,199 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import schedulers.SimulationScheduler;
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class JournalTest {
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private Station station;
+	private Station otherStation;
+
+	@BeforeEach
+	public void setUp() {
+		this.file = this.directory.resolve("events.journal");
+		this.station = new VeloStation(1, "first", 5);
+		this.otherStation = new VeloStation(2, "second", 5);
+		this.station.setScheduler(new SimulationScheduler());
+		this.otherStation.setScheduler(new SimulationScheduler());
+	}
+
+	private List<JournalRecord> readAll() throws IOException {
+		List<JournalRecord> records = new ArrayList<>();
+		Journal.read(this.file, records::add);
+		return records;
+	}
+
+	@Test
+	public void testStationOperationsAreJournaled() throws Exception {
+		this.station.addVehicle(new ClassicVelo(1, this.station));
+		this.station.addVehicle(new ClassicVelo(2, this.station));
+		try (Journal journal = new Journal(this.file)) {
+			this.station.setJournal(journal);
+			this.otherStation.setJournal(journal);
+			Vehicle vehicle = this.station.rentVehicle();
+			this.otherStation.deposit(vehicle);
+			this.otherStation.transferVehicleTo(this.station);
+			this.station.stealVehicle();
+			assertEquals(4, journal.getNbAppended());
+		}
+		List<JournalRecord> records = this.readAll();
+		assertEquals(4, records.size());
+
+		JournalRecord rent = records.get(0);
+		assertEquals(JournalRecord.Type.RENT, rent.getType());
+		assertEquals(StateCode.RENTED, rent.getState());
+		assertEquals(JournalRecord.NO_STATION, rent.getStationId());
+		assertEquals(1, rent.getOriginStationId());
+
+		JournalRecord deposit = records.get(1);
+		assertEquals(JournalRecord.Type.DEPOSIT, deposit.getType());
+		assertEquals(StateCode.DISPONIBLE, deposit.getState());
+		assertEquals(2, deposit.getStationId());
+		assertEquals(1, deposit.getNbOfRentals());
+
+		JournalRecord move = records.get(2);
+		assertEquals(JournalRecord.Type.MOVE, move.getType());
+		assertEquals(1, move.getStationId());
+		assertEquals(2, move.getOriginStationId());
+
+		JournalRecord theft = records.get(3);
+		assertEquals(JournalRecord.Type.STEAL, theft.getType());
+		assertEquals(StateCode.STOLEN, theft.getState());
+		assertEquals(JournalRecord.NO_STATION, theft.getStationId());
+	}
+
+	@Test
+	public void testCheckpoint() throws IOException {
+		this.station.addVehicle(new Basket(new ElectricVelo(7, this.station)));
+		try (Journal journal = new Journal(this.file)) {
+			journal.checkpoint(Arrays.asList(this.station, this.otherStation));
+		}
+		List<JournalRecord> records = this.readAll();
+		assertEquals(3, records.size());
+		assertEquals(JournalRecord.Type.STATION, records.get(0).getType());
+		assertEquals(5, records.get(0).getCapacity());
+		assertEquals(2, records.get(1).getStationId());
+		JournalRecord place = records.get(2);
+		assertEquals(JournalRecord.Type.PLACE, place.getType());
+		assertEquals(7, place.getVehicleId());
+		assertTrue(place.isElectric());
+		assertEquals(100, place.getBatteryLevel());
+	}
+
+	@Test
+	public void testReopenedJournalAppendsAfterTheLastRecord() throws IOException {
+		try (Journal journal = new Journal(this.file, 4 * JournalRecord.SIZE, null)) {
+			for (int i = 0; i < 5; i++) {
+				journal.append(this.station);
+			}
+		}
+		try (Journal journal = new Journal(this.file, 4 * JournalRecord.SIZE, null)) {
+			assertEquals(JournalRecord.SIZE * 6, journal.getSize());
+			journal.append(this.otherStation);
+		}
+		List<JournalRecord> records = this.readAll();
+		assertEquals(6, records.size());
+		assertEquals(2, records.get(5).getStationId());
+	}
+
+	@Test
+	public void testRecordsSpanSeveralRegions() throws IOException {
+		try (Journal journal = new Journal(this.file, 2 * JournalRecord.SIZE, null)) {
+			for (int i = 0; i < 9; i++) {
+				journal.append(i % 2 == 0 ? this.station : this.otherStation);
+			}
+		}
+		assertEquals(9, Journal.read(this.file, record -> {}));
+	}
+
+	@Test
+	public void testConcurrentAppendsAreAllKept() throws Exception {
+		int nbThreads = 4;
+		int nbRecords = 5000;
+		try (Journal journal = new Journal(this.file, 64 * JournalRecord.SIZE, null)) {
+			Thread[] threads = new Thread[nbThreads];
+			for (int t = 0; t < nbThreads; t++) {
+				Station station = new VeloStation(10 + t, "station-" + t, 5);
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < nbRecords; i++) {
+						journal.append(station);
+					}
+				});
+				threads[t].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertEquals(nbThreads * nbRecords, journal.getNbAppended());
+			assertEquals(JournalRecord.SIZE * (1L + nbThreads * nbRecords), journal.getSize());
+		}
+		int[] nbByStation = new int[nbThreads];
+		assertEquals(nbThreads * nbRecords, Journal.read(this.file, record -> nbByStation[record.getStationId() - 10]++));
+		for (int count : nbByStation) {
+			assertEquals(nbRecords, count);
+		}
+	}
+
+	@Test
+	public void testClosedJournalRejectsRecords() throws IOException {
+		Journal journal = new Journal(this.file);
+		journal.close();
+		assertThrows(IllegalStateException.class, () -> journal.append(this.station));
+	}
+
+	@Test
+	public void testOtherFilesAreRejected() throws IOException {
+		Files.write(this.file, new byte[64]);
+		assertThrows(IOException.class, () -> new Journal(this.file));
+		assertThrows(IOException.class, () -> Journal.read(this.file, record -> {}));
+	}
+
+	@Test
+	public void testPeriodicSync() throws IOException {
+		SimulationScheduler scheduler = new SimulationScheduler();
+		Journal journal = new Journal(this.file, scheduler);
+		journal.append(this.station);
+		assertEquals(1, scheduler.getNbPendingTasks());
+		assertTrue(scheduler.step());
+		assertEquals(1, scheduler.getNbPendingTasks());
+		journal.close();
+		scheduler.run();
+		assertEquals(0, scheduler.getNbPendingTasks());
+		assertEquals(1, Journal.read(this.file, record -> {}));
+	}
+
+	@Test
+	public void testRecordsAreStampedWithTheSchedulerClock() throws IOException {
+		SimulationScheduler scheduler = new SimulationScheduler();
+		try (Journal journal = new Journal(this.file, scheduler)) {
+			scheduler.runUntil(42_000);
+			journal.append(this.station);
+		}
+		List<JournalRecord> records = this.readAll();
+		assertEquals(1, records.size());
+		assertEquals(42_000, records.get(0).getTime());
+	}
+}
@@ -0,0 +1,155 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import controlCenters.ControlCenter;
+import stations.ConcurrentVeloStation;
+import stations.Station;
+import stations.VeloStation;
+import vehicleDecorators.Basket;
+import vehicleDecorators.Painting;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class NetworkSnapshotTest {
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() {
+		this.file = this.directory.resolve("network.snapshot");
+	}
+
+	@Test
+	public void testStationsAndVehiclesAreRestored() throws IOException {
+		Station first = new VeloStation(1, "Gare Lille-Flandres", 10);
+		first.setLocation(1.5, -2.25);
+		Station second = new ConcurrentVeloStation(2, "République Beaux-Arts", 5);
+		ElectricVelo battery = new ElectricVelo(9111, null);
+		battery.decreaseBatteryLevel(40);
+		Vehicle electric = new Painting(battery);
+		electric.setNumberOfRentals(3);
+		Vehicle broken = new ClassicVelo(9112, null);
+		broken.setStateCode(StateCode.BROKEN_DOWN);
+		first.addVehicle(new Basket(new ClassicVelo(9110, null)));
+		first.addVehicle(electric);
+		first.addVehicle(broken);
+		second.addVehicle(new ClassicVelo(9120, null));
+
+		long size = NetworkSnapshot.write(this.file, Arrays.asList(first, second));
+		assertEquals(Files.size(this.file), size);
+
+		ArrayList<Station> stations = NetworkSnapshot.read(this.file);
+		assertEquals(2, stations.size());
+		Station restored = stations.get(0);
+		assertTrue(restored instanceof VeloStation);
+		assertTrue(stations.get(1) instanceof ConcurrentVeloStation);
+		assertEquals("Gare Lille-Flandres", restored.getName());
+		assertEquals("République Beaux-Arts", stations.get(1).getName());
+		assertEquals(10, restored.getMaxCapacite());
+		assertEquals(1.5, restored.getX());
+		assertEquals(-2.25, restored.getY());
+		assertEquals(3, restored.getNbVehicles());
+		assertEquals(2, restored.getNbAvailableVehicles());
+		Iterator<Vehicle> copies = restored.getVehicles().iterator();
+		for (Vehicle original : first.getVehicles()) {
+			Vehicle copy = copies.next();
+			assertEquals(original.getId(), copy.getId());
+			assertEquals(original.decorate(), copy.decorate());
+			assertEquals(original.getStateCode(), copy.getStateCode());
+			assertEquals(original.getNumberOfRentals(), copy.getNumberOfRentals());
+			assertSame(restored, copy.getStation());
+		}
+		assertEquals(1, stations.get(1).getNbVehicles());
+	}
+
+	@Test
+	public void testStationsLargerThanTheBuffer() throws IOException {
+		int nbVehicles = 2 * NetworkSnapshot.BUFFER_SIZE / NetworkSnapshot.VEHICLE_SIZE + 7;
+		Station station = new VeloStation(1, "large", nbVehicles);
+		ArrayList<Vehicle> vehicles = new ArrayList<>();
+		for (int i = 0; i < nbVehicles; i++) {
+			vehicles.add(new ClassicVelo(100_000 + i, null));
+		}
+		station.addVehicles(vehicles);
+		NetworkSnapshot.write(this.file, Arrays.asList(station));
+		Station restored = NetworkSnapshot.read(this.file).get(0);
+		assertEquals(nbVehicles, restored.getNbVehicles());
+		assertEquals(nbVehicles, restored.getNbAvailableVehicles());
+		assertEquals(100_000, restored.getVehicles().get(0).getId());
+		assertEquals(100_000 + nbVehicles - 1, restored.getVehicles().get(nbVehicles - 1).getId());
+	}
+
+	@Test
+	public void testRestoreReplacesTheNetworkOfTheControlCenter() throws IOException {
+		Station station = new VeloStation(1001, "restored", 5);
+		station.addVehicle(new ClassicVelo(9130, null));
+		station.addVehicle(new ClassicVelo(9131, null));
+		NetworkSnapshot.write(this.file, Arrays.asList(station));
+		ControlCenter center = ControlCenter.getInstanceControlCenter();
+		ArrayList<Station> previous = new ArrayList<>(center.getStations());
+		try {
+			assertEquals(2, NetworkSnapshot.restore(this.file, center));
+			assertEquals(1, center.getStations().size());
+			assertEquals(1001, center.getStations().get(0).getStationID());
+			assertEquals(9131, center.locateVehicle(9131).getVehicles().get(0).getId());
+		} finally {
+			// the control center is shared by every test class
+			center.getStations().clear();
+			center.getStations().addAll(previous);
+		}
+	}
+
+	@Test
+	public void testRestoreDetachesThePreviousStations() throws IOException {
+		ControlCenter center = new ControlCenter();
+		Station previous = new VeloStation(1002, "previous", 5);
+		previous.addVehicle(new ClassicVelo(9140, null));
+		center.addStation(previous);
+		NetworkSnapshot.write(this.file, Arrays.asList(new VeloStation(1003, "restored", 5)));
+		try (Journal journal = new Journal(this.directory.resolve("events.journal"))) {
+			center.setJournal(journal);
+			long nbRecords = journal.getNbAppended();
+
+			NetworkSnapshot.restore(this.file, center);
+
+			assertNotSame(center, previous.getControlCenter());
+			assertNull(previous.getJournal());
+			assertNull(center.locateVehicle(9140));
+			previous.addVehicle(new ClassicVelo(9141, null));
+			previous.stealVehicle();
+			assertNull(center.locateVehicle(9141));
+			assertEquals(nbRecords + 1, journal.getNbAppended());
+			assertEquals(1, center.getOccupancy().getNbStations());
+			assertEquals(0, center.getOccupancy().getNbAvailableVehicles());
+		}
+	}
+
+	@Test
+	public void testTruncatedAndOtherFilesAreRejected() throws IOException {
+		Files.write(this.file, new byte[64]);
+		assertThrows(IOException.class, () -> NetworkSnapshot.read(this.file));
+		Station station = new VeloStation(1, "station", 5);
+		station.addVehicle(new ClassicVelo(9101, null));
+		NetworkSnapshot.write(this.file, Arrays.asList(station));
+		byte[] bytes = Files.readAllBytes(this.file);
+		Files.write(this.file, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> NetworkSnapshot.read(this.file));
+	}
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.*;
 
 import exceptions.RedistribuationNotCompletedException;
 import redistibuationStrategy.ClassicStrategy;
+import stations.NetworkOccupancy;
 import stations.Station;
 import stations.VeloStation;
 import vehicles.ClassicVelo;
@@ -99,4 +100,15 @@ public class ClassicStrategyTest {
     	assertEquals(stationVide.getNbVehicles(),0);
     }
 
+    @Test
+    public void testRedistributeWhenFullStopsWhenNoStationCanTakeVehicles() throws RedistribuationNotCompletedException {
+    	stations.remove(stationVide);
+    	NetworkOccupancy occupancy = new NetworkOccupancy();
+    	occupancy.track(stations);
+    	strategy.redistributeWhenFull(stationPleine, stations, occupancy);
+    	assertEquals(stationPleine.getNbVehicles(),9);
+    	assertEquals(stationAvecPenurie.getNbVehicles(),5);
+    	assertEquals(0, occupancy.getNbDeficitStations());
+    }
+
 }
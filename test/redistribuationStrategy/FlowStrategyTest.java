@@ -0,0 +1,210 @@
+package redistribuationStrategy;
+
+import static org.junit.Assert.*;
+import org.junit.jupiter.api.*;
+
+import exceptions.RedistribuationNotCompletedException;
+import redistibuationStrategy.FlowStrategy;
+import redistibuationStrategy.RebalancingPlan;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+import java.util.ArrayList;
+
+public class FlowStrategyTest {
+    private FlowStrategy strategy;
+    private ArrayList<Station> stations;
+    private int nextId;
+
+    @BeforeEach
+    public void setUp() {
+        strategy = new FlowStrategy(8, 0);
+        stations = new ArrayList<>();
+        nextId = 0;
+    }
+
+    private Station createStation(double x, int nbVehicles) {
+        Station station = new VeloStation(stations.size() + 1, "Station " + stations.size(), 10);
+        station.setLocation(x, 0);
+        for (int i = 0; i < nbVehicles; i++) {
+            station.addVehicle(new ClassicVelo(nextId++, station));
+        }
+        stations.add(station);
+        return station;
+    }
+
+    @Test
+    public void testPlanPairsEachSurplusWithTheNearestDeficit() {
+        Station left = createStation(0, 7);
+        Station far = createStation(10, 7);
+        Station nearLeft = createStation(1, 3);
+        Station nearFar = createStation(11, 3);
+        RebalancingPlan plan = strategy.plan(stations);
+        assertEquals(4, plan.getNbVehicles());
+        assertEquals(4.0, plan.getTotalDistance(), 1e-9);
+        for (RebalancingPlan.Move move : plan.getMoves()) {
+            assertTrue((move.getFrom() == left && move.getTo() == nearLeft) || (move.getFrom() == far && move.getTo() == nearFar));
+        }
+        assertEquals(7, left.getNbVehicles());
+    }
+
+    @Test
+    public void testPlanBeatsGreedyPairing() {
+        createStation(0, 6);
+        createStation(2, 4);
+        createStation(3, 6);
+        createStation(4, 4);
+        RebalancingPlan plan = strategy.plan(stations);
+        assertEquals(2, plan.getNbVehicles());
+        assertEquals(3.0, plan.getTotalDistance(), 1e-9);
+    }
+
+    @Test
+    public void testRebalanceExecutesThePlan() {
+        Station left = createStation(0, 9);
+        Station right = createStation(5, 1);
+        RebalancingPlan plan = strategy.rebalance(stations);
+        assertEquals(4, plan.getNbVehicles());
+        assertEquals(20.0, plan.getTotalDistance(), 1e-9);
+        assertEquals(5, left.getNbVehicles());
+        assertEquals(5, right.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenEmptyBalancesTheNetwork() throws RedistribuationNotCompletedException {
+        Station empty = createStation(0, 0);
+        Station full = createStation(1, 10);
+        Station surplus = createStation(2, 9);
+        Station shortage = createStation(3, 4);
+        strategy.redistributeWhenEmpty(empty, stations);
+        assertEquals(5, empty.getNbVehicles());
+        assertEquals(5, shortage.getNbVehicles());
+        assertEquals(23, full.getNbVehicles() + surplus.getNbVehicles() + empty.getNbVehicles() + shortage.getNbVehicles());
+        assertTrue(full.getNbVehicles() >= 5 && surplus.getNbVehicles() >= 5);
+    }
+
+    @Test
+    public void testRedistributeWhenEmptyServesTheEmptyStationFirstWhenSupplyIsShort() throws RedistribuationNotCompletedException {
+        Station empty = createStation(0, 0);
+        Station other = createStation(49, 0);
+        Station donor = createStation(50, 7);
+        strategy.redistributeWhenEmpty(empty, stations);
+        assertEquals(2, empty.getNbVehicles());
+        assertEquals(0, other.getNbVehicles());
+        assertEquals(5, donor.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenFull() throws RedistribuationNotCompletedException {
+        Station full = createStation(0, 10);
+        Station near = createStation(1, 0);
+        Station far = createStation(9, 0);
+        strategy.redistributeWhenFull(full, stations);
+        assertEquals(5, full.getNbVehicles());
+        assertEquals(5, near.getNbVehicles());
+        assertEquals(0, far.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenEmptyAndNotEnoughVehicles() {
+        Station empty = createStation(0, 0);
+        createStation(1, 4);
+        RedistribuationNotCompletedException thrown = Assertions.assertThrows(RedistribuationNotCompletedException.class, () -> {
+            strategy.redistributeWhenEmpty(empty, stations);
+        });
+        Assertions.assertEquals("Station has not been completed enough!", thrown.getMessage());
+    }
+
+    @Test
+    public void testRedistributeWhenFullAndNoRoom() {
+        Station full = createStation(0, 10);
+        createStation(1, 6);
+        RedistribuationNotCompletedException thrown = Assertions.assertThrows(RedistribuationNotCompletedException.class, () -> {
+            strategy.redistributeWhenFull(full, stations);
+        });
+        Assertions.assertEquals("Station has not been emptied correctly !", thrown.getMessage());
+    }
+
+    @Test
+    public void testToleranceLeavesNearlyBalancedStationsAlone() {
+        createStation(0, 7);
+        createStation(1, 3);
+        createStation(2, 9);
+        createStation(3, 0);
+        RebalancingPlan plan = new FlowStrategy(8, 0.25).plan(stations);
+        assertEquals(4, plan.getNbVehicles());
+        assertEquals(4.0, plan.getTotalDistance(), 1e-9);
+    }
+
+    /**
+     * Balances E/A and C/D with a first trigger, then takes 5 vehicles away from E and D
+     * and adds 5 to A and C: vehicles arrived or left on 20 of the 40 docks.
+     */
+    private Station[] driftAfterAFirstPlan(FlowStrategy strategy) throws RedistribuationNotCompletedException {
+        Station e = createStation(0, 0);
+        Station a = createStation(1, 10);
+        Station c = createStation(20, 10);
+        Station d = createStation(21, 0);
+        strategy.redistributeWhenEmpty(e, stations);
+        assertEquals(5, d.getNbVehicles());
+        for (Station station : new Station[] {e, d}) {
+            for (int i = 0; i < 5; i++) {
+                station.stealVehicle();
+            }
+        }
+        for (Station station : new Station[] {a, c}) {
+            for (int i = 0; i < 5; i++) {
+                station.addVehicle(new ClassicVelo(nextId++, station));
+            }
+        }
+        return new Station[] {e, a, c, d};
+    }
+
+    @Test
+    public void testSmallChangesKeepTheLastPlan() throws RedistribuationNotCompletedException {
+        FlowStrategy strategy = new FlowStrategy(8, 0, 0.5);
+        Station[] network = driftAfterAFirstPlan(strategy);
+        strategy.redistributeWhenEmpty(network[0], stations);
+        assertEquals(5, network[0].getNbVehicles());
+        assertEquals(5, network[1].getNbVehicles());
+        assertEquals(10, network[2].getNbVehicles());
+        assertEquals(0, network[3].getNbVehicles());
+    }
+
+    @Test
+    public void testLargeChangesPlanTheNetworkAgain() throws RedistribuationNotCompletedException {
+        FlowStrategy strategy = new FlowStrategy(8, 0, 0.1);
+        Station[] network = driftAfterAFirstPlan(strategy);
+        strategy.redistributeWhenEmpty(network[0], stations);
+        assertEquals(5, network[0].getNbVehicles());
+        assertEquals(5, network[1].getNbVehicles());
+        assertEquals(5, network[2].getNbVehicles());
+        assertEquals(5, network[3].getNbVehicles());
+    }
+
+    @Test
+    public void testMovingAStationChangesTheNearestStations() throws RedistribuationNotCompletedException {
+        FlowStrategy strategy = new FlowStrategy(8, 0, 1);
+        Station empty = createStation(0, 0);
+        Station near = createStation(1, 10);
+        Station far = createStation(5, 10);
+        strategy.redistributeWhenEmpty(empty, stations);
+        assertEquals(5, near.getNbVehicles());
+        for (int i = 0; i < 5; i++) {
+            empty.stealVehicle();
+            near.addVehicle(new ClassicVelo(nextId++, near));
+        }
+        far.setLocation(0.5, 0);
+        strategy.redistributeWhenEmpty(empty, stations);
+        assertEquals(5, empty.getNbVehicles());
+        assertEquals(10, near.getNbVehicles());
+        assertEquals(5, far.getNbVehicles());
+    }
+
+    @Test
+    public void testEquals() {
+        assertTrue(strategy.equals(new FlowStrategy()));
+        assertFalse(strategy.equals(null));
+    }
+}
@@ -0,0 +1,141 @@
+package redistribuationStrategy;
+
+import static org.junit.Assert.*;
+import org.junit.jupiter.api.*;
+
+import exceptions.RedistribuationNotCompletedException;
+import redistibuationStrategy.HeapStrategy;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+
+import java.util.ArrayList;
+
+public class HeapStrategyTest {
+    private HeapStrategy strategy;
+    private ArrayList<Station> stations;
+    private Station stationVide;
+    private Station stationPleine;
+    private Station stationAvecSurplus;
+    private Station stationAvecPenurie;
+
+    @BeforeEach
+    public void setUp() {
+        strategy = new HeapStrategy();
+        stations = new ArrayList<>();
+        stationVide = new VeloStation(1, "Station Vide", 10);
+        stationPleine = new VeloStation(2, "Station Pleine", 10);
+        stationAvecSurplus = new VeloStation(3, "Station Avec Surplus", 10);
+        stationAvecPenurie = new VeloStation(4, "Station avec penurie", 10);
+
+        for (int i = 0; i < 10; i++) {
+            stationPleine.addVehicle(new ClassicVelo(i, stationPleine));
+        }
+
+        for (int i = 0; i < 9; i++) {
+            stationAvecSurplus.addVehicle(new ClassicVelo(i, stationAvecSurplus));
+        }
+        
+        for(int i = 0; i<4; i++) {
+        	stationAvecPenurie.addVehicle(new ClassicVelo(i, stationAvecPenurie));
+        }
+
+        stations.add(stationVide);
+        stations.add(stationPleine);
+        stations.add(stationAvecSurplus);
+        stations.add(stationAvecPenurie);
+    }
+
+    @Test
+    public void testRedistributeWhenEmptyTakesFromTheLargestSurplusFirst() throws RedistribuationNotCompletedException {
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        assertEquals(7, stationPleine.getNbVehicles());
+        assertEquals(7, stationAvecSurplus.getNbVehicles());
+        assertEquals(4, stationAvecPenurie.getNbVehicles());
+        assertEquals(5, stationVide.getNbVehicles());
+        assertTrue(stationVide.isSufficientlyFilled());
+    }
+
+    @Test
+    public void testRedistributeWhenFullGivesToTheLargestDeficitFirst() throws RedistribuationNotCompletedException {
+        strategy.redistributeWhenFull(stationPleine, stations);
+        assertEquals(5, stationPleine.getNbVehicles());
+        assertEquals(9, stationAvecSurplus.getNbVehicles());
+        assertEquals(5, stationVide.getNbVehicles());
+        assertEquals(4, stationAvecPenurie.getNbVehicles());
+    }
+
+    @Test
+    public void testOccupancyChangesBetweenRedistributionsAreTracked() throws RedistribuationNotCompletedException {
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        for (int i = 0; i < 6; i++) {
+            stationAvecPenurie.addVehicle(new ClassicVelo(100 + i, stationAvecPenurie));
+        }
+        while (!stationVide.isEmpty()) {
+            stationVide.removeVehicle(stationVide.getVehicles().get(0));
+        }
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        assertEquals(7, stationAvecPenurie.getNbVehicles());
+        assertEquals(6, stationPleine.getNbVehicles());
+        assertEquals(6, stationAvecSurplus.getNbVehicles());
+        assertEquals(5, stationVide.getNbVehicles());
+    }
+
+    @Test
+    public void testNewStationsAreIndexed() throws RedistribuationNotCompletedException {
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        Station nouvelle = new VeloStation(5, "Station Nouvelle", 10);
+        stations.add(nouvelle);
+        strategy.redistributeWhenEmpty(nouvelle, stations);
+        assertEquals(4, nouvelle.getNbVehicles());
+        assertEquals(5, stationPleine.getNbVehicles());
+        assertEquals(5, stationAvecSurplus.getNbVehicles());
+    }
+
+    @Test
+    public void testReplacedStationsAreIndexed() throws RedistribuationNotCompletedException {
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        Station remplacante = new VeloStation(6, "Station Remplacante", 10);
+        for (int i = 0; i < 9; i++) {
+            remplacante.addVehicle(new ClassicVelo(200 + i, remplacante));
+        }
+        stations.set(1, remplacante);
+        while (!stationVide.isEmpty()) {
+            stationVide.removeVehicle(stationVide.getVehicles().get(0));
+        }
+        strategy.redistributeWhenEmpty(stationVide, stations);
+        assertEquals(7, stationPleine.getNbVehicles());
+        assertEquals(11, remplacante.getNbVehicles() + stationAvecSurplus.getNbVehicles());
+        assertEquals(5, stationVide.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenFullAndSurPlusVehicles() {
+    	stations.remove(0);
+    	stations.remove(2);
+    	RedistribuationNotCompletedException thrown = Assertions.assertThrows(RedistribuationNotCompletedException.class, () -> {
+    		strategy.redistributeWhenFull(stationPleine, stations);
+    	});
+    	Assertions.assertEquals("Station has not been emptied correctly !", thrown.getMessage());
+    	assertEquals(10, stationPleine.getNbVehicles());
+    	assertEquals(9, stationAvecSurplus.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenEmptyAndNotEnoughVehicles() {
+    	stations.remove(1);
+    	stations.remove(1);
+    	RedistribuationNotCompletedException thrown = Assertions.assertThrows(RedistribuationNotCompletedException.class, () -> {
+    		strategy.redistributeWhenEmpty(stationVide, stations);
+    	});
+    	Assertions.assertEquals("Station has not been completed enough!", thrown.getMessage());
+    	assertEquals(4, stationAvecPenurie.getNbVehicles());
+    	assertEquals(0, stationVide.getNbVehicles());
+    }
+
+    @Test
+    public void testEquals() {
+        assertTrue(strategy.equals(new HeapStrategy()));
+        assertFalse(strategy.equals(null));
+    }
+}
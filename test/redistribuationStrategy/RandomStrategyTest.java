@@ -83,6 +83,30 @@ public class RandomStrategyTest {
     	assertEquals(stationPleine.getNbVehicles(),10);
     }
     
+    @Test
+    public void testRedistributeWhenNoLongerFullAndNoStationNeedsVehicles() throws RedistribuationNotCompletedException {
+    	stations.remove(stationVide);
+    	stations.remove(stationAvecPenurie);
+    	strategy.redistributeWhenFull(stationAvecSurplus, stations);
+    	assertEquals(9, stationAvecSurplus.getNbVehicles());
+    }
+
+    @Test
+    public void testRedistributeWhenFullStopsWhenTransfersFail() {
+    	Station blocked = new VeloStation(5, "Station Bloquee", 10) {
+    		@Override
+    		public boolean transferVehicleTo(Station target) {
+    			return false;
+    		}
+    	};
+    	for (int i = 0; i < 10; i++) {
+    		blocked.addVehicle(new ClassicVelo(20 + i, blocked));
+    	}
+    	stations.add(blocked);
+    	Assertions.assertThrows(RedistribuationNotCompletedException.class, () -> strategy.redistributeWhenFull(blocked, stations));
+    	assertEquals(10, blocked.getNbVehicles());
+    }
+
     @Test
     public void testRedistributeWhenEmptyAndNotEnoughVehicles() throws RedistribuationNotCompletedException {
     	stations.remove(1);
@@ -0,0 +1,152 @@
+package redistribuationStrategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.RedistribuationNotCompletedException;
+import redistibuationStrategy.WeightedRandomStrategy;
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+public class WeightedRandomStrategyTest {
+	private ArrayList<Station> stations;
+	private Station stationVide;
+	private Station stationPleine;
+	private Station stationAvecSurplus;
+	private Station stationAvecPenurie;
+	private int nextId;
+
+	@BeforeEach
+	public void setUp() {
+		this.stations = new ArrayList<>();
+		this.nextId = 9700;
+		this.stationVide = this.station(1701, 10, 0);
+		this.stationPleine = this.station(1702, 10, 10);
+		this.stationAvecSurplus = this.station(1703, 10, 9);
+		this.stationAvecPenurie = this.station(1704, 10, 4);
+	}
+
+	private Station station(int id, int capacity, int nbVehicles) {
+		Station station = new VeloStation(id, "Station-" + id, capacity);
+		for (int i = 0; i < nbVehicles; i++) {
+			station.addVehicle(new ClassicVelo(this.nextId++, station));
+		}
+		this.stations.add(station);
+		return station;
+	}
+
+	@Test
+	public void testRedistributeWhenEmpty() throws RedistribuationNotCompletedException {
+		new WeightedRandomStrategy(1, true).redistributeWhenEmpty(this.stationVide, this.stations);
+
+		assertEquals(5, this.stationVide.getNbVehicles());
+		assertEquals(14, this.stationPleine.getNbVehicles() + this.stationAvecSurplus.getNbVehicles());
+		assertEquals(4, this.stationAvecPenurie.getNbVehicles());
+	}
+
+	@Test
+	public void testReplacedStationsAreIndexed() throws RedistribuationNotCompletedException {
+		WeightedRandomStrategy strategy = new WeightedRandomStrategy(1, true);
+		strategy.redistributeWhenEmpty(this.stationVide, this.stations);
+		Station replacement = this.station(1705, 10, 9);
+		this.stations.remove(this.stations.size() - 1);
+		this.stations.set(1, replacement);
+		while (!this.stationVide.isEmpty()) {
+			this.stationVide.removeVehicle(this.stationVide.getVehicles().get(0));
+		}
+		int before = this.stationPleine.getNbVehicles();
+
+		strategy.redistributeWhenEmpty(this.stationVide, this.stations);
+
+		assertEquals(before, this.stationPleine.getNbVehicles());
+		assertEquals(5, this.stationVide.getNbVehicles());
+		assertEquals(4, this.stationAvecPenurie.getNbVehicles());
+	}
+
+	@Test
+	public void testRedistributeWhenFull() throws RedistribuationNotCompletedException {
+		new WeightedRandomStrategy(1, false).redistributeWhenFull(this.stationPleine, this.stations);
+
+		assertEquals(5, this.stationPleine.getNbVehicles());
+		assertEquals(9, this.stationAvecSurplus.getNbVehicles());
+		assertEquals(9, this.stationVide.getNbVehicles() + this.stationAvecPenurie.getNbVehicles());
+	}
+
+	@Test
+	public void testRedistributeWhenEmptyWithoutDonor() {
+		this.stations.remove(this.stationPleine);
+		this.stations.remove(this.stationAvecSurplus);
+
+		assertThrows(RedistribuationNotCompletedException.class,
+				() -> new WeightedRandomStrategy(1, true).redistributeWhenEmpty(this.stationVide, this.stations));
+		assertEquals(0, this.stationVide.getNbVehicles());
+		assertEquals(4, this.stationAvecPenurie.getNbVehicles());
+	}
+
+	@Test
+	public void testSameSeedMakesTheSameMoves() throws RedistribuationNotCompletedException {
+		this.stations.remove(this.stationVide);
+		this.stations.remove(this.stationAvecPenurie);
+		ArrayList<Station> receivers = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			receivers.add(this.station(1710 + i, 10, 0));
+		}
+		new WeightedRandomStrategy(7, true).redistributeWhenFull(this.stationPleine, this.stations);
+		int[] firstMoves = new int[receivers.size()];
+		for (int i = 0; i < firstMoves.length; i++) {
+			Station receiver = receivers.get(i);
+			firstMoves[i] = receiver.getNbVehicles();
+			while (receiver.transferVehicleTo(this.stationPleine)) {
+			}
+		}
+
+		new WeightedRandomStrategy(7, true).redistributeWhenFull(this.stationPleine, this.stations);
+		for (int i = 0; i < firstMoves.length; i++) {
+			assertEquals(firstMoves[i], receivers.get(i).getNbVehicles());
+		}
+	}
+
+	@Test
+	public void testWeightedDrawsFavourTheLargestSurplus() throws RedistribuationNotCompletedException {
+		assertTrue(this.countDrawsFromPleine(new WeightedRandomStrategy(3, true)) > 140);
+	}
+
+	@Test
+	public void testUniformDrawsIgnoreTheSurplus() throws RedistribuationNotCompletedException {
+		int fromPleine = this.countDrawsFromPleine(new WeightedRandomStrategy(3, false));
+		assertTrue(fromPleine > 60 && fromPleine < 140);
+	}
+
+	/**
+	 * Empties a station of capacity 2 two hundred times; each time it takes a single vehicle, from stationPleine
+	 * (surplus of 5) or stationAvecPenurie, refilled to a surplus of 1, and the vehicle is given back.
+	 */
+	private int countDrawsFromPleine(WeightedRandomStrategy strategy) throws RedistribuationNotCompletedException {
+		this.stations.remove(this.stationVide);
+		this.stations.remove(this.stationAvecSurplus);
+		for (int i = 0; i < 2; i++) {
+			this.stationAvecPenurie.addVehicle(new ClassicVelo(this.nextId++, this.stationAvecPenurie));
+		}
+		Station small = this.station(1705, 2, 0);
+		int fromPleine = 0;
+		for (int i = 0; i < 200; i++) {
+			strategy.redistributeWhenEmpty(small, this.stations);
+			assertEquals(1, small.getNbVehicles());
+			Vehicle vehicle = small.getVehicles().get(0);
+			small.removeVehicle(vehicle);
+			if (this.stationPleine.getNbVehicles() < 10) {
+				fromPleine++;
+				this.stationPleine.addVehicle(vehicle);
+			} else {
+				this.stationAvecPenurie.addVehicle(vehicle);
+			}
+		}
+		return fromPleine;
+	}
+}
@@ -0,0 +1,66 @@
+package schedulers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import stations.Station;
+import stations.VeloStation;
+
+public class ExecutorSchedulerTest {
+
+	private ExecutorScheduler scheduler;
+
+	@BeforeEach
+	public void setUp() {
+		this.scheduler = new ExecutorScheduler(1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.scheduler.shutdown();
+	}
+
+	@Test
+	public void testScheduledActionRuns() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.scheduler.schedule(latch::countDown, 10);
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCancelledActionNeverRuns() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		ScheduledTask task = this.scheduler.schedule(runs::incrementAndGet, 50);
+		task.cancel();
+		assertTrue(task.isCancelled());
+		assertEquals(0, this.scheduler.getNbPendingTasks());
+		Thread.sleep(150);
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	public void testFailingActionDoesNotStopTheScheduler() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.scheduler.schedule(() -> { throw new IllegalStateException("expected"); }, 0);
+		this.scheduler.schedule(latch::countDown, 10);
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testStationsShareTheSameScheduler() {
+		int threadsBefore = Thread.activeCount();
+		Station first = new VeloStation(1, "first", 10);
+		for (int i = 2; i <= 1000; i++) {
+			assertSame(first.getScheduler(), new VeloStation(i, "station", 10).getScheduler());
+		}
+		assertEquals(1, ExecutorScheduler.getSharedInstance().getNbThreads());
+		assertTrue(Thread.activeCount() - threadsBefore < 5);
+	}
+}
@@ -0,0 +1,98 @@
+package schedulers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import stations.Station;
+import stations.VeloStation;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class SimulationSchedulerTest {
+
+	private SimulationScheduler scheduler;
+	private List<String> runs;
+
+	@BeforeEach
+	public void setUp() {
+		this.scheduler = new SimulationScheduler();
+		this.runs = new ArrayList<>();
+	}
+
+	@Test
+	public void testActionsRunInTimeOrderAndMoveTheClock() {
+		this.scheduler.schedule(() -> this.runs.add("late@" + this.scheduler.getTime()), 300);
+		this.scheduler.schedule(() -> this.runs.add("early@" + this.scheduler.getTime()), 100);
+		this.scheduler.schedule(() -> this.runs.add("first tie@" + this.scheduler.getTime()), 200);
+		this.scheduler.schedule(() -> this.runs.add("second tie@" + this.scheduler.getTime()), 200);
+		assertEquals(4, this.scheduler.getNbPendingTasks());
+		this.scheduler.run();
+		assertEquals(Arrays.asList("early@100", "first tie@200", "second tie@200", "late@300"), this.runs);
+		assertEquals(300, this.scheduler.getTime());
+		assertEquals(4, this.scheduler.getNbExecutedTasks());
+		assertEquals(0, this.scheduler.getNbPendingTasks());
+	}
+
+	@Test
+	public void testDelaysAreRelativeToTheVirtualTime() {
+		this.scheduler.schedule(() -> this.scheduler.schedule(() -> this.runs.add("nested@" + this.scheduler.getTime()), 50), 100);
+		this.scheduler.run();
+		assertEquals(Arrays.asList("nested@150"), this.runs);
+	}
+
+	@Test
+	public void testRunUntilStopsAtTheGivenTime() {
+		this.scheduler.schedule(() -> this.runs.add("a"), 100);
+		this.scheduler.schedule(() -> this.runs.add("b"), 1000);
+		this.scheduler.runUntil(500);
+		assertEquals(Arrays.asList("a"), this.runs);
+		assertEquals(500, this.scheduler.getTime());
+		assertEquals(1, this.scheduler.getNbPendingTasks());
+		this.scheduler.runUntil(1000);
+		assertEquals(Arrays.asList("a", "b"), this.runs);
+	}
+
+	@Test
+	public void testCancelledActionNeverRuns() {
+		ScheduledTask task = this.scheduler.schedule(() -> this.runs.add("cancelled"), 100);
+		task.cancel();
+		task.cancel();
+		assertTrue(task.isCancelled());
+		assertEquals(0, this.scheduler.getNbPendingTasks());
+		assertFalse(this.scheduler.step());
+		assertTrue(this.runs.isEmpty());
+	}
+
+	@Test
+	public void testFailingActionDoesNotStopTheSimulation() {
+		this.scheduler.schedule(() -> { throw new IllegalStateException("expected"); }, 0);
+		this.scheduler.schedule(() -> this.runs.add("after"), 10);
+		this.scheduler.run();
+		assertEquals(Arrays.asList("after"), this.runs);
+	}
+
+	@Test
+	public void testStationNotifiesAfterItsDelayOnTheVirtualClock() throws Exception {
+		Station station = new VeloStation(1, "Virtual", 5);
+		station.setScheduler(this.scheduler);
+		station.setNotificationDelay(15 * 60 * 1000);
+		Vehicle first = new ClassicVelo(1, station);
+		Vehicle second = new ClassicVelo(2, station);
+		station.addVehicle(first);
+		station.addVehicle(second);
+		Vehicle rented = station.rentVehicle();
+		Vehicle left = rented == first ? second : first;
+		this.scheduler.runUntil(15 * 60 * 1000 - 1);
+		assertEquals(1, station.getNbVehicles());
+		this.scheduler.runUntil(15 * 60 * 1000);
+		assertTrue(station.isEmpty());
+		assertEquals(StateCode.STOLEN, left.getStateCode());
+	}
+}
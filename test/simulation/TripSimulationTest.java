@@ -0,0 +1,48 @@
+package simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import controlCenters.ControlCenter;
+import redistibuationStrategy.RedistributionStrategy;
+import schedulers.Scheduler;
+import stations.Station;
+
+public class TripSimulationTest {
+
+	private TripSimulation simulate(long seed) {
+		TripSimulation simulation = new TripSimulation(30, 2000, seed);
+		simulation.run();
+		return simulation;
+	}
+
+	@Test
+	public void testSameSeedGivesSameResults() {
+		TripSimulation first = this.simulate(7);
+		TripSimulation second = this.simulate(7);
+		assertEquals(first.toString(), second.toString());
+		assertTrue(first.getNbEvents() > 2000);
+	}
+
+	@Test
+	public void testEveryTripIsAccountedFor() {
+		TripSimulation simulation = this.simulate(11);
+		assertEquals(2000, simulation.getNbCompletedTrips() + simulation.getNbFailedRents());
+		assertTrue(simulation.getFleetSize() > 0);
+	}
+
+	@Test
+	public void testControlCenterIsGivenBackAfterTheSimulation() {
+		ControlCenter center = ControlCenter.getInstanceControlCenter();
+		ArrayList<Station> stations = new ArrayList<>(center.getStations());
+		RedistributionStrategy strategy = center.getStrategy();
+		Scheduler scheduler = center.getScheduler();
+		this.simulate(3);
+		assertEquals(stations, center.getStations());
+		assertSame(strategy, center.getStrategy());
+		assertSame(scheduler, center.getScheduler());
+	}
+}
@@ -0,0 +1,127 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import schedulers.SimulationScheduler;
+import vehicleDecorators.Basket;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehiclesState.StateCode;
+
+public class ChargingSchedulerTest {
+
+	private SimulationScheduler clock;
+	private ChargingScheduler charging;
+
+	@BeforeEach
+	public void setUp() {
+		this.clock = new SimulationScheduler();
+		this.charging = new ChargingScheduler(this.clock, 1000, 10);
+	}
+
+	private ElectricVelo electric(int id, Station station, int batteryLevel) {
+		ElectricVelo velo = new ElectricVelo(id, station);
+		velo.setBatteryLevel(batteryLevel);
+		station.addVehicle(velo);
+		return velo;
+	}
+
+	@Test
+	public void testBudgetGoesToTheNextBikesToBeRented() {
+		Station station = new VeloStation(1401, "Station-1401", 10);
+		station.setChargingPower(15);
+		ElectricVelo last = this.electric(9401, station, 50);
+		ElectricVelo second = this.electric(9402, station, 40);
+		ElectricVelo first = this.electric(9403, station, 95);
+		this.charging.watch(station);
+
+		assertEquals(1, this.charging.tick());
+
+		assertEquals(100, first.getBatteryLevel());
+		assertEquals(50, second.getBatteryLevel());
+		assertEquals(50, last.getBatteryLevel());
+		assertEquals(1, this.charging.getNbChargingStations());
+	}
+
+	@Test
+	public void testFullyChargedStationsAreNoLongerVisited() {
+		Station station = new VeloStation(1402, "Station-1402", 10);
+		ElectricVelo velo = this.electric(9404, station, 75);
+		station.addVehicle(new Basket(new ClassicVelo(9405, station)));
+		this.charging.watch(station);
+
+		assertEquals(1, this.charging.tick());
+		assertEquals(85, velo.getBatteryLevel());
+		this.charging.tick();
+		assertEquals(1, this.charging.tick());
+		assertEquals(100, velo.getBatteryLevel());
+		assertEquals(0, this.charging.getNbChargingStations());
+		assertEquals(0, this.charging.tick());
+
+		velo.setBatteryLevel(60);
+		assertEquals(0, this.charging.tick());
+		station.addVehicle(new ClassicVelo(9406, station));
+		assertEquals(1, this.charging.tick());
+		assertEquals(70, velo.getBatteryLevel());
+	}
+
+	@Test
+	public void testOnlyChangedStationsAreVisited() {
+		ArrayList<Station> stations = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			stations.add(new VeloStation(2000 + i, "Station-" + (2000 + i), 10));
+		}
+		this.charging.watchAll(stations);
+		assertEquals(1000, this.charging.tick());
+		assertEquals(0, this.charging.tick());
+
+		this.electric(9407, stations.get(10), 80);
+		this.electric(9408, stations.get(500), 80);
+		assertEquals(2, this.charging.tick());
+		assertEquals(1002, this.charging.getNbStationVisits());
+	}
+
+	@Test
+	public void testBrokenDownBikesAreLeftToTheMechanics() {
+		Station station = new VeloStation(1403, "Station-1403", 10);
+		ElectricVelo velo = this.electric(9409, station, 20);
+		velo.setStateCode(StateCode.BROKEN_DOWN);
+		this.charging.watch(station);
+
+		this.charging.tick();
+		assertEquals(20, velo.getBatteryLevel());
+		assertEquals(0, this.charging.getNbChargingStations());
+	}
+
+	@Test
+	public void testTicksRunOnTheScheduler() {
+		Station station = new VeloStation(1404, "Station-1404", 10);
+		ElectricVelo velo = this.electric(9410, station, 40);
+		this.charging.watch(station);
+		this.charging.start();
+
+		this.clock.runUntil(3500);
+		assertEquals(70, velo.getBatteryLevel());
+
+		this.charging.stop();
+		this.clock.runUntil(10000);
+		assertEquals(70, velo.getBatteryLevel());
+		assertEquals(0, this.clock.getNbPendingTasks());
+	}
+
+	@Test
+	public void testChargedBikeStillBreaksDownWhenLow() throws Exception {
+		Station station = new VeloStation(1405, "Station-1405", 10);
+		ElectricVelo velo = new ElectricVelo(9411, null);
+		velo.setBatteryLevel(35);
+		velo.setStateCode(StateCode.RENTED);
+		station.deposit(velo);
+		assertEquals(15, velo.getBatteryLevel());
+		assertEquals(StateCode.BROKEN_DOWN, velo.getStateCode());
+	}
+}
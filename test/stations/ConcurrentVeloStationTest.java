@@ -0,0 +1,184 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.StationEmptyException;
+import exceptions.StationFullException;
+import schedulers.ScheduledTask;
+import schedulers.Scheduler;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+public class ConcurrentVeloStationTest extends StationTest {
+
+	private static final int NB_STATIONS = 4;
+	private static final int CAPACITY = 20;
+	private static final int NB_THREADS = 4;
+	private static final int NB_OPERATIONS = 5000;
+
+	@Override
+	protected Station createStation(int id, String name, int maxCapacite) {
+		return new ConcurrentVeloStation(id, name, maxCapacite);
+	}
+
+	/**
+	 * A scheduler that never runs its tasks, so the stress tests only exercise the stations themselves.
+	 */
+	private static class IdleScheduler implements Scheduler {
+		@Override
+		public ScheduledTask schedule(Runnable action, long delay) {
+			return new ScheduledTask() {
+				private boolean cancelled;
+
+				@Override
+				public void cancel() {
+					this.cancelled = true;
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return this.cancelled;
+				}
+			};
+		}
+	}
+
+	private List<Station> createFilledStations(int vehiclesPerStation) {
+		Scheduler idle = new IdleScheduler();
+		List<Station> stations = new ArrayList<>();
+		int id = 0;
+		for (int i = 0; i < NB_STATIONS; i++) {
+			Station s = this.createStation(i, "Stress" + i, CAPACITY);
+			s.setScheduler(idle);
+			for (int j = 0; j < vehiclesPerStation; j++) {
+				s.addVehicle(new ClassicVelo(id++, s));
+			}
+			stations.add(s);
+		}
+		return stations;
+	}
+
+	private void runInParallel(Runnable work) throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		AtomicInteger failures = new AtomicInteger();
+		for (int i = 0; i < NB_THREADS; i++) {
+			Thread t = new Thread(() -> {
+				try {
+					work.run();
+				} catch (RuntimeException e) {
+					failures.incrementAndGet();
+					e.printStackTrace();
+				}
+			});
+			threads.add(t);
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(0, failures.get());
+	}
+
+	private void assertConsistent(List<Station> stations, int expectedTotal) {
+		int total = 0;
+		for (Station s : stations) {
+			int nb = s.getNbVehicles();
+			assertTrue(nb >= 0 && nb <= CAPACITY);
+			assertEquals(nb, s.getVehicles().size());
+			assertEquals(nb, s.getNbAvailableVehicles());
+			for (Vehicle v : s.getVehicles()) {
+				assertSame(s, v.getStation());
+			}
+			total += nb;
+		}
+		assertEquals(expectedTotal, total);
+	}
+
+	@Test
+	public void testParallelRentAndDepositKeepsEveryVehicle() throws InterruptedException {
+		List<Station> stations = this.createFilledStations(CAPACITY / 2);
+		this.runInParallel(() -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < NB_OPERATIONS; i++) {
+				Vehicle rented;
+				try {
+					rented = stations.get(random.nextInt(NB_STATIONS)).rentVehicle();
+				} catch (StationEmptyException e) {
+					continue;
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				rented.resetNumberOfRentals();
+				boolean deposited = false;
+				while (!deposited) {
+					try {
+						stations.get(random.nextInt(NB_STATIONS)).deposit(rented);
+						deposited = true;
+					} catch (StationFullException e) {
+						// another station will have room
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			}
+		});
+		this.assertConsistent(stations, NB_STATIONS * CAPACITY / 2);
+	}
+
+	@Test
+	public void testParallelTransfersNeitherLoseNorOverfill() throws InterruptedException {
+		List<Station> stations = this.createFilledStations(CAPACITY / 2);
+		this.runInParallel(() -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < NB_OPERATIONS; i++) {
+				Station from = stations.get(random.nextInt(NB_STATIONS));
+				Station to = stations.get(random.nextInt(NB_STATIONS));
+				from.transferVehicleTo(to);
+			}
+		});
+		this.assertConsistent(stations, NB_STATIONS * CAPACITY / 2);
+	}
+
+	@Test
+	public void testParallelBulkTransfersNeitherLoseNorOverfill() throws InterruptedException {
+		List<Station> stations = this.createFilledStations(CAPACITY / 2);
+		this.runInParallel(() -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < NB_OPERATIONS; i++) {
+				Station from = stations.get(random.nextInt(NB_STATIONS));
+				Station to = stations.get(random.nextInt(NB_STATIONS));
+				from.transferVehiclesTo(to, 1 + random.nextInt(CAPACITY));
+			}
+		});
+		this.assertConsistent(stations, NB_STATIONS * CAPACITY / 2);
+	}
+
+	@Test
+	public void testParallelTheftsStealEachVehicleOnce() throws InterruptedException {
+		List<Station> stations = this.createFilledStations(CAPACITY / 2);
+		AtomicInteger stolen = new AtomicInteger();
+		this.runInParallel(() -> {
+			for (Station s : stations) {
+				while (s.stealVehicle() != null) {
+					stolen.incrementAndGet();
+				}
+			}
+		});
+		assertEquals(NB_STATIONS * CAPACITY / 2, stolen.get());
+		this.assertConsistent(stations, 0);
+	}
+
+	@Test
+	public void testGetVehiclesReturnsASnapshot() {
+		this.station.addVehicle(this.vehicle);
+		this.station.getVehicles().clear();
+		assertEquals(1, this.station.getVehicles().size());
+	}
+}
@@ -0,0 +1,114 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+
+public class DockListTest {
+
+	private DockList docks;
+
+	@BeforeEach
+	public void setUp() {
+		this.docks = new DockList();
+	}
+
+	@Test
+	public void testMostRecentlyDockedComesFirst() {
+		Vehicle first = new ClassicVelo(9801, null);
+		Vehicle second = new ClassicVelo(9802, null);
+		this.docks.dockFirst(first);
+		this.docks.dockFirst(second);
+
+		assertEquals(2, this.docks.size());
+		assertSame(second, this.docks.first());
+		assertSame(second, this.docks.get(0));
+		assertSame(first, this.docks.get(1));
+		assertSame(second, this.docks.undockFirst());
+		assertSame(first, this.docks.undockFirst());
+		assertNull(this.docks.undockFirst());
+		assertNull(this.docks.first());
+	}
+
+	@Test
+	public void testUndockFromTheMiddleKeepsTheOrder() {
+		Vehicle[] vehicles = new Vehicle[5];
+		for (int i = 0; i < vehicles.length; i++) {
+			vehicles[i] = new ClassicVelo(9810 + i, null);
+			this.docks.dockFirst(vehicles[i]);
+		}
+		assertTrue(this.docks.undock(vehicles[2]));
+		assertFalse(this.docks.undock(vehicles[2]));
+
+		assertEquals(4, this.docks.size());
+		assertSame(vehicles[4], this.docks.get(0));
+		assertSame(vehicles[3], this.docks.get(1));
+		assertSame(vehicles[1], this.docks.get(2));
+		assertSame(vehicles[0], this.docks.get(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> this.docks.get(4));
+	}
+
+	@Test
+	public void testVehiclesSharingAnIdAreToldApart() {
+		Vehicle docked = new ClassicVelo(9820, null);
+		Vehicle twin = new ClassicVelo(9820, null);
+		this.docks.dockFirst(docked);
+
+		assertTrue(this.docks.contains(twin));
+		assertFalse(this.docks.isDocked(twin));
+		assertSame(docked, this.docks.find(twin));
+		assertFalse(this.docks.undock(twin));
+
+		this.docks.dockFirst(twin);
+		assertTrue(this.docks.undock(docked));
+		assertSame(twin, this.docks.find(docked));
+		assertNull(this.docks.find(new ClassicVelo(9821, null)));
+	}
+
+	@Test
+	public void testRandomOperationsMatchAnArrayList() {
+		SplittableRandom random = new SplittableRandom(42);
+		ArrayList<Vehicle> expected = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			int operation = random.nextInt(4);
+			if (operation <= 1 || expected.isEmpty()) {
+				// a few IDs only, so vehicles sharing an ID collide in the index
+				Vehicle vehicle = new ClassicVelo(9840 + random.nextInt(64), null);
+				this.docks.dockFirst(vehicle);
+				expected.add(0, vehicle);
+			} else if (operation == 2) {
+				assertSame(expected.remove(0), this.docks.undockFirst());
+			} else {
+				Vehicle vehicle = expected.remove(random.nextInt(expected.size()));
+				assertTrue(this.docks.undock(vehicle));
+			}
+			assertEquals(expected.size(), this.docks.size());
+			if (i % 100 == 0) {
+				assertEquals(expected, new ArrayList<>(this.docks));
+				for (Vehicle vehicle : expected) {
+					assertTrue(this.docks.isDocked(vehicle));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testIteratorFailsAfterAChange() {
+		this.docks.dockFirst(new ClassicVelo(9830, null));
+		this.docks.dockFirst(new ClassicVelo(9831, null));
+		Iterator<Vehicle> it = this.docks.iterator();
+		it.next();
+		this.docks.undockFirst();
+		assertThrows(ConcurrentModificationException.class, it::next);
+		assertThrows(UnsupportedOperationException.class, () -> this.docks.add(new ClassicVelo(9832, null)));
+	}
+}
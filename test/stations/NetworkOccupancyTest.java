@@ -0,0 +1,94 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class NetworkOccupancyTest {
+
+	private NetworkOccupancy occupancy;
+	private Station empty;
+	private Station half;
+	private Station full;
+
+	@BeforeEach
+	public void setUp() {
+		this.occupancy = new NetworkOccupancy();
+		this.empty = new VeloStation(1601, "Station-1601", 4);
+		this.half = this.station(1602, 4, 2);
+		this.full = this.station(1603, 4, 4);
+		this.occupancy.track(List.of(this.empty, this.half, this.full));
+	}
+
+	private Station station(int id, int capacity, int nbVehicles) {
+		Station station = new VeloStation(id, "Station-" + id, capacity);
+		for (int i = 0; i < nbVehicles; i++) {
+			station.addVehicle(new ClassicVelo(9600 + id % 100 * 10 + i, station));
+		}
+		return station;
+	}
+
+	@Test
+	public void testTotalsAreCountedWhenTracking() {
+		assertEquals(3, this.occupancy.getNbStations());
+		assertEquals(1, this.occupancy.getNbSurplusStations());
+		assertEquals(1, this.occupancy.getNbDeficitStations());
+		assertEquals(1, this.occupancy.getNbEmptyStations());
+		assertEquals(1, this.occupancy.getNbFullStations());
+		assertEquals(6, this.occupancy.getNbFreeDocks());
+		assertEquals(6, this.occupancy.getNbVehicles());
+		assertEquals(6, this.occupancy.getNbAvailableVehicles());
+	}
+
+	@Test
+	public void testTotalsFollowVehiclesMoving() {
+		this.full.transferVehicleTo(this.empty);
+		this.full.transferVehicleTo(this.empty);
+
+		assertEquals(0, this.occupancy.getNbSurplusStations());
+		assertEquals(0, this.occupancy.getNbDeficitStations());
+		assertEquals(0, this.occupancy.getNbEmptyStations());
+		assertEquals(0, this.occupancy.getNbFullStations());
+		assertEquals(6, this.occupancy.getNbFreeDocks());
+		assertEquals(6, this.occupancy.getNbVehicles());
+
+		Vehicle vehicle = this.half.getVehicles().get(0);
+		this.half.removeVehicle(vehicle);
+		assertEquals(1, this.occupancy.getNbDeficitStations());
+		assertEquals(7, this.occupancy.getNbFreeDocks());
+		assertEquals(5, this.occupancy.getNbAvailableVehicles());
+	}
+
+	@Test
+	public void testTotalsFollowVehiclesBecomingUnavailable() {
+		Vehicle vehicle = this.full.getVehicles().get(0);
+		vehicle.setStateCode(StateCode.BROKEN_DOWN);
+		assertEquals(5, this.occupancy.getNbAvailableVehicles());
+		assertEquals(6, this.occupancy.getNbVehicles());
+
+		vehicle.setStateCode(StateCode.DISPONIBLE);
+		assertEquals(6, this.occupancy.getNbAvailableVehicles());
+	}
+
+	@Test
+	public void testTrackingOtherStationsForgetsTheFormerOnes() {
+		ArrayList<Station> stations = new ArrayList<>();
+		stations.add(this.station(1604, 10, 3));
+		this.occupancy.track(stations);
+
+		this.full.transferVehicleTo(this.empty);
+		assertEquals(1, this.occupancy.getNbStations());
+		assertEquals(0, this.occupancy.getNbSurplusStations());
+		assertEquals(1, this.occupancy.getNbDeficitStations());
+		assertEquals(7, this.occupancy.getNbFreeDocks());
+		assertEquals(3, this.occupancy.getNbVehicles());
+	}
+}
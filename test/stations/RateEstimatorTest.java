@@ -0,0 +1,34 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class RateEstimatorTest {
+
+	@Test
+	public void testRateStartsAtZero() {
+		assertEquals(0, new RateEstimator(1000).getRate(5000));
+	}
+
+	@Test
+	public void testSteadyEventsGiveTheirRate() {
+		RateEstimator estimator = new RateEstimator(60000);
+		for (long time = 0; time <= 3600000; time += 1000) {
+			estimator.record(time);
+		}
+		// one event per second is 0.001 per millisecond
+		assertEquals(0.001, estimator.getRate(3600000), 0.00005);
+	}
+
+	@Test
+	public void testRateDecaysWithTime() {
+		RateEstimator estimator = new RateEstimator(1000);
+		estimator.record(0);
+		double rate = estimator.getRate(0);
+		assertEquals(rate / Math.E, estimator.getRate(1000), 1e-12);
+		assertEquals(rate, estimator.getRate(-10));
+		estimator.record(1000);
+		assertEquals(rate / Math.E + rate, estimator.getRate(1000), 1e-12);
+	}
+}
@@ -0,0 +1,93 @@
+package stations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import controlCenters.ControlCenter;
+import redistribuationStrategy.MockStrategy;
+import schedulers.SimulationScheduler;
+import vehicles.ClassicVelo;
+import vehicles.Vehicle;
+import vehiclesState.StateCode;
+
+public class StationPredictionTest {
+
+	private static final long MINUTE = 60 * 1000;
+
+	private SimulationScheduler clock;
+	private ControlCenter center;
+	private MockStrategy strategy;
+	private Station station;
+
+	@BeforeEach
+	public void setUp() {
+		this.clock = new SimulationScheduler();
+		this.strategy = new MockStrategy();
+		this.center = new ControlCenter();
+		this.center.setScheduler(this.clock);
+		this.center.setStrategy(this.strategy);
+		this.station = new VeloStation(1501, "Station-1501", 20);
+		for (int i = 0; i < 10; i++) {
+			this.station.addVehicle(new ClassicVelo(9500 + i, this.station));
+		}
+		this.center.addStation(this.station);
+	}
+
+	@Test
+	public void testStationWithoutHorizonWaitsUntilEmpty() throws Exception {
+		for (int i = 1; i <= 6; i++) {
+			this.clock.runUntil(i * MINUTE);
+			this.station.rentVehicle();
+		}
+		assertTrue(this.station.getRentRate() > 0);
+		assertEquals(0, this.strategy.cptCalledWhenEmpty);
+	}
+
+	@Test
+	public void testSteadyRentsTriggerARedistributionBeforeTheStationIsEmpty() throws Exception {
+		this.center.setPredictionHorizon(30 * MINUTE);
+		assertEquals(30 * MINUTE, this.station.getPredictionHorizon());
+		assertEquals(Long.MAX_VALUE, this.station.predictTimeToEmpty());
+
+		for (int i = 1; i <= 6; i++) {
+			this.clock.runUntil(i * MINUTE);
+			this.station.rentVehicle();
+		}
+
+		assertEquals(4, this.station.getNbVehicles());
+		assertTrue(this.station.predictTimeToEmpty() < 30 * MINUTE);
+		assertEquals(Long.MAX_VALUE, this.station.predictTimeToFull());
+		assertEquals(1, this.strategy.cptCalledWhenEmpty);
+		assertEquals(0, this.strategy.cptCalledWhenFull);
+	}
+
+	@Test
+	public void testSteadyDepositsTriggerARedistributionBeforeTheStationIsFull() throws Exception {
+		this.center.setPredictionHorizon(30 * MINUTE);
+		for (int i = 1; i <= 6; i++) {
+			this.clock.runUntil(i * MINUTE);
+			Vehicle vehicle = new ClassicVelo(9510 + i, null);
+			vehicle.setStateCode(StateCode.RENTED);
+			this.station.deposit(vehicle);
+		}
+
+		assertEquals(16, this.station.getNbVehicles());
+		assertTrue(this.station.predictTimeToFull() < 30 * MINUTE);
+		assertEquals(1, this.strategy.cptCalledWhenFull);
+		assertEquals(0, this.strategy.cptCalledWhenEmpty);
+	}
+
+	@Test
+	public void testPredictionFadesWhenRentsStop() throws Exception {
+		this.center.setPredictionHorizon(30 * MINUTE);
+		for (int i = 1; i <= 4; i++) {
+			this.clock.runUntil(i * MINUTE);
+			this.station.rentVehicle();
+		}
+		long soon = this.station.predictTimeToEmpty();
+		this.clock.runUntil(3 * 60 * MINUTE);
+		assertTrue(this.station.predictTimeToEmpty() > 100 * soon);
+	}
+}
@@ -1,6 +1,8 @@
 package stations;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.Iterator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -13,6 +15,7 @@ import exceptions.StationFullException;
 import persons.Client;
 import redistibuationStrategy.ClassicStrategy;
 import redistribuationStrategy.MockStrategy;
+import schedulers.ExecutorScheduler;
 import vehicles.ClassicVelo;
 import vehicles.ElectricVelo;
 import vehicles.Vehicle;
@@ -24,15 +27,26 @@ public abstract class StationTest {
     protected Station station;
     protected abstract Station createStation(int id, String name, int maxCapacite);
     protected MockStrategy ms;
+    protected ExecutorScheduler scheduler;
     
     @BeforeEach
     public void setUp() {
     	
         this.station = this.createStation(1, "StationName", 5);
+        this.scheduler = new ExecutorScheduler(1);
+        this.station.setScheduler(this.scheduler);
         this.vehicle = new ClassicVelo(1, this.station);
         this.ms = new MockStrategy();
         ControlCenter.getInstanceControlCenter().setStrategy(ms);
     }
+
+    @AfterEach
+    public void tearDown() {
+        // drops the tasks this test left pending so they cannot notify the next test's strategy
+        this.scheduler.shutdown();
+        // the control center is shared by every test class, so it must not keep this test's station
+        ControlCenter.getInstanceControlCenter().getStations().removeIf(s -> s == this.station);
+    }
     
     @Test
     public void testGetName() {
@@ -105,7 +119,7 @@ public abstract class StationTest {
     	assertEquals(0, this.ms.cptCalledWhenEmpty);
         station.rentVehicle();
         Thread.sleep(Constants.INTERVAL*2+100);
-        assertEquals(3, this.ms.cptCalledWhenEmpty);
+        assertEquals(1, this.ms.cptCalledWhenEmpty);
     }
     
     @Test
@@ -119,6 +133,51 @@ public abstract class StationTest {
         assertEquals(1,mockStation.cptNotifyCalled);
     }
     
+    @Test
+    public void testRentVehicleSkipsVehiclesThatAreNotDisponible() throws RedistribuationNotCompletedException, StationEmptyException {
+    	Vehicle vehicle2 = new ClassicVelo(2, this.station);
+    	Vehicle vehicle3 = new ClassicVelo(3, this.station);
+    	vehicle2.setState(new BrokenDown(vehicle2));
+    	vehicle3.setState(new BrokenDown(vehicle3));
+    	this.station.addVehicle(this.vehicle);
+    	this.station.addVehicle(vehicle2);
+    	this.station.addVehicle(vehicle3);
+    	assertEquals(1, this.station.getNbAvailableVehicles());
+    	assertSame(this.vehicle, this.station.rentVehicle());
+    	assertEquals(0, this.station.getNbAvailableVehicles());
+    	assertEquals(2, this.station.getNbVehicles());
+    }
+    
+    @Test
+    public void testRepairedVehicleBecomesAvailableAgain() throws RedistribuationNotCompletedException, StationEmptyException {
+    	Vehicle vehicle2 = new ClassicVelo(2, this.station);
+    	Vehicle vehicle3 = new ClassicVelo(3, this.station);
+    	Vehicle vehicle4 = new ClassicVelo(4, this.station);
+    	this.vehicle.setState(new BrokenDown(this.vehicle));
+    	vehicle3.setState(new BrokenDown(vehicle3));
+    	vehicle4.setState(new BrokenDown(vehicle4));
+    	this.station.addVehicle(this.vehicle);
+    	this.station.addVehicle(vehicle3);
+    	this.station.addVehicle(vehicle4);
+    	this.station.addVehicle(vehicle2);
+    	assertSame(vehicle2, this.station.rentVehicle());
+    	assertThrows(StationEmptyException.class, () -> this.station.rentVehicle());
+    	this.vehicle.getState().action(false);
+    	this.vehicle.getState().action(false);
+    	assertEquals(1, this.station.getNbAvailableVehicles());
+    	assertSame(this.vehicle, this.station.rentVehicle());
+    }
+    
+    @Test
+    public void testRemoveVehicleUpdatesAvailableVehicles() {
+    	Vehicle vehicle2 = new ClassicVelo(2, this.station);
+    	this.station.addVehicle(this.vehicle);
+    	this.station.addVehicle(vehicle2);
+    	assertEquals(2, this.station.getNbAvailableVehicles());
+    	this.station.removeVehicle(this.vehicle);
+    	assertEquals(1, this.station.getNbAvailableVehicles());
+    }
+    
     @Test
     public void testRentVehicleThrowsStationEmptyException() {
         Executable rentVehicle = () -> station.rentVehicle();
@@ -351,5 +410,75 @@ public abstract class StationTest {
     	Thread.sleep(Constants.INTERVAL + 100);
     	assertEquals(this.vehicle.getState().toString(),"Disponible");
     }
-    
+
+    @Test
+    public void testTransferVehicleToMovesTheHeadVehicle() {
+        Station target = this.createStation(2, "Target", 1);
+        Vehicle other = new ClassicVelo(2, this.station);
+        this.station.addVehicle(this.vehicle);
+        this.station.addVehicle(other);
+        assertTrue(this.station.transferVehicleTo(target));
+        assertSame(target, other.getStation());
+        assertEquals(1, this.station.getNbVehicles());
+        assertFalse(this.station.transferVehicleTo(target));
+        assertFalse(this.station.transferVehicleTo(this.station));
+    }
+
+    @Test
+    public void testTransferVehiclesToMovesLikeSingleTransfers() {
+        Station target = this.createStation(2, "Target", 4);
+        Station expected = this.createStation(3, "Expected", 4);
+        Station source = this.createStation(4, "Source", 5);
+        for (int i = 0; i < 5; i++) {
+            this.station.addVehicle(new ClassicVelo(10 + i, this.station));
+            source.addVehicle(new ClassicVelo(20 + i, source));
+        }
+        this.station.getVehicles().get(1).setState(new BrokenDown(this.station.getVehicles().get(1)));
+        int[] nbNotifications = new int[2];
+        this.station.addOccupancyListener(s -> nbNotifications[0]++);
+        target.addOccupancyListener(s -> nbNotifications[1]++);
+
+        assertEquals(3, this.station.transferVehiclesTo(target, 3));
+        for (int i = 0; i < 3; i++) {
+            source.transferVehicleTo(expected);
+        }
+
+        assertEquals(2, this.station.getNbVehicles());
+        assertEquals(3, target.getNbVehicles());
+        assertEquals(2, target.getNbAvailableVehicles());
+        assertEquals(2, this.station.getNbAvailableVehicles());
+        Iterator<Vehicle> moved = target.getVehicles().iterator();
+        for (Vehicle vehicle : expected.getVehicles()) {
+            Vehicle next = moved.next();
+            assertEquals(vehicle.getId() - 10, next.getId());
+            assertSame(target, next.getStation());
+        }
+        assertArrayEquals(new int[] {1, 1}, nbNotifications);
+    }
+
+    @Test
+    public void testTransferVehiclesToStopsWhenTheTargetIsFull() {
+        Station target = this.createStation(2, "Target", 2);
+        target.addVehicle(new ClassicVelo(10, target));
+        this.station.addVehicle(this.vehicle);
+        this.station.addVehicle(new ClassicVelo(2, this.station));
+
+        assertEquals(1, this.station.transferVehiclesTo(target, 5));
+        assertEquals(1, this.station.getNbVehicles());
+        assertTrue(target.isFull());
+        assertEquals(0, this.station.transferVehiclesTo(target, 1));
+        assertEquals(0, this.station.transferVehiclesTo(this.station, 1));
+        assertEquals(0, target.transferVehiclesTo(this.station, 0));
+    }
+
+    @Test
+    public void testRemoveVehicleNotDockedChangesNothing() {
+        Vehicle other = new ClassicVelo(2, null);
+        this.station.addVehicle(this.vehicle);
+        this.station.removeVehicle(other);
+        assertEquals(1, this.station.getNbVehicles());
+        assertEquals(1, this.station.getNbAvailableVehicles());
+        assertSame(this.vehicle, this.station.getVehicles().get(0));
+        assertSame(this.station, this.vehicle.getStation());
+    }
 }
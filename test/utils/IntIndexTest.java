@@ -0,0 +1,118 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IntIndexTest {
+
+	private int[] keys;
+	private IntIndex index;
+
+	@BeforeEach
+	public void setUp() {
+		this.keys = new int[4096];
+		this.index = new IntIndex(4) {
+			@Override
+			protected int keyOf(int position) {
+				return IntIndexTest.this.keys[position];
+			}
+		};
+	}
+
+	private void add(int position, int key) {
+		this.keys[position] = key;
+		this.index.add(position);
+	}
+
+	@Test
+	public void testGetFindsThePositionOfAKey() {
+		this.add(0, 42);
+		this.add(1, -7);
+		this.add(2, 0);
+
+		assertEquals(3, this.index.size());
+		assertEquals(0, this.index.get(42));
+		assertEquals(1, this.index.get(-7));
+		assertEquals(2, this.index.get(0));
+		assertEquals(-1, this.index.get(43));
+		assertEquals(-1, this.index.find(43));
+	}
+
+	@Test
+	public void testFindNextGoesThroughTheSharedKeys() {
+		this.add(0, 5);
+		this.add(1, 6);
+		this.add(2, 5);
+		this.add(3, 5);
+
+		int found = 0;
+		for (int entry = this.index.find(5); entry >= 0; entry = this.index.findNext(5, entry)) {
+			found |= 1 << this.index.positionAt(entry);
+		}
+		assertEquals(0b1101, found);
+	}
+
+	@Test
+	public void testIndexGrowsAndKeepsItsPositions() {
+		long nbBytes = this.index.getNbBytes();
+		for (int i = 0; i < 1000; i++) {
+			this.add(i, i * 31);
+		}
+		assertTrue(this.index.getNbBytes() > nbBytes);
+		assertTrue(this.index.getNbBytes() <= 4L * 4 * 1000);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, this.index.get(i * 31));
+		}
+	}
+
+	@Test
+	public void testSetPositionAtMovesAnEntry() {
+		this.add(0, 9);
+		this.keys[7] = 9;
+		this.index.setPositionAt(this.index.find(9), 7);
+		assertEquals(7, this.index.get(9));
+	}
+
+	@Test
+	public void testClearEmptiesTheIndex() {
+		this.add(0, 1);
+		this.index.clear(100);
+		assertEquals(0, this.index.size());
+		assertEquals(-1, this.index.get(1));
+	}
+
+	@Test
+	public void testRandomAddsAndRemovesMatchAMap() {
+		SplittableRandom random = new SplittableRandom(25);
+		Map<Integer, Integer> expected = new HashMap<>();
+		int[] free = new int[this.keys.length];
+		int nbFree = free.length;
+		for (int i = 0; i < free.length; i++) {
+			free[i] = i;
+		}
+		for (int step = 0; step < 20_000; step++) {
+			int key = random.nextInt(300);
+			int entry = this.index.find(key);
+			if (entry >= 0) {
+				int position = this.index.positionAt(entry);
+				assertEquals(expected.remove(key), position);
+				this.index.removeAt(entry);
+				free[nbFree++] = position;
+			} else {
+				int position = free[--nbFree];
+				this.add(position, key);
+				expected.put(key, position);
+			}
+			assertEquals(expected.size(), this.index.size());
+		}
+		for (int key = 0; key < 300; key++) {
+			assertEquals(expected.getOrDefault(key, -1), this.index.get(key));
+		}
+	}
+}
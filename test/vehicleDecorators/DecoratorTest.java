@@ -4,8 +4,11 @@ import org.junit.jupiter.api.Test;
 
 import stations.Station;
 import stations.VeloStation;
+import vehicles.Accessory;
 import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
 import vehicles.Vehicle;
+import vehiclesState.StateCode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,5 +33,37 @@ public abstract class DecoratorTest {
     public void testDecorator() {
         assertNotNull(decorator.decorate());
     }
+
+    @Test
+    public void testDecoratorSharesTheStateOfTheVehicle() {
+        this.decorator.increaseNumberOfRentals();
+        this.vehicle.increaseNumberOfRentals();
+        this.decorator.changeState(false);
+        assertEquals(2, this.vehicle.getNumberOfRentals());
+        assertEquals(2, this.decorator.getNumberOfRentals());
+        assertEquals(StateCode.RENTED, this.vehicle.getStateCode());
+        this.vehicle.updateStation(null);
+        assertNull(this.decorator.getStation());
+        assertSame(this.vehicle, this.decorator.getBaseVehicle());
+        assertSame(this.vehicle, this.createDecorator(this.decorator).getBaseVehicle());
+    }
+
+    @Test
+    public void testAccessoryIsRecordedOnTheVehicle() {
+        assertNotEquals(0, this.vehicle.getAccessories());
+        assertEquals(this.vehicle.getAccessories(), this.decorator.getAccessories());
+        assertEquals(this.vehicle.decorate(), this.decorator.decorate());
+        assertTrue(this.decorator.decorate().startsWith("A classic bike n°: 1, "));
+        assertNull(this.decorator.getElectricVelo());
+    }
+
+    @Test
+    public void testDecorationFollowsTheAccessoryOrder() {
+        ElectricVelo electric = new ElectricVelo(2, this.station);
+        Vehicle decorated = new Painting(new Basket(new LuggageRack(new Painting(electric))));
+        assertEquals("An electric bike n°: 2 with 100% battery level, painted, with a luggage rack, with a basket", decorated.decorate());
+        assertSame(electric, decorated.getElectricVelo());
+        assertTrue(decorated.hasAccessory(Accessory.BASKET));
+    }
     
 }
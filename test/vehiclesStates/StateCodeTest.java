@@ -0,0 +1,82 @@
+package vehiclesStates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import constants.Constants;
+import vehicleDecorators.Basket;
+import vehicles.ClassicVelo;
+import vehicles.ElectricVelo;
+import vehicles.Vehicle;
+import vehiclesState.BrokenDown;
+import vehiclesState.StateCode;
+
+public class StateCodeTest {
+
+	private Vehicle vehicle;
+
+	@BeforeEach
+	public void setUp() {
+		this.vehicle = new ClassicVelo(1, null);
+	}
+
+	@Test
+	public void testNewVehicleIsDisponible() {
+		assertEquals(StateCode.DISPONIBLE, this.vehicle.getStateCode());
+		assertTrue(this.vehicle.isDisponible());
+	}
+
+	@Test
+	public void testRentAndDepositCycle() {
+		this.vehicle.changeState(false);
+		assertEquals(StateCode.RENTED, this.vehicle.getStateCode());
+		this.vehicle.changeState(false);
+		assertEquals(StateCode.DISPONIBLE, this.vehicle.getStateCode());
+	}
+
+	@Test
+	public void testRepairCycle() {
+		this.vehicle.setStateCode(StateCode.BROKEN_DOWN);
+		this.vehicle.changeState(false);
+		assertEquals(StateCode.CURRENTLY_BEING_REPAIRED, this.vehicle.getStateCode());
+		this.vehicle.changeState(true);
+		assertEquals(StateCode.CURRENTLY_BEING_REPAIRED, this.vehicle.getStateCode());
+		this.vehicle.changeState(false);
+		assertEquals(StateCode.DISPONIBLE, this.vehicle.getStateCode());
+	}
+
+	@Test
+	public void testStolenIsFinal() {
+		this.vehicle.changeState(true);
+		assertEquals(StateCode.STOLEN, this.vehicle.getStateCode());
+		this.vehicle.changeState(false);
+		this.vehicle.changeState(true);
+		assertEquals(StateCode.STOLEN, this.vehicle.getStateCode());
+	}
+
+	@Test
+	public void testRentedVehicleBreaksDownAtMaxRentals() {
+		for (int i = 0; i < Constants.MAX_NB_OF_RENTALS_BEFORE_INTERVANTION; i++) {
+			this.vehicle.increaseNumberOfRentals();
+		}
+		assertEquals(StateCode.BROKEN_DOWN, StateCode.RENTED.next(this.vehicle, false));
+	}
+
+	@Test
+	public void testDecoratedElectricVeloWithLowBatteryBreaksDown() {
+		ElectricVelo velo = new ElectricVelo(2, null);
+		velo.decreaseBatteryLevel(80);
+		assertEquals(StateCode.BROKEN_DOWN, StateCode.RENTED.next(new Basket(velo), false));
+	}
+
+	@Test
+	public void testStateFacadeMatchesCode() {
+		this.vehicle.setState(new BrokenDown(this.vehicle));
+		assertEquals(StateCode.BROKEN_DOWN, this.vehicle.getStateCode());
+		assertTrue(this.vehicle.getState() instanceof BrokenDown);
+		assertEquals("BrokenDown", this.vehicle.getStateCode().toString());
+		assertEquals(this.vehicle.getState(), StateCode.BROKEN_DOWN.toState(this.vehicle));
+	}
+}